@@ -0,0 +1,291 @@
+package redis.clients.common.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.alibaba.fastjson.JSON;
+
+import redis.clients.common.annotation.FieldSave;
+import redis.clients.common.annotation.FieldSave2DB;
+import redis.clients.common.annotation.FieldSave2Redis;
+import redis.clients.common.utils.EntityUtils.EntitySaveEnum;
+
+/**
+ * 实体访问计划, 每个类只解析一次字段、set方法和构造函数, 之后通过MethodHandle读写, 不再每次遍历Field[]和查找Method
+ */
+public final class EntityAccessor {
+
+	private static final ClassValue<EntityAccessor> ACCESSORS = new ClassValue<EntityAccessor>() {
+		@Override
+		protected EntityAccessor computeValue(Class<?> clazz) {
+			return new EntityAccessor(clazz);
+		}
+	};
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+	/**
+	 * 单个字段的访问器
+	 */
+	public static final class FieldAccessor {
+		private final Field field;
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+
+		private FieldAccessor(Field field, MethodHandle getter, MethodHandle setter) {
+			this.field = field;
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		public String getName() {
+			return field.getName();
+		}
+
+		public Class<?> getType() {
+			return field.getType();
+		}
+
+		public Field getField() {
+			return field;
+		}
+
+		public Object get(Object obj) throws Throwable {
+			return (Object) getter.invokeExact(obj);
+		}
+
+		/**
+		 * 是否存在与字段类型一致的set方法
+		 */
+		public boolean isWritable() {
+			return setter != null;
+		}
+
+		/**
+		 * 通过set方法赋值, 代理对象的set方法拦截依然有效
+		 */
+		public void set(Object obj, Object value) throws Throwable {
+			setter.invokeExact(obj, value);
+		}
+
+		/**
+		 * 按字段类型解析字符串并通过set方法赋值
+		 *
+		 * @return 不支持的类型或空集合返回false
+		 */
+		@SuppressWarnings("unchecked")
+		public boolean setString(Object obj, String value) throws Throwable {
+			Class<?> type = field.getType();
+			Object parsed;
+			if (type == Integer.class || type == int.class) {
+				parsed = Integer.parseInt(value);
+			} else if (type == Boolean.class || type == boolean.class) {
+				parsed = Boolean.parseBoolean(value);
+			} else if (type == Long.class || type == long.class) {
+				parsed = Long.parseLong(value);
+			} else if (type == Float.class || type == float.class) {
+				parsed = Float.parseFloat(value);
+			} else if (type == Double.class || type == double.class) {
+				parsed = Double.parseDouble(value);
+			} else if (type == Byte.class || type == byte.class) {
+				parsed = Byte.parseByte(value);
+			} else if (type == Short.class || type == short.class) {
+				parsed = Short.parseShort(value);
+			} else if (type == String.class) {
+				parsed = value;
+			} else if (type == Date.class) {
+				parsed = TimeUtils.stringToDate(value);
+			} else if (type == Timestamp.class) {
+				parsed = TimeUtils.stringtoTimestamp(value);
+			} else if ((type == Map.class) || (type == HashMap.class)) {
+				Map<String, String> mapFields = JSON.parseObject(value.replaceAll("=", ":"), HashMap.class);
+				if (mapFields.isEmpty()) {
+					return false;
+				}
+				parsed = mapFields;
+			} else if ((type == List.class) || (type == ArrayList.class)) {
+				List<Object> listFields = JSON.parseObject(value.replaceAll("=", ":"), ArrayList.class);
+				if (listFields.isEmpty()) {
+					return false;
+				}
+				parsed = listFields;
+			} else {
+				return false;
+			}
+			set(obj, parsed);
+			return true;
+		}
+	}
+
+	private final Class<?> clazz;
+	private final MethodHandle constructor;
+	// 子类字段优先, 与按继承链查找getDeclaredField的顺序一致
+	private final Map<String, FieldAccessor> fields = new LinkedHashMap<>();
+	private final EnumMap<EntitySaveEnum, FieldAccessor[]> cacheFields = new EnumMap<>(EntitySaveEnum.class);
+
+	private EntityAccessor(Class<?> clazz) {
+		this.clazz = clazz;
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		this.constructor = findConstructor(lookup, clazz);
+
+		Map<EntitySaveEnum, Set<FieldAccessor>> cacheFieldSets = new EnumMap<>(EntitySaveEnum.class);
+		for (EntitySaveEnum type : EntitySaveEnum.values()) {
+			cacheFieldSets.put(type, new LinkedHashSet<FieldAccessor>());
+		}
+		for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				if (fields.containsKey(field.getName())) {
+					continue;
+				}
+				FieldAccessor accessor = createAccessor(lookup, clazz, field);
+				if (accessor == null) {
+					continue;
+				}
+				fields.put(field.getName(), accessor);
+				boolean save = field.getAnnotation(FieldSave.class) != null;
+				boolean save2DB = field.getAnnotation(FieldSave2DB.class) != null;
+				boolean save2Redis = field.getAnnotation(FieldSave2Redis.class) != null;
+				if (save) {
+					cacheFieldSets.get(EntitySaveEnum.SaveAll).add(accessor);
+				}
+				if (save || save2DB) {
+					cacheFieldSets.get(EntitySaveEnum.Save2DB).add(accessor);
+				}
+				if (save || save2Redis) {
+					cacheFieldSets.get(EntitySaveEnum.Save2Redis).add(accessor);
+				}
+			}
+		}
+		for (Map.Entry<EntitySaveEnum, Set<FieldAccessor>> entry : cacheFieldSets.entrySet()) {
+			cacheFields.put(entry.getKey(), entry.getValue().toArray(new FieldAccessor[0]));
+		}
+	}
+
+	public static EntityAccessor of(Class<?> clazz) {
+		return ACCESSORS.get(clazz);
+	}
+
+	private static MethodHandle findConstructor(MethodHandles.Lookup lookup, Class<?> clazz) {
+		try {
+			Constructor<?> ctor = clazz.getDeclaredConstructor();
+			ctor.setAccessible(true);
+			return lookup.unreflectConstructor(ctor).asType(CONSTRUCTOR_TYPE);
+		} catch (Exception e) {
+			// 没有无参构造函数, 调用newInstance时再报错
+			return null;
+		}
+	}
+
+	private static FieldAccessor createAccessor(MethodHandles.Lookup lookup, Class<?> clazz, Field field) {
+		try {
+			field.setAccessible(true);
+			MethodHandle getter = lookup.unreflectGetter(field);
+			if (Modifier.isStatic(field.getModifiers())) {
+				getter = MethodHandles.dropArguments(getter, 0, Object.class);
+			}
+			getter = getter.asType(GETTER_TYPE);
+			MethodHandle setter = null;
+			Method method = findSetMethod(clazz, field);
+			if (method != null) {
+				method.setAccessible(true);
+				setter = lookup.unreflect(method);
+				if (Modifier.isStatic(method.getModifiers())) {
+					setter = MethodHandles.dropArguments(setter, 0, Object.class);
+				}
+				setter = setter.asType(SETTER_TYPE);
+			}
+			return new FieldAccessor(field, getter, setter);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static Method findSetMethod(Class<?> clazz, Field field) {
+		String name = field.getName();
+		if (name.isEmpty()) {
+			return null;
+		}
+		String methodName = "set" + name.substring(0, 1).toUpperCase() + name.substring(1);
+		for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+			try {
+				return c.getDeclaredMethod(methodName, field.getType());
+			} catch (NoSuchMethodException e) {
+				continue;
+			}
+		}
+		return null;
+	}
+
+	public Class<?> getType() {
+		return clazz;
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T newInstance() throws Exception {
+		if (constructor == null) {
+			throw new InstantiationException(clazz.getName() + " has no default constructor");
+		}
+		try {
+			return (T) (Object) constructor.invokeExact();
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new InstantiationException(e.toString());
+		}
+	}
+
+	/**
+	 * @return 字段访问器, 不存在返回null
+	 */
+	public FieldAccessor getField(String name) {
+		return fields.get(name);
+	}
+
+	public FieldAccessor[] getFields() {
+		return fields.values().toArray(new FieldAccessor[0]);
+	}
+
+	/**
+	 * 获取需要保存到Redis或DB数据库的字段, 返回的数组为共享缓存, 不允许修改
+	 */
+	public FieldAccessor[] getCacheFields(EntitySaveEnum type) {
+		return cacheFields.get(type);
+	}
+
+	/**
+	 * 用map里的值填充对象, 空值和不存在的字段会被忽略
+	 */
+	public <T> T fill(Map<String, String> map, T obj) throws Throwable {
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			String key = entry.getKey();
+			String value = entry.getValue();
+			if (key == null || key.isEmpty() || StringUtils.isEmpty(value)) {
+				continue;
+			}
+			FieldAccessor accessor = fields.get(key);
+			if (accessor == null || !accessor.isWritable()) {
+				continue;
+			}
+			accessor.setString(obj, value);
+		}
+		return obj;
+	}
+
+}
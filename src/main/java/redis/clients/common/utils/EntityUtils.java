@@ -3,12 +3,10 @@ package redis.clients.common.utils;
 import java.util.Map;
 import java.util.List;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.ArrayList;
 import java.lang.reflect.Field;
 
-import redis.clients.common.annotation.FieldSave;
-import redis.clients.common.annotation.FieldSave2DB;
-import redis.clients.common.annotation.FieldSave2Redis;
 import redis.clients.entity.AbstractEntity;
 import redis.clients.entity.IEntity;
 import redis.clients.proxy.EntityProxy;
@@ -39,12 +37,16 @@ public class EntityUtils {
 	 * @return
 	 */
 	public static Map<String, String> getCacheValueMap(IEntity iEntity, EntitySaveEnum type) {
-		Map<String, String> map = new HashMap<>();
-		Field[] fields = getAllCacheFields(iEntity, type);
-		for (Field field : fields) {
-			String fieldName = field.getName();
-			String value = ObjectUtils.getFieldsValueStr(iEntity, fieldName);
-			map.put(fieldName, value);
+		EntityAccessor.FieldAccessor[] fields = EntityAccessor.of(iEntity.getClass()).getCacheFields(type);
+		Map<String, String> map = new HashMap<>(fields.length * 2);
+		for (EntityAccessor.FieldAccessor field : fields) {
+			String value;
+			try {
+				value = ObjectUtils.getObjectString(field.get(iEntity));
+			} catch (Throwable e) {
+				value = "";
+			}
+			map.put(field.getName(), value);
 		}
 		return map;
 	}
@@ -77,32 +79,12 @@ public class EntityUtils {
 	 * @return
 	 */
 	public static Field[] getAllCacheFields(IEntity obj, EntitySaveEnum type) {
-		Class<?> clazz = obj.getClass();
-		List<Field> fieldList = new ArrayList<>();
-		for (; clazz != Object.class; clazz = clazz.getSuperclass()) {
-			Field[] fields = clazz.getDeclaredFields();
-			for (Field field : fields) {
-				// 获取filed注解
-				FieldSave fieldSave = field.getAnnotation(FieldSave.class);
-				if (fieldSave != null) {
-					fieldList.add(field);
-				}
-				if (type == EntitySaveEnum.Save2DB) {
-					// 保存到DB数据库的字段
-					FieldSave2DB fieldSave2DB = field.getAnnotation(FieldSave2DB.class);
-					if (fieldSave2DB != null) {
-						fieldList.add(field);
-					}
-				} else if (type == EntitySaveEnum.Save2Redis) {
-					// 保存到Redis数据库的字段
-					FieldSave2Redis fieldSave2Redis = field.getAnnotation(FieldSave2Redis.class);
-					if (fieldSave2Redis != null) {
-						fieldList.add(field);
-					}
-				}
-			}
+		EntityAccessor.FieldAccessor[] accessors = EntityAccessor.of(obj.getClass()).getCacheFields(type);
+		Field[] fields = new Field[accessors.length];
+		for (int i = 0; i < accessors.length; i++) {
+			fields[i] = accessors[i].getField();
 		}
-		return fieldList.toArray(new Field[0]);
+		return fields;
 	}
 
 	// Get rediskey
@@ -204,8 +186,17 @@ public class EntityUtils {
 		if (entityList.size() > 0) {
 			AbstractEntity entity = entityList.get(0);
 			if (entity instanceof RedisInterface) {
+				// 通过一个Pipeline批量保存
+				Map<String, IEntity> entities = new LinkedHashMap<>();
+				List<String> keys = new ArrayList<>(entityList.size());
 				for (AbstractEntity abstractEntity : entityList) {
-					ret = updateAllFieldEntity(redisService, entity);
+					String key = EntityUtils.getRedisKey((RedisInterface) abstractEntity);
+					keys.add(key);
+					entities.put(key, abstractEntity);
+				}
+				Map<String, Boolean> results = redisService.setObjectsToHash(entities);
+				for (String key : keys) {
+					ret = Boolean.TRUE.equals(results.get(key));
 					retlist.add((long) (ret == true ? 1 : 0));
 				}
 			} else if (entity instanceof RedisListInterface) {
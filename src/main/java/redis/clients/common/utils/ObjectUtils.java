@@ -1,8 +1,5 @@
 package redis.clients.common.utils;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -32,9 +29,8 @@ public class ObjectUtils {
 			addAllFields = true;
 		}
 		if (obj != null) {
-			Field[] fields = getAllFields(obj);
-			for (Field field : fields) {
-				field.setAccessible(true);
+			EntityAccessor.FieldAccessor[] fields = EntityAccessor.of(obj.getClass()).getFields();
+			for (EntityAccessor.FieldAccessor field : fields) {
 				try {
 					boolean needsAddToMap = false;
 					for (String s : strings) {
@@ -44,9 +40,9 @@ public class ObjectUtils {
 						}
 					}
 					if (needsAddToMap || addAllFields) {
-						map.put(field.getName(), getFieldsValueStr(obj, field.getName()).toString());
+						map.put(field.getName(), getObjectString(field.get(obj)));
 					}
-				} catch (Exception e) {
+				} catch (Throwable e) {
 					//e.printStackTrace();
 					logger.error("ObjectUtils Failed to getMap Exception err={}", e.toString());
 				}
@@ -58,39 +54,15 @@ public class ObjectUtils {
 		return map;
 	}
 
-	private static Field[] getAllFields(Object obj) {
-		Class<?> clazz = obj.getClass();
-		Field[] rt = null;
-		for (; clazz != Object.class; clazz = clazz.getSuperclass()) {
-			Field[] tmp = clazz.getDeclaredFields();
-			rt = combine(rt, tmp);
-		}
-		return rt;
-	}
-
-	private static Field[] combine(Field[] a, Field[] b) {
-		if (a == null) {
-			return b;
-		}
-		if (b == null) {
-			return a;
-		}
-		Field[] rt = new Field[a.length + b.length];
-		System.arraycopy(a, 0, rt, 0, a.length);
-		System.arraycopy(b, 0, rt, a.length, b.length);
-		return rt;
-	}
-
 	public static Object getFieldsValueObj(Object obj, String fieldName) {
 		Object value = null;
-		Field field = getDeclaredField(obj, fieldName);
-		if (field == null) {
+		EntityAccessor.FieldAccessor accessor = EntityAccessor.of(obj.getClass()).getField(fieldName);
+		if (accessor == null) {
 			return value;
 		}
-		field.setAccessible(true);
 		try {
-			value = field.get(obj);
-		} catch (Exception e) {
+			value = accessor.get(obj);
+		} catch (Throwable e) {
 			logger.error("ObjectUtils Failed to getFieldsValueObj Exception err={}", e.toString());
 		}
 		return value;
@@ -146,104 +118,11 @@ public class ObjectUtils {
 		return sb.toString();
 	}
 
-	private static Field getDeclaredField(Object object, String fieldName) {
-		Field field = null;
-		Class<?> clazz = object.getClass();
-		for (; clazz != Object.class; clazz = clazz.getSuperclass()) {
-			try {
-				field = clazz.getDeclaredField(fieldName);
-				if (field!=null) break;
-			} catch (NoSuchFieldException e) {
-				continue;
-			} catch (SecurityException e) {
-				logger.error("ObjectUtils Failed to getDeclaredField Exception err={}", e.toString());
-				continue;
-			} catch (NullPointerException e) {
-				logger.error("ObjectUtils Failed to getDeclaredField Exception err={}", e.toString());
-				break;
-			}
-		}
-		return field;
-	}
-
-	private static Method getSetMethod(Object object, String methodName, Class<?> fieldType) {
-		Method method = null;
-		Class<?> clazz = object.getClass();
-		for (; clazz != Object.class; clazz = clazz.getSuperclass()) {
-			try {
-				method = clazz.getDeclaredMethod(methodName, fieldType);
-				if (method!=null) break;
-			} catch (NoSuchMethodException e) {
-				continue;
-			} catch (SecurityException e) {
-				logger.error("ObjectUtils Failed to getSetMethod Exception err={}", e.toString());
-				continue;
-			} catch (NullPointerException e) {
-				logger.error("ObjectUtils Failed to getSetMethod Exception err={}", e.toString());
-				break;
-			}
-		}
-		return method;
-	}
-
 	@SuppressWarnings("unchecked")
 	public static <T> T getObjFromMap(Map<String, String> map, Object obj) {
 		try {
-			for (String key : map.keySet()) {
-				if (key == null || key.isEmpty()) {
-					continue;
-				}
-				String value = map.get(key);
-				// 如果为空放弃，默认设置为空
-				if (StringUtils.isEmpty(value)) {
-					continue;
-				}
-				Field field = getDeclaredField(obj, key);
-				if (field == null) {
-					continue;
-				}
-				String mathodname = buildSetMethod(key);
-				if (mathodname == "set") {
-					continue;
-				}
-				Method method = getSetMethod(obj, mathodname, field.getType());
-				if (method == null) {
-					continue;
-				}
-				if (field.getType() == Integer.class || field.getType() == int.class) {
-					method.invoke(obj, Integer.parseInt(map.get(key)));
-				} else if (field.getType() == Boolean.class || field.getType() == boolean.class) {
-					method.invoke(obj, Boolean.parseBoolean(map.get(key)));
-				} else if (field.getType() == Long.class || field.getType() == long.class) {
-					method.invoke(obj, Long.parseLong(map.get(key)));
-				} else if (field.getType() == Float.class || field.getType() == float.class) {
-					method.invoke(obj, Float.parseFloat(map.get(key)));
-				} else if (field.getType() == Double.class || field.getType() == double.class) {
-					method.invoke(obj, Double.parseDouble(map.get(key)));
-				} else if (field.getType() == Byte.class || field.getType() == byte.class) {
-					method.invoke(obj, Byte.parseByte(map.get(key)));
-				} else if (field.getType() == Short.class || field.getType() == short.class) {
-					method.invoke(obj, Short.parseShort(map.get(key)));
-				} else if (field.getType() == String.class) {
-					method.invoke(obj, map.get(key));
-				} else if (field.getType() == Date.class) {
-					method.invoke(obj, TimeUtils.stringToDate(map.get(key)));
-				} else if (field.getType() == Timestamp.class) {
-					method.invoke(obj, TimeUtils.stringtoTimestamp(map.get(key)));
-				}else if((field.getType() == Map.class)||(field.getType() == HashMap.class)) {
-					Map<String, String> mapFields = JSON.parseObject(map.get(key).replaceAll("=", ":"), HashMap.class);
-					if(mapFields.size()>0) {
-						method.invoke(obj, mapFields);
-					}
-				}else if((field.getType() == List.class) || (field.getType() == ArrayList.class)) {
-					List<Object> listFields = JSON.parseObject(map.get(key).replaceAll("=", ":"), ArrayList.class);
-					if(listFields.size()>0) {
-						method.invoke(obj, listFields);
-					}
-				}
-			}
-			return (T) obj;
-		} catch (Exception e) {
+			return (T) EntityAccessor.of(obj.getClass()).fill(map, obj);
+		} catch (Throwable e) {
 			// e.printStackTrace();
 			logger.error("ObjectUtils Failed to getObjFromMap Exception err={}", e.toString());
 		}
@@ -259,27 +138,15 @@ public class ObjectUtils {
 	 */
 	public static <T> T getObjFromMap(Map<String, String> map, Class<?> clazz) {
 		try {
-			Object obj = clazz.newInstance();
+			Object obj = EntityAccessor.of(clazz).newInstance();
 			return getObjFromMap(map, obj);
-		} catch (Exception e) {
+		} catch (Throwable e) {
 			// e.printStackTrace();
 			logger.error("ObjectUtils Failed to getObjFromMap Exception err={}", e.toString());
 		}
 		return null;
 	}
 
-	private static String buildSetMethod(String fieldName) {
-		StringBuffer sb = new StringBuffer("set");
-		if (fieldName.length() > 1) {
-			String first = fieldName.substring(0, 1);
-			String next = fieldName.substring(1);
-			sb.append(first.toUpperCase()).append(next);
-		} else if (fieldName.length() == 1) {
-			sb.append(fieldName.toUpperCase());
-		}
-		return sb.toString();
-	}
-
 	/**
 	 * 判断某个list是否没有数据
 	 * 
@@ -1255,6 +1255,17 @@ public class BinaryClient extends Connection {
 		sendCommand(Command.ASKING);
 	}
 
+	/**
+	 * Sends ASKING without waiting for its reply, which is discarded when the
+	 * reply of the next command is read. Used to send ASKING together with a
+	 * single redirected command, pipelines have to read the ASKING reply
+	 * themselves as the skipped replies are not bound to a position.
+	 */
+	public void askingWithoutReply() {
+		asking();
+		skipReply();
+	}
+
 	public void pfadd(final byte[] key, final byte[]... elements) {
 		sendCommand(PFADD, joinParameters(key, elements));
 	}
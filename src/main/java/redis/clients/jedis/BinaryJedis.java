@@ -107,6 +107,7 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
 		client.setSoTimeout(shardInfo.getSoTimeout());
 		client.setPassword(shardInfo.getPassword());
 		client.setDb(shardInfo.getDb());
+		client.setUseSocketChannel(shardInfo.isUseSocketChannel());
 	}
 
 	public BinaryJedis(URI uri) {
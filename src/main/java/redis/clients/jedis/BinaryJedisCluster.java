@@ -2,7 +2,10 @@ package redis.clients.jedis;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -12,6 +15,7 @@ import redis.clients.jedis.exceptions.JedisClusterException;
 import redis.clients.jedis.params.geo.GeoRadiusParam;
 import redis.clients.jedis.params.sortedset.ZAddParams;
 import redis.clients.jedis.params.sortedset.ZIncrByParams;
+import redis.clients.util.JedisClusterCRC16;
 import redis.clients.util.KeyMergeUtil;
 import redis.clients.util.SafeEncoder;
 import redis.clients.util.JedisClusterHashTagUtil;
@@ -80,6 +84,104 @@ public class BinaryJedisCluster implements BasicCommands, BinaryJedisClusterComm
 		return this.connectionHandler.getConnectionFromSlot(slot);
 	}
 
+	/**
+	 * Creates a pipeline which sends every command to the node owning its key.
+	 * Commands are sent on {@link JedisClusterPipeline#sync()}.
+	 */
+	public JedisClusterPipeline pipelined() {
+		return new JedisClusterPipeline(connectionHandler, maxAttempts);
+	}
+
+	/**
+	 * Groups the positions of the keys by slot, in order of first occurrence.
+	 *
+	 * @param step
+	 *            distance between two keys, 2 for key value pairs
+	 */
+	protected static Map<Integer, List<Integer>> groupBySlot(int step, byte[]... args) {
+		Map<Integer, List<Integer>> groups = new LinkedHashMap<Integer, List<Integer>>();
+		for (int i = 0; i + step <= args.length; i += step) {
+			Integer slot = JedisClusterCRC16.getSlot(args[i]);
+			List<Integer> positions = groups.get(slot);
+			if (positions == null) {
+				positions = new ArrayList<Integer>();
+				groups.put(slot, positions);
+			}
+			positions.add(i);
+		}
+		return groups;
+	}
+
+	private static byte[][] select(byte[][] args, List<Integer> positions, int step) {
+		byte[][] selected = new byte[positions.size() * step][];
+		for (int i = 0; i < positions.size(); i++) {
+			System.arraycopy(args, positions.get(i), selected, i * step, step);
+		}
+		return selected;
+	}
+
+	/**
+	 * Sends one MGET per slot through a cluster pipeline and merges the values in
+	 * key order.
+	 */
+	private List<byte[]> scatterMget(byte[][] keys, Map<Integer, List<Integer>> groups) {
+		JedisClusterPipeline pipeline = pipelined();
+		List<Response<List<byte[]>>> responses = new ArrayList<Response<List<byte[]>>>(groups.size());
+		for (List<Integer> positions : groups.values()) {
+			responses.add(pipeline.mget(select(keys, positions, 1)));
+		}
+		pipeline.sync();
+
+		List<byte[]> values = new ArrayList<byte[]>(Collections.<byte[]> nCopies(keys.length, null));
+		int group = 0;
+		for (List<Integer> positions : groups.values()) {
+			List<byte[]> part = responses.get(group++).get();
+			for (int i = 0; i < positions.size(); i++) {
+				values.set(positions.get(i), part.get(i));
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Sends one DEL or EXISTS per slot through a cluster pipeline and sums the
+	 * replies.
+	 */
+	private Long scatterCount(boolean del, byte[][] keys, Map<Integer, List<Integer>> groups) {
+		JedisClusterPipeline pipeline = pipelined();
+		List<Response<Long>> responses = new ArrayList<Response<Long>>(groups.size());
+		for (List<Integer> positions : groups.values()) {
+			byte[][] part = select(keys, positions, 1);
+			responses.add(del ? pipeline.del(part) : pipeline.exists(part));
+		}
+		pipeline.sync();
+
+		long count = 0;
+		for (Response<Long> response : responses) {
+			count += response.get();
+		}
+		return count;
+	}
+
+	/**
+	 * Sends one MSET per slot through a cluster pipeline. Unlike MSET on a single
+	 * node the keys of different slots are not set atomically.
+	 */
+	private String scatterMset(byte[][] keysvalues, Map<Integer, List<Integer>> groups) {
+		JedisClusterPipeline pipeline = pipelined();
+		List<Response<String>> responses = new ArrayList<Response<String>>(groups.size());
+		for (List<Integer> positions : groups.values()) {
+			responses.add(pipeline.mset(select(keysvalues, positions, 2)));
+		}
+		pipeline.sync();
+
+		String reply = null;
+		for (Response<String> response : responses) {
+			reply = response.get();
+		}
+		return reply;
+	}
+
 	@Override
 	public String set(final byte[] key, final byte[] value) {
 		return new JedisClusterCommand<String>(connectionHandler, maxAttempts) {
@@ -122,6 +224,10 @@ public class BinaryJedisCluster implements BasicCommands, BinaryJedisClusterComm
 
 	@Override
 	public Long exists(final byte[]... keys) {
+		final Map<Integer, List<Integer>> groups = groupBySlot(1, keys);
+		if (groups.size() > 1) {
+			return scatterCount(false, keys, groups);
+		}
 		return new JedisClusterCommand<Long>(connectionHandler, maxAttempts) {
 			@Override
 			public Long execute(Jedis connection) {
@@ -1343,6 +1449,10 @@ public class BinaryJedisCluster implements BasicCommands, BinaryJedisClusterComm
 
 	@Override
 	public Long del(final byte[]... keys) {
+		final Map<Integer, List<Integer>> groups = groupBySlot(1, keys);
+		if (groups.size() > 1) {
+			return scatterCount(true, keys, groups);
+		}
 		return new JedisClusterCommand<Long>(connectionHandler, maxAttempts) {
 			@Override
 			public Long execute(Jedis connection) {
@@ -1373,6 +1483,10 @@ public class BinaryJedisCluster implements BasicCommands, BinaryJedisClusterComm
 
 	@Override
 	public List<byte[]> mget(final byte[]... keys) {
+		final Map<Integer, List<Integer>> groups = groupBySlot(1, keys);
+		if (groups.size() > 1) {
+			return scatterMget(keys, groups);
+		}
 		return new JedisClusterCommand<List<byte[]>>(connectionHandler, maxAttempts) {
 			@Override
 			public List<byte[]> execute(Jedis connection) {
@@ -1383,6 +1497,10 @@ public class BinaryJedisCluster implements BasicCommands, BinaryJedisClusterComm
 
 	@Override
 	public String mset(final byte[]... keysvalues) {
+		final Map<Integer, List<Integer>> groups = groupBySlot(2, keysvalues);
+		if (groups.size() > 1) {
+			return scatterMset(keysvalues, groups);
+		}
 		byte[][] keys = new byte[keysvalues.length / 2][];
 
 		for (int keyIdx = 0; keyIdx < keys.length; keyIdx++) {
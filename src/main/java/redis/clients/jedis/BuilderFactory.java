@@ -2,6 +2,7 @@ package redis.clients.jedis;
 
 import java.util.Collections;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -469,6 +470,110 @@ public final class BuilderFactory {
 
 	};
 
+	/**
+	 * Streaming counterpart of {@link #STRING_LIST}, decodes elements directly from the connection buffer.
+	 */
+	public static ReplyVisitor<List<String>> stringListVisitor() {
+		return new FlatReplyVisitor<List<String>>() {
+			private List<String> result;
+
+			@Override
+			protected void start(int size) {
+				result = size == -1 ? null : new ArrayList<String>(size);
+			}
+
+			@Override
+			protected void element(byte[] buf, int offset, int length) {
+				result.add(buf == null ? null : SafeEncoder.encode(buf, offset, length));
+			}
+
+			@Override
+			protected List<String> build() {
+				final List<String> list = result;
+				result = null;
+				if (list == null) {
+					return Collections.emptyList();
+				}
+				return list;
+			}
+		};
+	}
+
+	/**
+	 * Streaming counterpart of {@link #STRING_MAP}, decodes fields and values directly from the connection buffer.
+	 */
+	public static ReplyVisitor<Map<String, String>> stringMapVisitor() {
+		return new FlatReplyVisitor<Map<String, String>>() {
+			private Map<String, String> result;
+			private String field;
+			private boolean value;
+
+			@Override
+			protected void start(int size) {
+				result = new HashMap<String, String>(Math.max(size, 0) / 2, 1);
+				value = false;
+			}
+
+			@Override
+			protected void element(byte[] buf, int offset, int length) {
+				final String str = buf == null ? null : SafeEncoder.encode(buf, offset, length);
+				if (value) {
+					result.put(field, str);
+				} else {
+					field = str;
+				}
+				value = !value;
+			}
+
+			@Override
+			protected Map<String, String> build() {
+				final Map<String, String> map = result;
+				result = null;
+				field = null;
+				return map;
+			}
+		};
+	}
+
+	/**
+	 * Streaming counterpart of {@link #TUPLE_ZSET}, builds tuples of WITHSCORES replies without intermediate
+	 * lists and strings for members.
+	 */
+	public static ReplyVisitor<Set<Tuple>> tupleSetVisitor() {
+		return new FlatReplyVisitor<Set<Tuple>>() {
+			private Set<Tuple> result;
+			private byte[] member;
+			private boolean score;
+
+			@Override
+			protected void start(int size) {
+				result = size <= 0 ? null : new LinkedHashSet<Tuple>(size / 2, 1.0f);
+				score = false;
+			}
+
+			@Override
+			protected void element(byte[] buf, int offset, int length) {
+				if (score) {
+					result.add(new Tuple(member, Double.valueOf(SafeEncoder.encode(buf, offset, length))));
+				} else {
+					member = Arrays.copyOfRange(buf, offset, offset + length);
+				}
+				score = !score;
+			}
+
+			@Override
+			protected Set<Tuple> build() {
+				final Set<Tuple> set = result;
+				result = null;
+				member = null;
+				if (set == null) {
+					return Collections.emptySet();
+				}
+				return set;
+			}
+		};
+	}
+
 	private BuilderFactory() {
 		throw new InstantiationError("Must not instantiate this class");
 	}
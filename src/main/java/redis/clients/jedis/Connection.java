@@ -21,6 +21,7 @@ import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.util.RedisInputStream;
 import redis.clients.util.RedisOutputStream;
 import redis.clients.util.SafeEncoder;
+import redis.clients.util.SocketChannelTransport;
 
 public class Connection implements Closeable {
 
@@ -33,6 +34,7 @@ public class Connection implements Closeable {
 	private RedisOutputStream outputStream;
 	private RedisInputStream inputStream;
 	private int pipelinedCommands = 0;
+	private int skippedReplies = 0;
 	private int connectionTimeout = Protocol.DEFAULT_TIMEOUT;
 	private int soTimeout = Protocol.DEFAULT_TIMEOUT;
 	private boolean broken = false;
@@ -40,6 +42,8 @@ public class Connection implements Closeable {
 	private SSLSocketFactory sslSocketFactory;
 	private SSLParameters sslParameters;
 	private HostnameVerifier hostnameVerifier;
+	private boolean useSocketChannel;
+	private SocketChannelTransport transport;
 
 	public Connection() {
 	}
@@ -73,6 +77,20 @@ public class Connection implements Closeable {
 		return socket;
 	}
 
+	public boolean isUseSocketChannel() {
+		return useSocketChannel;
+	}
+
+	/**
+	 * Use {@link java.nio.channels.SocketChannel} based transport with direct
+	 * buffers instead of blocking socket streams. Commands with large arguments are
+	 * written with a single gathering write. Ignored for SSL connections. Takes
+	 * effect on next connect.
+	 */
+	public void setUseSocketChannel(boolean useSocketChannel) {
+		this.useSocketChannel = useSocketChannel;
+	}
+
 	public int getConnectionTimeout() {
 		return connectionTimeout;
 	}
@@ -127,7 +145,16 @@ public class Connection implements Closeable {
 	public boolean sendCommand(final ProtocolCommand cmd, final byte[]... args) {
 		try {
 			if (connect()) {
-				Protocol.sendCommand(outputStream, cmd, args);
+				if (transport != null && SocketChannelTransport.hasLargeArgument(args)) {
+					flush();
+					try {
+						transport.writeCommand(cmd.getRaw(), args);
+					} catch (IOException e) {
+						throw new JedisConnectionException(e);
+					}
+				} else {
+					Protocol.sendCommand(outputStream, cmd, args);
+				}
 				pipelinedCommands++;
 				//logger.info(cmd.name());
 				return true;
@@ -177,7 +204,13 @@ public class Connection implements Closeable {
 		boolean ret = true;
 		if (!isConnected()) {
 			try {
-				socket = new Socket();
+				transport = null;
+				if (useSocketChannel && !ssl) {
+					transport = new SocketChannelTransport();
+					socket = transport.socket();
+				} else {
+					socket = new Socket();
+				}
 				socket.setReuseAddress(true);
 				socket.setKeepAlive(true); 
 				// Will monitor the TCP connection is valid
@@ -186,7 +219,11 @@ public class Connection implements Closeable {
 				socket.setSoLinger(true, 0); 
 				// Control calls close () method, the underlying socket is closed immediately
 
-				socket.connect(new InetSocketAddress(host, port), connectionTimeout);
+				if (transport != null) {
+					transport.connect(new InetSocketAddress(host, port), connectionTimeout);
+				} else {
+					socket.connect(new InetSocketAddress(host, port), connectionTimeout);
+				}
 				socket.setSoTimeout(soTimeout);
 				
 				if(isConnected()) {
@@ -203,8 +240,13 @@ public class Connection implements Closeable {
 							throw new JedisConnectionException(message);
 						}
 					}
-					outputStream = new RedisOutputStream(socket.getOutputStream());
-					inputStream = new RedisInputStream(socket.getInputStream());
+					if (transport != null) {
+						outputStream = new RedisOutputStream(transport.getOutputStream());
+						inputStream = new RedisInputStream(transport.getInputStream());
+					} else {
+						outputStream = new RedisOutputStream(socket.getOutputStream());
+						inputStream = new RedisInputStream(socket.getInputStream());
+					}
 					logger.info(" is success !");
 				}else {
 					ret = false;
@@ -213,6 +255,7 @@ public class Connection implements Closeable {
 			} catch (IOException ex) {
 				broken = true;
 				ret = false;
+				closeQuietly(transport);
 				throw new JedisConnectionException("Failed connecting to host " + host + ":" + port, ex);
 			}
 		}
@@ -236,6 +279,7 @@ public class Connection implements Closeable {
 				throw new JedisConnectionException(ex);
 			} finally {
 				closeQuietly(socket);
+				closeQuietly(transport);
 				return true;
 			}
 		}
@@ -349,6 +393,25 @@ public class Connection implements Closeable {
 		return readProtocolWithCheckingBroken();
 	}
 
+	public <T> T getReply(final ReplyVisitor<T> visitor) {
+		flush();
+		pipelinedCommands--;
+		return readProtocolWithCheckingBroken(visitor);
+	}
+
+	public <T> List<Object> getMany(final int count, final ReplyVisitor<T> visitor) {
+		flush();
+		final List<Object> responses = new ArrayList<Object>(count);
+		for (int i = 0; i < count; i++) {
+			try {
+				responses.add(readProtocolWithCheckingBroken(visitor));
+			} catch (JedisDataException e) {
+				responses.add(e);
+			}
+		}
+		return responses;
+	}
+
 	public boolean isBroken() {
 		return broken;
 	}
@@ -364,13 +427,56 @@ public class Connection implements Closeable {
 
 	protected Object readProtocolWithCheckingBroken() {
 		try {
+			discardSkippedReplies();
 			return Protocol.read(inputStream);
 		} catch (JedisConnectionException exc) {
 			broken = true;
+			skippedReplies = 0;
 			throw exc;
 		}
 	}
 
+	protected <T> T readProtocolWithCheckingBroken(final ReplyVisitor<T> visitor) {
+		try {
+			discardSkippedReplies();
+			return Protocol.read(inputStream, visitor);
+		} catch (JedisConnectionException exc) {
+			broken = true;
+			skippedReplies = 0;
+			throw exc;
+		}
+	}
+
+	/**
+	 * Marks the reply of the last sent command to be discarded. It is read right
+	 * before the reply of the next command, so both commands share one round trip.
+	 */
+	protected void skipReply() {
+		skippedReplies++;
+	}
+
+	private void discardSkippedReplies() {
+		while (skippedReplies > 0) {
+			skippedReplies--;
+			pipelinedCommands--;
+			try {
+				Protocol.read(inputStream);
+			} catch (JedisDataException e) {
+				// the reply of the following command tells whether it was processed
+			}
+		}
+	}
+
+	public static void closeQuietly(SocketChannelTransport transport) {
+		if (transport != null) {
+			try {
+				transport.close();
+			} catch (IOException e) {
+				// ignored
+			}
+		}
+	}
+
 	public static void closeQuietly(Socket sock) {
 		// It's same thing as Apache Commons - IOUtils.closeQuietly()
 		if (sock != null) {
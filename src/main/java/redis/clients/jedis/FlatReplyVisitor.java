@@ -0,0 +1,68 @@
+package redis.clients.jedis;
+
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * Base visitor for flat multi bulk replies like HGETALL, LRANGE or ZRANGE WITHSCORES. Subclasses receive every
+ * element through {@link #element(byte[], int, int)}. Errors are remembered and thrown from {@link #result()}
+ * once the whole reply has been consumed, so the connection stays in a consistent state.
+ */
+public abstract class FlatReplyVisitor<T> implements ReplyVisitor<T> {
+
+	private JedisDataException error;
+
+	protected abstract void start(int size);
+
+	protected abstract void element(byte[] buf, int offset, int length);
+
+	protected abstract T build();
+
+	@Override
+	public void status(byte[] buf, int offset, int length) {
+		element(buf, offset, length);
+	}
+
+	@Override
+	public void bulk(byte[] buf, int offset, int length) {
+		element(buf, offset, length);
+	}
+
+	@Override
+	public void nullBulk() {
+		element(null, 0, 0);
+	}
+
+	@Override
+	public void integer(long value) {
+		error(new JedisDataException("Unexpected integer reply: " + value));
+	}
+
+	@Override
+	public void multiBulkStart(int size) {
+		error = null;
+		start(size);
+	}
+
+	@Override
+	public void multiBulkEnd() {
+	}
+
+	@Override
+	public void error(JedisDataException e) {
+		if (error == null) {
+			error = e;
+		}
+	}
+
+	@Override
+	public T result() {
+		final JedisDataException e = error;
+		error = null;
+		final T result = build();
+		if (e != null) {
+			throw e;
+		}
+		return result;
+	}
+
+}
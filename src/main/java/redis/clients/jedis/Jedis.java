@@ -1025,7 +1025,7 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
 	public Map<String, String> hgetAll(final String key) {
 		checkIsInMultiOrPipeline(key);
 		client.hgetAll(key);
-		return BuilderFactory.STRING_MAP.build(client.getBinaryMultiBulkReply());
+		return client.getReply(BuilderFactory.stringMapVisitor());
 	}
 
 	/**
@@ -1124,7 +1124,7 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
 	public List<String> lrange(final String key, final long start, final long end) {
 		checkIsInMultiOrPipeline(key);
 		client.lrange(key, start, end);
-		return client.getMultiBulkReply();
+		return client.getReply(BuilderFactory.stringListVisitor());
 	}
 
 	/**
@@ -2527,19 +2527,7 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
 
 	private Set<Tuple> getTupledSet() {
 		checkIsInMultiOrPipeline();
-		List<String> membersWithScores = client.getMultiBulkReply();
-		if (membersWithScores == null) {
-			return Collections.emptySet();
-		}
-		if (membersWithScores.isEmpty()) {
-			return Collections.emptySet();
-		}
-		Set<Tuple> set = new LinkedHashSet<Tuple>(membersWithScores.size() / 2, 1.0f);
-		Iterator<String> iterator = membersWithScores.iterator();
-		while (iterator.hasNext()) {
-			set.add(new Tuple(iterator.next(), Double.valueOf(iterator.next())));
-		}
-		return set;
+		return client.getReply(BuilderFactory.tupleSetVisitor());
 	}
 
 	@Override
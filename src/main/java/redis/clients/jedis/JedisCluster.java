@@ -11,6 +11,7 @@ import redis.clients.jedis.BinaryClient.LIST_POSITION;
 import redis.clients.jedis.params.sortedset.ZAddParams;
 import redis.clients.jedis.params.sortedset.ZIncrByParams;
 import redis.clients.jedis.params.geo.GeoRadiusParam;
+import redis.clients.util.JedisClusterCRC16;
 import redis.clients.util.JedisClusterHashTagUtil;
 import redis.clients.util.KeyMergeUtil;
 import redis.clients.util.SafeEncoder;
@@ -102,6 +103,23 @@ public class JedisCluster extends BinaryJedisCluster
 		super(jedisClusterNode, connectionTimeout, soTimeout, maxAttempts, password, clientName, poolConfig);
 	}
 
+	/**
+	 * @return <code>false</code> if the keys hash to different slots and the
+	 *         command has to be split per slot
+	 */
+	private static boolean isSingleSlot(int step, String... args) {
+		if (args.length <= step) {
+			return true;
+		}
+		int slot = JedisClusterCRC16.getSlot(args[0]);
+		for (int i = step; i + step <= args.length; i += step) {
+			if (JedisClusterCRC16.getSlot(args[i]) != slot) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public String set(final String key, final String value) {
 		return new JedisClusterCommand<String>(connectionHandler, maxAttempts) {
@@ -144,6 +162,9 @@ public class JedisCluster extends BinaryJedisCluster
 
 	@Override
 	public Long exists(final String... keys) {
+		if (!isSingleSlot(1, keys)) {
+			return super.exists(SafeEncoder.encodeMany(keys));
+		}
 		return new JedisClusterCommand<Long>(connectionHandler, maxAttempts) {
 			@Override
 			public Long execute(Jedis connection) {
@@ -1389,6 +1410,9 @@ public class JedisCluster extends BinaryJedisCluster
 
 	@Override
 	public Long del(final String... keys) {
+		if (!isSingleSlot(1, keys)) {
+			return super.del(SafeEncoder.encodeMany(keys));
+		}
 		return new JedisClusterCommand<Long>(connectionHandler, maxAttempts) {
 			@Override
 			public Long execute(Jedis connection) {
@@ -1420,6 +1444,9 @@ public class JedisCluster extends BinaryJedisCluster
 
 	@Override
 	public List<String> mget(final String... keys) {
+		if (!isSingleSlot(1, keys)) {
+			return BuilderFactory.STRING_LIST.build(super.mget(SafeEncoder.encodeMany(keys)));
+		}
 		return new JedisClusterCommand<List<String>>(connectionHandler, maxAttempts) {
 			@Override
 			public List<String> execute(Jedis connection) {
@@ -1430,6 +1457,9 @@ public class JedisCluster extends BinaryJedisCluster
 
 	@Override
 	public String mset(final String... keysvalues) {
+		if (!isSingleSlot(2, keysvalues)) {
+			return super.mset(SafeEncoder.encodeMany(keysvalues));
+		}
 		String[] keys = new String[keysvalues.length / 2];
 
 		for (int keyIdx = 0; keyIdx < keys.length; keyIdx++) {
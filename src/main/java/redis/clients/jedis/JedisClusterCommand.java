@@ -99,15 +99,17 @@ public abstract class JedisClusterCommand<T> {
 		}
 
 		Jedis connection = null;
+		// slots seen by this attempt, a MOVED reply only renews them if nobody did it since
+		long slotsEpoch = connectionHandler.getSlotsEpoch();
 		try {
 
 			if (asking) {
-				// TODO: Pipeline asking with the original command to make it
-				// faster....
+				// ASKING goes out together with the original command, its reply is
+				// discarded when the command's reply is read
 				connection = askConnection.get();
-				connection.asking();
+				connection.getClient().askingWithoutReply();
 
-				// if asking success, reset asking flag
+				// ASKING is only valid for the next command, reset asking flag
 				asking = false;
 			} else {
 				if (tryRandomNode) {
@@ -148,7 +150,7 @@ public abstract class JedisClusterCommand<T> {
 			if (jre instanceof JedisMovedDataException) {
 				// it rebuilds cluster's slot cache
 				// recommended by Redis cluster specification
-				this.connectionHandler.renewSlotCache(connection);
+				this.connectionHandler.renewSlotCache(connection, slotsEpoch);
 			}
 
 			// release current connection before recursion or renewing
@@ -64,6 +64,18 @@ public abstract class JedisClusterConnectionHandler implements Closeable {
 		cache.renewClusterSlots(jedis);
 	}
 
+	/**
+	 * Renews the slot cache unless it was renewed since <code>epoch</code> was
+	 * read with {@link #getSlotsEpoch()}.
+	 */
+	public void renewSlotCache(Jedis jedis, long epoch) {
+		cache.renewClusterSlots(jedis, epoch);
+	}
+
+	public long getSlotsEpoch() {
+		return cache.getSlotsEpoch();
+	}
+
 	@Override
 	public void close() {
 		cache.reset();
@@ -26,6 +26,9 @@ public class JedisClusterInfoCache {
 	private final Lock r = rwl.readLock();
 	private final Lock w = rwl.writeLock();
 	private volatile boolean rediscovering;
+	// incremented by every slot renewal, lets callers detect that the slots were
+	// renewed after they saw a redirection
+	private volatile long slotsEpoch;
 	private final GenericObjectPoolConfig poolConfig;
 
 	private int connectionTimeout;
@@ -88,39 +91,62 @@ public class JedisClusterInfoCache {
 		// If rediscovering is already in process - no need to start one more same
 		// rediscovering, just return
 		if (!rediscovering) {
-			try {
-				w.lock();
-				rediscovering = true;
-
-				if (jedis != null) {
-					try {
-						discoverClusterSlots(jedis);
-						return;
-					} catch (JedisException e) {
-						// try nodes from all pools
-					}
+			renewClusterSlots(jedis, slotsEpoch);
+		}
+	}
+
+	/**
+	 * Renews the slots unless they were already renewed since <code>epoch</code>
+	 * was read with {@link #getSlotsEpoch()}. Threads hitting redirections of the
+	 * same resharding wait for one CLUSTER SLOTS call instead of issuing their own,
+	 * and continue with the renewed slots.
+	 */
+	public void renewClusterSlots(Jedis jedis, long epoch) {
+		boolean renewing = false;
+		w.lock();
+		try {
+			if (slotsEpoch != epoch) {
+				return;
+			}
+			renewing = true;
+			rediscovering = true;
+
+			if (jedis != null) {
+				try {
+					discoverClusterSlots(jedis);
+					return;
+				} catch (JedisException e) {
+					// try nodes from all pools
 				}
+			}
 
-				for (JedisPool jp : getShuffledNodesPool()) {
-					try {
-						jedis = jp.getResource();
-						discoverClusterSlots(jedis);
-						return;
-					} catch (JedisConnectionException e) {
-						// try next nodes
-					} finally {
-						if (jedis != null) {
-							jedis.close();
-						}
+			for (JedisPool jp : getShuffledNodesPool()) {
+				Jedis j = null;
+				try {
+					j = jp.getResource();
+					discoverClusterSlots(j);
+					return;
+				} catch (JedisConnectionException e) {
+					// try next nodes
+				} finally {
+					if (j != null) {
+						j.close();
 					}
 				}
-			} finally {
-				rediscovering = false;
-				w.unlock();
 			}
+		} finally {
+			if (renewing) {
+				slotsEpoch++;
+			}
+			rediscovering = false;
+			w.unlock();
 		}
 	}
 
+	public long getSlotsEpoch() {
+		return slotsEpoch;
+	}
+
 	private void discoverClusterSlots(Jedis jedis) {
 		List<Object> slots = jedis.clusterSlots();
 		this.slots.clear();
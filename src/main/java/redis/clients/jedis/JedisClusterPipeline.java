@@ -0,0 +1,356 @@
+package redis.clients.jedis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import redis.clients.jedis.exceptions.JedisAskDataException;
+import redis.clients.jedis.exceptions.JedisClusterException;
+import redis.clients.jedis.exceptions.JedisClusterMaxRedirectionsException;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisMovedDataException;
+import redis.clients.jedis.exceptions.JedisRedirectionException;
+import redis.clients.util.JedisClusterCRC16;
+import redis.clients.util.SafeEncoder;
+
+/**
+ * Pipeline for Redis Cluster. Commands are recorded together with the slot of
+ * their key and sent on {@link #sync()}: they are grouped by the node owning the
+ * slot, every group is written to a connection of its node, all connections are
+ * flushed before any reply is read, and the replies are put back in call order.
+ * <p>
+ * Commands answered with MOVED or ASK are sent again to the node given in the
+ * redirection, up to <code>maxAttempts</code> rounds. A MOVED reply renews the
+ * slot cache once per round, ASK redirected commands are preceded by ASKING.
+ * Connections are only borrowed from the node pools while syncing.
+ */
+public class JedisClusterPipeline extends PipelineBase {
+
+	private final JedisClusterConnectionHandler connectionHandler;
+	private final int maxAttempts;
+	private final List<PipelinedCommand> commands = new ArrayList<PipelinedCommand>();
+	private final CommandRecorder recorder = new CommandRecorder();
+
+	private static class PipelinedCommand {
+		private final int slot;
+		private final ProtocolCommand command;
+		private final byte[][] args;
+		private HostAndPort askNode;
+		private Object reply;
+
+		public PipelinedCommand(int slot, ProtocolCommand command, byte[][] args) {
+			this.slot = slot;
+			this.command = command;
+			this.args = args;
+		}
+	}
+
+	/**
+	 * Client handed to {@link PipelineBase}, records commands instead of writing
+	 * them to a socket.
+	 */
+	private class CommandRecorder extends Client {
+		private int slot;
+
+		@Override
+		public boolean sendCommand(final ProtocolCommand cmd, final byte[]... args) {
+			commands.add(new PipelinedCommand(slot, cmd, args));
+			return true;
+		}
+	}
+
+	/**
+	 * Commands of one round sent to the same node.
+	 */
+	private static class NodeBatch {
+		private final List<PipelinedCommand> commands;
+		private Jedis jedis;
+		private boolean failed;
+		private boolean read;
+
+		public NodeBatch(List<PipelinedCommand> commands) {
+			this.commands = commands;
+		}
+
+		public void write(JedisPool pool) {
+			jedis = pool.getResource();
+			Client client = jedis.getClient();
+			for (PipelinedCommand command : commands) {
+				if (command.askNode != null) {
+					client.asking();
+				}
+				if (!client.sendCommand(command.command, command.args)) {
+					throw new JedisConnectionException("Could not send command to " + client.getHost() + ":"
+							+ client.getPort());
+				}
+			}
+			client.flush();
+		}
+
+		public void read() {
+			Client client = jedis.getClient();
+			// replies are only taken over once the whole batch is read
+			List<Object> replies = new ArrayList<Object>(commands.size());
+			for (PipelinedCommand command : commands) {
+				if (command.askNode != null) {
+					// the reply of ASKING directly precedes the reply of its command,
+					// which tells whether the command was accepted
+					readReply(client);
+				}
+				replies.add(readReply(client));
+			}
+			for (int i = 0; i < replies.size(); i++) {
+				commands.get(i).reply = replies.get(i);
+			}
+			read = true;
+		}
+
+		private static Object readReply(Client client) {
+			try {
+				return client.getOne();
+			} catch (JedisDataException e) {
+				return e;
+			}
+		}
+
+		/**
+		 * Returns the connection to its pool. A connection with written but unread
+		 * replies is disconnected first, so the next user of the connection does
+		 * not read them.
+		 */
+		public void release() {
+			if (jedis != null) {
+				if (!read) {
+					jedis.disconnect();
+				}
+				jedis.close();
+				jedis = null;
+			}
+		}
+	}
+
+	public JedisClusterPipeline(JedisClusterConnectionHandler connectionHandler, int maxAttempts) {
+		this.connectionHandler = connectionHandler;
+		this.maxAttempts = maxAttempts;
+	}
+
+	@Override
+	protected Client getClient(String key) {
+		return getClient(SafeEncoder.encode(key));
+	}
+
+	@Override
+	protected Client getClient(byte[] key) {
+		recorder.slot = JedisClusterCRC16.getSlot(key);
+		return recorder;
+	}
+
+	/**
+	 * Routes a multi key command, all keys must hash to the same slot.
+	 */
+	private Client getClient(String... keys) {
+		checkSameSlot(keys.length, 1, SafeEncoder.encodeMany(keys));
+		return getClient(keys[0]);
+	}
+
+	private Client getClient(int step, byte[]... keys) {
+		checkSameSlot(keys.length / step, step, keys);
+		return getClient(keys[0]);
+	}
+
+	private static void checkSameSlot(int keyCount, int step, byte[]... keys) {
+		if (keyCount == 0) {
+			throw new JedisClusterException("No way to dispatch this command to Redis Cluster.");
+		}
+		int slot = JedisClusterCRC16.getSlot(keys[0]);
+		for (int i = 1; i < keyCount; i++) {
+			if (JedisClusterCRC16.getSlot(keys[i * step]) != slot) {
+				throw new JedisClusterException(
+						"No way to dispatch this command to Redis Cluster because keys have different slots.");
+			}
+		}
+	}
+
+	public Response<Long> del(String... keys) {
+		getClient(keys).del(keys);
+		return getResponse(BuilderFactory.LONG);
+	}
+
+	public Response<Long> del(byte[]... keys) {
+		getClient(1, keys).del(keys);
+		return getResponse(BuilderFactory.LONG);
+	}
+
+	public Response<Long> exists(String... keys) {
+		getClient(keys).exists(keys);
+		return getResponse(BuilderFactory.LONG);
+	}
+
+	public Response<Long> exists(byte[]... keys) {
+		getClient(1, keys).exists(keys);
+		return getResponse(BuilderFactory.LONG);
+	}
+
+	public Response<List<String>> mget(String... keys) {
+		getClient(keys).mget(keys);
+		return getResponse(BuilderFactory.STRING_LIST);
+	}
+
+	public Response<List<byte[]>> mget(byte[]... keys) {
+		getClient(1, keys).mget(keys);
+		return getResponse(BuilderFactory.BYTE_ARRAY_LIST);
+	}
+
+	public Response<String> mset(String... keysvalues) {
+		getClient(2, SafeEncoder.encodeMany(keysvalues)).mset(keysvalues);
+		return getResponse(BuilderFactory.STRING);
+	}
+
+	public Response<String> mset(byte[]... keysvalues) {
+		getClient(2, keysvalues).mset(keysvalues);
+		return getResponse(BuilderFactory.STRING);
+	}
+
+	/**
+	 * Sends all recorded commands and sets the responses.
+	 */
+	public void sync() {
+		for (Object reply : execute()) {
+			generateResponse(reply);
+		}
+	}
+
+	/**
+	 * Sends all recorded commands.
+	 *
+	 * @return A list of all the responses in the order you executed them.
+	 */
+	public List<Object> syncAndReturnAll() {
+		List<Object> replies = execute();
+		List<Object> formatted = new ArrayList<Object>(replies.size());
+		for (Object reply : replies) {
+			try {
+				formatted.add(generateResponse(reply).get());
+			} catch (JedisDataException e) {
+				formatted.add(e);
+			}
+		}
+		return formatted;
+	}
+
+	private List<Object> execute() {
+		if (commands.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<PipelinedCommand> all = new ArrayList<PipelinedCommand>(commands);
+		commands.clear();
+
+		List<PipelinedCommand> pending = all;
+		JedisConnectionException connectionError = null;
+		for (int attempt = 0; attempt < maxAttempts && !pending.isEmpty(); attempt++) {
+			List<PipelinedCommand> retry = new ArrayList<PipelinedCommand>();
+			List<NodeBatch> batches = new ArrayList<NodeBatch>();
+			connectionError = null;
+			boolean moved = false;
+			long slotsEpoch = connectionHandler.getSlotsEpoch();
+			try {
+				// every batch is written and flushed before the first reply is read, so
+				// the nodes work on their batches in parallel
+				for (Map.Entry<JedisPool, List<PipelinedCommand>> entry : groupByNode(pending).entrySet()) {
+					NodeBatch batch = new NodeBatch(entry.getValue());
+					batches.add(batch);
+					try {
+						batch.write(entry.getKey());
+					} catch (JedisConnectionException e) {
+						connectionError = e;
+						batch.failed = true;
+						retry.addAll(batch.commands);
+					}
+				}
+				for (NodeBatch batch : batches) {
+					if (batch.failed) {
+						continue;
+					}
+					try {
+						batch.read();
+					} catch (JedisConnectionException e) {
+						connectionError = e;
+						retry.addAll(batch.commands);
+						continue;
+					}
+					for (PipelinedCommand command : batch.commands) {
+						if (command.reply instanceof JedisMovedDataException) {
+							if (!moved) {
+								// rebuild the slot cache once per round, as recommended by the
+								// Redis cluster specification
+								moved = true;
+								connectionHandler.renewSlotCache(batch.jedis, slotsEpoch);
+							}
+							command.askNode = null;
+							retry.add(command);
+						} else if (command.reply instanceof JedisAskDataException) {
+							command.askNode = ((JedisRedirectionException) command.reply).getTargetNode();
+							retry.add(command);
+						} else {
+							command.askNode = null;
+						}
+					}
+				}
+			} finally {
+				for (NodeBatch batch : batches) {
+					batch.release();
+				}
+			}
+			pending = retry;
+		}
+
+		if (!pending.isEmpty()) {
+			if (connectionError != null) {
+				connectionHandler.renewSlotCache();
+				clean();
+				throw connectionError;
+			}
+			for (PipelinedCommand command : pending) {
+				command.reply = new JedisClusterMaxRedirectionsException("Too many Cluster redirections?");
+			}
+		}
+
+		List<Object> replies = new ArrayList<Object>(all.size());
+		for (PipelinedCommand command : all) {
+			replies.add(command.reply);
+		}
+		return replies;
+	}
+
+	private Map<JedisPool, List<PipelinedCommand>> groupByNode(List<PipelinedCommand> pending) {
+		Map<JedisPool, List<PipelinedCommand>> groups = new LinkedHashMap<JedisPool, List<PipelinedCommand>>();
+		for (PipelinedCommand command : pending) {
+			JedisPool pool = getPool(command);
+			List<PipelinedCommand> group = groups.get(pool);
+			if (group == null) {
+				group = new ArrayList<PipelinedCommand>();
+				groups.put(pool, group);
+			}
+			group.add(command);
+		}
+		return groups;
+	}
+
+	private JedisPool getPool(PipelinedCommand command) {
+		if (command.askNode != null) {
+			return connectionHandler.cache.setupNodeIfNotExist(command.askNode);
+		}
+		JedisPool pool = connectionHandler.cache.getSlotPool(command.slot);
+		if (pool == null) {
+			connectionHandler.renewSlotCache();
+			pool = connectionHandler.cache.getSlotPool(command.slot);
+			if (pool == null) {
+				throw new JedisClusterException("No node serves slot " + command.slot);
+			}
+		}
+		return pool;
+	}
+}
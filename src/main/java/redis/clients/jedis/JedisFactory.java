@@ -31,11 +31,20 @@ class JedisFactory implements PooledObjectFactory<Jedis> {
 	private final SSLSocketFactory sslSocketFactory;
 	private SSLParameters sslParameters;
 	private HostnameVerifier hostnameVerifier;
+	private final boolean useSocketChannel;
 
 	public JedisFactory(final String host, final int port, final int connectionTimeout, final int soTimeout,
 			final String password, final int database, final String clientName, final boolean ssl,
 			final SSLSocketFactory sslSocketFactory, final SSLParameters sslParameters,
 			final HostnameVerifier hostnameVerifier) {
+		this(host, port, connectionTimeout, soTimeout, password, database, clientName, ssl, sslSocketFactory,
+				sslParameters, hostnameVerifier, false);
+	}
+
+	public JedisFactory(final String host, final int port, final int connectionTimeout, final int soTimeout,
+			final String password, final int database, final String clientName, final boolean ssl,
+			final SSLSocketFactory sslSocketFactory, final SSLParameters sslParameters,
+			final HostnameVerifier hostnameVerifier, final boolean useSocketChannel) {
 		this.hostAndPort.set(new HostAndPort(host, port));
 		this.connectionTimeout = connectionTimeout;
 		this.soTimeout = soTimeout;
@@ -46,11 +55,19 @@ class JedisFactory implements PooledObjectFactory<Jedis> {
 		this.sslSocketFactory = sslSocketFactory;
 		this.sslParameters = sslParameters;
 		this.hostnameVerifier = hostnameVerifier;
+		this.useSocketChannel = useSocketChannel;
 	}
 
 	public JedisFactory(final URI uri, final int connectionTimeout, final int soTimeout, final String clientName,
 			final boolean ssl, final SSLSocketFactory sslSocketFactory, final SSLParameters sslParameters,
 			final HostnameVerifier hostnameVerifier) {
+		this(uri, connectionTimeout, soTimeout, clientName, ssl, sslSocketFactory, sslParameters, hostnameVerifier,
+				false);
+	}
+
+	public JedisFactory(final URI uri, final int connectionTimeout, final int soTimeout, final String clientName,
+			final boolean ssl, final SSLSocketFactory sslSocketFactory, final SSLParameters sslParameters,
+			final HostnameVerifier hostnameVerifier, final boolean useSocketChannel) {
 		if (!JedisURIHelper.isValid(uri)) {
 			throw new InvalidURIException(
 					String.format("Cannot open Redis connection due invalid URI. %s", uri.toString()));
@@ -66,6 +83,7 @@ class JedisFactory implements PooledObjectFactory<Jedis> {
 		this.sslSocketFactory = sslSocketFactory;
 		this.sslParameters = sslParameters;
 		this.hostnameVerifier = hostnameVerifier;
+		this.useSocketChannel = useSocketChannel;
 	}
 
 	public void setHostAndPort(final HostAndPort hostAndPort) {
@@ -103,6 +121,7 @@ class JedisFactory implements PooledObjectFactory<Jedis> {
 		final HostAndPort hostAndPort = this.hostAndPort.get();
 		final Jedis jedis = new Jedis(hostAndPort.getHost(), hostAndPort.getPort(), connectionTimeout, soTimeout,
 				password, database, ssl, sslSocketFactory, sslParameters, hostnameVerifier);
+		jedis.getClient().setUseSocketChannel(useSocketChannel);
 
 		try {
 			jedis.connect();
@@ -177,7 +177,7 @@ public class JedisPool extends Pool<Jedis> {
 			final SSLSocketFactory sslSocketFactory, final SSLParameters sslParameters,
 			final HostnameVerifier hostnameVerifier) {
 		super(poolConfig, new JedisFactory(host, port, connectionTimeout, soTimeout, password, database, clientName,
-				ssl, sslSocketFactory, sslParameters, hostnameVerifier));
+				ssl, sslSocketFactory, sslParameters, hostnameVerifier, JedisPoolConfig.isUseSocketChannel(poolConfig)));
 	}
 
 	public JedisPool(final GenericObjectPoolConfig poolConfig, final URI uri) {
@@ -201,7 +201,8 @@ public class JedisPool extends Pool<Jedis> {
 
 	public JedisPool(final GenericObjectPoolConfig poolConfig, final URI uri, final int connectionTimeout,
 			final int soTimeout) {
-		super(poolConfig, new JedisFactory(uri, connectionTimeout, soTimeout, null, false, null, null, null));
+		super(poolConfig, new JedisFactory(uri, connectionTimeout, soTimeout, null, false, null, null, null,
+				JedisPoolConfig.isUseSocketChannel(poolConfig)));
 	}
 
 	public JedisPool(final GenericObjectPoolConfig poolConfig, final URI uri, final int connectionTimeout,
@@ -209,7 +210,7 @@ public class JedisPool extends Pool<Jedis> {
 			final HostnameVerifier hostnameVerifier) {
 		super(poolConfig, new JedisFactory(uri, connectionTimeout, soTimeout, null,
 						(uri.getScheme() != null && uri.getScheme().equals("rediss")), sslSocketFactory, sslParameters,
-						hostnameVerifier));
+						hostnameVerifier, JedisPoolConfig.isUseSocketChannel(poolConfig)));
 	}
 
 	@Override
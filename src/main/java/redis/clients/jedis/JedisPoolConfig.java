@@ -10,4 +10,22 @@ public class JedisPoolConfig extends GenericObjectPoolConfig {
 		setTimeBetweenEvictionRunsMillis(30000);
 		setNumTestsPerEvictionRun(-1);
 	}
+
+	private boolean useSocketChannel;
+
+	public boolean isUseSocketChannel() {
+		return useSocketChannel;
+	}
+
+	/**
+	 * Creates pooled connections with {@link java.nio.channels.SocketChannel} based
+	 * transport. See {@link Connection#setUseSocketChannel(boolean)}.
+	 */
+	public void setUseSocketChannel(boolean useSocketChannel) {
+		this.useSocketChannel = useSocketChannel;
+	}
+
+	static boolean isUseSocketChannel(GenericObjectPoolConfig poolConfig) {
+		return poolConfig instanceof JedisPoolConfig && ((JedisPoolConfig) poolConfig).isUseSocketChannel();
+	}
 }
@@ -110,7 +110,7 @@ public class JedisSentinelPool extends Pool<Jedis> {
 			currentHostMaster = master;
 			if (factory == null) {
 				factory = new JedisFactory(master.getHost(), master.getPort(), connectionTimeout, soTimeout, password,
-						database, clientName, false, null, null, null);
+						database, clientName, false, null, null, null, JedisPoolConfig.isUseSocketChannel(poolConfig));
 				initPool(poolConfig, factory);
 			} else {
 				factory.setHostAndPort(currentHostMaster);
@@ -29,6 +29,7 @@ public class JedisShardInfo extends ShardInfo<Jedis> {
 	private SSLSocketFactory sslSocketFactory;
 	private SSLParameters sslParameters;
 	private HostnameVerifier hostnameVerifier;
+	private boolean useSocketChannel;
 
 	public JedisShardInfo(String host) {
 		super(Sharded.DEFAULT_WEIGHT);
@@ -286,6 +287,17 @@ public class JedisShardInfo extends ShardInfo<Jedis> {
 		return hostnameVerifier;
 	}
 
+	public boolean isUseSocketChannel() {
+		return useSocketChannel;
+	}
+
+	/**
+	 * See {@link Connection#setUseSocketChannel(boolean)}.
+	 */
+	public void setUseSocketChannel(boolean useSocketChannel) {
+		this.useSocketChannel = useSocketChannel;
+	}
+
 	@Override
 	public Jedis createResource() {
 		return new Jedis(this);
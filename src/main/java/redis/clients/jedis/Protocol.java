@@ -213,6 +213,50 @@ public final class Protocol {
 		return process(is);
 	}
 
+	public static <T> T read(final RedisInputStream is, final ReplyVisitor<T> visitor) {
+		visit(is, visitor);
+		return visitor.result();
+	}
+
+	private static void visit(final RedisInputStream is, final ReplyVisitor<?> visitor) {
+		final byte b = is.readByte();
+		if (b == PLUS_BYTE) {
+			final byte[] line = is.readLineBytes();
+			visitor.status(line, 0, line.length);
+		} else if (b == DOLLAR_BYTE) {
+			final int len = is.readIntCrLf();
+			if (len == -1) {
+				visitor.nullBulk();
+				return;
+			}
+			final byte[] segment = is.readSegment(len);
+			// segment may be overwritten by the next read, so it has to be consumed before the delimiter
+			visitor.bulk(segment, is.getSegmentOffset(), len);
+			is.readByte();
+			is.readByte();
+		} else if (b == ASTERISK_BYTE) {
+			final int num = is.readIntCrLf();
+			visitor.multiBulkStart(num);
+			if (num == -1) {
+				return;
+			}
+			for (int i = 0; i < num; i++) {
+				try {
+					visit(is, visitor);
+				} catch (JedisDataException e) {
+					visitor.error(e);
+				}
+			}
+			visitor.multiBulkEnd();
+		} else if (b == COLON_BYTE) {
+			visitor.integer(is.readLongCrLf());
+		} else if (b == MINUS_BYTE) {
+			processError(is);
+		} else {
+			throw new JedisConnectionException("Unknown reply: " + (char) b);
+		}
+	}
+
 	public static final byte[] toByteArray(final boolean value) {
 		return value ? BYTES_TRUE : BYTES_FALSE;
 	}
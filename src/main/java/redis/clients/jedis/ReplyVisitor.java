@@ -0,0 +1,42 @@
+package redis.clients.jedis;
+
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * Streaming consumer of a single RESP reply. {@link Protocol#read(redis.clients.util.RedisInputStream, ReplyVisitor)}
+ * walks the reply directly over the input buffer and reports every element to the visitor, so callers can build
+ * their result without intermediate <code>byte[]</code> and <code>List</code> objects.
+ * <p>
+ * Byte ranges passed to {@link #status(byte[], int, int)} and {@link #bulk(byte[], int, int)} point into the
+ * connection buffer and are valid only for the duration of the call.
+ * <p>
+ * Top level error replies are thrown as {@link JedisDataException}, errors nested in multi bulk replies are
+ * reported through {@link #error(JedisDataException)}.
+ */
+public interface ReplyVisitor<T> {
+
+	void status(byte[] buf, int offset, int length);
+
+	void bulk(byte[] buf, int offset, int length);
+
+	void nullBulk();
+
+	void integer(long value);
+
+	/**
+	 * @param size
+	 *            amount of elements, or <code>-1</code> for a null multi bulk reply. {@link #multiBulkEnd()} is not
+	 *            called for null replies.
+	 */
+	void multiBulkStart(int size);
+
+	void multiBulkEnd();
+
+	void error(JedisDataException e);
+
+	/**
+	 * Returns the result of the visited reply and resets the visitor so it can be used for the next reply.
+	 */
+	T result();
+
+}
@@ -1,6 +1,5 @@
 package redis.clients.proxy;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
@@ -10,7 +9,7 @@ import org.springframework.cglib.proxy.MethodInterceptor;
 import org.springframework.cglib.proxy.MethodProxy;
 
 import redis.clients.common.utils.Loggers;
-import redis.clients.common.utils.EntityUtils;
+import redis.clients.common.utils.EntityAccessor;
 import redis.clients.common.utils.ObjectUtils;
 import redis.clients.common.utils.EntityUtils.EntitySaveEnum;
 import redis.clients.common.annotation.MethodSaveProxy;
@@ -94,10 +93,9 @@ public class EntityProxy<T extends IEntity> implements MethodInterceptor {
 	 */
 	public Map<String, Object> getChangeParamSet(EntitySaveEnum type) {
 		Map<String, Object> map = new HashMap<>();
-		Field[] fields = null;
 		if (changeParamSet != null && (!changeParamSet.isEmpty())) {
-			fields = EntityUtils.getAllCacheFields(this.getEntity(), type);
-			for (Field field : fields) {
+			EntityAccessor.FieldAccessor[] fields = EntityAccessor.of(this.getEntity().getClass()).getCacheFields(type);
+			for (EntityAccessor.FieldAccessor field : fields) {
 				String key = field.getName();
 				if (key == null || key.isEmpty()) {
 					continue;
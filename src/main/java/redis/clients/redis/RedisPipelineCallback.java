@@ -0,0 +1,10 @@
+package redis.clients.redis;
+
+import redis.clients.jedis.Pipeline;
+
+/**
+ * 使用同一个Pipeline批量发送命令的回调, 命令结果按发送顺序返回
+ */
+public interface RedisPipelineCallback {
+	public void doInPipeline(Pipeline pipeline) throws Exception;
+}
@@ -7,6 +7,7 @@ import com.alibaba.fastjson.JSON;
 import org.springframework.stereotype.Service;
 
 import redis.clients.common.utils.Loggers;
+import redis.clients.common.utils.EntityAccessor;
 import redis.clients.common.utils.EntityUtils;
 import redis.clients.common.utils.ObjectUtils;
 import redis.clients.common.utils.PageUtils;
@@ -17,7 +18,10 @@ import redis.clients.common.constant.GlobalConstants;
 import redis.clients.entity.IEntity;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.Tuple;
+import redis.clients.jedis.exceptions.JedisDataException;
 
 /**
  * Created by qq24139297 on 17/3/16. 缓存服务
@@ -68,6 +72,49 @@ public class RedisService {
 		}
 	}
 
+	/**
+	 * 在同一个链接上执行多个命令, 只借还一次链接
+	 * 
+	 * @param callback
+	 * @return 回调的返回值, 出错时返回null
+	 */
+	public <T> T executeInSession(RedisSessionCallback<T> callback) {
+		Jedis jedis = null;
+		boolean success = true;
+		T ret = null;
+		try {
+			jedis = jedisPool.getResource();
+			if (jedis == null) {
+				success = false;
+				return null;
+			}
+			ret = callback.doInSession(jedis);
+		} catch (Exception e) {
+			success = false;
+			returnBrokenResource(jedis, "executeInSession", e);
+		} finally {
+			releaseReidsSource(success, jedis);
+		}
+		return ret;
+	}
+
+	/**
+	 * 使用同一个链接和Pipeline批量发送命令, 只有一次网络往返
+	 * 
+	 * @param callback
+	 * @return 按发送顺序排列的命令结果, 出错时返回null
+	 */
+	public List<Object> executePipelined(final RedisPipelineCallback callback) {
+		return executeInSession(new RedisSessionCallback<List<Object>>() {
+			@Override
+			public List<Object> doInSession(Jedis jedis) throws Exception {
+				Pipeline pipeline = jedis.pipelined();
+				callback.doInPipeline(pipeline);
+				return pipeline.syncAndReturnAll();
+			}
+		});
+	}
+
 	/**
 	 * 设置缓存生命周期
 	 * 
@@ -125,11 +172,7 @@ public class RedisService {
 			}
 			Map<String, String> map = EntityUtils.getCacheValueMap(entity, EntitySaveEnum.Save2Redis);
 			if (map != null && map.size() > 0) {
-				String result = jedis.hmset(key, map);
-				ret = "OK".equalsIgnoreCase(result);
-				if (ret && (seconds >= 0)) {
-					jedis.expire(key, seconds);
-				}
+				ret = hmsetAndExpire(jedis, key, map, seconds);
 			}
 		} catch (Exception e) {
 			success = false;
@@ -140,6 +183,87 @@ public class RedisService {
 		return ret;
 	}
 
+	/**
+	 * 批量将对象保存到hash中,并且设置默认生命周期
+	 * 
+	 * @param entities key和对象
+	 */
+	public Map<String, Boolean> setObjectsToHash(Map<String, IEntity> entities) {
+		return setObjectsToHash(entities, GlobalConstants.RedisKeyConfig.NORMAL_LIFECYCLE);
+	}
+
+	/**
+	 * 批量将对象保存到hash中,并且设置生命周期, hmset通过一个Pipeline发送,
+	 * 只对hmset成功的key通过第二个Pipeline发送expire
+	 * 
+	 * @param entities key和对象
+	 * @param seconds
+	 * @return 每个key是否保存成功, 没有需要保存字段的对象视为成功
+	 */
+	public Map<String, Boolean> setObjectsToHash(Map<String, IEntity> entities, int seconds) {
+		Jedis jedis = null;
+		boolean success = true;
+		Map<String, Boolean> ret = new LinkedHashMap<String, Boolean>();
+		try {
+			jedis = jedisPool.getResource();
+			if (jedis == null) {
+				success = false;
+				return ret;
+			}
+			Pipeline pipeline = jedis.pipelined();
+			Map<String, Response<String>> responses = new LinkedHashMap<String, Response<String>>();
+			for (Entry<String, IEntity> entry : entities.entrySet()) {
+				Map<String, String> map = EntityUtils.getCacheValueMap(entry.getValue(), EntitySaveEnum.Save2Redis);
+				if (map != null && map.size() > 0) {
+					responses.put(entry.getKey(), pipeline.hmset(entry.getKey(), map));
+				} else {
+					ret.put(entry.getKey(), true);
+				}
+			}
+			pipeline.sync();
+
+			List<String> savedKeys = new ArrayList<String>(responses.size());
+			for (Entry<String, Response<String>> entry : responses.entrySet()) {
+				boolean saved;
+				try {
+					saved = "OK".equalsIgnoreCase(entry.getValue().get());
+				} catch (JedisDataException e) {
+					saved = false;
+				}
+				ret.put(entry.getKey(), saved);
+				if (saved) {
+					savedKeys.add(entry.getKey());
+				}
+			}
+
+			if (seconds >= 0 && !savedKeys.isEmpty()) {
+				pipeline = jedis.pipelined();
+				for (String key : savedKeys) {
+					pipeline.expire(key, seconds);
+				}
+				pipeline.sync();
+			}
+		} catch (Exception e) {
+			success = false;
+			ret.clear();
+			returnBrokenResource(jedis, "setObjectsToHash:" + entities.keySet(), e);
+		} finally {
+			releaseReidsSource(success, jedis);
+		}
+		return ret;
+	}
+
+	/*
+	 * 只有hmset成功时才设置生命周期
+	 */
+	private boolean hmsetAndExpire(Jedis jedis, String key, Map<String, String> map, int seconds) {
+		boolean ret = "OK".equalsIgnoreCase(jedis.hmset(key, map));
+		if (ret && seconds >= 0) {
+			jedis.expire(key, seconds);
+		}
+		return ret;
+	}
+
 	/*
 	 * 更新缓存里的hash值
 	 * 
@@ -268,7 +392,7 @@ public class RedisService {
 			}
 			Map<String, String> map = jedis.hgetAll(key);
 			if (map != null && map.size() > 0) {
-				Object obj = clazz.newInstance();
+				Object obj = EntityAccessor.of(clazz).newInstance();
 				if (obj != null) {
 					ret = ObjectUtils.getObjFromMap(map, obj);
 				}
@@ -285,6 +409,67 @@ public class RedisService {
 		return (T) ret;
 	}
 
+	/**
+	 * 批量从缓存里获取对象 缺省默认时间
+	 * 
+	 * @param keys
+	 * @param clazz
+	 * @return 与keys顺序一致的对象列表, 不存在的key对应null
+	 */
+	public <T> List<T> getObjectsFromHash(List<String> keys, Class<?> clazz) {
+		return getObjectsFromHash(keys, clazz, GlobalConstants.RedisKeyConfig.NORMAL_LIFECYCLE);
+	}
+
+	/**
+	 * 批量从缓存里获取对象, 所有命令通过一个Pipeline发送
+	 * 
+	 * @param keys
+	 * @param clazz
+	 * @param seconds
+	 * @return 与keys顺序一致的对象列表, 不存在的key对应null
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> getObjectsFromHash(List<String> keys, Class<?> clazz, int seconds) {
+		Jedis jedis = null;
+		boolean success = true;
+		List<T> ret = new ArrayList<T>(keys.size());
+		try {
+			if (clazz == null) {
+				success = false;
+				return null;
+			}
+			jedis = jedisPool.getResource();
+			if (jedis == null) {
+				success = false;
+				return null;
+			}
+			EntityAccessor accessor = EntityAccessor.of(clazz);
+			Pipeline pipeline = jedis.pipelined();
+			List<Response<Map<String, String>>> responses = new ArrayList<Response<Map<String, String>>>(keys.size());
+			for (String key : keys) {
+				responses.add(pipeline.hgetAll(key));
+				if (seconds >= 0) {
+					pipeline.expire(key, seconds);
+				}
+			}
+			pipeline.sync();
+			for (Response<Map<String, String>> response : responses) {
+				Map<String, String> map = response.get();
+				Object obj = null;
+				if (map != null && map.size() > 0) {
+					obj = ObjectUtils.getObjFromMap(map, accessor.newInstance());
+				}
+				ret.add((T) obj);
+			}
+		} catch (Exception e) {
+			success = false;
+			returnBrokenResource(jedis, "getObjectsFromHash:" + keys, e);
+		} finally {
+			releaseReidsSource(success, jedis);
+		}
+		return ret;
+	}
+
 	/**
 	 * 将一个列表对象放入缓存
 	 * 
@@ -323,11 +508,7 @@ public class RedisService {
 				}
 			}
 			if (map != null && map.size() > 0) {
-				String result = jedis.hmset(key, map);
-				ret = "OK".equalsIgnoreCase(result);
-				if (ret && (seconds >= 0)) {
-					jedis.expire(key, seconds);
-				}
+				ret = hmsetAndExpire(jedis, key, map, seconds);
 			}
 		} catch (Exception e) {
 			success = false;
@@ -377,7 +558,7 @@ public class RedisService {
 				Map<String, String> mapFields = null;
 				for (Entry<String, String> entry : map.entrySet()) {
 					mapFields = JSON.parseObject(entry.getValue().replaceAll("=", ":"), HashMap.class);
-					po = (RedisListInterface) clazz.newInstance();
+					po = (RedisListInterface) EntityAccessor.of(clazz).newInstance();
 					ObjectUtils.getObjFromMap(mapFields, po);
 					ret.add((T) po);
 				}
@@ -425,7 +606,7 @@ public class RedisService {
 			String value = jedis.hget(key, subUnionkey);
 			if (!StringUtils.isEmpty(value)) {
 				mapFields = JSON.parseObject(value.replaceAll("=", ":"), HashMap.class);
-				po = (RedisListInterface) clazz.newInstance();
+				po = (RedisListInterface) EntityAccessor.of(clazz).newInstance();
 				if (po != null) {
 					ObjectUtils.getObjFromMap(mapFields, po);
 				}
@@ -0,0 +1,10 @@
+package redis.clients.redis;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * 在同一个链接上执行多个命令的回调
+ */
+public interface RedisSessionCallback<T> {
+	public T doInSession(Jedis jedis) throws Exception;
+}
@@ -20,10 +20,12 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import redis.clients.redisson.api.ClusterNodesGroup;
+import redis.clients.redisson.api.EvictionMetrics;
 import redis.clients.redisson.api.LocalCachedMapOptions;
 import redis.clients.redisson.api.MapOptions;
 import redis.clients.redisson.api.Node;
 import redis.clients.redisson.api.NodesGroup;
+import redis.clients.redisson.api.PriorityScorer;
 import redis.clients.redisson.api.RAtomicDouble;
 import redis.clients.redisson.api.RAtomicLong;
 import redis.clients.redisson.api.RBatch;
@@ -67,6 +69,7 @@ import redis.clients.redisson.api.RSetMultimap;
 import redis.clients.redisson.api.RSetMultimapCache;
 import redis.clients.redisson.api.RSortedSet;
 import redis.clients.redisson.api.RTopic;
+import redis.clients.redisson.api.RoutingMetrics;
 import redis.clients.redisson.api.RedissonClient;
 import redis.clients.redisson.api.RedissonReactiveClient;
 import redis.clients.redisson.client.codec.Codec;
@@ -550,6 +553,16 @@ public class Redisson implements RedissonClient {
         return new RedissonBloomFilter<V>(codec, connectionManager.getCommandExecutor(), name);
     }
 
+    @Override
+    public <V> RBloomFilter<V> getBlockedBloomFilter(String name) {
+        return new RedissonBlockedBloomFilter<V>(connectionManager.getCommandExecutor(), name);
+    }
+
+    @Override
+    public <V> RBloomFilter<V> getBlockedBloomFilter(String name, Codec codec) {
+        return new RedissonBlockedBloomFilter<V>(codec, connectionManager.getCommandExecutor(), name);
+    }
+
     @Override
     public RKeys getKeys() {
         return new RedissonKeys(connectionManager.getCommandExecutor());
@@ -595,6 +608,16 @@ public class Redisson implements RedissonClient {
         return resolverProvider;
     }
 
+    @Override
+    public EvictionMetrics getEvictionMetrics() {
+        return evictionScheduler;
+    }
+
+    @Override
+    public RoutingMetrics getRoutingMetrics() {
+        return connectionManager.getRoutingStatistics();
+    }
+
     @Override
     public NodesGroup<Node> getNodesGroup() {
         return new RedisNodes<Node>(connectionManager);
@@ -641,6 +664,26 @@ public class Redisson implements RedissonClient {
     public <V> RPriorityDeque<V> getPriorityDeque(String name, Codec codec) {
         return new RedissonPriorityDeque<V>(codec, connectionManager.getCommandExecutor(), name, this);
     }
+
+    @Override
+    public <V> RPriorityQueue<V> getScoredPriorityQueue(String name, PriorityScorer<V> scorer) {
+        return new RedissonScoredPriorityQueue<V>(connectionManager.getCommandExecutor(), name, scorer);
+    }
+
+    @Override
+    public <V> RPriorityQueue<V> getScoredPriorityQueue(String name, Codec codec, PriorityScorer<V> scorer) {
+        return new RedissonScoredPriorityQueue<V>(codec, connectionManager.getCommandExecutor(), name, scorer);
+    }
+
+    @Override
+    public <V> RPriorityDeque<V> getScoredPriorityDeque(String name, PriorityScorer<V> scorer) {
+        return new RedissonScoredPriorityDeque<V>(connectionManager.getCommandExecutor(), name, scorer);
+    }
+
+    @Override
+    public <V> RPriorityDeque<V> getScoredPriorityDeque(String name, Codec codec, PriorityScorer<V> scorer) {
+        return new RedissonScoredPriorityDeque<V>(codec, connectionManager.getCommandExecutor(), name, scorer);
+    }
     
 
 }
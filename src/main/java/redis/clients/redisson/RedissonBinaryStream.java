@@ -18,62 +18,161 @@ package redis.clients.redisson;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import redis.clients.redisson.api.RBinaryStream;
 import redis.clients.redisson.api.RFuture;
 import redis.clients.redisson.client.codec.ByteArrayCodec;
-import redis.clients.redisson.client.handler.State;
-import redis.clients.redisson.client.protocol.Decoder;
-import redis.clients.redisson.client.protocol.RedisCommand;
 import redis.clients.redisson.client.protocol.RedisCommands;
 import redis.clients.redisson.command.CommandAsyncExecutor;
 import redis.clients.redisson.misc.RPromise;
 
-import io.netty.buffer.ByteBuf;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
 
 /**
+ * Stream is stored in parts of 512 MB each, 
+ * first part is stored under object name and following parts under <code>name:index</code>.
  * 
  * @author Nikita Koksharov
  *
  */
 public class RedissonBinaryStream extends RedissonBucket<byte[]> implements RBinaryStream {
 
+    private static final int PART_SIZE = 512*1024*1024;
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024*1024;
+    public static final int DEFAULT_READ_AHEAD = 4;
+
+    /**
+     * Buffers written bytes and appends them by chunks.
+     * Full chunk is sent without waiting for its reply, 
+     * the reply is awaited before sending the next chunk 
+     * since appends have to be applied in order.
+     * Stream without buffer stores each write before returning.
+     */
     class RedissonOutputStream extends OutputStream {
-        
+
+        private final byte[] buffer;
+        private int count;
+        private RFuture<Void> pendingWrite;
+
+        RedissonOutputStream(int bufferSize) {
+            buffer = new byte[bufferSize];
+        }
+
         @Override
         public void write(int b) throws IOException {
-            writeBytes(new byte[] {(byte)b});
-        }
-        
-        private void writeBytes(byte[] bytes) {
-            get(writeAsync(bytes));
+            if (buffer.length == 0) {
+                write(new byte[] {(byte) b});
+                return;
+            }
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            buffer[count++] = (byte) b;
         }
         
         @Override
         public void write(byte[] b, int off, int len) throws IOException {
-            byte[] dest;
-            if (b.length == len && off == 0) {
-                dest = b;
-            } else {
-                dest = new byte[len];
-                System.arraycopy(b, off, dest, 0, len);
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
             }
-            writeBytes(dest);
+            if (len == 0) {
+                return;
+            }
+            if (len >= buffer.length) {
+                // large array is written through and stored once method returns
+                flushBuffer();
+                byte[] dest;
+                if (b.length == len && off == 0) {
+                    dest = b;
+                } else {
+                    dest = Arrays.copyOfRange(b, off, off + len);
+                }
+                send(dest);
+                awaitPendingWrite();
+                return;
+            }
+            
+            if (len > buffer.length - count) {
+                flushBuffer();
+            }
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        private void flushBuffer() {
+            if (count == 0) {
+                return;
+            }
+            send(Arrays.copyOf(buffer, count));
+            count = 0;
+        }
+
+        private void send(byte[] bytes) {
+            awaitPendingWrite();
+            pendingWrite = writeAsync(bytes);
+        }
+
+        private void awaitPendingWrite() {
+            if (pendingWrite != null) {
+                RFuture<Void> future = pendingWrite;
+                pendingWrite = null;
+                get(future);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushBuffer();
+            awaitPendingWrite();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
         }
         
     }
     
+    /**
+     * Reads stream by chunks. 
+     * Once a full chunk has been received, following chunks are requested ahead 
+     * keeping up to <code>readAhead</code> requests in flight. 
+     * Chunk shorter than requested marks the end of stream, 
+     * so reading from there is retried by a single request.
+     */
     class RedissonInputStream extends InputStream {
 
-        private int index;
-        private int mark;
+        private final int chunkSize;
+        private final int readAhead;
+        private final Deque<RFuture<byte[]>> chunks = new ArrayDeque<RFuture<byte[]>>();
+
+        private long position;
+        private long requestedPosition;
+        private byte[] buffer;
+        private int bufferIndex;
+        private long mark;
         
+        RedissonInputStream(int chunkSize, int readAhead) {
+            this.chunkSize = chunkSize;
+            this.readAhead = readAhead;
+        }
+
         @Override
         public long skip(long n) throws IOException {
-            long k = size() - index;
+            long k = size() - position;
             if (n < k) {
                 k = n;
                 if (n < 0) {
@@ -81,23 +180,40 @@ public class RedissonBinaryStream extends RedissonBucket<byte[]> implements RBin
                 }
             }
 
-            index += k;
+            seek(position + k);
             return k;
         }
+
+        private void seek(long newPosition) {
+            if (buffer != null) {
+                long bufferStart = position - bufferIndex;
+                if (newPosition >= bufferStart && newPosition <= bufferStart + buffer.length) {
+                    bufferIndex = (int) (newPosition - bufferStart);
+                    position = newPosition;
+                    return;
+                }
+            }
+            
+            position = newPosition;
+            requestedPosition = newPosition;
+            buffer = null;
+            bufferIndex = 0;
+            chunks.clear();
+        }
         
         @Override
         public void mark(int readlimit) {
-            mark = index;
+            mark = position;
         }
         
         @Override
         public void reset() throws IOException {
-            index = mark;
+            seek(mark);
         }
         
         @Override
         public int available() throws IOException {
-            return (int)(size() - index);
+            return (int)(size() - position);
         }
         
         @Override
@@ -107,12 +223,11 @@ public class RedissonBinaryStream extends RedissonBucket<byte[]> implements RBin
         
         @Override
         public int read() throws IOException {
-            byte[] b = new byte[1];
-            int len = read(b);
-            if (len == -1) {
+            if (!fill()) {
                 return -1;
             }
-            return b[0] & 0xff;
+            position++;
+            return buffer[bufferIndex++] & 0xff;
         }
         
         @Override
@@ -126,47 +241,266 @@ public class RedissonBinaryStream extends RedissonBucket<byte[]> implements RBin
             if (off < 0 || len < 0 || len > b.length - off) {
                 throw new IndexOutOfBoundsException();
             }
+            if (!fill()) {
+                return -1;
+            }
+            
+            int readBytes = Math.min(len, buffer.length - bufferIndex);
+            System.arraycopy(buffer, bufferIndex, b, off, readBytes);
+            bufferIndex += readBytes;
+            position += readBytes;
+            return readBytes;
+        }
+
+        private boolean fill() {
+            if (buffer != null && bufferIndex < buffer.length) {
+                return true;
+            }
+            
+            if (chunks.isEmpty()) {
+                request();
+            }
+            byte[] chunk = get(chunks.poll());
+            if (chunk.length < chunkSize) {
+                // end of stream, requests ahead have nothing to read
+                chunks.clear();
+                requestedPosition = position + chunk.length;
+            } else {
+                while (chunks.size() < readAhead) {
+                    request();
+                }
+            }
+            
+            buffer = chunk;
+            bufferIndex = 0;
+            return chunk.length > 0;
+        }
+
+        private void request() {
+            chunks.add(readAsync(requestedPosition, chunkSize));
+            requestedPosition += chunkSize;
+        }
+
+        @Override
+        public void close() throws IOException {
+            chunks.clear();
+            buffer = null;
+        }
+
+    }
+
+    /**
+     * Channel reading and writing at its position. 
+     * Reads and writes larger than chunk size are split into chunks sent in parallel.
+     */
+    class RedissonByteChannel implements SeekableByteChannel {
+
+        private final int chunkSize;
+        private long position;
+        private volatile boolean closed;
+
+        RedissonByteChannel(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+        }
+
+        private void checkOpen() throws ClosedChannelException {
+            if (closed) {
+                throw new ClosedChannelException();
+            }
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            checkOpen();
+            int len = dst.remaining();
+            List<RFuture<byte[]>> futures = new ArrayList<RFuture<byte[]>>();
+            for (int offset = 0; offset < len; offset += chunkSize) {
+                futures.add(readAsync(position + offset, Math.min(chunkSize, len - offset)));
+            }
+            
+            int readBytes = 0;
+            for (RFuture<byte[]> future : futures) {
+                byte[] chunk = get(future);
+                dst.put(chunk);
+                readBytes += chunk.length;
+                if (chunk.length < chunkSize) {
+                    break;
+                }
+            }
+            if (readBytes == 0 && len > 0) {
+                return -1;
+            }
+            position += readBytes;
+            return readBytes;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            checkOpen();
+            int len = src.remaining();
+            List<RFuture<Void>> futures = new ArrayList<RFuture<Void>>();
+            for (int offset = 0; offset < len; offset += chunkSize) {
+                byte[] chunk = new byte[Math.min(chunkSize, len - offset)];
+                src.get(chunk);
+                futures.add(writeAsync(position + offset, chunk));
+            }
+            for (RFuture<Void> future : futures) {
+                get(future);
+            }
+            position += len;
+            return len;
+        }
+
+        @Override
+        public long position() throws IOException {
+            checkOpen();
+            return position;
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            checkOpen();
+            if (newPosition < 0) {
+                throw new IllegalArgumentException("Position can't be negative");
+            }
+            position = newPosition;
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            checkOpen();
+            return RedissonBinaryStream.this.size();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) throws IOException {
+            checkOpen();
+            if (size < 0) {
+                throw new IllegalArgumentException("Size can't be negative");
+            }
+            get(truncateAsync(size));
+            if (position > size) {
+                position = size;
+            }
+            return this;
+        }
+
+    }
+
+    /**
+     * Asynchronous channel reading and writing at its position.
+     * Position is advanced once an operation completes, 
+     * so only one operation should be pending at a time.
+     */
+    class RedissonAsynchronousByteChannel implements AsynchronousByteChannel {
+
+        private final AtomicLong position = new AtomicLong();
+        private volatile boolean closed;
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+        }
+
+        @Override
+        public <A> void read(ByteBuffer dst, final A attachment, final CompletionHandler<Integer, ? super A> handler) {
+            complete(read(dst), attachment, handler);
+        }
+
+        @Override
+        public RFuture<Integer> read(final ByteBuffer dst) {
+            final RPromise<Integer> result = newPromise();
+            if (closed) {
+                result.tryFailure(new ClosedChannelException());
+                return result;
+            }
+            if (!dst.hasRemaining()) {
+                result.trySuccess(0);
+                return result;
+            }
+            
+            // single read may span two parts at most, 
+            // so it's limited by part size and could return less than requested
+            RFuture<byte[]> future = readAsync(position.get(), Math.min(dst.remaining(), PART_SIZE));
+            future.addListener(new FutureListener<byte[]>() {
+                @Override
+                public void operationComplete(Future<byte[]> future) throws Exception {
+                    if (!future.isSuccess()) {
+                        result.tryFailure(future.cause());
+                        return;
+                    }
+                    
+                    byte[] chunk = future.getNow();
+                    if (chunk.length == 0 && dst.hasRemaining()) {
+                        result.trySuccess(-1);
+                        return;
+                    }
+                    dst.put(chunk);
+                    position.addAndGet(chunk.length);
+                    result.trySuccess(chunk.length);
+                }
+            });
+            return result;
+        }
+
+        @Override
+        public <A> void write(ByteBuffer src, final A attachment, final CompletionHandler<Integer, ? super A> handler) {
+            complete(write(src), attachment, handler);
+        }
+
+        @Override
+        public RFuture<Integer> write(ByteBuffer src) {
+            final RPromise<Integer> result = newPromise();
+            if (closed) {
+                result.tryFailure(new ClosedChannelException());
+                return result;
+            }
             
-            return (Integer)get(commandExecutor.evalReadAsync(getName(), codec, new RedisCommand<Integer>("EVAL", new Decoder<Integer>() {
-                                @Override
-                                public Integer decode(ByteBuf buf, State state) {
-                                    if (buf.readableBytes() == 0) {
-                                        return -1;
-                                    }
-                                    int readBytes = Math.min(buf.readableBytes(), len);
-                                    buf.readBytes(b, off, readBytes);
-                                    index += readBytes;
-                                    return readBytes;
-                                }
-                            }),
-                              "local parts = redis.call('get', KEYS[2]); "
-                            + "if parts ~= false then "
-                                + "local startPart = math.floor(tonumber(ARGV[1])/536870912); "
-                                + "local endPart = math.floor(tonumber(ARGV[2])/536870912); "
-                                + "local startPartName = KEYS[1]; "
-                                + "local endPartName = KEYS[1]; "
-
-                                + "if startPart > 0 then "
-                                    + "startPartName = KEYS[1] .. ':' .. startPart; "
-                                + "end; "
-                                + "if endPart > 0 then "
-                                    + "endPartName = KEYS[1] .. ':' .. endPart; "
-                                + "end; "
-
-                                + "if startPartName ~= endPartName then "
-                                    + "local startIndex = tonumber(ARGV[1]) - startPart*536870912; "
-                                    + "local endIndex = tonumber(ARGV[2]) - endPart*536870912; "
-                                    + "local result = redis.call('getrange', startPartName, startIndex, 536870911); "
-                                    + "result = result .. redis.call('getrange', endPartName, 0, endIndex-1); "
-                                    + "return result; "
-                                + "end; "
-                                    
-                                + "local startIndex = tonumber(ARGV[1]) - startPart*536870912; "
-                                + "local endIndex = tonumber(ARGV[2]) - endPart*536870912; "
-                                + "return redis.call('getrange', startPartName, startIndex, endIndex);"
-                            + "end;"
-                            + "return redis.call('getrange', KEYS[1], ARGV[1], ARGV[2]);",
-              Arrays.<Object>asList(getName(), getPartsName()), index, index + len - 1));
+            final byte[] bytes = new byte[src.remaining()];
+            src.get(bytes);
+            RFuture<Void> future = writeAsync(position.get(), bytes);
+            future.addListener(new FutureListener<Void>() {
+                @Override
+                public void operationComplete(Future<Void> future) throws Exception {
+                    if (!future.isSuccess()) {
+                        result.tryFailure(future.cause());
+                        return;
+                    }
+                    
+                    position.addAndGet(bytes.length);
+                    result.trySuccess(bytes.length);
+                }
+            });
+            return result;
+        }
+
+        private <A> void complete(RFuture<Integer> future, final A attachment, final CompletionHandler<Integer, ? super A> handler) {
+            future.addListener(new FutureListener<Integer>() {
+                @Override
+                public void operationComplete(Future<Integer> future) throws Exception {
+                    if (!future.isSuccess()) {
+                        handler.failed(future.cause(), attachment);
+                        return;
+                    }
+                    handler.completed(future.getNow(), attachment);
+                }
+            });
         }
 
     }
@@ -189,6 +523,112 @@ public class RedissonBinaryStream extends RedissonBucket<byte[]> implements RBin
           Arrays.<Object>asList(getName(), getPartsName()));
     }
 
+    /**
+     * Reads up to <code>length</code> bytes starting from <code>position</code>. 
+     * Range may span two parts as long as it's not greater than part size.
+     */
+    private RFuture<byte[]> readAsync(long position, int length) {
+        return commandExecutor.evalReadAsync(getName(), codec, RedisCommands.EVAL_OBJECT,
+                "local parts = redis.call('get', KEYS[2]); "
+              + "if parts == false then "
+                  + "return redis.call('getrange', KEYS[1], ARGV[1], ARGV[2]); "
+              + "end; "
+              + "local startPart = math.floor(tonumber(ARGV[1])/536870912); "
+              + "local endPart = math.floor(tonumber(ARGV[2])/536870912); "
+              + "local startPartName = KEYS[1]; "
+              + "local endPartName = KEYS[1]; "
+              + "if startPart > 0 then "
+                  + "startPartName = KEYS[1] .. ':' .. startPart; "
+              + "end; "
+              + "if endPart > 0 then "
+                  + "endPartName = KEYS[1] .. ':' .. endPart; "
+              + "end; "
+              + "local startIndex = tonumber(ARGV[1]) - startPart*536870912; "
+              + "local endIndex = tonumber(ARGV[2]) - endPart*536870912; "
+              + "if startPartName ~= endPartName then "
+                  + "local result = redis.call('getrange', startPartName, startIndex, 536870911); "
+                  + "return result .. redis.call('getrange', endPartName, 0, endIndex); "
+              + "end; "
+              + "return redis.call('getrange', startPartName, startIndex, endIndex);",
+          Arrays.<Object>asList(getName(), getPartsName()), position, position + length - 1);
+    }
+
+    /**
+     * Writes <code>bytes</code> at <code>position</code> overwriting existing ones. 
+     * Parts before the written range are padded with zeros up to part size, 
+     * so gap left by writing beyond the end is filled with zeros.
+     */
+    private RFuture<Void> writeAsync(long position, byte[] bytes) {
+        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_VOID,
+                "local parts = tonumber(redis.call('get', KEYS[2]) or 1); "
+              + "local position = tonumber(ARGV[1]); "
+              + "local length = string.len(ARGV[2]); "
+              + "local part = math.floor(position/536870912); "
+              + "for i = 0, part-1, 1 do "
+                  + "local name = KEYS[1]; "
+                  + "if i > 0 then "
+                      + "name = KEYS[1] .. ':' .. i; "
+                  + "end; "
+                  + "if redis.call('strlen', name) < 536870912 then "
+                      + "redis.call('setrange', name, 536870911, '\\0'); "
+                  + "end; "
+              + "end; "
+              + "local offset = 0; "
+              + "while offset < length do "
+                  + "local index = position + offset - part*536870912; "
+                  + "local chunk = string.sub(ARGV[2], offset + 1, offset + math.min(length - offset, 536870912 - index)); "
+                  + "local name = KEYS[1]; "
+                  + "if part > 0 then "
+                      + "name = KEYS[1] .. ':' .. part; "
+                  + "end; "
+                  + "redis.call('setrange', name, index, chunk); "
+                  + "offset = offset + string.len(chunk); "
+                  + "if part + 1 > parts then "
+                      + "parts = part + 1; "
+                      + "redis.call('set', KEYS[2], parts); "
+                  + "end; "
+                  + "part = part + 1; "
+              + "end; ",
+          Arrays.<Object>asList(getName(), getPartsName()), position, bytes);
+    }
+
+    private RFuture<Void> truncateAsync(long size) {
+        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_VOID,
+                "local cut = function(name, length) "
+                  + "if length == 0 then "
+                      + "redis.call('del', name); "
+                  + "elseif redis.call('strlen', name) > length then "
+                      + "redis.call('set', name, redis.call('getrange', name, 0, length - 1)); "
+                  + "end; "
+              + "end; "
+              + "local parts = redis.call('get', KEYS[2]); "
+              + "local size = tonumber(ARGV[1]); "
+              + "if parts == false then "
+                  + "cut(KEYS[1], size); "
+                  + "return; "
+              + "end; "
+              + "local lastPart = math.floor(size/536870912); "
+              + "for i = lastPart + 1, tonumber(parts)-1, 1 do "
+                  + "redis.call('del', KEYS[1] .. ':' .. i); "
+              + "end; "
+              + "local lastPartName = KEYS[1]; "
+              + "if lastPart > 0 then "
+                  + "lastPartName = KEYS[1] .. ':' .. lastPart; "
+              + "end; "
+              + "local lastPartSize = size - lastPart*536870912; "
+              + "cut(lastPartName, lastPartSize); "
+              + "local newParts = lastPart; "
+              + "if lastPartSize > 0 then "
+                  + "newParts = lastPart + 1; "
+              + "end; "
+              + "if newParts > 1 then "
+                  + "redis.call('set', KEYS[2], newParts); "
+              + "else "
+                  + "redis.call('del', KEYS[2]); "
+              + "end; ",
+          Arrays.<Object>asList(getName(), getPartsName()), size);
+    }
+
     private RFuture<Void> writeAsync(byte[] bytes) {
         return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_VOID,
                 "local parts = redis.call('get', KEYS[2]); "
@@ -240,17 +680,48 @@ public class RedissonBinaryStream extends RedissonBucket<byte[]> implements RBin
     
     @Override
     public InputStream getInputStream() {
-        return new RedissonInputStream();
+        return getInputStream(DEFAULT_CHUNK_SIZE, DEFAULT_READ_AHEAD);
+    }
+
+    @Override
+    public InputStream getInputStream(int chunkSize, int readAhead) {
+        checkChunkSize(chunkSize);
+        if (readAhead < 1) {
+            throw new IllegalArgumentException("readAhead can't be less than 1");
+        }
+        return new RedissonInputStream(chunkSize, readAhead);
     }
 
     @Override
     public OutputStream getOutputStream() {
-        return new RedissonOutputStream();
+        return new RedissonOutputStream(0);
+    }
+
+    @Override
+    public OutputStream getOutputStream(int bufferSize) {
+        checkChunkSize(bufferSize);
+        return new RedissonOutputStream(bufferSize);
+    }
+
+    @Override
+    public SeekableByteChannel getChannel() {
+        return new RedissonByteChannel(DEFAULT_CHUNK_SIZE);
+    }
+
+    @Override
+    public AsynchronousByteChannel getAsynchronousChannel() {
+        return new RedissonAsynchronousByteChannel();
+    }
+
+    private void checkChunkSize(int chunkSize) {
+        if (chunkSize < 1 || chunkSize > PART_SIZE) {
+            throw new IllegalArgumentException("Size should be in range from 1 to " + PART_SIZE);
+        }
     }
 
     @Override
     public RFuture<Void> setAsync(byte[] value) {
-        if (value.length > 512*1024*1024) {
+        if (value.length > PART_SIZE) {
             RPromise<Void> result = newPromise();
             int chunkSize = 10*1024*1024;
             write(value, result, chunkSize, 0);
@@ -0,0 +1,126 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson;
+
+import java.util.Arrays;
+import java.util.List;
+
+import redis.clients.redisson.client.codec.ByteArrayCodec;
+import redis.clients.redisson.client.codec.Codec;
+import redis.clients.redisson.client.protocol.RedisCommands;
+import redis.clients.redisson.command.CommandBatchService;
+import redis.clients.redisson.command.CommandExecutor;
+
+/**
+ * Blocked Bloom filter. All bits of an object are placed inside a single 512-bit block
+ * chosen by the first hash. So an object is checked by reading the block
+ * with one GETRANGE command and evaluating it locally.
+ *
+ * Bitmap size is rounded up to a multiple of the block size.
+ * Filter name shouldn't be shared with a Bloom filter of standard layout.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T> type of object
+ */
+public class RedissonBlockedBloomFilter<T> extends RedissonBloomFilter<T> {
+
+    private static final int BLOCK_SIZE = 512;
+    private static final int BLOCK_SIZE_BITS = 9;
+
+    protected RedissonBlockedBloomFilter(CommandExecutor commandExecutor, String name) {
+        super(commandExecutor, name);
+    }
+
+    protected RedissonBlockedBloomFilter(Codec codec, CommandExecutor commandExecutor, String name) {
+        super(codec, commandExecutor, name);
+    }
+
+    @Override
+    protected long optimalNumOfBits(long n, double p) {
+        long size = super.optimalNumOfBits(n, p);
+        return (size + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE;
+    }
+
+    private long block(long hash1, long size) {
+        if (size % BLOCK_SIZE != 0) {
+            throw new IllegalStateException("Bloom filter " + getName() + " has been initialized with standard layout");
+        }
+        return (hash1 & Long.MAX_VALUE) % (size / BLOCK_SIZE);
+    }
+
+    @Override
+    protected long[] hash(long hash1, long hash2, int iterations, long size) {
+        long blockStart = block(hash1, size) * BLOCK_SIZE;
+        long start = hash2 >>> (Long.SIZE - BLOCK_SIZE_BITS);
+        // odd step over power of two block size yields distinct bits
+        long step = (hash2 >>> (Long.SIZE - 2*BLOCK_SIZE_BITS)) | 1;
+        long[] indexes = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            indexes[i] = blockStart + ((start + i*step) & (BLOCK_SIZE - 1));
+        }
+        return indexes;
+    }
+
+    /**
+     * @return sorted blocks of all <code>hashes</code> without duplicates
+     */
+    private long[] blocks(List<long[]> hashes, long size) {
+        long[] blocks = new long[hashes.size()];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = block(hashes.get(i)[0], size);
+        }
+
+        Arrays.sort(blocks);
+        int length = 0;
+        for (int i = 0; i < blocks.length; i++) {
+            if (length == 0 || blocks[length - 1] != blocks[i]) {
+                blocks[length++] = blocks[i];
+            }
+        }
+        return Arrays.copyOf(blocks, length);
+    }
+
+    @Override
+    protected void readBits(CommandBatchService executorService, List<long[]> hashes, int hashIterations, long size) {
+        int blockBytes = BLOCK_SIZE / 8;
+        for (long block : blocks(hashes, size)) {
+            long start = block * blockBytes;
+            executorService.readAsync(getName(), ByteArrayCodec.INSTANCE, RedisCommands.GETRANGE,
+                    getName(), start, start + blockBytes - 1);
+        }
+    }
+
+    @Override
+    protected boolean checkBits(List<?> replies, List<long[]> hashes, int hashIterations, long size) {
+        long[] blocks = blocks(hashes, size);
+        for (long[] hash : hashes) {
+            long[] indexes = hash(hash[0], hash[1], hashIterations, size);
+            int blockIndex = Arrays.binarySearch(blocks, indexes[0] / BLOCK_SIZE);
+            byte[] block = (byte[]) replies.get(blockIndex);
+            for (long index : indexes) {
+                // bit 0 is the most significant bit of the first byte
+                int bit = (int) (index % BLOCK_SIZE);
+                if (block == null || bit / 8 >= block.length
+                        || (block[bit / 8] & (0x80 >>> (bit % 8))) == 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+}
@@ -16,7 +16,10 @@
 package redis.clients.redisson;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -50,6 +53,10 @@ import net.openhft.hashing.LongHashFunction;
 public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomFilter<T> {
 
     private static final long MAX_SIZE = Integer.MAX_VALUE*2L;
+    // amount of objects hashed and sent per batch
+    private static final int BATCH_SIZE = 10000;
+    // amount of bit operations per BITFIELD command
+    private static final int BITS_PER_COMMAND = 1000;
 
     private volatile long size;
     private volatile int hashIterations;
@@ -70,7 +77,7 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
         return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
       }
 
-    private long optimalNumOfBits(long n, double p) {
+    protected long optimalNumOfBits(long n, double p) {
         if (p == 0) {
             p = Double.MIN_VALUE;
         }
@@ -90,41 +97,161 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
 
     @Override
     public boolean add(T object) {
-        long[] hashes = hash(object);
+        return addAll(Collections.singleton(object));
+    }
 
-        while (true) {
-            if (size == 0) {
-                readConfig();
+    @Override
+    public boolean addAll(Collection<? extends T> objects) {
+        boolean added = false;
+        List<long[]> hashes = new ArrayList<long[]>(Math.min(objects.size(), BATCH_SIZE));
+        for (T object : objects) {
+            hashes.add(hash(object));
+            if (hashes.size() == BATCH_SIZE) {
+                added |= execute(hashes, true);
+                hashes.clear();
             }
+        }
+        if (!hashes.isEmpty()) {
+            added |= execute(hashes, true);
+        }
+        return added;
+    }
+
+    @Override
+    public boolean contains(T object) {
+        return containsAll(Collections.singleton(object));
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends T> objects) {
+        List<long[]> hashes = new ArrayList<long[]>(Math.min(objects.size(), BATCH_SIZE));
+        for (T object : objects) {
+            hashes.add(hash(object));
+            if (hashes.size() == BATCH_SIZE) {
+                if (!execute(hashes, false)) {
+                    return false;
+                }
+                hashes.clear();
+            }
+        }
+        if (!hashes.isEmpty()) {
+            return execute(hashes, false);
+        }
+        return true;
+    }
+
+    /**
+     * Sets or gets the bits of all <code>hashes</code> in one batch. The stored
+     * config is read by the first command of the batch. Cached config is trusted
+     * and replaced by the stored one only if they don't match, then the batch is
+     * sent again.
+     *
+     * @return <code>true</code> if any bit has been set by this call in set mode,
+     *         <code>true</code> if all bits are set in get mode
+     */
+    private boolean execute(List<long[]> hashes, boolean set) {
+        if (size == 0) {
+            readConfig();
+        }
 
+        while (true) {
             int hashIterations = this.hashIterations;
             long size = this.size;
 
-            long[] indexes = hash(hashes[0], hashes[1], hashIterations, size);
-
             CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
-            addConfigCheck(hashIterations, size, executorService);
-            for (int i = 0; i < indexes.length; i++) {
-                executorService.writeAsync(getName(), codec, RedisCommands.SETBIT, getName(), indexes[i], 1);
+            RFuture<Map<String, String>> configFuture = readConfigAsync(executorService);
+            if (set) {
+                bitfield(executorService, indexes(hashes, hashIterations, size), true);
+            } else {
+                readBits(executorService, hashes, hashIterations, size);
+            }
+            List<?> result = executorService.execute();
+
+            // filter has been re-initialized concurrently
+            readConfig(configFuture.getNow());
+            if (this.size != size || this.hashIterations != hashIterations) {
+                continue;
             }
-            try {
-                List<Boolean> result = (List<Boolean>) executorService.execute();
 
-                for (Boolean val : result.subList(1, result.size()-1)) {
-                    if (val) {
-                        return true;
-                    }
+            List<?> replies = result.subList(1, result.size());
+            if (set) {
+                return !allSet(replies);
+            }
+            return checkBits(replies, hashes, hashIterations, size);
+        }
+    }
+
+    /**
+     * @return sorted bit indexes of all <code>hashes</code> without duplicates
+     */
+    private long[] indexes(List<long[]> hashes, int iterations, long size) {
+        long[] indexes = new long[hashes.size() * iterations];
+        int offset = 0;
+        for (long[] hash : hashes) {
+            long[] objectIndexes = hash(hash[0], hash[1], iterations, size);
+            System.arraycopy(objectIndexes, 0, indexes, offset, objectIndexes.length);
+            offset += objectIndexes.length;
+        }
+
+        Arrays.sort(indexes);
+        int length = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            if (length == 0 || indexes[length - 1] != indexes[i]) {
+                indexes[length++] = indexes[i];
+            }
+        }
+        return Arrays.copyOf(indexes, length);
+    }
+
+    private void bitfield(CommandBatchService executorService, long[] indexes, boolean set) {
+        for (int i = 0; i < indexes.length; i += BITS_PER_COMMAND) {
+            int end = Math.min(indexes.length, i + BITS_PER_COMMAND);
+            List<Object> params = new ArrayList<Object>(1 + (end - i) * 4);
+            params.add(getName());
+            for (int j = i; j < end; j++) {
+                if (set) {
+                    params.add("SET");
+                    params.add("u1");
+                    params.add(indexes[j]);
+                    params.add(1);
+                } else {
+                    params.add("GET");
+                    params.add("u1");
+                    params.add(indexes[j]);
                 }
-                return false;
-            } catch (RedisException e) {
-                if (!e.getMessage().contains("Bloom filter config has been changed")) {
-                    throw e;
+            }
+            // BITFIELD is a write command even for GET operations
+            executorService.writeAsync(getName(), codec, RedisCommands.BITFIELD, params.toArray());
+        }
+    }
+
+    private boolean allSet(List<?> replies) {
+        for (Object reply : replies) {
+            for (Boolean bit : (List<Boolean>) reply) {
+                if (!bit) {
+                    return false;
                 }
             }
         }
+        return true;
+    }
+
+    /**
+     * Adds commands reading the bits of <code>hashes</code> to batch.
+     */
+    protected void readBits(CommandBatchService executorService, List<long[]> hashes, int hashIterations, long size) {
+        bitfield(executorService, indexes(hashes, hashIterations, size), false);
+    }
+
+    /**
+     * @return <code>true</code> if all bits of <code>hashes</code> are set
+     *         according to <code>replies</code> of commands added by {@link #readBits}
+     */
+    protected boolean checkBits(List<?> replies, List<long[]> hashes, int hashIterations, long size) {
+        return allSet(replies);
     }
 
-    private long[] hash(long hash1, long hash2, int iterations, long size) {
+    protected long[] hash(long hash1, long hash2, int iterations, long size) {
         long[] indexes = new long[iterations];
         long hash = hash1;
         for (int i = 0; i < iterations; i++) {
@@ -138,56 +265,10 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
         return indexes;
     }
 
-    @Override
-    public boolean contains(T object) {
-        long[] hashes = hash(object);
-
-        while (true) {
-            if (size == 0) {
-                readConfig();
-            }
-
-            int hashIterations = this.hashIterations;
-            long size = this.size;
-
-            long[] indexes = hash(hashes[0], hashes[1], hashIterations, size);
-
-            CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
-            addConfigCheck(hashIterations, size, executorService);
-            for (int i = 0; i < indexes.length; i++) {
-                executorService.readAsync(getName(), codec, RedisCommands.GETBIT, getName(), indexes[i]);
-            }
-            try {
-                List<Boolean> result = (List<Boolean>) executorService.execute();
-
-                for (Boolean val : result.subList(1, result.size()-1)) {
-                    if (!val) {
-                        return false;
-                    }
-                }
-
-                return true;
-            } catch (RedisException e) {
-                if (!e.getMessage().contains("Bloom filter config has been changed")) {
-                    throw e;
-                }
-            }
-        }
-    }
-
-    private void addConfigCheck(int hashIterations, long size, CommandBatchService executorService) {
-        executorService.evalReadAsync(getConfigName(), codec, RedisCommands.EVAL_VOID,
-                "local size = redis.call('hget', KEYS[1], 'size');" +
-                        "local hashIterations = redis.call('hget', KEYS[1], 'hashIterations');" +
-                        "assert(size == ARGV[1] and hashIterations == ARGV[2], 'Bloom filter config has been changed')",
-                        Arrays.<Object>asList(getConfigName()), size, hashIterations);
-    }
-
     @Override
     public int count() {
         CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
-        RFuture<Map<String, String>> configFuture = executorService.readAsync(getConfigName(), StringCodec.INSTANCE,
-                new RedisCommand<Map<Object, Object>>("HGETALL", new ObjectMapReplayDecoder()), getConfigName());
+        RFuture<Map<String, String>> configFuture = readConfigAsync(executorService);
         RFuture<Long> cardinalityFuture = executorService.readAsync(getName(), codec, RedisCommands.BITCOUNT, getName());
         executorService.execute();
 
@@ -209,6 +290,11 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
         readConfig(config);
     }
 
+    private RFuture<Map<String, String>> readConfigAsync(CommandBatchService executorService) {
+        return executorService.readAsync(getConfigName(), StringCodec.INSTANCE,
+                new RedisCommand<Map<Object, Object>>("HGETALL", new ObjectMapReplayDecoder()), getConfigName());
+    }
+
     private void readConfig(Map<String, String> config) {
         if (config.get("hashIterations") == null
                 || config.get("size") == null) {
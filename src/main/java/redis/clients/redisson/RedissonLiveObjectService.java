@@ -33,6 +33,7 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import redis.clients.redisson.api.RCascadeType;
 import redis.clients.redisson.api.RDeque;
@@ -58,6 +59,7 @@ import redis.clients.redisson.liveobject.LiveObjectTemplate;
 import redis.clients.redisson.liveobject.core.AccessorInterceptor;
 import redis.clients.redisson.liveobject.core.FieldAccessorInterceptor;
 import redis.clients.redisson.liveobject.core.LiveObjectInterceptor;
+import redis.clients.redisson.liveobject.core.LiveObjectSnapshot;
 import redis.clients.redisson.liveobject.core.RExpirableInterceptor;
 import redis.clients.redisson.liveobject.core.RMapInterceptor;
 import redis.clients.redisson.liveobject.core.RObjectInterceptor;
@@ -131,6 +133,28 @@ public class RedissonLiveObjectService implements RLiveObjectService {
         }
     }
 
+    @Override
+    public <T, K> T get(Class<T> entityClass, K id, long timeToLive, TimeUnit timeUnit) {
+        try {
+            T proxied = instantiateLiveObject(getProxyClass(entityClass), id);
+            LiveObjectSnapshot snapshot = new LiveObjectSnapshot(timeUnit.toNanos(timeToLive));
+            if (!snapshot.load(getMap(proxied))) {
+                return null;
+            }
+            ClassUtils.setField(proxied, "liveObjectSnapshot", snapshot);
+            return proxied;
+        } catch (Exception ex) {
+            unregisterClass(entityClass);
+            throw ex instanceof RuntimeException ? (RuntimeException) ex : new RuntimeException(ex);
+        }
+    }
+
+    @Override
+    public <T> void flush(T attachedObject) {
+        validateAttached(attachedObject);
+        asLiveObject(attachedObject).flush();
+    }
+
     @Override
     public <T> T attach(T detachedObject) {
         validateDetached(detachedObject);
@@ -627,7 +651,8 @@ public class RedissonLiveObjectService implements RLiveObjectService {
                 Introspectior.getTypeDescription(RLiveObject.class))
                 .and(ElementMatchers.isGetter().or(ElementMatchers.isSetter())
                         .or(ElementMatchers.named("isPhantom"))
-                        .or(ElementMatchers.named("delete"))))
+                        .or(ElementMatchers.named("delete"))
+                        .or(ElementMatchers.named("flush"))))
                 .intercept(MethodDelegation.withDefaultConfiguration()
                         .withBinders(FieldProxy.Binder
                                 .install(LiveObjectInterceptor.Getter.class,
@@ -671,7 +696,7 @@ public class RedissonLiveObjectService implements RLiveObjectService {
                                 .or(ElementMatchers.isProtected()))
                         )
                 .intercept(MethodDelegation.to(
-                                new AccessorInterceptor(redisson, objectBuilder)))
+                                new AccessorInterceptor(redisson, objectBuilder, entityClass)))
                 
                 .make().load(getClass().getClassLoader(),
                         ClassLoadingStrategy.Default.WRAPPER)
@@ -49,11 +49,16 @@ import redis.clients.redisson.cache.LRUCacheMap;
 import redis.clients.redisson.cache.LocalCachedMapClear;
 import redis.clients.redisson.cache.LocalCachedMapInvalidate;
 import redis.clients.redisson.cache.NoneCacheMap;
+import redis.clients.redisson.cache.OffHeapStore;
+import redis.clients.redisson.cache.OffHeapTieredCache;
 import redis.clients.redisson.cache.ReferenceCacheMap;
+import redis.clients.redisson.cache.SampledLRUCacheMap;
+import redis.clients.redisson.cache.TinyLFUCacheMap;
 import redis.clients.redisson.client.codec.ByteArrayCodec;
 import redis.clients.redisson.client.codec.Codec;
 import redis.clients.redisson.client.codec.LongCodec;
 import redis.clients.redisson.client.codec.StringCodec;
+import redis.clients.redisson.client.handler.State;
 import redis.clients.redisson.client.protocol.RedisCommand;
 import redis.clients.redisson.client.protocol.RedisCommand.ValueType;
 import redis.clients.redisson.client.protocol.RedisCommands;
@@ -71,6 +76,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
 import io.netty.util.internal.ThreadLocalRandom;
@@ -207,6 +213,9 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
         }
 
         cache = createCache(options);
+        if (options.getOffHeapMaxBytes() > 0) {
+            cache = createOffHeapTieredCache(cache, options);
+        }
 
         addListeners(name, options, redisson);
     }
@@ -320,9 +329,15 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
         if (options.getEvictionPolicy() == EvictionPolicy.LRU) {
             return new LRUCacheMap<CacheKey, CacheValue>(options.getCacheSize(), options.getTimeToLiveInMillis(), options.getMaxIdleInMillis());
         }
+        if (options.getEvictionPolicy() == EvictionPolicy.SAMPLED_LRU) {
+            return new SampledLRUCacheMap<CacheKey, CacheValue>(options.getCacheSize(), options.getTimeToLiveInMillis(), options.getMaxIdleInMillis());
+        }
         if (options.getEvictionPolicy() == EvictionPolicy.LFU) {
             return new LFUCacheMap<CacheKey, CacheValue>(options.getCacheSize(), options.getTimeToLiveInMillis(), options.getMaxIdleInMillis());
         }
+        if (options.getEvictionPolicy() == EvictionPolicy.TINY_LFU) {
+            return new TinyLFUCacheMap<CacheKey, CacheValue>(options.getCacheSize(), options.getTimeToLiveInMillis(), options.getMaxIdleInMillis());
+        }
         if (options.getEvictionPolicy() == EvictionPolicy.SOFT) {
             return ReferenceCacheMap.soft(options.getTimeToLiveInMillis(), options.getMaxIdleInMillis());
         }
@@ -332,6 +347,62 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
         throw new IllegalArgumentException("Invalid eviction policy: " + options.getEvictionPolicy());
     }
     
+    private Cache<CacheKey, CacheValue> createOffHeapTieredCache(Cache<CacheKey, CacheValue> hotCache, LocalCachedMapOptions<K, V> options) {
+        OffHeapStore store = new OffHeapStore(options.getOffHeapMaxBytes(), options.getOffHeapSegments());
+        return new OffHeapTieredCache<CacheKey, CacheValue>(hotCache, store, options.getTimeToLiveInMillis(), options.getMaxIdleInMillis()) {
+            @Override
+            protected byte[] toKeyHash(Object key) {
+                return ((CacheKey) key).getKeyHash();
+            }
+
+            @Override
+            protected byte[] encode(CacheValue value) {
+                return encodeCacheValue(value);
+            }
+
+            @Override
+            protected CacheValue decode(byte[] data) {
+                return decodeCacheValue(data);
+            }
+        };
+    }
+
+    private byte[] encodeCacheValue(CacheValue value) {
+        // references are resolved against current client, so they are kept on heap only
+        if (commandExecutor.isRedissonReferenceSupportEnabled()
+                && (RedissonObjectFactory.toReference(commandExecutor.getConnectionManager().getCfg(), value.getKey()) != null
+                    || RedissonObjectFactory.toReference(commandExecutor.getConnectionManager().getCfg(), value.getValue()) != null)) {
+            return null;
+        }
+
+        ByteBuf key = encodeMapKey(value.getKey());
+        ByteBuf val = encodeMapValue(value.getValue());
+        try {
+            byte[] result = new byte[4 + key.readableBytes() + val.readableBytes()];
+            ByteBuf out = Unpooled.wrappedBuffer(result);
+            out.writerIndex(0);
+            out.writeInt(key.readableBytes());
+            out.writeBytes(key);
+            out.writeBytes(val);
+            return result;
+        } finally {
+            key.release();
+            val.release();
+        }
+    }
+
+    private CacheValue decodeCacheValue(byte[] data) {
+        ByteBuf buf = Unpooled.wrappedBuffer(data);
+        int keyLength = buf.readInt();
+        try {
+            Object key = codec.getMapKeyDecoder().decode(buf.readSlice(keyLength), new State(false));
+            Object value = codec.getMapValueDecoder().decode(buf, new State(false));
+            return new CacheValue(key, value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't decode off-heap cache entry", e);
+        }
+    }
+
     private CacheKey toCacheKey(Object key) {
         ByteBuf encoded = encodeMapKey(key);
         try {
@@ -0,0 +1,160 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import redis.clients.redisson.api.PriorityScorer;
+import redis.clients.redisson.api.RFuture;
+import redis.clients.redisson.api.RPriorityDeque;
+import redis.clients.redisson.client.codec.Codec;
+import redis.clients.redisson.command.CommandAsyncExecutor;
+
+/**
+ * Priority deque stored in a sorted set. Head has the lowest score,
+ * tail has the highest score.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <V> value type
+ *
+ * @see RedissonScoredPriorityQueue
+ */
+public class RedissonScoredPriorityDeque<V> extends RedissonScoredPriorityQueue<V> implements RPriorityDeque<V> {
+
+    protected RedissonScoredPriorityDeque(CommandAsyncExecutor commandExecutor, String name, PriorityScorer<V> scorer) {
+        super(commandExecutor, name, scorer);
+    }
+
+    protected RedissonScoredPriorityDeque(Codec codec, CommandAsyncExecutor commandExecutor, String name, PriorityScorer<V> scorer) {
+        super(codec, commandExecutor, name, scorer);
+    }
+
+    @Override
+    public void addFirst(V e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addLast(V e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean offerFirst(V e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean offerLast(V e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void push(V e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<V> descendingIterator() {
+        List<V> values = readAll();
+        Collections.reverse(values);
+        return iterator(values);
+    }
+
+    @Override
+    public V getFirst() {
+        return element();
+    }
+
+    public RFuture<V> peekLastAsync() {
+        return peekAsync(false);
+    }
+
+    @Override
+    public V getLast() {
+        V value = peekLast();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    @Override
+    public V peekFirst() {
+        return peek();
+    }
+
+    @Override
+    public V peekLast() {
+        return get(peekLastAsync());
+    }
+
+    @Override
+    public V pollFirst() {
+        return poll();
+    }
+
+    public RFuture<V> pollLastAsync() {
+        return pollAsync(false);
+    }
+
+    @Override
+    public V pollLast() {
+        return get(pollLastAsync());
+    }
+
+    @Override
+    public V pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public V removeFirst() {
+        return remove();
+    }
+
+    @Override
+    public V removeLast() {
+        V value = pollLast();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    public RFuture<Boolean> removeFirstOccurrenceAsync(Object o) {
+        return removeAsync(o, true);
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        return get(removeFirstOccurrenceAsync(o));
+    }
+
+    public RFuture<Boolean> removeLastOccurrenceAsync(Object o) {
+        return removeAsync(o, false);
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        return get(removeLastOccurrenceAsync(o));
+    }
+
+}
@@ -0,0 +1,392 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import redis.clients.redisson.api.PriorityScorer;
+import redis.clients.redisson.api.RFuture;
+import redis.clients.redisson.api.RPriorityQueue;
+import redis.clients.redisson.client.codec.Codec;
+import redis.clients.redisson.client.protocol.RedisCommands;
+import redis.clients.redisson.command.CommandAsyncExecutor;
+
+/**
+ * Priority queue stored in a sorted set. Scores are calculated on client side
+ * by {@link PriorityScorer}, so each operation is a single Lua script
+ * and no lock is required.
+ * <p>
+ * Each element is stored as a 16 characters hex sequence number followed by encoded value.
+ * The sequence keeps duplicates apart and orders values with equal score by insertion.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <V> value type
+ */
+public class RedissonScoredPriorityQueue<V> extends RedissonObject implements RPriorityQueue<V> {
+
+    private static class ScoreComparator<V> implements Comparator<V> {
+
+        private final PriorityScorer<V> scorer;
+
+        ScoreComparator(PriorityScorer<V> scorer) {
+            this.scorer = scorer;
+        }
+
+        @Override
+        public int compare(V o1, V o2) {
+            return Double.compare(scorer.getScore(o1), scorer.getScore(o2));
+        }
+
+    }
+
+    // length of sequence prefix
+    static final int SEQUENCE_LENGTH = 16;
+
+    final PriorityScorer<V> scorer;
+
+    protected RedissonScoredPriorityQueue(CommandAsyncExecutor commandExecutor, String name, PriorityScorer<V> scorer) {
+        super(commandExecutor, name);
+        this.scorer = scorer;
+    }
+
+    protected RedissonScoredPriorityQueue(Codec codec, CommandAsyncExecutor commandExecutor, String name, PriorityScorer<V> scorer) {
+        super(codec, commandExecutor, name);
+        this.scorer = scorer;
+    }
+
+    String getSequenceName() {
+        return "redisson_priority_sequence:{" + getName() + "}";
+    }
+
+    private String score(Object value) {
+        double score = scorer.getScore((V) value);
+        if (Double.isNaN(score)) {
+            throw new IllegalArgumentException("Score of " + value + " is NaN");
+        }
+        if (Double.isInfinite(score)) {
+            return score > 0 ? "+inf" : "-inf";
+        }
+        return BigDecimal.valueOf(score).toPlainString();
+    }
+
+    @Override
+    public Comparator<? super V> comparator() {
+        return new ScoreComparator<V>(scorer);
+    }
+
+    /**
+     * Order is defined by {@link PriorityScorer} of this queue.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean trySetComparator(Comparator<? super V> comparator) {
+        throw new UnsupportedOperationException("Order of scored priority queue is defined by PriorityScorer");
+    }
+
+    public RFuture<Boolean> addAsync(V value) {
+        return addAllAsync(Arrays.asList(value));
+    }
+
+    @Override
+    public boolean add(V value) {
+        return get(addAsync(value));
+    }
+
+    @Override
+    public boolean offer(V value) {
+        return add(value);
+    }
+
+    public RFuture<Boolean> offerAsync(V value) {
+        return addAsync(value);
+    }
+
+    public RFuture<Boolean> addAllAsync(Collection<? extends V> values) {
+        if (values.isEmpty()) {
+            return newSucceededFuture(false);
+        }
+
+        List<Object> args = new ArrayList<Object>(values.size() * 2);
+        for (V value : values) {
+            args.add(score(value));
+            args.add(encode(value));
+        }
+        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_BOOLEAN,
+                "local seq = redis.call('incrby', KEYS[2], #ARGV / 2) - #ARGV / 2; "
+              + "for i = 1, #ARGV, 2 do "
+                  + "seq = seq + 1; "
+                  + "redis.call('zadd', KEYS[1], ARGV[i], string.format('%016x', seq) .. ARGV[i+1]); "
+              + "end; "
+              + "return 1;",
+                Arrays.<Object>asList(getName(), getSequenceName()), args.toArray());
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends V> c) {
+        return get(addAllAsync(c));
+    }
+
+    /**
+     * @param first - <code>true</code> to poll element with the lowest score,
+     *                <code>false</code> with the highest
+     */
+    RFuture<V> pollAsync(boolean first) {
+        int index = first ? 0 : -1;
+        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_OBJECT,
+                "local v = redis.call('zrange', KEYS[1], ARGV[1], ARGV[1]); "
+              + "if #v == 0 then "
+                  + "return nil; "
+              + "end; "
+              + "redis.call('zrem', KEYS[1], v[1]); "
+              + "return string.sub(v[1], ARGV[2]);",
+                Arrays.<Object>asList(getName()), index, SEQUENCE_LENGTH + 1);
+    }
+
+    RFuture<V> peekAsync(boolean first) {
+        int index = first ? 0 : -1;
+        return commandExecutor.evalReadAsync(getName(), codec, RedisCommands.EVAL_OBJECT,
+                "local v = redis.call('zrange', KEYS[1], ARGV[1], ARGV[1]); "
+              + "if #v == 0 then "
+                  + "return nil; "
+              + "end; "
+              + "return string.sub(v[1], ARGV[2]);",
+                Arrays.<Object>asList(getName()), index, SEQUENCE_LENGTH + 1);
+    }
+
+    public RFuture<V> pollAsync() {
+        return pollAsync(true);
+    }
+
+    @Override
+    public V poll() {
+        return get(pollAsync());
+    }
+
+    @Override
+    public V remove() {
+        V value = poll();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    public RFuture<V> peekAsync() {
+        return peekAsync(true);
+    }
+
+    @Override
+    public V peek() {
+        return get(peekAsync());
+    }
+
+    @Override
+    public V element() {
+        V value = peek();
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * Removes an element equal to <code>value</code>. Only elements with the score
+     * of <code>value</code> are compared.
+     *
+     * @param first - <code>true</code> to remove the earliest added equal element,
+     *                <code>false</code> the latest
+     */
+    RFuture<Boolean> removeAsync(Object value, boolean first) {
+        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_BOOLEAN,
+                "local members = redis.call('zrangebyscore', KEYS[1], ARGV[1], ARGV[1]); "
+              + "local from, to, step = 1, #members, 1; "
+              + "if ARGV[3] == '0' then "
+                  + "from, to, step = #members, 1, -1; "
+              + "end; "
+              + "for i = from, to, step do "
+                  + "if string.sub(members[i], ARGV[4]) == ARGV[2] then "
+                      + "redis.call('zrem', KEYS[1], members[i]); "
+                      + "return 1; "
+                  + "end; "
+              + "end; "
+              + "return 0;",
+                Arrays.<Object>asList(getName()), score(value), encode(value), first ? 1 : 0, SEQUENCE_LENGTH + 1);
+    }
+
+    public RFuture<Boolean> removeAsync(Object value) {
+        return removeAsync(value, true);
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        return get(removeAsync(value));
+    }
+
+    public RFuture<Boolean> containsAsync(Object value) {
+        return commandExecutor.evalReadAsync(getName(), codec, RedisCommands.EVAL_BOOLEAN,
+                "local members = redis.call('zrangebyscore', KEYS[1], ARGV[1], ARGV[1]); "
+              + "for i, member in ipairs(members) do "
+                  + "if string.sub(member, ARGV[3]) == ARGV[2] then "
+                      + "return 1; "
+                  + "end; "
+              + "end; "
+              + "return 0;",
+                Arrays.<Object>asList(getName()), score(value), encode(value), SEQUENCE_LENGTH + 1);
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return get(containsAsync(value));
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object object : c) {
+            if (!contains(object)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean changed = false;
+        for (Object obj : c) {
+            if (remove(obj)) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean changed = false;
+        for (Iterator<?> iterator = iterator(); iterator.hasNext();) {
+            Object object = iterator.next();
+            if (!c.contains(object)) {
+                iterator.remove();
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public RFuture<Integer> sizeAsync() {
+        return commandExecutor.readAsync(getName(), codec, RedisCommands.ZCARD_INT, getName());
+    }
+
+    @Override
+    public int size() {
+        return get(sizeAsync());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public RFuture<List<V>> readAllAsync() {
+        return commandExecutor.evalReadAsync(getName(), codec, RedisCommands.EVAL_LIST,
+                "local members = redis.call('zrange', KEYS[1], 0, -1); "
+              + "for i, member in ipairs(members) do "
+                  + "members[i] = string.sub(member, ARGV[1]); "
+              + "end; "
+              + "return members;",
+                Arrays.<Object>asList(getName()), SEQUENCE_LENGTH + 1);
+    }
+
+    @Override
+    public List<V> readAll() {
+        return get(readAllAsync());
+    }
+
+    Iterator<V> iterator(final List<V> values) {
+        return new Iterator<V>() {
+
+            private final Iterator<V> iterator = values.iterator();
+            private V value;
+            private boolean removeExecuted = true;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public V next() {
+                value = iterator.next();
+                removeExecuted = false;
+                return value;
+            }
+
+            @Override
+            public void remove() {
+                if (removeExecuted) {
+                    throw new IllegalStateException("Element been already deleted");
+                }
+                RedissonScoredPriorityQueue.this.remove(value);
+                removeExecuted = true;
+            }
+
+        };
+    }
+
+    /**
+     * Iterates over snapshot of the queue in priority order.
+     * {@link Iterator#remove()} removes an equal element from the queue.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return iterator(readAll());
+    }
+
+    @Override
+    public Object[] toArray() {
+        return readAll().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return readAll().toArray(a);
+    }
+
+    @Override
+    public void clear() {
+        delete();
+    }
+
+    @Override
+    public RFuture<Boolean> deleteAsync() {
+        return commandExecutor.writeAsync(getName(), RedisCommands.DEL_OBJECTS, getName(), getSequenceName());
+    }
+
+    @Override
+    public String toString() {
+        return readAll().toString();
+    }
+
+}
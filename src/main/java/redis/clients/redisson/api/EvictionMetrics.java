@@ -0,0 +1,57 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.api;
+
+/**
+ * Statistics of expired entries eviction performed
+ * for RMapCache, RSetCache and multimap cache objects.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public interface EvictionMetrics {
+
+    /**
+     * Returns amount of objects tracked by eviction scheduler
+     *
+     * @return amount of objects
+     */
+    int getObjectsAmount();
+
+    /**
+     * Returns total amount of evicted entries
+     *
+     * @return amount of entries
+     */
+    long getEvictedEntriesAmount();
+
+    /**
+     * Returns amount of entries evicted per second
+     * measured during last second
+     *
+     * @return entries per second
+     */
+    double getEvictedEntriesPerSecond();
+
+    /**
+     * Returns maximum delay between planned and actual
+     * eviction run observed during last scheduler tick
+     *
+     * @return lag in milliseconds
+     */
+    long getLag();
+
+}
@@ -74,11 +74,25 @@ public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
          */
         LRU, 
         
+        /**
+         * Approximated Least Recently Used cache.
+         * Reads are lock-free, eviction removes least recently used entry 
+         * from a sample of cached entries.
+         */
+        SAMPLED_LRU, 
+        
         /**
          * Least Frequently Used cache.
          */
         LFU, 
         
+        /**
+         * Least Frequently Used cache with TinyLFU admission.
+         * Access frequency is estimated with aged count-min sketch,
+         * eviction cost doesn't depend on cache size.
+         */
+        TINY_LFU, 
+        
         /**
          * Cache with Soft Reference used for values.
          * All references will be collected by GC
@@ -97,6 +111,8 @@ public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
     private int cacheSize;
     private long timeToLiveInMillis;
     private long maxIdleInMillis;
+    private long offHeapMaxBytes;
+    private int offHeapSegments = 16;
     
     protected LocalCachedMapOptions() {
     }
@@ -107,6 +123,8 @@ public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
         this.cacheSize = copy.cacheSize;
         this.timeToLiveInMillis = copy.timeToLiveInMillis;
         this.maxIdleInMillis = copy.maxIdleInMillis;
+        this.offHeapMaxBytes = copy.offHeapMaxBytes;
+        this.offHeapSegments = copy.offHeapSegments;
     }
     
     /**
@@ -149,6 +167,14 @@ public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
         return maxIdleInMillis;
     }
 
+    public long getOffHeapMaxBytes() {
+        return offHeapMaxBytes;
+    }
+
+    public int getOffHeapSegments() {
+        return offHeapSegments;
+    }
+
     /**
      * Sets cache size. If size is <code>0</code> then local cache is unbounded.
      * 
@@ -202,7 +228,9 @@ public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
      * 
      * @param evictionPolicy
      *         <p><code>LRU</code> - uses cache with LRU (least recently used) eviction policy.
+     *         <p><code>SAMPLED_LRU</code> - uses cache with approximated LRU eviction policy. Reads don't take locks, so it scales better under concurrent reads.
      *         <p><code>LFU</code> - uses cache with LFU (least frequently used) eviction policy.
+     *         <p><code>TINY_LFU</code> - uses cache with approximated LFU eviction policy and TinyLFU admission. Suits skewed access patterns.
      *         <p><code>SOFT</code> - uses cache with soft references. The garbage collector will evict items from the cache when the JVM is running out of memory.
      *         <p><code>NONE</code> - doesn't use eviction policy, but timeToLive and maxIdleTime params are still working.
      * @return LocalCachedMapOptions instance
@@ -263,6 +291,36 @@ public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
         return maxIdle(timeUnit.toMillis(maxIdle));
     }
     
+    /**
+     * Enables off-heap tier of local cache limited to defined amount of bytes.
+     * Entries are stored there in encoded form and promoted to on-heap cache on access,
+     * so on-heap cache defined by <code>cacheSize</code> and <code>evictionPolicy</code> 
+     * works as hot tier in front of it. Oldest entries are overwritten once off-heap tier is full.
+     * If value equals to <code>0</code> then off-heap tier is not used.
+     * <p>
+     * Off-heap memory is allocated as direct buffers, so <code>-XX:MaxDirectMemorySize</code> 
+     * should be set accordingly.
+     * 
+     * @param offHeapMaxBytes - off-heap tier size in bytes
+     * @return LocalCachedMapOptions instance
+     */
+    public LocalCachedMapOptions<K, V> offHeapMaxBytes(long offHeapMaxBytes) {
+        this.offHeapMaxBytes = offHeapMaxBytes;
+        return this;
+    }
+
+    /**
+     * Sets amount of independently locked segments of off-heap tier.
+     * Size of each segment should not exceed 2Gb. Default is <code>16</code>.
+     * 
+     * @param offHeapSegments - amount of segments
+     * @return LocalCachedMapOptions instance
+     */
+    public LocalCachedMapOptions<K, V> offHeapSegments(int offHeapSegments) {
+        this.offHeapSegments = offHeapSegments;
+        return this;
+    }
+    
     @Override
     public LocalCachedMapOptions<K, V> writer(MapWriter<K, V> writer) {
         return (LocalCachedMapOptions<K, V>) super.writer(writer);
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.api;
+
+/**
+ * Maps values of a scored priority queue to sorted set scores.
+ * Values with lower score have higher priority, values with equal score
+ * are polled in insertion order.
+ * <p>
+ * Every client of the same queue should use the same scorer.
+ * Scores are stored as <code>double</code>, so integral priorities
+ * keep their order only up to 2<sup>53</sup>.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <V> value type
+ */
+public interface PriorityScorer<V> {
+
+    /**
+     * Returns score of <code>value</code>
+     *
+     * @param value - queue value
+     * @return score, could be infinite but not <code>NaN</code>
+     */
+    double getScore(V value);
+
+}
@@ -17,6 +17,8 @@ package redis.clients.redisson.api;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Binary stream holder. Maximum size of stream is limited by available memory of Redis master node.
@@ -27,19 +29,64 @@ import java.io.OutputStream;
 public interface RBinaryStream extends RBucket<byte[]> {
 
     /**
-     * Returns inputStream which reads binary stream.
+     * Returns inputStream which reads binary stream
+     * by 1 MB chunks keeping up to 4 chunk requests in flight.
      * This stream isn't thread-safe.
      * 
      * @return stream
      */
     InputStream getInputStream();
 
+    /**
+     * Returns inputStream which reads binary stream by chunks.
+     * Once a full chunk has been read, following chunks are requested 
+     * ahead keeping up to <code>readAhead</code> requests in flight.
+     * This stream isn't thread-safe.
+     * 
+     * @param chunkSize - size of chunk in bytes
+     * @param readAhead - maximum amount of chunk requests in flight
+     * @return stream
+     */
+    InputStream getInputStream(int chunkSize, int readAhead);
+
     /**
      * Returns outputStream which writes binary stream.
+     * Each write is stored once method returns, 
+     * use {@link #getOutputStream(int)} to write large streams.
      * This stream isn't thread-safe.
      * 
      * @return stream
      */
     OutputStream getOutputStream();
-    
+
+    /**
+     * Returns outputStream which writes binary stream through buffer.
+     * Full buffer is sent without waiting for reply, 
+     * buffered bytes are stored only after <code>flush</code> or <code>close</code> invocation.
+     * Arrays not smaller than buffer are written through.
+     * This stream isn't thread-safe.
+     * 
+     * @param bufferSize - size of buffer in bytes
+     * @return stream
+     */
+    OutputStream getOutputStream(int bufferSize);
+
+    /**
+     * Returns channel which reads and writes binary stream at its position.
+     * Reads and writes are split into chunks sent in parallel.
+     * This channel isn't thread-safe.
+     * 
+     * @return channel
+     */
+    SeekableByteChannel getChannel();
+
+    /**
+     * Returns asynchronous channel which reads and writes binary stream at its position.
+     * Position is advanced once an operation completes,
+     * so only one operation should be pending at a time.
+     * 
+     * @return channel
+     */
+    AsynchronousByteChannel getAsynchronousChannel();
+
 }
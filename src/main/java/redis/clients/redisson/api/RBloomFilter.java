@@ -15,6 +15,8 @@
  */
 package redis.clients.redisson.api;
 
+import java.util.Collection;
+
 /**
  * Bloom filter based on 64-bit hash derived from 128-bit hash (xxHash + FarmHash).
  *
@@ -28,6 +30,26 @@ public interface RBloomFilter<T> extends RExpirable {
 
     boolean contains(T object);
 
+    /**
+     * Adds all <code>objects</code> to Bloom filter. Bit indexes of all objects
+     * are calculated locally and set in a single batch per 10000 objects.
+     *
+     * @param objects - objects to add
+     * @return <code>true</code> if at least one bit has been changed
+     *         <code>false</code> if all objects probably have been added already
+     */
+    boolean addAll(Collection<? extends T> objects);
+
+    /**
+     * Checks whether all <code>objects</code> are probably contained in Bloom filter.
+     * Bit indexes of all objects are calculated locally and read in a single batch per 10000 objects.
+     *
+     * @param objects - objects to check
+     * @return <code>true</code> if all objects are probably contained
+     *         <code>false</code> if at least one object is definitely not contained
+     */
+    boolean containsAll(Collection<? extends T> objects);
+
     /**
      * Initializes Bloom filter params (size and hashIterations)
      * calculated from <code>expectedInsertions</code> and <code>falseProbability</code>
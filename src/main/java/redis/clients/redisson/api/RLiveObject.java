@@ -55,5 +55,13 @@ public interface RLiveObject {
      * @return <code>true</code> if object deleted successfully 
      */
     boolean delete();
+
+    /**
+     * Stores field updates buffered by an object obtained with
+     * {@link RLiveObjectService#get(Class, Object, long, java.util.concurrent.TimeUnit)}
+     * using a single HMSET. Does nothing for other objects, since their
+     * updates are stored immediately.
+     */
+    void flush();
     
 }
@@ -15,6 +15,8 @@
  */
 package redis.clients.redisson.api;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * The pre-registration of each entity class is not necessary.
  *
@@ -47,6 +49,35 @@ public interface RLiveObjectService {
      */
     <T, K> T get(Class<T> entityClass, K id);
 
+    /**
+     * Finds the entity from Redis with the id and loads all its fields
+     * with a single HGETALL.
+     *
+     * Getters of the returned object are served from the loaded fields
+     * until <code>timeToLive</code> expires, after that all fields are
+     * loaded again. Setters are buffered locally and stored with a single
+     * HMSET by {@link #flush(Object)} or {@link RLiveObject#flush()}.
+     * Buffered values are visible to getters of the same instance only.
+     *
+     * @param entityClass Entity class
+     * @param id identifier
+     * @param timeToLive time the loaded fields are used
+     * @param timeUnit time unit
+     * @param <T> Entity type
+     * @param <K> Key type
+     * @return a proxied object if it exists in redis, or null if not.
+     */
+    <T, K> T get(Class<T> entityClass, K id, long timeToLive, TimeUnit timeUnit);
+
+    /**
+     * Stores field values buffered by the object obtained with
+     * {@link #get(Class, Object, long, TimeUnit)}.
+     *
+     * @param <T> Entity type
+     * @param attachedObject - proxied object
+     */
+    <T> void flush(T attachedObject);
+
     /**
      * Returns proxied object for the detached object. Discard all the
      * field values already in the detached instance.
@@ -633,6 +633,58 @@ public interface RedissonClient {
      * @return Queue object
      */
     <V> RPriorityDeque<V> getPriorityDeque(String name, Codec codec);
+
+    /**
+     * Returns priority unbounded queue instance by name.
+     * Objects are stored in a sorted set with score defined by <code>scorer</code>,
+     * so no lock is used and each operation is a single command.
+     *
+     * @param <V> type of value
+     * @param name - name of object
+     * @param scorer - score of objects
+     * @return Queue object
+     */
+    <V> RPriorityQueue<V> getScoredPriorityQueue(String name, PriorityScorer<V> scorer);
+
+    /**
+     * Returns priority unbounded queue instance by name
+     * using provided codec for queue objects.
+     * Objects are stored in a sorted set with score defined by <code>scorer</code>,
+     * so no lock is used and each operation is a single command.
+     *
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for message
+     * @param scorer - score of objects
+     * @return Queue object
+     */
+    <V> RPriorityQueue<V> getScoredPriorityQueue(String name, Codec codec, PriorityScorer<V> scorer);
+
+    /**
+     * Returns priority unbounded deque instance by name.
+     * Objects are stored in a sorted set with score defined by <code>scorer</code>,
+     * so no lock is used and each operation is a single command.
+     *
+     * @param <V> type of value
+     * @param name - name of object
+     * @param scorer - score of objects
+     * @return Queue object
+     */
+    <V> RPriorityDeque<V> getScoredPriorityDeque(String name, PriorityScorer<V> scorer);
+
+    /**
+     * Returns priority unbounded deque instance by name
+     * using provided codec for queue objects.
+     * Objects are stored in a sorted set with score defined by <code>scorer</code>,
+     * so no lock is used and each operation is a single command.
+     *
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for message
+     * @param scorer - score of objects
+     * @return Queue object
+     */
+    <V> RPriorityDeque<V> getScoredPriorityDeque(String name, Codec codec, PriorityScorer<V> scorer);
     
     /**
      * Returns unbounded blocking queue instance by name.
@@ -766,6 +818,30 @@ public interface RedissonClient {
      */
     <V> RBloomFilter<V> getBloomFilter(String name, Codec codec);
 
+    /**
+     * Returns blocked bloom filter instance by name.
+     * All bits of an object are stored in one 512-bit block,
+     * so each object is checked with a single read.
+     * 
+     * @param <V> type of value
+     * @param name - name of object
+     * @return BloomFilter object
+     */
+    <V> RBloomFilter<V> getBlockedBloomFilter(String name);
+
+    /**
+     * Returns blocked bloom filter instance by name
+     * using provided codec for objects.
+     * All bits of an object are stored in one 512-bit block,
+     * so each object is checked with a single read.
+     *
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for values
+     * @return BloomFilter object
+     */
+    <V> RBloomFilter<V> getBlockedBloomFilter(String name, Codec codec);
+
     /**
      * Returns script operations object
      *
@@ -912,6 +988,22 @@ public interface RedissonClient {
     public ResolverProvider getResolverProvider();
 
     
+    /**
+     * Returns statistics of expired entries eviction
+     * performed for RMapCache, RSetCache and multimap cache objects
+     *
+     * @return EvictionMetrics object
+     */
+    EvictionMetrics getEvictionMetrics();
+
+    /**
+     * Returns statistics of key to node routing
+     * and of slot table updates
+     *
+     * @return RoutingMetrics object
+     */
+    RoutingMetrics getRoutingMetrics();
+
     /**
      * Get Redis nodes group for server operations
      *
@@ -0,0 +1,58 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.api;
+
+/**
+ * Statistics of key to node routing performed
+ * on every keyed command and of slot table updates
+ * caused by cluster topology changes.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public interface RoutingMetrics {
+
+    /**
+     * Returns average time spent to resolve the node of a key,
+     * measured on a sample of commands
+     *
+     * @return time in nanoseconds
+     */
+    double getAverageRoutingTime();
+
+    /**
+     * Returns maximum time spent to resolve the node of a key,
+     * measured on a sample of commands
+     *
+     * @return time in nanoseconds
+     */
+    long getMaxRoutingTime();
+
+    /**
+     * Returns total amount of slot table updates
+     *
+     * @return amount of updates
+     */
+    long getSlotTableUpdatesAmount();
+
+    /**
+     * Returns time spent to build and publish the last slot table update
+     *
+     * @return time in nanoseconds
+     */
+    long getLastSlotTableUpdateTime();
+
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.api.mapreduce;
+
+import java.io.Serializable;
+import java.util.Iterator;
+
+/**
+ * Combines values emitted for the same key on the mapper side,
+ * before they are sent to Redis for the reduce phase.
+ * <p>
+ * The combined value is passed to the {@link RReducer} together with
+ * values combined by other mappers, so the operation should be
+ * associative and its result type should be the same as the value type.
+ * For example summing up counts of words.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public interface RCombiner<K, V> extends Serializable {
+
+    /**
+     * Invoked for each key with values buffered by the mapper
+     * 
+     * @param key - key
+     * @param iter - values emitted for this key
+     * @return combined value
+     */
+    V combine(K key, Iterator<V> iter);
+    
+}
@@ -110,4 +110,25 @@ public interface RMapReduce<KIn, VIn, KOut, VOut> extends RMapReduceExecutor<VIn
      */
     RMapReduce<KIn, VIn, KOut, VOut> reducer(RReducer<KOut, VOut> reducer);
     
+    /**
+     * Setup Combiner object. Optional, combines values of the same key
+     * emitted by a mapper before they are stored for the reduce phase.
+     * 
+     * @param combiner used during MapReduce
+     * @return self instance
+     */
+    RMapReduce<KIn, VIn, KOut, VOut> combiner(RCombiner<KOut, VOut> combiner);
+    
+    /**
+     * Defines amount of threads used by each reducer task
+     * to reduce independent keys in parallel. 
+     * Reducer object should be thread-safe if it's greater than <code>1</code>.
+     * <p>
+     * Default is <code>1</code>
+     * 
+     * @param concurrency - amount of threads
+     * @return self instance
+     */
+    RMapReduce<KIn, VIn, KOut, VOut> reducerConcurrency(int concurrency);
+    
 }
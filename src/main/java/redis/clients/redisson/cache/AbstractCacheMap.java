@@ -19,6 +19,7 @@ import java.util.AbstractCollection;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.AbstractSet;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -41,7 +42,8 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
     final ConcurrentMap<K, CachedValue<K, V>> map = PlatformDependent.newConcurrentHashMap();
     private final long timeToLiveInMillis;
     private final long maxIdleInMillis;
-
+    // guarded by this
+    private Iterator<CachedValue<K, V>> sampleHand;
 
     public AbstractCacheMap(int size, long timeToLiveInMillis, long maxIdleInMillis) {
         if (size < 0) {
@@ -184,7 +186,9 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
         CachedValue<K, V> entry = create(key, value, ttlUnit.toMillis(ttl), maxIdleUnit.toMillis(maxIdleTime));
         if (isFull(key)) {
             if (!removeExpiredEntries()) {
-                onMapFull();
+                if (!onMapFull(entry)) {
+                    return null;
+                }
             }
         }
         onValueCreate(entry);
@@ -221,6 +225,50 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
 
     protected abstract void onMapFull();
 
+    /**
+     * Frees space for new entry in full map.
+     * 
+     * @param entry - new entry
+     * @return <code>false</code> if entry should not be stored
+     */
+    protected boolean onMapFull(CachedValue<K, V> entry) {
+        onMapFull();
+        return true;
+    }
+
+    /**
+     * Chooses eviction victim among <code>samples</code> entries. 
+     * Sampling continues from the position where previous call stopped, 
+     * so all entries are inspected over successive evictions.
+     * Should be invoked holding lock of this map.
+     * 
+     * @param samples - amount of entries to inspect
+     * @param comparator - orders entries, the lowest one is a victim
+     * @return victim or <code>null</code> if map is empty
+     */
+    protected final CachedValue<K, V> sampleVictim(int samples, Comparator<CachedValue<K, V>> comparator) {
+        CachedValue<K, V> victim = null;
+        boolean restarted = false;
+        for (int i = 0; i < samples; i++) {
+            if (sampleHand == null || !sampleHand.hasNext()) {
+                if (restarted) {
+                    break;
+                }
+                sampleHand = map.values().iterator();
+                restarted = true;
+                if (!sampleHand.hasNext()) {
+                    break;
+                }
+            }
+
+            CachedValue<K, V> value = sampleHand.next();
+            if (victim == null || comparator.compare(value, victim) < 0) {
+                victim = value;
+            }
+        }
+        return victim;
+    }
+
     boolean isFull() {
         if (size == 0) {
             return false;
@@ -272,6 +320,9 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
      */
     @Override
     public void clear() {
+        synchronized (this) {
+            sampleHand = null;
+        }
         map.clear();
     }
 
@@ -0,0 +1,398 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Off-heap storage of encoded cache entries.
+ * <p>
+ * Space is split into segments selected by key hash. Each segment is 
+ * a direct memory ring buffer where entries are appended, 
+ * oldest entries are overwritten once segment is full (FIFO eviction).
+ * Index of entry positions is kept on heap as open addressing hash table 
+ * of primitive arrays, it takes about 16 bytes per entry 
+ * (12 bytes per slot with load factor up to 0.75).
+ * <p>
+ * Entry layout: key hash length (1 byte), key hash, expiration time (8 bytes), 
+ * data length (4 bytes), data.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public class OffHeapStore {
+
+    private static final int HEADER_SIZE = 1 + 8 + 4;
+    private static final int INDEX_INITIAL_CAPACITY = 16;
+
+    static class Segment {
+
+        final ByteBuffer buffer;
+        final int capacity;
+        // open addressing index with linear probing,
+        // slot holds logical position + 1 of entry or 0 if it's empty
+        long[] positions = new long[INDEX_INITIAL_CAPACITY];
+        int[] hashes = new int[INDEX_INITIAL_CAPACITY];
+        int indexSize;
+        // logical positions, physical position is position % capacity
+        long head;
+        long tail;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.buffer = ByteBuffer.allocateDirect(capacity);
+        }
+
+        synchronized byte[] get(byte[] keyHash) {
+            int slot = find(keyHash, hash(keyHash));
+            if (slot < 0) {
+                return null;
+            }
+
+            long position = positions[slot] - 1;
+            long pos = position + 1 + keyHash.length;
+            long expireAt = readLong(pos);
+            if (expireAt != 0 && expireAt < System.currentTimeMillis()) {
+                removeSlot(slot);
+                return null;
+            }
+            pos += 8;
+            byte[] data = new byte[readInt(pos)];
+            read(pos + 4, data, 0, data.length);
+            return data;
+        }
+
+        synchronized long version(byte[] keyHash) {
+            int slot = find(keyHash, hash(keyHash));
+            if (slot < 0) {
+                return -1;
+            }
+            return positions[slot] - 1;
+        }
+
+        synchronized boolean contains(byte[] keyHash) {
+            return find(keyHash, hash(keyHash)) >= 0;
+        }
+
+        synchronized void put(byte[] keyHash, byte[] data, long expireAt) {
+            int size = HEADER_SIZE + keyHash.length + data.length;
+            int hash = hash(keyHash);
+            if (size > capacity) {
+                int slot = find(keyHash, hash);
+                if (slot >= 0) {
+                    removeSlot(slot);
+                }
+                return;
+            }
+
+            while (tail + size - head > capacity) {
+                evictHead();
+            }
+
+            long pos = tail;
+            write(pos, new byte[] {(byte) keyHash.length}, 0, 1);
+            write(pos + 1, keyHash, 0, keyHash.length);
+            writeLong(pos + 1 + keyHash.length, expireAt);
+            writeInt(pos + 1 + keyHash.length + 8, data.length);
+            write(pos + HEADER_SIZE + keyHash.length, data, 0, data.length);
+            tail += size;
+
+            int slot = find(keyHash, hash);
+            if (slot >= 0) {
+                positions[slot] = pos + 1;
+                return;
+            }
+            if ((indexSize + 1) * 4L > positions.length * 3L) {
+                resizeIndex();
+            }
+            insert(hash, pos);
+        }
+
+        private void evictHead() {
+            byte[] len = new byte[1];
+            read(head, len, 0, 1);
+            byte[] keyHash = new byte[len[0] & 0xff];
+            read(head + 1, keyHash, 0, keyHash.length);
+            int dataLength = readInt(head + 1 + keyHash.length + 8);
+
+            int slot = find(keyHash, hash(keyHash));
+            if (slot >= 0 && positions[slot] - 1 == head) {
+                removeSlot(slot);
+            }
+            head += HEADER_SIZE + keyHash.length + dataLength;
+        }
+
+        private static int hash(byte[] keyHash) {
+            int h = Arrays.hashCode(keyHash);
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            return h;
+        }
+
+        private int find(byte[] keyHash, int hash) {
+            int mask = positions.length - 1;
+            for (int i = hash & mask; positions[i] != 0; i = (i + 1) & mask) {
+                if (hashes[i] == hash && keyEquals(positions[i] - 1, keyHash)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean keyEquals(long pos, byte[] keyHash) {
+            byte[] len = new byte[1];
+            read(pos, len, 0, 1);
+            if ((len[0] & 0xff) != keyHash.length) {
+                return false;
+            }
+            byte[] storedKeyHash = new byte[keyHash.length];
+            read(pos + 1, storedKeyHash, 0, storedKeyHash.length);
+            return Arrays.equals(storedKeyHash, keyHash);
+        }
+
+        private void insert(int hash, long pos) {
+            int mask = positions.length - 1;
+            int i = hash & mask;
+            while (positions[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            positions[i] = pos + 1;
+            hashes[i] = hash;
+            indexSize++;
+        }
+
+        private void resizeIndex() {
+            long[] oldPositions = positions;
+            int[] oldHashes = hashes;
+            positions = new long[oldPositions.length * 2];
+            hashes = new int[oldHashes.length * 2];
+            indexSize = 0;
+            for (int i = 0; i < oldPositions.length; i++) {
+                if (oldPositions[i] != 0) {
+                    insert(oldHashes[i], oldPositions[i] - 1);
+                }
+            }
+        }
+
+        private void removeSlot(int slot) {
+            // backward shift deletion keeps probe sequences unbroken without tombstones
+            int mask = positions.length - 1;
+            int i = slot;
+            int j = slot;
+            while (true) {
+                j = (j + 1) & mask;
+                if (positions[j] == 0) {
+                    break;
+                }
+                int k = hashes[j] & mask;
+                boolean inPlace = i <= j ? (i < k && k <= j) : (i < k || k <= j);
+                if (inPlace) {
+                    continue;
+                }
+                positions[i] = positions[j];
+                hashes[i] = hashes[j];
+                i = j;
+            }
+            positions[i] = 0;
+            indexSize--;
+        }
+
+        synchronized boolean remove(byte[] keyHash) {
+            int slot = find(keyHash, hash(keyHash));
+            if (slot < 0) {
+                return false;
+            }
+            removeSlot(slot);
+            return true;
+        }
+
+        synchronized void clear() {
+            positions = new long[INDEX_INITIAL_CAPACITY];
+            hashes = new int[INDEX_INITIAL_CAPACITY];
+            indexSize = 0;
+            head = 0;
+            tail = 0;
+        }
+
+        synchronized int size() {
+            return indexSize;
+        }
+
+        synchronized long usedBytes() {
+            return tail - head;
+        }
+
+        private void write(long pos, byte[] src, int offset, int length) {
+            int start = (int) (pos % capacity);
+            int first = Math.min(length, capacity - start);
+            ByteBuffer b = buffer.duplicate();
+            b.position(start);
+            b.put(src, offset, first);
+            if (first < length) {
+                b.position(0);
+                b.put(src, offset + first, length - first);
+            }
+        }
+
+        private void read(long pos, byte[] dst, int offset, int length) {
+            int start = (int) (pos % capacity);
+            int first = Math.min(length, capacity - start);
+            ByteBuffer b = buffer.duplicate();
+            b.position(start);
+            b.get(dst, offset, first);
+            if (first < length) {
+                b.position(0);
+                b.get(dst, offset + first, length - first);
+            }
+        }
+
+        private void writeLong(long pos, long value) {
+            byte[] b = new byte[8];
+            for (int i = 7; i >= 0; i--) {
+                b[i] = (byte) value;
+                value >>>= 8;
+            }
+            write(pos, b, 0, b.length);
+        }
+
+        private long readLong(long pos) {
+            byte[] b = new byte[8];
+            read(pos, b, 0, b.length);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (b[i] & 0xff);
+            }
+            return value;
+        }
+
+        private void writeInt(long pos, int value) {
+            byte[] b = new byte[4];
+            for (int i = 3; i >= 0; i--) {
+                b[i] = (byte) value;
+                value >>>= 8;
+            }
+            write(pos, b, 0, b.length);
+        }
+
+        private int readInt(long pos) {
+            byte[] b = new byte[4];
+            read(pos, b, 0, b.length);
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (b[i] & 0xff);
+            }
+            return value;
+        }
+
+    }
+
+    private final Segment[] segments;
+
+    /**
+     * @param maxBytes - total size of off-heap memory
+     * @param segmentsAmount - amount of independently locked segments
+     */
+    public OffHeapStore(long maxBytes, int segmentsAmount) {
+        if (segmentsAmount < 1) {
+            throw new IllegalArgumentException("Segments amount can't be " + segmentsAmount);
+        }
+        long segmentSize = maxBytes / segmentsAmount;
+        if (segmentSize < 1 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size should be in range 1.." + Integer.MAX_VALUE + " bytes but was " + segmentSize);
+        }
+
+        segments = new Segment[segmentsAmount];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment((int) segmentSize);
+        }
+    }
+
+    private Segment segment(byte[] keyHash) {
+        int hash = 0;
+        for (int i = 0; i < Math.min(4, keyHash.length); i++) {
+            hash = (hash << 8) | (keyHash[i] & 0xff);
+        }
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+
+    /**
+     * Stores data. Previous data stored with the same key hash is replaced.
+     * 
+     * @param keyHash - key hash, up to 255 bytes
+     * @param data - data
+     * @param expireAt - expiration time in milliseconds or <code>0</code>
+     */
+    public void put(byte[] keyHash, byte[] data, long expireAt) {
+        segment(keyHash).put(keyHash, data, expireAt);
+    }
+
+    /**
+     * @param keyHash - key hash
+     * @return data or <code>null</code> if it is absent, evicted or expired
+     */
+    public byte[] get(byte[] keyHash) {
+        return segment(keyHash).get(keyHash);
+    }
+
+    /**
+     * Version changes each time data is stored with this key hash.
+     * 
+     * @param keyHash - key hash
+     * @return version of stored data or <code>-1</code> if it is absent
+     */
+    public long getVersion(byte[] keyHash) {
+        return segment(keyHash).version(keyHash);
+    }
+
+    public boolean contains(byte[] keyHash) {
+        return segment(keyHash).contains(keyHash);
+    }
+
+    public boolean remove(byte[] keyHash) {
+        return segment(keyHash).remove(keyHash);
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return amount of stored entries
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return amount of bytes occupied by stored and overwritten but not yet evicted entries
+     */
+    public long getUsedBytes() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.usedBytes();
+        }
+        return size;
+    }
+
+}
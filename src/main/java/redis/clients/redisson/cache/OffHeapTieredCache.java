@@ -0,0 +1,178 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two level cache. Entries are stored in on-heap hot tier and 
+ * in encoded form in {@link OffHeapStore}. Entries evicted from 
+ * hot tier are promoted back from off-heap tier on access.
+ * <p>
+ * Off-heap entries expire after time to live. If only max idle time 
+ * is defined, it's counted from the last write.
+ * Iteration and size cover hot tier only.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <K> key
+ * @param <V> value
+ */
+public abstract class OffHeapTieredCache<K, V> implements Cache<K, V> {
+
+    private final Cache<K, V> hot;
+    private final OffHeapStore store;
+    private final long timeToLiveInMillis;
+    private final long maxIdleInMillis;
+
+    public OffHeapTieredCache(Cache<K, V> hot, OffHeapStore store, long timeToLiveInMillis, long maxIdleInMillis) {
+        this.hot = hot;
+        this.store = store;
+        this.timeToLiveInMillis = timeToLiveInMillis;
+        this.maxIdleInMillis = maxIdleInMillis;
+    }
+
+    protected abstract byte[] toKeyHash(Object key);
+
+    /**
+     * @param value - value
+     * @return encoded value or <code>null</code> if value shouldn't be stored off-heap
+     */
+    protected abstract byte[] encode(V value);
+
+    protected abstract V decode(byte[] data);
+
+    public OffHeapStore getStore() {
+        return store;
+    }
+
+    /**
+     * Returns amount of entries in hot tier only. 
+     * Off-heap entries may duplicate hot entries, 
+     * use {@link OffHeapStore#size()} to get amount of off-heap entries.
+     * 
+     * @return amount of hot tier entries
+     */
+    @Override
+    public int size() {
+        return hot.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return hot.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return hot.containsKey(key) || store.contains(toKeyHash(key));
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return hot.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        V value = hot.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        byte[] keyHash = toKeyHash(key);
+        long version = store.getVersion(keyHash);
+        byte[] data = store.get(keyHash);
+        if (data == null) {
+            return null;
+        }
+        value = decode(data);
+        hot.put((K) key, value);
+        // concurrent put or remove could happen before promotion,
+        // so promoted value is dropped if it's not current anymore
+        if (store.getVersion(keyHash) != version) {
+            hot.remove(key);
+        }
+        return value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        store(key, value, timeToLiveInMillis, maxIdleInMillis);
+        return hot.put(key, value);
+    }
+
+    @Override
+    public V put(K key, V value, long ttl, TimeUnit ttlUnit, long maxIdleTime, TimeUnit maxIdleUnit) {
+        store(key, value, ttlUnit.toMillis(ttl), maxIdleUnit.toMillis(maxIdleTime));
+        return hot.put(key, value, ttl, ttlUnit, maxIdleTime, maxIdleUnit);
+    }
+
+    private void store(K key, V value, long ttl, long maxIdle) {
+        byte[] keyHash = toKeyHash(key);
+        byte[] data = encode(value);
+        if (data == null) {
+            store.remove(keyHash);
+            return;
+        }
+
+        long expireAt = 0;
+        if (ttl > 0) {
+            expireAt = System.currentTimeMillis() + ttl;
+        } else if (maxIdle > 0) {
+            expireAt = System.currentTimeMillis() + maxIdle;
+        }
+        store.put(keyHash, data, expireAt);
+    }
+
+    @Override
+    public V remove(Object key) {
+        store.remove(toKeyHash(key));
+        return hot.remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+        hot.clear();
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return hot.keySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return hot.values();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return hot.entrySet();
+    }
+
+}
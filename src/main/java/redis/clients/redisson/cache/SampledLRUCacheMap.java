@@ -0,0 +1,92 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.cache;
+
+import java.util.Comparator;
+
+/**
+ * Approximated LRU (least recently used) cache.
+ * <p>
+ * Reads only store access time in cached value and don't take any locks.
+ * Eviction inspects a sample of entries, continuing from the position
+ * where previous eviction stopped, and removes the least recently used one
+ * among them. The same approach is used by Redis for <code>allkeys-lru</code>.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <K> key
+ * @param <V> value
+ */
+public class SampledLRUCacheMap<K, V> extends AbstractCacheMap<K, V> {
+
+    public static final int DEFAULT_SAMPLES = 8;
+
+    public static class SampledCachedValue<K, V> extends StdCachedValue<K, V> {
+
+        // written without synchronization, approximated value is enough for eviction
+        long lastRead;
+
+        public SampledCachedValue(K key, V value, long ttl, long maxIdleTime) {
+            super(key, value, ttl, maxIdleTime);
+            lastRead = System.nanoTime();
+        }
+
+    }
+
+    private final Comparator<CachedValue<K, V>> lastReadComparator = new Comparator<CachedValue<K, V>>() {
+        @Override
+        public int compare(CachedValue<K, V> o1, CachedValue<K, V> o2) {
+            long diff = ((SampledCachedValue<K, V>) o1).lastRead - ((SampledCachedValue<K, V>) o2).lastRead;
+            return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+        }
+    };
+
+    private final int samples;
+
+    public SampledLRUCacheMap(int size, long timeToLiveInMillis, long maxIdleInMillis) {
+        this(size, timeToLiveInMillis, maxIdleInMillis, DEFAULT_SAMPLES);
+    }
+
+    public SampledLRUCacheMap(int size, long timeToLiveInMillis, long maxIdleInMillis, int samples) {
+        super(size, timeToLiveInMillis, maxIdleInMillis);
+        if (samples < 1) {
+            throw new IllegalArgumentException("Samples amount can't be " + samples);
+        }
+        this.samples = samples;
+    }
+
+    @Override
+    protected CachedValue<K, V> create(K key, V value, long ttl, long maxIdleTime) {
+        return new SampledCachedValue<K, V>(key, value, ttl, maxIdleTime);
+    }
+
+    @Override
+    protected void onValueRead(CachedValue<K, V> value) {
+        ((SampledCachedValue<K, V>) value).lastRead = System.nanoTime();
+    }
+
+    @Override
+    protected void onMapFull() {
+        // only writers compete for eviction, readers never get here
+        synchronized (this) {
+            CachedValue<K, V> victim = sampleVictim(samples, lastReadComparator);
+            if (victim != null) {
+                map.remove(victim.getKey(), victim);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.cache;
+
+import java.util.Comparator;
+
+/**
+ * LFU (least frequently used) cache with TinyLFU admission.
+ * <p>
+ * Access frequency is estimated with count-min sketch which is 
+ * periodically aged, so reads only increment a few counters without locks.
+ * When cache is full, victim with lowest frequency is chosen from a 
+ * fixed size sample of entries and new entry replaces it only if it's 
+ * accessed more frequently than the victim. 
+ * Eviction cost doesn't depend on cache size.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <K> key
+ * @param <V> value
+ */
+public class TinyLFUCacheMap<K, V> extends AbstractCacheMap<K, V> {
+
+    public static final int DEFAULT_SAMPLES = 8;
+
+    private final FrequencySketch sketch;
+    private final int samples;
+    private final Comparator<CachedValue<K, V>> frequencyComparator = new Comparator<CachedValue<K, V>>() {
+        @Override
+        public int compare(CachedValue<K, V> o1, CachedValue<K, V> o2) {
+            int frequency1 = sketch.frequency(o1.getKey());
+            int frequency2 = sketch.frequency(o2.getKey());
+            return frequency1 < frequency2 ? -1 : (frequency1 == frequency2 ? 0 : 1);
+        }
+    };
+
+    public TinyLFUCacheMap(int size, long timeToLiveInMillis, long maxIdleInMillis) {
+        this(size, timeToLiveInMillis, maxIdleInMillis, DEFAULT_SAMPLES);
+    }
+
+    public TinyLFUCacheMap(int size, long timeToLiveInMillis, long maxIdleInMillis, int samples) {
+        super(size, timeToLiveInMillis, maxIdleInMillis);
+        if (samples < 1) {
+            throw new IllegalArgumentException("Samples amount can't be " + samples);
+        }
+        this.samples = samples;
+        this.sketch = new FrequencySketch(size);
+    }
+
+    @Override
+    protected void onValueRead(CachedValue<K, V> value) {
+        sketch.increment(value.getKey());
+    }
+
+    @Override
+    protected void onValueCreate(CachedValue<K, V> value) {
+        sketch.increment(value.getKey());
+    }
+
+    @Override
+    protected boolean onMapFull(CachedValue<K, V> entry) {
+        synchronized (this) {
+            CachedValue<K, V> victim = sampleVictim(samples, frequencyComparator);
+            if (victim == null) {
+                return true;
+            }
+            if (sketch.frequency(entry.getKey()) < sketch.frequency(victim.getKey())) {
+                // miss is still counted, so frequently requested entry will be admitted later
+                sketch.increment(entry.getKey());
+                return false;
+            }
+            map.remove(victim.getKey(), victim);
+            return true;
+        }
+    }
+
+    @Override
+    protected void onMapFull() {
+        synchronized (this) {
+            CachedValue<K, V> victim = sampleVictim(samples, frequencyComparator);
+            if (victim != null) {
+                map.remove(victim.getKey(), victim);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        sketch.clear();
+        super.clear();
+    }
+
+}
@@ -52,6 +52,7 @@ public class RedisClientConfig {
     private boolean pingConnection;
     private boolean keepAlive;
     private boolean tcpNoDelay;
+    private int pipelineMaxInFlight = 1;
     
     private boolean sslEnableEndpointIdentification = true;
     private SslProvider sslProvider = SslProvider.JDK;
@@ -237,5 +238,13 @@ public class RedisClientConfig {
         this.tcpNoDelay = tcpNoDelay;
         return this;
     }
+
+    public int getPipelineMaxInFlight() {
+        return pipelineMaxInFlight;
+    }
+    public RedisClientConfig setPipelineMaxInFlight(int pipelineMaxInFlight) {
+        this.pipelineMaxInFlight = pipelineMaxInFlight;
+        return this;
+    }
     
 }
@@ -57,6 +57,7 @@ public class RedisConnection implements RedisCommands {
     private long lastUsageTime;
     private Runnable connectedListener;
     private Runnable disconnectedListener;
+    private volatile ResponseTimeListener responseTimeListener;
 
     public <C> RedisConnection(RedisClient redisClient, Channel channel, RPromise<C> connectionPromise) {
         this.redisClient = redisClient;
@@ -90,6 +91,10 @@ public class RedisConnection implements RedisCommands {
         this.disconnectedListener = disconnectedListener;
     }
 
+    public void setResponseTimeListener(ResponseTimeListener responseTimeListener) {
+        this.responseTimeListener = responseTimeListener;
+    }
+
     public <C extends RedisConnection> RPromise<C> getConnectionPromise() {
         return (RPromise<C>) connectionPromise;
     }
@@ -170,13 +175,31 @@ public class RedisConnection implements RedisCommands {
     }
 
     public <T, R> ChannelFuture send(CommandData<T, R> data) {
+        trackResponseTime(data.getPromise());
         return channel.writeAndFlush(data);
     }
 
     public ChannelFuture send(CommandsData data) {
+        trackResponseTime(data.getPromise());
         return channel.writeAndFlush(data);
     }
 
+    private <R> void trackResponseTime(RPromise<R> promise) {
+        final ResponseTimeListener listener = responseTimeListener;
+        if (listener == null) {
+            return;
+        }
+
+        final long startTime = System.nanoTime();
+        listener.onSend();
+        promise.addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                listener.onResponse(System.nanoTime() - startTime);
+            }
+        });
+    }
+
     public <T, R> R sync(Codec encoder, RedisCommand<T> command, Object ... params) {
         RPromise<R> promise = new RedissonPromise<R>();
         send(new CommandData<T, R>(promise, encoder, command, params));
@@ -0,0 +1,39 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.client;
+
+/**
+ * Listener notified about commands sent through a connection.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public interface ResponseTimeListener {
+
+    /**
+     * Invoked when command or command batch is sent
+     */
+    void onSend();
+
+    /**
+     * Invoked when command or command batch is completed,
+     * including failed and timed out ones
+     * 
+     * @param responseTime - time since sending in nanoseconds
+     */
+    void onResponse(long responseTime);
+
+}
@@ -161,7 +161,9 @@ public class CommandDecoder extends ReplayingDecoder<State> {
         int i = state().getBatchIndex();
 
         Throwable error = null;
-        while (in.writerIndex() > in.readerIndex()) {
+        // replies of pipelined commands may follow the batch in the same buffer
+        while (in.writerIndex() > in.readerIndex() 
+                && i < commandBatch.getCommands().size()) {
             CommandData<Object, Object> cmd = null;
             try {
                 checkpoint();
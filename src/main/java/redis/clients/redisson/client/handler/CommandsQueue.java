@@ -16,12 +16,16 @@
 package redis.clients.redisson.client.handler;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
 import java.util.regex.Pattern;
 
 import redis.clients.redisson.client.WriteRedisConnectionException;
 import redis.clients.redisson.client.protocol.CommandData;
+import redis.clients.redisson.client.protocol.CommandsData;
 import redis.clients.redisson.client.protocol.QueueCommand;
 import redis.clients.redisson.client.protocol.QueueCommandHolder;
 import org.slf4j.Logger;
@@ -37,7 +41,10 @@ import io.netty.util.AttributeKey;
 import io.netty.util.internal.PlatformDependent;
 
 /**
- *
+ * Queues commands per channel. By default next command is written 
+ * only after reply on previous one has been decoded. 
+ * If <code>maxInFlight</code> is bigger than 1 then commands are written 
+ * back-to-back and replies are matched in FIFO order against in-flight commands.
  *
  * @author Nikita Koksharov
  *
@@ -53,28 +60,71 @@ public class CommandsQueue extends ChannelDuplexHandler {
 
     private final Queue<QueueCommandHolder> queue = PlatformDependent.newMpscQueue();
 
+    // accessed only from channel's event loop
+    private final Deque<QueueCommandHolder> inFlight = new ArrayDeque<QueueCommandHolder>();
+
+    private final int maxInFlight;
+    
+    private QueueCommand writing;
+    
     private volatile boolean isInactive;
     
     private final ChannelFutureListener listener = new ChannelFutureListener() {
         @Override
         public void operationComplete(ChannelFuture future) throws Exception {
             if (!future.isSuccess() && !isInactive) {
-                sendNextCommand(future.channel());
+                removeFailed(future);
+                sendData(future.channel());
             }
         }
     };
 
+    public CommandsQueue() {
+        this(1);
+    }
+    
+    public CommandsQueue(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+    
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
     public void sendNextCommand(Channel channel) {
-        channel.attr(CommandsQueue.CURRENT_COMMAND).set(null);
-        queue.poll();
+        inFlight.poll();
+        updateCurrentCommand(channel);
         sendData(channel);
     }
 
+    private void removeFailed(ChannelFuture future) {
+        for (Iterator<QueueCommandHolder> iterator = inFlight.iterator(); iterator.hasNext();) {
+            QueueCommandHolder holder = iterator.next();
+            if (holder.getChannelPromise() == future) {
+                iterator.remove();
+                break;
+            }
+        }
+        updateCurrentCommand(future.channel());
+    }
+    
+    private void updateCurrentCommand(Channel channel) {
+        QueueCommandHolder head = inFlight.peek();
+        if (head != null && head.getCommand().getPubSubOperations().isEmpty()) {
+            channel.attr(CURRENT_COMMAND).set(head.getCommand());
+        } else {
+            channel.attr(CURRENT_COMMAND).set(null);
+        }
+    }
+    
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
         isInactive = true;
         while (true) {
-            QueueCommandHolder command = queue.poll();
+            QueueCommandHolder command = inFlight.poll();
+            if (command == null) {
+                command = queue.poll();
+            }
             if (command == null) {
                 break;
             }
@@ -90,8 +140,7 @@ public class CommandsQueue extends ChannelDuplexHandler {
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
         if (msg instanceof QueueCommand) {
             QueueCommand data = (QueueCommand) msg;
-            QueueCommandHolder holder = queue.peek();
-            if (holder != null && holder.getCommand() == data) {
+            if (writing == data) {
                 super.write(ctx, msg, promise);
             } else {
                 queue.add(new QueueCommandHolder(data, promise));
@@ -103,8 +152,23 @@ public class CommandsQueue extends ChannelDuplexHandler {
     }
 
     private void sendData(Channel ch) {
-        QueueCommandHolder command = queue.peek();
-        if (command != null && command.trySend()) {
+        while (inFlight.size() < maxInFlight) {
+            QueueCommandHolder command = queue.peek();
+            if (command == null) {
+                return;
+            }
+            
+            QueueCommandHolder last = inFlight.peekLast();
+            if (last != null 
+                    && (isExclusive(last.getCommand()) || isExclusive(command.getCommand()))) {
+                return;
+            }
+            
+            queue.poll();
+            if (!command.trySend()) {
+                continue;
+            }
+            
             QueueCommand data = command.getCommand();
             List<CommandData<Object, Object>> pubSubOps = data.getPubSubOperations();
             if (!pubSubOps.isEmpty()) {
@@ -113,13 +177,36 @@ public class CommandsQueue extends ChannelDuplexHandler {
                         ch.pipeline().get(CommandPubSubDecoder.class).addPubSubCommand(channel.toString(), cd);
                     }
                 }
-            } else {
+            } else if (inFlight.isEmpty()) {
                 ch.attr(CURRENT_COMMAND).set(data);
             }
+            inFlight.add(command);
 
             command.getChannelPromise().addListener(listener);
-            ch.writeAndFlush(data, command.getChannelPromise());
+            writing = data;
+            try {
+                ch.writeAndFlush(data, command.getChannelPromise());
+            } finally {
+                writing = null;
+            }
+        }
+    }
+
+    /**
+     * Commands which can't share connection with other in-flight commands:
+     * blocking commands, pubsub operations and batches without replies.
+     */
+    private boolean isExclusive(QueueCommand command) {
+        if (!command.getPubSubOperations().isEmpty()) {
+            return true;
+        }
+        if (command instanceof CommandData) {
+            return ((CommandData<?, ?>) command).isBlockingCommand();
+        }
+        if (command instanceof CommandsData) {
+            return ((CommandsData) command).isNoResult();
         }
+        return false;
     }
 
     @Override
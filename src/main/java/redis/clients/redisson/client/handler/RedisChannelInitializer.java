@@ -80,11 +80,18 @@ public class RedisChannelInitializer extends ChannelInitializer<Channel> {
             ch.pipeline().addLast(new RedisPubSubConnectionHandler(redisClient));
         }
         
+        CommandsQueue commandsQueue;
+        if (type == Type.PLAIN) {
+            commandsQueue = new CommandsQueue(config.getPipelineMaxInFlight());
+        } else {
+            commandsQueue = new CommandsQueue();
+        }
+        
         ch.pipeline().addLast(
             new ConnectionWatchdog(bootstrap, channels, config.getTimer()),
             CommandEncoder.INSTANCE,
             CommandBatchEncoder.INSTANCE,
-            new CommandsQueue());
+            commandsQueue);
         
         if (type == Type.PLAIN) {
             ch.pipeline().addLast(new CommandDecoder());
@@ -17,6 +17,8 @@ package redis.clients.redisson.cluster;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -26,10 +28,10 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import redis.clients.redisson.api.NodeType;
 import redis.clients.redisson.api.RFuture;
@@ -71,7 +73,7 @@ public class ClusterConnectionManager extends MasterSlaveConnectionManager {
 
     private final Map<URI, RedisConnection> nodeConnections = PlatformDependent.newConcurrentHashMap();
 
-    private final ConcurrentMap<Integer, ClusterPartition> lastPartitions = PlatformDependent.newConcurrentHashMap();
+    private final AtomicReferenceArray<ClusterPartition> lastPartitions = new AtomicReferenceArray<ClusterPartition>(MAX_SLOT);
 
     private ScheduledFuture<?> monitorFuture;
     
@@ -130,7 +132,8 @@ public class ClusterConnectionManager extends MasterSlaveConnectionManager {
             }
         }
 
-        if (lastPartitions.isEmpty()) {
+        int coveredSlots = coveredSlots();
+        if (coveredSlots == 0) {
             stopThreads();
             if (failedMasters.isEmpty()) {
                 throw new RedisConnectionException("Can't connect to servers!", lastException);
@@ -139,12 +142,12 @@ public class ClusterConnectionManager extends MasterSlaveConnectionManager {
             }
         }
 
-        if (lastPartitions.size() != MAX_SLOT) {
+        if (coveredSlots != MAX_SLOT) {
             stopThreads();
             if (failedMasters.isEmpty()) {
-                throw new RedisConnectionException("Not all slots are covered! Only " + lastPartitions.size() + " slots are avaliable", lastException);
+                throw new RedisConnectionException("Not all slots are covered! Only " + coveredSlots + " slots are avaliable", lastException);
             } else {
-                throw new RedisConnectionException("Not all slots are covered! Only " + lastPartitions.size() + " slots are avaliable. Failed masters according to cluster status: " + failedMasters, lastException);
+                throw new RedisConnectionException("Not all slots are covered! Only " + coveredSlots + " slots are avaliable. Failed masters according to cluster status: " + failedMasters, lastException);
             }
         }
 
@@ -274,10 +277,9 @@ public class ClusterConnectionManager extends MasterSlaveConnectionManager {
                                     initFuture.tryFailure(future.cause());
                                     return;
                                 }
-                                for (Integer slot : partition.getSlots()) {
-                                    addEntry(slot, e);
-                                    lastPartitions.put(slot, partition);
-                                }
+                                BitSet slots = partition.getSlots();
+                                addEntry(ranges(slots), e);
+                                setLastPartition(slots, partition);
 
                                 log.info("master: {} added for slot ranges: {}", partition.getMasterAddress(), partition.getSlotRanges());
                                 if (!initFuture.trySuccess(null)) {
@@ -467,26 +469,61 @@ public class ClusterConnectionManager extends MasterSlaveConnectionManager {
         return addedSlaves;
     }
 
-    private Collection<Integer> slots(Collection<ClusterPartition> partitions) {
-        Set<Integer> result = new HashSet<Integer>(MAX_SLOT);
-        for (ClusterPartition clusterPartition : partitions) {
-            result.addAll(clusterPartition.getSlots());
+    /**
+     * Indexes partitions by slot, so the owner of each slot 
+     * is resolved without walking slot ranges of all partitions.
+     * Alive masters take precedence over failed ones.
+     */
+    private ClusterPartition[] partitionsBySlot(Collection<ClusterPartition> partitions) {
+        ClusterPartition[] result = new ClusterPartition[MAX_SLOT];
+        for (ClusterPartition partition : partitions) {
+            if (partition.isMasterFail()) {
+                fill(result, partition);
+            }
+        }
+        for (ClusterPartition partition : partitions) {
+            if (!partition.isMasterFail()) {
+                fill(result, partition);
+            }
         }
         return result;
     }
 
-    private ClusterPartition find(Collection<ClusterPartition> partitions, Integer slot) {
-        for (ClusterPartition clusterPartition : partitions) {
-            for (ClusterSlotRange slotRange : clusterPartition.getSlotRanges()) {
-                if (slotRange.isOwn(slot)) {
-                    return clusterPartition;
-                }
+    private void fill(ClusterPartition[] slots, ClusterPartition partition) {
+        for (ClusterSlotRange range : partition.getSlotRanges()) {
+            Arrays.fill(slots, range.getStartSlot(), range.getEndSlot() + 1, partition);
+        }
+    }
+
+    private static Collection<ClusterSlotRange> ranges(BitSet slots) {
+        List<ClusterSlotRange> result = new ArrayList<ClusterSlotRange>();
+        int start = slots.nextSetBit(0);
+        while (start >= 0) {
+            int end = slots.nextClearBit(start);
+            result.add(new ClusterSlotRange(start, end - 1));
+            start = slots.nextSetBit(end);
+        }
+        return result;
+    }
+
+    private void setLastPartition(BitSet slots, ClusterPartition partition) {
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            lastPartitions.set(slot, partition);
+        }
+    }
+
+    private int coveredSlots() {
+        int result = 0;
+        for (int slot = 0; slot < MAX_SLOT; slot++) {
+            if (lastPartitions.get(slot) != null) {
+                result++;
             }
         }
-        return null;
+        return result;
     }
 
     private RFuture<Void> checkMasterNodesChange(ClusterServersConfig cfg, Collection<ClusterPartition> newPartitions) {
+        ClusterPartition[] newSlots = null;
         List<ClusterPartition> newMasters = new ArrayList<ClusterPartition>();
         for (final ClusterPartition newPart : newPartitions) {
             boolean masterFound = false;
@@ -499,10 +536,15 @@ public class ClusterConnectionManager extends MasterSlaveConnectionManager {
                 if (!newPart.isMasterFail()) {
                     continue;
                 }
-                for (Integer slot : currentPart.getSlots()) {
-                    ClusterPartition newMasterPart = find(newPartitions, slot);
+                if (newSlots == null) {
+                    newSlots = partitionsBySlot(newPartitions);
+                }
+                BitSet slots = currentPart.getSlots();
+                for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                    ClusterPartition newMasterPart = newSlots[slot];
                     // does partition has a new master?
-                    if (!newMasterPart.getMasterAddress().equals(currentPart.getMasterAddress())) {
+                    if (newMasterPart != null 
+                            && !newMasterPart.getMasterAddress().equals(currentPart.getMasterAddress())) {
                         URI newUri = newMasterPart.getMasterAddress();
                         URI oldUri = currentPart.getMasterAddress();
                         
@@ -555,40 +597,49 @@ public class ClusterConnectionManager extends MasterSlaveConnectionManager {
     }
 
     private void checkSlotsChange(ClusterServersConfig cfg, Collection<ClusterPartition> newPartitions, String nodes) {
-        Collection<Integer> newPartitionsSlots = slots(newPartitions);
-        if (newPartitionsSlots.size() == lastPartitions.size() && lastPartitions.size() == MAX_SLOT) {
-            return;
+        ClusterPartition[] newSlots = partitionsBySlot(newPartitions);
+        BitSet removedSlots = new BitSet(MAX_SLOT);
+        BitSet addedSlots = new BitSet(MAX_SLOT);
+        for (int slot = 0; slot < MAX_SLOT; slot++) {
+            boolean covered = lastPartitions.get(slot) != null;
+            if (covered && newSlots[slot] == null) {
+                removedSlots.set(slot);
+            } else if (!covered && newSlots[slot] != null) {
+                addedSlots.set(slot);
+            }
         }
 
-        Set<Integer> removedSlots = new HashSet<Integer>(lastPartitions.keySet());
-        removedSlots.removeAll(newPartitionsSlots);
-        lastPartitions.keySet().removeAll(removedSlots);
         if (!removedSlots.isEmpty()) {
-            log.info("{} slots found to remove", removedSlots.size());
-        }
-
-        for (Integer slot : removedSlots) {
-            MasterSlaveEntry entry = getEntry(slot);
-            removeMaster(slot);
-            if (entry.getSlotRanges().isEmpty()) {
-                entry.shutdownMasterAsync();
-                log.info("{} master and slaves for it removed", entry.getClient().getAddr());
+            log.info("{} slots found to remove", removedSlots.cardinality());
+            setLastPartition(removedSlots, null);
+            for (MasterSlaveEntry entry : removeSlots(ranges(removedSlots))) {
+                if (entry.getSlotRanges().isEmpty()) {
+                    entry.shutdownMasterAsync();
+                    log.info("{} master and slaves for it removed", entry.getClient().getAddr());
+                }
             }
         }
 
-
-        Set<Integer> addedSlots = new HashSet<Integer>(newPartitionsSlots);
-        addedSlots.removeAll(lastPartitions.keySet());
-        if (!addedSlots.isEmpty()) {
-            log.info("{} slots found to add", addedSlots.size());
+        if (addedSlots.isEmpty()) {
+            return;
         }
-        for (final Integer slot : addedSlots) {
-            ClusterPartition partition = find(newPartitions, slot);
+        log.info("{} slots found to add", addedSlots.cardinality());
+
+        Map<ClusterPartition, BitSet> partitionSlots = new HashMap<ClusterPartition, BitSet>();
+        for (int slot = addedSlots.nextSetBit(0); slot >= 0; slot = addedSlots.nextSetBit(slot + 1)) {
+            BitSet slots = partitionSlots.get(newSlots[slot]);
+            if (slots == null) {
+                slots = new BitSet(MAX_SLOT);
+                partitionSlots.put(newSlots[slot], slots);
+            }
+            slots.set(slot);
+        }
+        for (Map.Entry<ClusterPartition, BitSet> e : partitionSlots.entrySet()) {
+            ClusterPartition partition = e.getKey();
             MasterSlaveEntry entry = getEntry(partition.getMasterAddr());
             if (entry != null && entry.getClient().getAddr().equals(partition.getMasterAddr())) {
-                addEntry(slot, entry);
-                lastPartitions.put(slot, partition);
-                break;
+                addEntry(ranges(e.getValue()), entry);
+                setLastPartition(e.getValue(), partition);
             }
         }
     }
@@ -603,31 +654,36 @@ public class ClusterConnectionManager extends MasterSlaveConnectionManager {
                     continue;
                 }
                 
-                Set<Integer> addedSlots = new HashSet<Integer>(newPartition.getSlots());
-                addedSlots.removeAll(currentPartition.getSlots());
+                BitSet addedSlots = newPartition.getSlots();
+                addedSlots.andNot(currentPartition.getSlots());
                 currentPartition.addSlots(addedSlots);
                 
                 MasterSlaveEntry entry = getEntry(currentPartition.getMasterAddr());
 
-                for (Integer slot : addedSlots) {
-                    addEntry(slot, entry);
-                    lastPartitions.put(slot, currentPartition);
-                }
                 if (!addedSlots.isEmpty()) {
-                    log.info("{} slots added to {}", addedSlots.size(), currentPartition.getMasterAddr());
+                    addEntry(ranges(addedSlots), entry);
+                    setLastPartition(addedSlots, currentPartition);
+                    log.info("{} slots added to {}", addedSlots.cardinality(), currentPartition.getMasterAddr());
                 }
 
-                Set<Integer> removedSlots = new HashSet<Integer>(currentPartition.getSlots());
-                removedSlots.removeAll(newPartition.getSlots());
-                for (Integer removeSlot : removedSlots) {
-                    if (lastPartitions.remove(removeSlot, currentPartition)) {
-                        removeMaster(removeSlot);
+                BitSet removedSlots = currentPartition.getSlots();
+                removedSlots.andNot(newPartition.getSlots());
+                BitSet releasedSlots = new BitSet(MAX_SLOT);
+                for (int slot = removedSlots.nextSetBit(0); slot >= 0; slot = removedSlots.nextSetBit(slot + 1)) {
+                    ClusterPartition partition = lastPartitions.get(slot);
+                    // slot could be already taken by another partition
+                    if (currentPartition.equals(partition) 
+                            && lastPartitions.compareAndSet(slot, partition, null)) {
+                        releasedSlots.set(slot);
                     }
                 }
+                if (!releasedSlots.isEmpty()) {
+                    removeSlots(ranges(releasedSlots));
+                }
                 currentPartition.removeSlots(removedSlots);
 
                 if (!removedSlots.isEmpty()) {
-                    log.info("{} slots removed from {}", removedSlots.size(), currentPartition.getMasterAddr());
+                    log.info("{} slots removed from {}", removedSlots.cardinality(), currentPartition.getMasterAddr());
                 }
                 break;
             }
@@ -732,7 +788,16 @@ public class ClusterConnectionManager extends MasterSlaveConnectionManager {
     }
 
     private HashSet<ClusterPartition> getLastPartitions() {
-        return new HashSet<ClusterPartition>(lastPartitions.values());
+        HashSet<ClusterPartition> result = new HashSet<ClusterPartition>();
+        ClusterPartition last = null;
+        for (int slot = 0; slot < MAX_SLOT; slot++) {
+            ClusterPartition partition = lastPartitions.get(slot);
+            if (partition != null && partition != last) {
+                result.add(partition);
+                last = partition;
+            }
+        }
+        return result;
     }
     
     @Override
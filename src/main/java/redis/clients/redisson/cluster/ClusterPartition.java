@@ -17,6 +17,7 @@ package redis.clients.redisson.cluster;
 
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -38,7 +39,7 @@ public class ClusterPartition {
     private final Set<URI> slaveAddresses = new HashSet<URI>();
     private final Set<URI> failedSlaves = new HashSet<URI>();
     
-    private final Set<Integer> slots = new HashSet<Integer>();
+    private final BitSet slots = new BitSet();
     private final Set<ClusterSlotRange> slotRanges = new HashSet<ClusterSlotRange>();
 
     private ClusterPartition parent;
@@ -75,35 +76,31 @@ public class ClusterPartition {
         return masterFail;
     }
 
-    public void addSlots(Set<Integer> slots) {
-        this.slots.addAll(slots);
+    public void addSlots(BitSet slots) {
+        this.slots.or(slots);
     }
 
-    public void removeSlots(Set<Integer> slots) {
-        this.slots.removeAll(slots);
+    public void removeSlots(BitSet slots) {
+        this.slots.andNot(slots);
     }
 
     public void addSlotRanges(Set<ClusterSlotRange> ranges) {
         for (ClusterSlotRange clusterSlotRange : ranges) {
-            for (int i = clusterSlotRange.getStartSlot(); i < clusterSlotRange.getEndSlot() + 1; i++) {
-                slots.add(i);
-            }
+            slots.set(clusterSlotRange.getStartSlot(), clusterSlotRange.getEndSlot() + 1);
         }
         slotRanges.addAll(ranges);
     }
     public void removeSlotRanges(Set<ClusterSlotRange> ranges) {
         for (ClusterSlotRange clusterSlotRange : ranges) {
-            for (int i = clusterSlotRange.getStartSlot(); i < clusterSlotRange.getEndSlot() + 1; i++) {
-                slots.remove(i);
-            }
+            slots.clear(clusterSlotRange.getStartSlot(), clusterSlotRange.getEndSlot() + 1);
         }
         slotRanges.removeAll(ranges);
     }
     public Set<ClusterSlotRange> getSlotRanges() {
         return slotRanges;
     }
-    public Set<Integer> getSlots() {
-        return slots;
+    public BitSet getSlots() {
+        return (BitSet) slots.clone();
     }
 
     public InetSocketAddress getMasterAddr() {
@@ -16,6 +16,8 @@
 package redis.clients.redisson.command;
 
 import java.net.InetSocketAddress;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,6 +29,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -60,20 +63,24 @@ import redis.clients.redisson.connection.ConnectionManager;
 import redis.clients.redisson.connection.MasterSlaveEntry;
 import redis.clients.redisson.connection.NodeSource;
 import redis.clients.redisson.connection.NodeSource.Redirect;
+import redis.clients.redisson.connection.RoutingStatistics;
 import redis.clients.redisson.misc.LogHelper;
 import redis.clients.redisson.misc.RPromise;
 import redis.clients.redisson.misc.RedissonObjectFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.Timeout;
 import io.netty.util.TimerTask;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
+import io.netty.util.internal.PlatformDependent;
 
 /**
  *
@@ -84,6 +91,11 @@ public class CommandAsyncService implements CommandAsyncExecutor {
 
     static final Logger log = LoggerFactory.getLogger(CommandAsyncService.class);
 
+    private static final int SCRIPT_CACHE_SIZE = 1024;
+    // sha digests are the same for all instances
+    private static final ConcurrentMap<String, String> SCRIPT_DIGESTS = PlatformDependent.newConcurrentHashMap();
+    private static final ConcurrentMap<String, String> DIGEST_SCRIPTS = PlatformDependent.newConcurrentHashMap();
+
     final ConnectionManager connectionManager;
     protected RedissonClient redisson;
     protected RedissonReactiveClient redissonReactive;
@@ -326,8 +338,16 @@ public class CommandAsyncService implements CommandAsyncExecutor {
     }
 
     private NodeSource getNodeSource(String key) {
+        RoutingStatistics statistics = connectionManager.getRoutingStatistics();
+        if (!statistics.shouldSample()) {
+            int slot = connectionManager.calcSlot(key);
+            return new NodeSource(connectionManager.getEntry(slot));
+        }
+
+        long startTime = System.nanoTime();
         int slot = connectionManager.calcSlot(key);
         MasterSlaveEntry entry = connectionManager.getEntry(slot);
+        statistics.routed(System.nanoTime() - startTime);
         return new NodeSource(entry);
     }
 
@@ -447,6 +467,13 @@ public class CommandAsyncService implements CommandAsyncExecutor {
 
     private <T, R> RFuture<R> evalAsync(NodeSource nodeSource, boolean readOnlyMode, Codec codec, RedisCommand<T> evalCommandType, String script, List<Object> keys, Object... params) {
         RPromise<R> mainPromise = connectionManager.newPromise();
+        if (isScriptCacheEnabled() && "EVAL".equals(evalCommandType.getName())) {
+            String digest = getScriptDigest(script);
+            if (digest != null) {
+                script = digest;
+                evalCommandType = new RedisCommand<T>(evalCommandType, "EVALSHA");
+            }
+        }
         List<Object> args = new ArrayList<Object>(2 + keys.size() + params.length);
         args.add(script);
         args.add(keys.size());
@@ -456,6 +483,35 @@ public class CommandAsyncService implements CommandAsyncExecutor {
         return mainPromise;
     }
 
+    /**
+     * Scripts are sent as <code>EVALSHA</code> only if failed command could be retried with <code>EVAL</code>
+     * 
+     * @return <code>true</code> if script cache is used
+     */
+    protected boolean isScriptCacheEnabled() {
+        return connectionManager.getCfg().isUseScriptCache();
+    }
+
+    private String getScriptDigest(String script) {
+        String digest = SCRIPT_DIGESTS.get(script);
+        if (digest != null) {
+            return digest;
+        }
+        if (SCRIPT_DIGESTS.size() >= SCRIPT_CACHE_SIZE) {
+            return null;
+        }
+
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-1");
+            digest = ByteBufUtil.hexDump(sha.digest(script.getBytes(CharsetUtil.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+        DIGEST_SCRIPTS.putIfAbsent(digest, script);
+        SCRIPT_DIGESTS.putIfAbsent(script, digest);
+        return digest;
+    }
+
     @Override
     public <T, R> RFuture<R> writeAsync(String key, RedisCommand<T> command, Object... params) {
         return writeAsync(key, connectionManager.getCodec(), command, params);
@@ -482,7 +538,6 @@ public class CommandAsyncService implements CommandAsyncExecutor {
             return;
         }
 
-        final AsyncDetails<V, R> details = AsyncDetails.acquire();
         if (isRedissonReferenceSupportEnabled()) {
             try {
                 for (int i = 0; i < params.length; i++) {
@@ -499,6 +554,14 @@ public class CommandAsyncService implements CommandAsyncExecutor {
             }
         }
 
+        CommandAutoBatcher autoBatcher = connectionManager.getAutoBatcher();
+        if (autoBatcher != null && attempt == 0
+                && autoBatcher.add(readOnlyMode, source, codec, command, params, createBatchPromise(mainPromise))) {
+            connectionManager.getShutdownLatch().release();
+            return;
+        }
+
+        final AsyncDetails<V, R> details = AsyncDetails.acquire();
         final RFuture<RedisConnection> connectionFuture;
         if (readOnlyMode) {
             connectionFuture = connectionManager.connectionReadOp(source, command);
@@ -635,7 +698,13 @@ public class CommandAsyncService implements CommandAsyncExecutor {
                     }
                 });
 
-                releaseConnection(source, connectionFuture, details.isReadOnlyMode(), details.getAttemptPromise(), details);
+                if (isPipelined(details)) {
+                    // command has been queued to connection and its reply will be matched in order, 
+                    // so connection could be shared with other commands right away
+                    releasePipelinedConnection(source, connection, details);
+                } else {
+                    releaseConnection(source, connectionFuture, details.isReadOnlyMode(), details.getAttemptPromise(), details);
+                }
             }
         });
 
@@ -647,6 +716,25 @@ public class CommandAsyncService implements CommandAsyncExecutor {
         });
     }
 
+    private <R> RPromise<R> createBatchPromise(final RPromise<R> mainPromise) {
+        if (!isRedissonReferenceSupportEnabled()) {
+            return mainPromise;
+        }
+        
+        RPromise<R> promise = connectionManager.newPromise();
+        promise.addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                if (future.isSuccess()) {
+                    handleReference(mainPromise, future.getNow());
+                } else {
+                    mainPromise.tryFailure(future.cause());
+                }
+            }
+        });
+        return promise;
+    }
+
     protected void free(final Object[] params) {
         for (Object obj : params) {
             ReferenceCountUtil.safeRelease(obj);
@@ -795,6 +883,26 @@ public class CommandAsyncService implements CommandAsyncExecutor {
         });
     }
 
+    private <V, R> boolean isPipelined(AsyncDetails<V, R> details) {
+        return connectionManager.getConfig().getPipelineMaxInFlight() > 1
+                && !RedisCommands.BLOCKING_COMMANDS.contains(details.getCommand().getName());
+    }
+
+    private <V, R> void releasePipelinedConnection(final NodeSource source, RedisConnection connection, final AsyncDetails<V, R> details) {
+        if (details.isReadOnlyMode()) {
+            connectionManager.releaseRead(source, connection);
+        } else {
+            connectionManager.releaseWrite(source, connection);
+        }
+
+        details.getAttemptPromise().addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                connectionManager.getShutdownLatch().release();
+            }
+        });
+    }
+
     private <R, V> void checkAttemptFuture(final NodeSource source, final AsyncDetails<V, R> details,
             Future<R> future) {
         details.getTimeout().cancel();
@@ -820,6 +928,22 @@ public class CommandAsyncService implements CommandAsyncExecutor {
             return;
         }
 
+        if (future.cause() instanceof RedisException
+                && future.cause().getMessage() != null
+                && future.cause().getMessage().startsWith("NOSCRIPT")
+                && "EVALSHA".equals(details.getCommand().getName())) {
+            String script = DIGEST_SCRIPTS.get(details.getParams()[0]);
+            if (script != null) {
+                // EVAL loads script to node, so next EVALSHA invocations succeed
+                Object[] params = details.getParams();
+                params[0] = script;
+                async(details.isReadOnlyMode(), source, details.getCodec(),
+                        new RedisCommand<V>(details.getCommand(), "EVAL"), params, details.getMainPromise(), details.getAttempt());
+                AsyncDetails.release(details);
+                return;
+            }
+        }
+
         if (future.cause() instanceof RedisLoadingException) {
             async(details.isReadOnlyMode(), source, details.getCodec(),
                     details.getCommand(), details.getParams(), details.getMainPromise(), details.getAttempt());
@@ -0,0 +1,235 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import redis.clients.redisson.RedisClientResult;
+import redis.clients.redisson.api.RFuture;
+import redis.clients.redisson.client.codec.Codec;
+import redis.clients.redisson.client.protocol.RedisCommand;
+import redis.clients.redisson.client.protocol.RedisCommands;
+import redis.clients.redisson.connection.ConnectionManager;
+import redis.clients.redisson.connection.MasterSlaveEntry;
+import redis.clients.redisson.connection.NodeSource;
+import redis.clients.redisson.misc.RPromise;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Collects async commands addressed to the same {@link MasterSlaveEntry}
+ * during short time window and sends them as single command batch
+ * using one connection and one flush.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class CommandAutoBatcher {
+
+    class Window implements Runnable {
+
+        final MasterSlaveEntry entry;
+        final ConcurrentMap<MasterSlaveEntry, Window> windows;
+        final CommandBatchService batch;
+        final List<RPromise<?>> promises = new ArrayList<RPromise<?>>();
+        boolean closed;
+
+        Window(MasterSlaveEntry entry, ConcurrentMap<MasterSlaveEntry, Window> windows) {
+            this.entry = entry;
+            this.windows = windows;
+            this.batch = new CommandBatchService(connectionManager);
+        }
+
+        /**
+         * @return commands amount in window or <code>-1</code> if window has been already closed
+         */
+        synchronized <V, R> int add(boolean readOnlyMode, Codec codec, RedisCommand<V> command, Object[] params, final RPromise<R> mainPromise) {
+            if (closed) {
+                return -1;
+            }
+
+            RPromise<R> batchPromise = connectionManager.newPromise();
+            batchPromise.addListener(new FutureListener<R>() {
+                @Override
+                public void operationComplete(Future<R> future) throws Exception {
+                    if (!future.isSuccess()) {
+                        mainPromise.tryFailure(future.cause());
+                        return;
+                    }
+
+                    R res = future.getNow();
+                    if (res instanceof RedisClientResult) {
+                        ((RedisClientResult) res).setRedisClient(batch.getClientAddress(entry));
+                    }
+                    mainPromise.trySuccess(res);
+                }
+            });
+
+            batch.async(readOnlyMode, new NodeSource(entry), codec, command, params, batchPromise, 0);
+            promises.add(batchPromise);
+            return promises.size();
+        }
+
+        synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            return true;
+        }
+
+        @Override
+        public void run() {
+            flush(this);
+        }
+
+    }
+
+    private final ConcurrentMap<MasterSlaveEntry, Window> readWindows = PlatformDependent.newConcurrentHashMap();
+    private final ConcurrentMap<MasterSlaveEntry, Window> writeWindows = PlatformDependent.newConcurrentHashMap();
+
+    private final AtomicLong batchesAmount = new AtomicLong();
+    private final AtomicLong commandsAmount = new AtomicLong();
+
+    private final ConnectionManager connectionManager;
+    private final long window;
+    private final int maxSize;
+
+    public CommandAutoBatcher(ConnectionManager connectionManager, long window, int maxSize) {
+        this.connectionManager = connectionManager;
+        this.window = window;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Adds command to current batch window of its entry.
+     *
+     * @param <V> - command type
+     * @param <R> - result type
+     * @param readOnlyMode - read only mode
+     * @param source - node source
+     * @param codec - codec
+     * @param command - command
+     * @param params - command params
+     * @param mainPromise - promise notified with command result
+     * @return <code>true</code> if command has been added to batch,
+     *         <code>false</code> if it can't be batched and should be sent in usual way
+     */
+    public <V, R> boolean add(boolean readOnlyMode, NodeSource source, Codec codec,
+            RedisCommand<V> command, Object[] params, RPromise<R> mainPromise) {
+        if (!isBatchable(source, command)) {
+            return false;
+        }
+
+        ConcurrentMap<MasterSlaveEntry, Window> windows = writeWindows;
+        if (readOnlyMode) {
+            windows = readWindows;
+        }
+
+        while (true) {
+            Window w = windows.get(source.getEntry());
+            if (w == null) {
+                Window newWindow = new Window(source.getEntry(), windows);
+                w = windows.putIfAbsent(source.getEntry(), newWindow);
+                if (w == null) {
+                    w = newWindow;
+                    connectionManager.getGroup().schedule(w, window, TimeUnit.MICROSECONDS);
+                }
+            }
+
+            int size = w.add(readOnlyMode, codec, command, params, mainPromise);
+            if (size == -1) {
+                windows.remove(w.entry, w);
+                continue;
+            }
+            if (size >= maxSize) {
+                flush(w);
+            }
+            return true;
+        }
+    }
+
+    private <V> boolean isBatchable(NodeSource source, RedisCommand<V> command) {
+        return source.getEntry() != null
+                && source.getAddr() == null
+                && source.getRedirect() == null
+                && !RedisCommands.BLOCKING_COMMANDS.contains(command.getName())
+                // NOSCRIPT error is retried only for commands sent in usual way
+                && !"EVALSHA".equals(command.getName());
+    }
+
+    private void flush(final Window w) {
+        w.windows.remove(w.entry, w);
+        if (!w.close()) {
+            return;
+        }
+
+        batchesAmount.incrementAndGet();
+        commandsAmount.addAndGet(w.promises.size());
+
+        RFuture<List<?>> future = w.batch.executeAsync();
+        future.addListener(new FutureListener<List<?>>() {
+            @Override
+            public void operationComplete(Future<List<?>> future) throws Exception {
+                if (future.isSuccess()) {
+                    return;
+                }
+
+                for (RPromise<?> promise : w.promises) {
+                    promise.tryFailure(future.cause());
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns amount of sent batches
+     *
+     * @return amount
+     */
+    public long getBatchesAmount() {
+        return batchesAmount.get();
+    }
+
+    /**
+     * Returns amount of commands sent in batches
+     *
+     * @return amount
+     */
+    public long getCommandsAmount() {
+        return commandsAmount.get();
+    }
+
+    /**
+     * Returns average amount of commands per batch
+     *
+     * @return average batch size
+     */
+    public double getAverageBatchSize() {
+        long batches = batchesAmount.get();
+        if (batches == 0) {
+            return 0;
+        }
+        return (double) commandsAmount.get() / batches;
+    }
+
+}
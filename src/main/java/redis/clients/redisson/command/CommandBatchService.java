@@ -15,6 +15,7 @@
  */
 package redis.clients.redisson.command;
 
+import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
@@ -69,6 +70,8 @@ public class CommandBatchService extends CommandAsyncService {
         Deque<BatchCommandData<?, ?>> commands = new LinkedBlockingDeque<BatchCommandData<?,?>>();
 
         volatile boolean readOnlyMode = true;
+        
+        volatile InetSocketAddress clientAddress;
 
         public Deque<BatchCommandData<?, ?>> getCommands() {
             return commands;
@@ -82,6 +85,10 @@ public class CommandBatchService extends CommandAsyncService {
             return readOnlyMode;
         }
         
+        public InetSocketAddress getClientAddress() {
+            return clientAddress;
+        }
+        
         public void clearErrors() {
             for (BatchCommandData<?, ?> commandEntry : commands) {
                 commandEntry.clearError();
@@ -100,6 +107,12 @@ public class CommandBatchService extends CommandAsyncService {
         super(connectionManager);
     }
 
+    @Override
+    protected boolean isScriptCacheEnabled() {
+        // NOSCRIPT error can't be retried inside of batch
+        return false;
+    }
+
     @Override
     protected <V, R> void async(boolean readOnlyMode, NodeSource nodeSource,
             Codec codec, RedisCommand<V> command, Object[] params, RPromise<R> mainPromise, int attempt) {
@@ -130,6 +143,24 @@ public class CommandBatchService extends CommandAsyncService {
         entry.getCommands().add(commandData);
     }
 
+    /**
+     * Returns address of Redis node used to send commands of the entry.
+     * 
+     * @param masterSlaveEntry - entry
+     * @return address or <code>null</code> if commands haven't been sent yet
+     */
+    public InetSocketAddress getClientAddress(MasterSlaveEntry masterSlaveEntry) {
+        ConcurrentMap<MasterSlaveEntry, Entry> commands = this.commands;
+        if (commands == null) {
+            return null;
+        }
+        Entry entry = commands.get(masterSlaveEntry);
+        if (entry == null) {
+            return null;
+        }
+        return entry.getClientAddress();
+    }
+
     public BatchResult<?> execute() {
         RFuture<BatchResult<?>> f = executeAsync(0, 0, false, 0, 0, 0);
         return get(f);
@@ -467,6 +498,7 @@ public class CommandBatchService extends CommandAsyncService {
         }
         
         final RedisConnection connection = connFuture.getNow();
+        entry.clientAddress = connection.getRedisClient().getAddr();
 
         List<CommandData<?, ?>> list = new ArrayList<CommandData<?, ?>>(entry.getCommands().size() + 1);
         if (source.getRedirect() == Redirect.ASK) {
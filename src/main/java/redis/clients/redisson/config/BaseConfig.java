@@ -111,6 +111,12 @@ class BaseConfig<T extends BaseConfig<T>> {
     
     private boolean tcpNoDelay;
 
+    /**
+     * Maximum amount of commands written to a single connection
+     * before their replies have been received
+     */
+    private int pipelineMaxInFlight = 1;
+
     
     BaseConfig() {
     }
@@ -136,6 +142,7 @@ class BaseConfig<T extends BaseConfig<T>> {
         setPingConnection(config.isPingConnection());
         setKeepAlive(config.isKeepAlive());
         setTcpNoDelay(config.isTcpNoDelay());
+        setPipelineMaxInFlight(config.getPipelineMaxInFlight());
     }
 
     /**
@@ -479,6 +486,30 @@ class BaseConfig<T extends BaseConfig<T>> {
         return (T) this;
     }
 
+    public int getPipelineMaxInFlight() {
+        return pipelineMaxInFlight;
+    }
+
+    /**
+     * Maximum amount of commands written to a single connection
+     * before their replies have been received. Replies are matched
+     * to commands in the order they were written.
+     * <p>
+     * Values bigger than <code>1</code> enable pipelining mode. In this mode
+     * connection is returned to the pool right after command has been queued
+     * for writing, so few connections could serve many concurrent commands.
+     * Blocking commands always use connection exclusively.
+     * <p>
+     * Default is <code>1</code>
+     * 
+     * @param pipelineMaxInFlight - max amount of in-flight commands per connection
+     * @return config
+     */
+    public T setPipelineMaxInFlight(int pipelineMaxInFlight) {
+        this.pipelineMaxInFlight = pipelineMaxInFlight;
+        return (T) this;
+    }
+
     
     
 }
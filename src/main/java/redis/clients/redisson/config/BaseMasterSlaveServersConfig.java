@@ -131,6 +131,7 @@ public class BaseMasterSlaveServersConfig<T extends BaseMasterSlaveServersConfig
      * @see redis.clients.redisson.connection.balancer.RandomLoadBalancer
      * @see redis.clients.redisson.connection.balancer.RoundRobinLoadBalancer
      * @see redis.clients.redisson.connection.balancer.WeightedRoundRobinBalancer
+     * @see redis.clients.redisson.connection.balancer.ResponseTimeLoadBalancer
      */
     public T setLoadBalancer(LoadBalancer loadBalancer) {
         this.loadBalancer = loadBalancer;
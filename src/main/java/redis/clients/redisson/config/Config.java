@@ -93,6 +93,12 @@ public class Config {
     
     private boolean keepPubSubOrder = true;
     
+    private long autoBatchWindow = 0;
+    
+    private int autoBatchSize = 100;
+    
+    private boolean useScriptCache = false;
+    
     public Config() {
     }
 
@@ -106,6 +112,9 @@ public class Config {
         }
 
         setKeepPubSubOrder(oldConf.isKeepPubSubOrder());
+        setAutoBatchWindow(oldConf.getAutoBatchWindow());
+        setAutoBatchSize(oldConf.getAutoBatchSize());
+        setUseScriptCache(oldConf.isUseScriptCache());
         setLockWatchdogTimeout(oldConf.getLockWatchdogTimeout());
         setNettyThreads(oldConf.getNettyThreads());
         setThreads(oldConf.getThreads());
@@ -602,6 +611,68 @@ public class Config {
         return keepPubSubOrder;
     }
 
+    /**
+     * Defines time window during which async commands addressed to the same 
+     * Redis master/slave entry are collected and sent as a single batch 
+     * with one flush. Trades small latency for less connections usage and syscalls.
+     * <p>
+     * Blocking, scan and redirected commands are never batched.
+     * <p>
+     * Default is <code>0</code> (auto-batching disabled).
+     * 
+     * @param autoBatchWindow - window in microseconds
+     * @return config
+     */
+    public Config setAutoBatchWindow(long autoBatchWindow) {
+        this.autoBatchWindow = autoBatchWindow;
+        return this;
+    }
+    public long getAutoBatchWindow() {
+        return autoBatchWindow;
+    }
+
+    /**
+     * Defines maximum amount of commands collected by auto-batching. 
+     * Batch is sent right away once this amount has been reached 
+     * even if <code>autoBatchWindow</code> hasn't elapsed yet.
+     * <p>
+     * Default is <code>100</code>.
+     * 
+     * @see #setAutoBatchWindow(long)
+     * 
+     * @param autoBatchSize - commands amount
+     * @return config
+     */
+    public Config setAutoBatchSize(int autoBatchSize) {
+        this.autoBatchSize = autoBatchSize;
+        return this;
+    }
+    public int getAutoBatchSize() {
+        return autoBatchSize;
+    }
+
+    /**
+     * Defines whether to use Lua-script cache on Redis side. 
+     * Each Lua-script is hashed once and sent with <code>EVALSHA</code> command, 
+     * so its source isn't transferred with every invocation. 
+     * Script is reloaded with <code>EVAL</code> command and invocation is retried 
+     * once node responds with <code>NOSCRIPT</code> error, for example after failover.
+     * <p>
+     * Scripts executed in batches are always sent with <code>EVAL</code> command.
+     * <p>
+     * Default is <code>false</code>.
+     * 
+     * @param useScriptCache - <code>true</code> to use script cache
+     * @return config
+     */
+    public Config setUseScriptCache(boolean useScriptCache) {
+        this.useScriptCache = useScriptCache;
+        return this;
+    }
+    public boolean isUseScriptCache() {
+        return useScriptCache;
+    }
+
 
     /**
      * Read config object stored in JSON format from <code>String</code>
@@ -25,6 +25,9 @@ import redis.clients.redisson.client.RedisClient;
 import redis.clients.redisson.client.RedisConnection;
 import redis.clients.redisson.client.RedisPubSubConnection;
 import redis.clients.redisson.config.MasterSlaveServersConfig;
+import redis.clients.redisson.connection.balancer.LoadBalancer;
+import redis.clients.redisson.connection.balancer.ResponseTimeLoadBalancer;
+import redis.clients.redisson.connection.balancer.ResponseTimeTracker;
 import redis.clients.redisson.pubsub.AsyncSemaphore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +62,8 @@ public class ClientConnectionsEntry {
 
     private final AtomicInteger failedAttempts = new AtomicInteger();
 
+    private final ResponseTimeTracker responseTimeTracker;
+
     public ClientConnectionsEntry(RedisClient client, int poolMinSize, int poolMaxSize, int subscribePoolMinSize, int subscribePoolMaxSize,
             ConnectionManager connectionManager, NodeType nodeType) {
         this.client = client;
@@ -67,6 +72,13 @@ public class ClientConnectionsEntry {
         this.nodeType = nodeType;
         this.freeSubscribeConnectionsCounter = new AsyncSemaphore(subscribePoolMaxSize);
 
+        LoadBalancer loadBalancer = connectionManager.getConfig().getLoadBalancer();
+        if (loadBalancer instanceof ResponseTimeLoadBalancer) {
+            responseTimeTracker = ((ResponseTimeLoadBalancer) loadBalancer).createTracker();
+        } else {
+            responseTimeTracker = null;
+        }
+
         if (subscribePoolMaxSize > 0) {
             connectionManager.getConnectionWatcher().add(subscribePoolMinSize, subscribePoolMaxSize, freeSubscribeConnections, freeSubscribeConnectionsCounter);
         }
@@ -96,6 +108,15 @@ public class ClientConnectionsEntry {
         return client;
     }
 
+    /**
+     * Returns response time statistics of this node
+     * 
+     * @return tracker or <code>null</code> if balancer doesn't use it
+     */
+    public ResponseTimeTracker getResponseTimeTracker() {
+        return responseTimeTracker;
+    }
+
     public boolean isFreezed() {
         return freezed;
     }
@@ -160,6 +181,9 @@ public class ClientConnectionsEntry {
     }
     
     private void onConnect(final RedisConnection conn) {
+        if (responseTimeTracker != null) {
+            conn.setResponseTimeListener(responseTimeTracker);
+        }
         conn.setConnectedListener(new Runnable() {
             @Override
             public void run() {
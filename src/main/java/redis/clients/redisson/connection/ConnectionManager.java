@@ -29,6 +29,7 @@ import redis.clients.redisson.client.RedisConnection;
 import redis.clients.redisson.client.RedisPubSubListener;
 import redis.clients.redisson.client.codec.Codec;
 import redis.clients.redisson.client.protocol.RedisCommand;
+import redis.clients.redisson.command.CommandAutoBatcher;
 import redis.clients.redisson.command.CommandSyncService;
 import redis.clients.redisson.config.Config;
 import redis.clients.redisson.config.MasterSlaveServersConfig;
@@ -49,6 +50,13 @@ public interface ConnectionManager {
     
     CommandSyncService getCommandExecutor();
     
+    /**
+     * Returns auto-batcher used to collect async commands.
+     * 
+     * @return auto-batcher or <code>null</code> if auto-batching is disabled
+     */
+    CommandAutoBatcher getAutoBatcher();
+    
     ExecutorService getExecutor();
     
     URI getLastClusterNode();
@@ -88,6 +96,8 @@ public interface ConnectionManager {
     Collection<MasterSlaveEntry> getEntrySet();
     
     MasterSlaveEntry getEntry(int slot);
+
+    RoutingStatistics getRoutingStatistics();
     
     <R> RPromise<R> newPromise();
 
@@ -47,6 +47,7 @@ import redis.clients.redisson.client.codec.Codec;
 import redis.clients.redisson.client.protocol.RedisCommand;
 import redis.clients.redisson.client.protocol.pubsub.PubSubType;
 import redis.clients.redisson.cluster.ClusterSlotRange;
+import redis.clients.redisson.command.CommandAutoBatcher;
 import redis.clients.redisson.command.CommandSyncService;
 import redis.clients.redisson.config.BaseMasterSlaveServersConfig;
 import redis.clients.redisson.config.Config;
@@ -130,7 +131,10 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
     
     protected MasterSlaveServersConfig config;
 
-    private final Map<Integer, MasterSlaveEntry> slot2entry = PlatformDependent.newConcurrentHashMap();
+    private final Object slotsLock = new Object();
+    // copy-on-write, replaced as a whole under slotsLock on every change
+    private volatile MasterSlaveEntry[] slot2entry = new MasterSlaveEntry[MAX_SLOT];
+    private final RoutingStatistics routingStatistics = new RoutingStatistics();
     private final Map<InetSocketAddress, MasterSlaveEntry> addr2entry = PlatformDependent.newConcurrentHashMap();
 
     private final RPromise<Boolean> shutdownPromise;
@@ -151,6 +155,8 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
     
     private final CommandSyncService commandExecutor;
     
+    private final CommandAutoBatcher autoBatcher;
+    
     private final Config cfg;
     
     {
@@ -207,6 +213,11 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         this.codec = cfg.getCodec();
         this.shutdownPromise = newPromise();
         this.commandExecutor = new CommandSyncService(this);
+        if (cfg.getAutoBatchWindow() > 0) {
+            this.autoBatcher = new CommandAutoBatcher(this, cfg.getAutoBatchWindow(), cfg.getAutoBatchSize());
+        } else {
+            this.autoBatcher = null;
+        }
     }
 
     public boolean isClusterMode() {
@@ -216,6 +227,11 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
     public CommandSyncService getCommandExecutor() {
         return commandExecutor;
     }
+    
+    @Override
+    public CommandAutoBatcher getAutoBatcher() {
+        return autoBatcher;
+    }
 
     public IdleConnectionWatcher getConnectionWatcher() {
         return connectionWatcher;
@@ -280,9 +296,7 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
                 entry = createMasterSlaveEntry(config, slots);
             }
             
-            for (int slot = singleSlotRange.getStartSlot(); slot < singleSlotRange.getEndSlot() + 1; slot++) {
-                addEntry(slot, entry);
-            }
+            addEntry(Collections.singleton(singleSlotRange), entry);
             
             if (config.getDnsMonitoringInterval() != -1) {
                 dnsMonitor = new DNSMonitor(this, Collections.singleton(config.getMasterAddress()), 
@@ -330,6 +344,7 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         c.setSubscriptionsPerConnection(cfg.getSubscriptionsPerConnection());
         c.setConnectTimeout(cfg.getConnectTimeout());
         c.setIdleConnectionTimeout(cfg.getIdleConnectionTimeout());
+        c.setPipelineMaxInFlight(cfg.getPipelineMaxInFlight());
 
         c.setFailedAttempts(cfg.getFailedAttempts());
         c.setReconnectionTimeout(cfg.getReconnectionTimeout());
@@ -382,7 +397,8 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
               .setKeepPubSubOrder(cfg.isKeepPubSubOrder())
               .setPingConnection(config.isPingConnection())
               .setKeepAlive(config.isKeepAlive())
-              .setTcpNoDelay(config.isTcpNoDelay());
+              .setTcpNoDelay(config.isTcpNoDelay())
+              .setPipelineMaxInFlight(config.getPipelineMaxInFlight());
         
         if (type != NodeType.SENTINEL) {
             redisConfig.setDatabase(config.getDatabase());
@@ -682,7 +698,12 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
 
     @Override
     public MasterSlaveEntry getEntry(int slot) {
-        return slot2entry.get(slot);
+        return slot2entry[slot];
+    }
+
+    @Override
+    public RoutingStatistics getRoutingStatistics() {
+        return routingStatistics;
     }
     
     protected final void changeMaster(int slot, URI address) {
@@ -692,19 +713,61 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         addr2entry.put(entry.getClient().getAddr(), entry);
     }
 
-    protected final void addEntry(Integer slot, MasterSlaveEntry entry) {
-        slot2entry.put(slot, entry);
-        entry.addSlotRange(slot);
-        addr2entry.put(entry.getClient().getAddr(), entry);
-    }
-
-    protected MasterSlaveEntry removeMaster(Integer slot) {
-        MasterSlaveEntry entry = slot2entry.remove(slot);
-        entry.removeSlotRange(slot);
-        if (entry.getSlotRanges().isEmpty()) {
-            addr2entry.remove(entry.getClient().getAddr());
+    /**
+     * Assigns slots of all <code>ranges</code> to <code>entry</code>
+     * and publishes them with a single slot table update.
+     * 
+     * @param ranges - slot ranges
+     * @param entry - master/slave entry
+     */
+    protected final void addEntry(Collection<ClusterSlotRange> ranges, MasterSlaveEntry entry) {
+        long startTime = System.nanoTime();
+        synchronized (slotsLock) {
+            MasterSlaveEntry[] table = slot2entry.clone();
+            for (ClusterSlotRange range : ranges) {
+                for (int slot = range.getStartSlot(); slot < range.getEndSlot() + 1; slot++) {
+                    table[slot] = entry;
+                    entry.addSlotRange(slot);
+                }
+            }
+            addr2entry.put(entry.getClient().getAddr(), entry);
+            slot2entry = table;
+        }
+        routingStatistics.slotTableUpdated(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Unassigns slots of all <code>ranges</code>
+     * and publishes them with a single slot table update.
+     * 
+     * @param ranges - slot ranges
+     * @return entries which have lost slots
+     */
+    protected final Set<MasterSlaveEntry> removeSlots(Collection<ClusterSlotRange> ranges) {
+        long startTime = System.nanoTime();
+        Set<MasterSlaveEntry> entries = new HashSet<MasterSlaveEntry>();
+        synchronized (slotsLock) {
+            MasterSlaveEntry[] table = slot2entry.clone();
+            for (ClusterSlotRange range : ranges) {
+                for (int slot = range.getStartSlot(); slot < range.getEndSlot() + 1; slot++) {
+                    MasterSlaveEntry entry = table[slot];
+                    if (entry == null) {
+                        continue;
+                    }
+                    table[slot] = null;
+                    entry.removeSlotRange(slot);
+                    entries.add(entry);
+                }
+            }
+            for (MasterSlaveEntry entry : entries) {
+                if (entry.getSlotRanges().isEmpty()) {
+                    addr2entry.remove(entry.getClient().getAddr());
+                }
+            }
+            slot2entry = table;
         }
-        return entry;
+        routingStatistics.slotTableUpdated(System.nanoTime() - startTime);
+        return entries;
     }
 
     @Override
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.connection;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import redis.clients.redisson.api.RoutingMetrics;
+
+/**
+ * Collects routing statistics.
+ * Only one of {@link #SAMPLE_RATE} lookups is timed
+ * so the slot table lookup itself stays a plain array read.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class RoutingStatistics implements RoutingMetrics {
+
+    public static final int SAMPLE_RATE = 64;
+
+    private final LongAdder sampledAmount = new LongAdder();
+    private final LongAdder sampledTime = new LongAdder();
+    private final AtomicLong maxTime = new AtomicLong();
+
+    private final AtomicLong updatesAmount = new AtomicLong();
+    private volatile long lastUpdateTime;
+
+    public boolean shouldSample() {
+        return ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0;
+    }
+
+    public void routed(long time) {
+        sampledAmount.increment();
+        sampledTime.add(time);
+        long max = maxTime.get();
+        while (time > max && !maxTime.compareAndSet(max, time)) {
+            max = maxTime.get();
+        }
+    }
+
+    public void slotTableUpdated(long time) {
+        updatesAmount.incrementAndGet();
+        lastUpdateTime = time;
+    }
+
+    @Override
+    public double getAverageRoutingTime() {
+        long amount = sampledAmount.sum();
+        if (amount == 0) {
+            return 0;
+        }
+        return (double) sampledTime.sum() / amount;
+    }
+
+    @Override
+    public long getMaxRoutingTime() {
+        return maxTime.get();
+    }
+
+    @Override
+    public long getSlotTableUpdatesAmount() {
+        return updatesAmount.get();
+    }
+
+    @Override
+    public long getLastSlotTableUpdateTime() {
+        return lastUpdateTime;
+    }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.connection.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import redis.clients.redisson.connection.ClientConnectionsEntry;
+
+/**
+ * Balancer choosing the faster of two randomly picked nodes.
+ * Node speed is estimated by moving average of its response time 
+ * multiplied by amount of commands in flight, 
+ * see {@link ResponseTimeTracker}.
+ * <p>
+ * Two random choices keep load spread over all nodes 
+ * while a slow or overloaded node gets only a small share of commands.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class ResponseTimeLoadBalancer implements LoadBalancer {
+
+    private final long decayTime;
+
+    public ResponseTimeLoadBalancer() {
+        this(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates response time balancer.
+     * 
+     * @param decayTime - time after which the weight of an observed response time 
+     *                    drops to about one third
+     * @param unit - time unit
+     */
+    public ResponseTimeLoadBalancer(long decayTime, TimeUnit unit) {
+        if (decayTime <= 0) {
+            throw new IllegalArgumentException("Decay time can't be less than or equal zero");
+        }
+        this.decayTime = unit.toNanos(decayTime);
+    }
+
+    public ResponseTimeTracker createTracker() {
+        return new ResponseTimeTracker(decayTime);
+    }
+
+    @Override
+    public ClientConnectionsEntry getEntry(List<ClientConnectionsEntry> clientsCopy) {
+        int size = clientsCopy.size();
+        if (size == 1) {
+            return clientsCopy.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        ClientConnectionsEntry firstEntry = clientsCopy.get(first);
+        ClientConnectionsEntry secondEntry = clientsCopy.get(second);
+        if (firstEntry.isFreezed()) {
+            return secondEntry;
+        }
+        if (secondEntry.isFreezed()) {
+            return firstEntry;
+        }
+        if (cost(firstEntry) <= cost(secondEntry)) {
+            return firstEntry;
+        }
+        return secondEntry;
+    }
+
+    private double cost(ClientConnectionsEntry entry) {
+        ResponseTimeTracker tracker = entry.getResponseTimeTracker();
+        if (tracker == null) {
+            return 0;
+        }
+        return tracker.getCost();
+    }
+
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.connection.balancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import redis.clients.redisson.client.ResponseTimeListener;
+
+/**
+ * Tracks commands in flight and exponentially weighted moving average
+ * of response time for a single Redis node.
+ * <p>
+ * Average jumps to a response time greater than itself at once 
+ * and decays with time otherwise, so slow node is avoided right away 
+ * and tried again after some time.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public class ResponseTimeTracker implements ResponseTimeListener {
+
+    // cost of node without responses but with commands in flight
+    private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+    private final double decayTime;
+    private final AtomicInteger commandsInFlight = new AtomicInteger();
+    private volatile double responseTime;
+    private volatile long timestamp = System.nanoTime();
+
+    /**
+     * @param decayTime - decay time in nanoseconds
+     */
+    public ResponseTimeTracker(long decayTime) {
+        this.decayTime = decayTime;
+    }
+
+    @Override
+    public void onSend() {
+        commandsInFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onResponse(long time) {
+        commandsInFlight.decrementAndGet();
+
+        // concurrent responses may overwrite each other which only loses a sample
+        long now = System.nanoTime();
+        double current = responseTime;
+        if (time > current) {
+            responseTime = time;
+        } else {
+            double weight = weight(now);
+            responseTime = current * weight + time * (1 - weight);
+        }
+        timestamp = now;
+    }
+
+    private double weight(long now) {
+        return Math.exp(-Math.max(now - timestamp, 0) / decayTime);
+    }
+
+    public int getCommandsInFlight() {
+        return commandsInFlight.get();
+    }
+
+    /**
+     * Returns decayed average response time
+     * 
+     * @return time in nanoseconds
+     */
+    public double getResponseTime() {
+        return responseTime * weight(System.nanoTime());
+    }
+
+    /**
+     * Returns expected time to serve a new command
+     * taking commands in flight into account
+     * 
+     * @return cost
+     */
+    public double getCost() {
+        int inFlight = getCommandsInFlight();
+        double time = getResponseTime();
+        if (time == 0 && inFlight != 0) {
+            return PENALTY + inFlight;
+        }
+        return time * (inFlight + 1);
+    }
+
+}
@@ -15,60 +15,224 @@
  */
 package redis.clients.redisson.eviction;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+import redis.clients.redisson.api.EvictionMetrics;
+import redis.clients.redisson.api.RFuture;
 import redis.clients.redisson.command.CommandAsyncExecutor;
+import redis.clients.redisson.command.CommandBatchService;
+import redis.clients.redisson.connection.ConnectionManager;
 
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 import io.netty.util.internal.PlatformDependent;
 
 /**
  * Eviction scheduler.
- * Deletes expired entries in time interval between 5 seconds to 2 hours.
+ * Deletes expired entries in time interval between 5 seconds to 30 minutes.
  * It analyzes deleted amount of expired keys
  * and 'tune' next execution delay depending on it.
+ * <p>
+ * Object names are sharded across bounded amount of workers.
+ * Each worker keeps its tasks in a timing wheel with one second tick,
+ * so there is only one timer per worker regardless of objects amount.
+ * Tasks due in the same tick are sent as command batches,
+ * which groups them per node and sends them through one connection with one flush.
  *
  * @author Nikita Koksharov
  *
  */
-public class EvictionScheduler {
+public class EvictionScheduler implements EvictionMetrics {
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int BATCH_SIZE = 100;
+
+    class Worker implements Runnable {
+
+        final Queue<EvictionTask> incoming = new ConcurrentLinkedQueue<EvictionTask>();
+        final AtomicBoolean started = new AtomicBoolean();
+        final ArrayDeque<EvictionTask>[] wheel;
+        long tick;
+        volatile long lag;
+
+        @SuppressWarnings("unchecked")
+        Worker() {
+            wheel = new ArrayDeque[WHEEL_SIZE];
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = new ArrayDeque<EvictionTask>();
+            }
+        }
+
+        void add(EvictionTask task) {
+            task.deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(task.delay);
+            incoming.add(task);
+            if (started.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+
+        void schedule() {
+            if (connectionManager.isShuttingDown()) {
+                return;
+            }
+            connectionManager.getGroup().schedule(this, 1, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void run() {
+            try {
+                tick();
+            } finally {
+                schedule();
+            }
+        }
+
+        private void tick() {
+            EvictionTask task;
+            while ((task = incoming.poll()) != null) {
+                int ticks = Math.max(1, task.delay);
+                task.rounds = (ticks - 1) / WHEEL_SIZE;
+                wheel[(int) ((tick + ticks) % WHEEL_SIZE)].add(task);
+            }
+
+            tick++;
+            long now = System.currentTimeMillis();
+            long maxLag = 0;
+            List<EvictionTask> dueTasks = new ArrayList<EvictionTask>();
+            for (Iterator<EvictionTask> iterator = wheel[(int) (tick % WHEEL_SIZE)].iterator(); iterator.hasNext();) {
+                EvictionTask t = iterator.next();
+                if (t.rounds > 0) {
+                    t.rounds--;
+                    continue;
+                }
+                iterator.remove();
+                maxLag = Math.max(maxLag, now - t.deadline);
+                dueTasks.add(t);
+            }
+            lag = maxLag;
+            updateRate(now);
+
+            for (int i = 0; i < dueTasks.size(); i += BATCH_SIZE) {
+                execute(dueTasks.subList(i, Math.min(dueTasks.size(), i + BATCH_SIZE)));
+            }
+        }
+
+        private void execute(List<EvictionTask> dueTasks) {
+            final List<EvictionTask> batchTasks = new ArrayList<EvictionTask>(dueTasks);
+            final List<RFuture<Integer>> futures = new ArrayList<RFuture<Integer>>(batchTasks.size());
+            CommandBatchService batch = new CommandBatchService(connectionManager);
+            for (EvictionTask task : batchTasks) {
+                futures.add(task.execute(batch));
+            }
+
+            batch.executeAsync().addListener(new FutureListener<List<?>>() {
+                @Override
+                public void operationComplete(Future<List<?>> future) throws Exception {
+                    for (int i = 0; i < batchTasks.size(); i++) {
+                        EvictionTask task = batchTasks.get(i);
+                        RFuture<Integer> taskFuture = futures.get(i);
+                        if (future.isSuccess() && taskFuture.isSuccess()) {
+                            int size = taskFuture.getNow();
+                            evictedAmount.addAndGet(size);
+                            windowEvictedAmount.addAndGet(size);
+                            task.onResult(size);
+                        }
+                        add(task);
+                    }
+                }
+            });
+        }
+
+    }
 
     private final ConcurrentMap<String, EvictionTask> tasks = PlatformDependent.newConcurrentHashMap();
-    private final CommandAsyncExecutor executor;
+    private final ConnectionManager connectionManager;
+    private final Worker[] workers;
+
+    private final AtomicLong evictedAmount = new AtomicLong();
+    private final AtomicLong windowEvictedAmount = new AtomicLong();
+    private long windowStart = System.currentTimeMillis();
+    private volatile double evictedPerSecond;
 
     public EvictionScheduler(CommandAsyncExecutor executor) {
-        this.executor = executor;
+        this(executor, Math.min(4, Runtime.getRuntime().availableProcessors()));
     }
 
-    public void scheduleCleanMultimap(String name, String timeoutSetName) {
-        EvictionTask task = new MultimapEvictionTask(name, timeoutSetName, executor);
-        EvictionTask prevTask = tasks.putIfAbsent(name, task);
-        if (prevTask == null) {
-            task.schedule();
+    public EvictionScheduler(CommandAsyncExecutor executor, int workersAmount) {
+        this.connectionManager = executor.getConnectionManager();
+        this.workers = new Worker[Math.max(1, workersAmount)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker();
         }
     }
+
+    public void scheduleCleanMultimap(String name, String timeoutSetName) {
+        EvictionTask task = new MultimapEvictionTask(name, timeoutSetName);
+        addTask(task);
+    }
     
     public void scheduleJCache(String name, String timeoutSetName, String expiredChannelName) {
-        EvictionTask task = new JCacheEvictionTask(name, timeoutSetName, expiredChannelName, executor);
-        EvictionTask prevTask = tasks.putIfAbsent(name, task);
-        if (prevTask == null) {
-            task.schedule();
-        }
+        EvictionTask task = new JCacheEvictionTask(name, timeoutSetName, expiredChannelName);
+        addTask(task);
     }
     
     public void schedule(String name, long shiftInMilliseconds) {
-        EvictionTask task = new ScoredSetEvictionTask(name, executor, shiftInMilliseconds);
-        EvictionTask prevTask = tasks.putIfAbsent(name, task);
-        if (prevTask == null) {
-            task.schedule();
-        }
+        EvictionTask task = new ScoredSetEvictionTask(name, shiftInMilliseconds);
+        addTask(task);
     }
 
     public void schedule(String name, String timeoutSetName, String maxIdleSetName, String expiredChannelName, String lastAccessTimeSetName) {
-        EvictionTask task = new MapCacheEvictionTask(name, timeoutSetName, maxIdleSetName, expiredChannelName, lastAccessTimeSetName, executor);
-        EvictionTask prevTask = tasks.putIfAbsent(name, task);
+        EvictionTask task = new MapCacheEvictionTask(name, timeoutSetName, maxIdleSetName, expiredChannelName, lastAccessTimeSetName);
+        addTask(task);
+    }
+
+    private void addTask(EvictionTask task) {
+        EvictionTask prevTask = tasks.putIfAbsent(task.getName(), task);
         if (prevTask == null) {
-            task.schedule();
+            workers[(task.getName().hashCode() & Integer.MAX_VALUE) % workers.length].add(task);
+        }
+    }
+
+    private synchronized void updateRate(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < 1000) {
+            return;
+        }
+        evictedPerSecond = windowEvictedAmount.getAndSet(0) * 1000.0 / elapsed;
+        windowStart = now;
+    }
+
+    @Override
+    public int getObjectsAmount() {
+        return tasks.size();
+    }
+
+    @Override
+    public long getEvictedEntriesAmount() {
+        return evictedAmount.get();
+    }
+
+    @Override
+    public double getEvictedEntriesPerSecond() {
+        return evictedPerSecond;
+    }
+
+    @Override
+    public long getLag() {
+        long result = 0;
+        for (Worker worker : workers) {
+            result = Math.max(result, worker.lag);
         }
+        return result;
     }
 
 }
@@ -17,20 +17,16 @@ package redis.clients.redisson.eviction;
 
 import java.util.Deque;
 import java.util.LinkedList;
-import java.util.concurrent.TimeUnit;
 
 import redis.clients.redisson.api.RFuture;
 import redis.clients.redisson.command.CommandAsyncExecutor;
 
-import io.netty.util.concurrent.Future;
-import io.netty.util.concurrent.FutureListener;
-
 /**
  * 
  * @author Nikita Koksharov
  *
  */
-abstract class EvictionTask implements Runnable {
+abstract class EvictionTask {
 
     final Deque<Integer> sizeHistory = new LinkedList<Integer>();
     final int minDelay = 5;
@@ -39,60 +35,40 @@ abstract class EvictionTask implements Runnable {
     
     int delay = 5;
 
-    final CommandAsyncExecutor executor;
-    
-    EvictionTask(CommandAsyncExecutor executor) {
-        super();
-        this.executor = executor;
-    }
+    // wheel position, accessed only by owning worker
+    int rounds;
+    long deadline;
 
-    public void schedule() {
-        executor.getConnectionManager().getGroup().schedule(this, delay, TimeUnit.SECONDS);
-    }
+    abstract String getName();
 
-    abstract RFuture<Integer> execute();
+    abstract RFuture<Integer> execute(CommandAsyncExecutor executor);
     
-    @Override
-    public void run() {
-        RFuture<Integer> future = execute();
-        future.addListener(new FutureListener<Integer>() {
-            @Override
-            public void operationComplete(Future<Integer> future) throws Exception {
-                if (!future.isSuccess()) {
-                    schedule();
-                    return;
-                }
-
-                Integer size = future.getNow();
-
-                if (sizeHistory.size() == 2) {
-                    if (sizeHistory.peekFirst() > sizeHistory.peekLast()
-                            && sizeHistory.peekLast() > size) {
-                        delay = Math.min(maxDelay, (int)(delay*1.5));
-                    }
-
-//                    if (sizeHistory.peekFirst() < sizeHistory.peekLast()
-//                            && sizeHistory.peekLast() < size) {
-//                        prevDelay = Math.max(minDelay, prevDelay/2);
-//                    }
+    void onResult(int size) {
+        if (sizeHistory.size() == 2) {
+            if (sizeHistory.peekFirst() > sizeHistory.peekLast()
+                    && sizeHistory.peekLast() > size) {
+                delay = Math.min(maxDelay, (int)(delay*1.5));
+            }
 
-                    if (sizeHistory.peekFirst().intValue() == sizeHistory.peekLast()
-                            && sizeHistory.peekLast().intValue() == size) {
-                        if (size == keysLimit) {
-                            delay = Math.max(minDelay, delay/4);
-                        }
-                        if (size == 0) {
-                            delay = Math.min(maxDelay, (int)(delay*1.5));
-                        }
-                    }
+//            if (sizeHistory.peekFirst() < sizeHistory.peekLast()
+//                    && sizeHistory.peekLast() < size) {
+//                prevDelay = Math.max(minDelay, prevDelay/2);
+//            }
 
-                    sizeHistory.pollFirst();
+            if (sizeHistory.peekFirst().intValue() == sizeHistory.peekLast()
+                    && sizeHistory.peekLast().intValue() == size) {
+                if (size == keysLimit) {
+                    delay = Math.max(minDelay, delay/4);
+                }
+                if (size == 0) {
+                    delay = Math.min(maxDelay, (int)(delay*1.5));
                 }
-
-                sizeHistory.add(size);
-                schedule();
             }
-        });
+
+            sizeHistory.pollFirst();
+        }
+
+        sizeHistory.add(size);
     }
 
 }
@@ -33,15 +33,19 @@ public class JCacheEvictionTask extends EvictionTask {
     private final String timeoutSetName;
     private final String expiredChannelName;
     
-    public JCacheEvictionTask(String name, String timeoutSetName, String expiredChannelName, CommandAsyncExecutor executor) {
-        super(executor);
+    public JCacheEvictionTask(String name, String timeoutSetName, String expiredChannelName) {
         this.name = name;
         this.timeoutSetName = timeoutSetName;
         this.expiredChannelName = expiredChannelName;
     }
 
     @Override
-    RFuture<Integer> execute() {
+    String getName() {
+        return name;
+    }
+
+    @Override
+    RFuture<Integer> execute(CommandAsyncExecutor executor) {
         return executor.evalWriteAsync(name, LongCodec.INSTANCE, RedisCommands.EVAL_INTEGER,
                 "local expiredKeys = redis.call('zrangebyscore', KEYS[2], 0, ARGV[1], 'limit', 0, ARGV[2]); "
               + "for i, k in ipairs(expiredKeys) do "
@@ -37,8 +37,7 @@ public class MapCacheEvictionTask extends EvictionTask {
     private final String executeTaskOnceLatchName;
     
     public MapCacheEvictionTask(String name, String timeoutSetName, String maxIdleSetName, 
-            String expiredChannelName, String lastAccessTimeSetName, CommandAsyncExecutor executor) {
-        super(executor);
+            String expiredChannelName, String lastAccessTimeSetName) {
         this.name = name;
         this.timeoutSetName = timeoutSetName;
         this.maxIdleSetName = maxIdleSetName;
@@ -55,7 +54,12 @@ public class MapCacheEvictionTask extends EvictionTask {
     }
     
     @Override
-    RFuture<Integer> execute() {
+    String getName() {
+        return name;
+    }
+
+    @Override
+    RFuture<Integer> execute(CommandAsyncExecutor executor) {
         return executor.evalWriteAsync(name, LongCodec.INSTANCE, RedisCommands.EVAL_INTEGER,
                 "if redis.call('setnx', KEYS[6], ARGV[4]) == 0 then "
                  + "return 0;"
@@ -32,13 +32,18 @@ public class MultimapEvictionTask extends EvictionTask {
     private final String name;
     private final String timeoutSetName;
     
-    public MultimapEvictionTask(String name, String timeoutSetName, CommandAsyncExecutor executor) {
-        super(executor);
+    public MultimapEvictionTask(String name, String timeoutSetName) {
         this.name = name;
         this.timeoutSetName = timeoutSetName;
     }
 
-    RFuture<Integer> execute() {
+    @Override
+    String getName() {
+        return name;
+    }
+
+    @Override
+    RFuture<Integer> execute(CommandAsyncExecutor executor) {
         return executor.evalWriteAsync(name, LongCodec.INSTANCE, RedisCommands.EVAL_INTEGER,
                 "local expiredKeys = redis.call('zrangebyscore', KEYS[2], 0, ARGV[1], 'limit', 0, ARGV[2]); "
               + "if #expiredKeys > 0 then "
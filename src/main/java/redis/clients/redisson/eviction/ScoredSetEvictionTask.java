@@ -30,14 +30,18 @@ public class ScoredSetEvictionTask extends EvictionTask {
     private final String name;
     private final long shiftInMilliseconds;
     
-    public ScoredSetEvictionTask(String name, CommandAsyncExecutor executor, long shiftInMilliseconds) {
-        super(executor);
+    public ScoredSetEvictionTask(String name, long shiftInMilliseconds) {
         this.name = name;
         this.shiftInMilliseconds = shiftInMilliseconds;
     }
 
     @Override
-    RFuture<Integer> execute() {
+    String getName() {
+        return name;
+    }
+
+    @Override
+    RFuture<Integer> execute(CommandAsyncExecutor executor) {
         return executor.writeAsync(name, LongCodec.INSTANCE, RedisCommands.ZREMRANGEBYSCORE, name, 0, System.currentTimeMillis() - shiftInMilliseconds);
     }
     
@@ -16,6 +16,7 @@
 package redis.clients.redisson.liveobject;
 
 import redis.clients.redisson.api.RMap;
+import redis.clients.redisson.liveobject.core.LiveObjectSnapshot;
 
 /**
  *
@@ -25,5 +26,6 @@ public class LiveObjectTemplate {
 
     private Object liveObjectId;
     private RMap liveObjectLiveMap;
+    private LiveObjectSnapshot liveObjectSnapshot;
 
 }
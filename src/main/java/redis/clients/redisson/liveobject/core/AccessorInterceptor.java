@@ -19,6 +19,7 @@ import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
 
 import redis.clients.redisson.RedissonReference;
 import redis.clients.redisson.api.RLiveObject;
@@ -35,6 +36,7 @@ import redis.clients.redisson.liveobject.misc.Introspectior;
 import redis.clients.redisson.liveobject.resolver.NamingScheme;
 import redis.clients.redisson.misc.RedissonObjectFactory;
 
+import io.netty.util.internal.PlatformDependent;
 import net.bytebuddy.implementation.bind.annotation.AllArguments;
 import net.bytebuddy.implementation.bind.annotation.FieldValue;
 import net.bytebuddy.implementation.bind.annotation.Origin;
@@ -51,37 +53,70 @@ import net.bytebuddy.implementation.bind.annotation.This;
  */
 public class AccessorInterceptor {
 
+    private enum AccessorType {ID_GETTER, ID_SETTER, GETTER, SETTER, OTHER}
+
+    /**
+     * Method metadata resolved once per method.
+     */
+    private static class Accessor {
+
+        final AccessorType type;
+        final String fieldName;
+        final Class<?> fieldType;
+
+        Accessor(AccessorType type, String fieldName, Class<?> fieldType) {
+            this.type = type;
+            this.fieldName = fieldName;
+            this.fieldType = fieldType;
+        }
+
+    }
+
     private final RedissonClient redisson;
     private final CodecProvider codecProvider;
     private final RedissonObjectBuilder objectBuilder;
+    private final Class<?> entityClass;
+    private final String idFieldName;
+    private final TransformationMode fieldTransformation;
+    private final ConcurrentMap<Method, Accessor> accessors = PlatformDependent.newConcurrentHashMap();
 
-    public AccessorInterceptor(RedissonClient redisson, RedissonObjectBuilder objectBuilder) {
+    public AccessorInterceptor(RedissonClient redisson, RedissonObjectBuilder objectBuilder, Class<?> entityClass) {
         this.redisson = redisson;
         this.codecProvider = redisson.getCodecProvider();
         this.objectBuilder = objectBuilder;
+        this.entityClass = entityClass;
+        this.idFieldName = getREntityIdFieldName(entityClass);
+        this.fieldTransformation = ClassUtils.getAnnotation(entityClass, REntity.class).fieldTransformation();
     }
 
     @RuntimeType
     public Object intercept(@Origin Method method, @SuperCall Callable<?> superMethod,
             @AllArguments Object[] args, @This Object me,
-            @FieldValue("liveObjectLiveMap") RMap<String, Object> liveMap) throws Exception {
-        if (isGetter(method, getREntityIdFieldName(me))) {
+            @FieldValue("liveObjectLiveMap") RMap<String, Object> liveMap,
+            @FieldValue("liveObjectSnapshot") LiveObjectSnapshot snapshot) throws Exception {
+        Accessor accessor = getAccessor(method);
+        if (accessor.type == AccessorType.ID_GETTER) {
             return ((RLiveObject) me).getLiveObjectId();
         }
-        if (isSetter(method, getREntityIdFieldName(me))) {
+        if (accessor.type == AccessorType.ID_SETTER) {
             ((RLiveObject) me).setLiveObjectId(args[0]);
             return null;
         }
 
-        String fieldName = getFieldName(method);
-        Class<?> fieldType = ClassUtils.getDeclaredField(me.getClass().getSuperclass(), fieldName).getType();
+        String fieldName = accessor.fieldName;
+        Class<?> fieldType = accessor.fieldType;
         
-        if (isGetter(method, fieldName)) {
-            Object result = liveMap.get(fieldName);
+        if (accessor.type == AccessorType.GETTER) {
+            Object result;
+            if (snapshot != null) {
+                result = snapshot.get(fieldName, liveMap);
+            } else {
+                result = liveMap.get(fieldName);
+            }
             if (result == null) {
-                RObject ar = objectBuilder.createObject(((RLiveObject) me).getLiveObjectId(), me.getClass().getSuperclass(), fieldType, fieldName);
+                RObject ar = objectBuilder.createObject(((RLiveObject) me).getLiveObjectId(), entityClass, fieldType, fieldName);
                 if (ar != null) {
-                    objectBuilder.store(ar, fieldName, liveMap);
+                    put(liveMap, snapshot, fieldName, objectBuilder.createReference(ar));
                     return ar;
                 }
             }
@@ -91,7 +126,7 @@ public class AccessorInterceptor {
             }
             return result;
         }
-        if (isSetter(method, fieldName)) {
+        if (accessor.type == AccessorType.SETTER) {
             Object arg = args[0];
             if (arg != null && ClassUtils.isAnnotationPresent(arg.getClass(), REntity.class)) {
                 throw new IllegalStateException("REntity object should be attached to Redisson first");
@@ -105,18 +140,16 @@ public class AccessorInterceptor {
                 NamingScheme ns = anno.namingScheme()
                         .getDeclaredConstructor(Codec.class)
                         .newInstance(codecProvider.getCodec(anno, (Class) rEntity));
-                liveMap.fastPut(fieldName, new RedissonReference(rEntity,
-                        ns.getName(rEntity, fieldType, getREntityIdFieldName(liveObject),
+                put(liveMap, snapshot, fieldName, new RedissonReference(rEntity,
+                        ns.getName(rEntity, fieldType, getREntityIdFieldName(rEntity),
                                 liveObject.getLiveObjectId())));
                 return me;
             }
             
             if (!(arg instanceof RObject)
                     && (arg instanceof Collection || arg instanceof Map)
-                    && TransformationMode.ANNOTATION_BASED
-                            .equals(ClassUtils.getAnnotation(me.getClass().getSuperclass(),
-                            REntity.class).fieldTransformation())) {
-                RObject rObject = objectBuilder.createObject(((RLiveObject) me).getLiveObjectId(), me.getClass().getSuperclass(), arg.getClass(), fieldName);
+                    && TransformationMode.ANNOTATION_BASED.equals(fieldTransformation)) {
+                RObject rObject = objectBuilder.createObject(((RLiveObject) me).getLiveObjectId(), entityClass, arg.getClass(), fieldName);
                 if (arg != null) {
                     if (rObject instanceof Collection) {
                         Collection<?> c = (Collection<?>) rObject;
@@ -134,19 +167,55 @@ public class AccessorInterceptor {
             }
             
             if (arg instanceof RObject) {
-                objectBuilder.store((RObject)arg, fieldName, liveMap);
+                put(liveMap, snapshot, fieldName, objectBuilder.createReference((RObject) arg));
                 return me;
             }
-            if (arg == null) {
-                liveMap.remove(fieldName);
-            } else {
-                liveMap.fastPut(fieldName, arg);
-            }
+            put(liveMap, snapshot, fieldName, arg);
             return me;
         }
         return superMethod.call();
     }
 
+    /**
+     * Buffers the value if object has a snapshot, stores it otherwise.
+     */
+    private void put(RMap<String, Object> liveMap, LiveObjectSnapshot snapshot, String fieldName, Object value) {
+        if (snapshot != null) {
+            snapshot.put(fieldName, value);
+            return;
+        }
+        if (value == null) {
+            liveMap.remove(fieldName);
+        } else {
+            liveMap.fastPut(fieldName, value);
+        }
+    }
+
+    private Accessor getAccessor(Method method) throws NoSuchFieldException {
+        Accessor accessor = accessors.get(method);
+        if (accessor != null) {
+            return accessor;
+        }
+
+        if (isGetter(method, idFieldName)) {
+            accessor = new Accessor(AccessorType.ID_GETTER, null, null);
+        } else if (isSetter(method, idFieldName)) {
+            accessor = new Accessor(AccessorType.ID_SETTER, null, null);
+        } else {
+            String fieldName = getFieldName(method);
+            Class<?> fieldType = ClassUtils.getDeclaredField(entityClass, fieldName).getType();
+            if (isGetter(method, fieldName)) {
+                accessor = new Accessor(AccessorType.GETTER, fieldName, fieldType);
+            } else if (isSetter(method, fieldName)) {
+                accessor = new Accessor(AccessorType.SETTER, fieldName, fieldType);
+            } else {
+                accessor = new Accessor(AccessorType.OTHER, fieldName, fieldType);
+            }
+        }
+        accessors.putIfAbsent(method, accessor);
+        return accessor;
+    }
+
     private String getFieldName(Method method) {
         String name = method.getName();
         int i = name.startsWith("is") ? 3 : 4;
@@ -166,9 +235,9 @@ public class AccessorInterceptor {
         return fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
     }
 
-    private static String getREntityIdFieldName(Object o) throws Exception {
+    private static String getREntityIdFieldName(Class<?> cls) {
         return Introspectior
-                .getFieldsWithAnnotation(o.getClass().getSuperclass(), RId.class)
+                .getFieldsWithAnnotation(cls, RId.class)
                 .getOnly()
                 .getName();
     }
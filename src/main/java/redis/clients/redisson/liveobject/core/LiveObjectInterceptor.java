@@ -82,7 +82,8 @@ public class LiveObjectInterceptor {
             @FieldProxy("liveObjectId") Getter idGetter,
             @FieldValue("liveObjectLiveMap") RMap<?, ?> map,
             @FieldProxy("liveObjectLiveMap") Setter mapSetter,
-            @FieldProxy("liveObjectLiveMap") Getter mapGetter
+            @FieldProxy("liveObjectLiveMap") Getter mapGetter,
+            @FieldValue("liveObjectSnapshot") LiveObjectSnapshot snapshot
     ) throws Exception {
         if ("setLiveObjectId".equals(method.getName())) {
             if (args[0].getClass().isArray()) {
@@ -126,9 +127,19 @@ public class LiveObjectInterceptor {
         }
         
         if ("delete".equals(method.getName())) {
+            if (snapshot != null) {
+                snapshot.clear();
+            }
             return map.delete();
         }
 
+        if ("flush".equals(method.getName())) {
+            if (snapshot != null) {
+                snapshot.flush((RMap<String, Object>) map);
+            }
+            return null;
+        }
+
         throw new NoSuchMethodException();
     }
 
@@ -0,0 +1,137 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package redis.clients.redisson.liveobject.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import redis.clients.redisson.api.RMap;
+
+/**
+ * Local copy of live object fields. All fields are loaded with a single
+ * HGETALL and served locally until <code>timeToLive</code> expires.
+ * Field updates are buffered until {@link #flush(RMap)}, which stores
+ * them with a single HMSET.
+ *
+ * @author Nikita Koksharov
+ */
+public class LiveObjectSnapshot {
+
+    // marks buffered removal of field
+    private static final Object REMOVED = new Object();
+
+    private final long timeToLive;
+    private Map<String, Object> values;
+    private long loadTime;
+    private final Map<String, Object> pending = new HashMap<String, Object>();
+
+    /**
+     * @param timeToLive - time in nanoseconds the loaded fields are served locally
+     */
+    public LiveObjectSnapshot(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Loads all fields of <code>liveMap</code>
+     *
+     * @param liveMap - map of live object
+     * @return <code>true</code> if live object exists
+     */
+    public synchronized boolean load(RMap<String, Object> liveMap) {
+        values = liveMap.readAllMap();
+        loadTime = System.nanoTime();
+        return !values.isEmpty();
+    }
+
+    public synchronized Object get(String fieldName, RMap<String, Object> liveMap) {
+        Object value = pending.get(fieldName);
+        if (value != null) {
+            return value == REMOVED ? null : value;
+        }
+        if (values == null || System.nanoTime() - loadTime > timeToLive) {
+            load(liveMap);
+        }
+        return values.get(fieldName);
+    }
+
+    /**
+     * Buffers new field value
+     *
+     * @param fieldName - name of field
+     * @param value - field value, <code>null</code> removes field
+     */
+    public synchronized void put(String fieldName, Object value) {
+        if (value == null) {
+            pending.put(fieldName, REMOVED);
+        } else {
+            pending.put(fieldName, value);
+        }
+    }
+
+    /**
+     * Drops loaded fields, buffered updates are kept
+     */
+    public synchronized void invalidate() {
+        values = null;
+    }
+
+    /**
+     * Drops loaded fields and buffered updates
+     */
+    public synchronized void clear() {
+        values = null;
+        pending.clear();
+    }
+
+    /**
+     * Stores buffered updates to <code>liveMap</code>
+     *
+     * @param liveMap - map of live object
+     */
+    public synchronized void flush(RMap<String, Object> liveMap) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> updated = new HashMap<String, Object>();
+        List<String> removed = new ArrayList<String>();
+        for (Map.Entry<String, Object> entry : pending.entrySet()) {
+            if (entry.getValue() == REMOVED) {
+                removed.add(entry.getKey());
+            } else {
+                updated.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (!updated.isEmpty()) {
+            liveMap.putAll(updated);
+        }
+        if (!removed.isEmpty()) {
+            liveMap.fastRemove(removed.toArray(new String[removed.size()]));
+        }
+
+        if (values != null) {
+            values.putAll(updated);
+            for (String fieldName : removed) {
+                values.remove(fieldName);
+            }
+        }
+        pending.clear();
+    }
+
+}
@@ -83,10 +83,13 @@ public class RedissonObjectBuilder {
     }
 
     public void store(RObject ar, String fieldName, RMap<String, Object> liveMap) {
+        liveMap.fastPut(fieldName, createReference(ar));
+    }
+
+    public RedissonReference createReference(RObject ar) {
         Codec codec = ar.getCodec();
         codecProvider.registerCodec((Class) codec.getClass(), ar, codec);
-        liveMap.fastPut(fieldName,
-                new RedissonReference(ar.getClass(), ar.getName(), codec));
+        return new RedissonReference(ar.getClass(), ar.getName(), codec);
     }
     
     public RObject createObject(Object id, Class<?> clazz, Class<?> fieldType, String fieldName) {
@@ -21,6 +21,7 @@ import java.util.List;
 
 import redis.clients.redisson.api.RedissonClient;
 import redis.clients.redisson.api.annotation.RInject;
+import redis.clients.redisson.api.mapreduce.RCombiner;
 
 /**
  * 
@@ -39,6 +40,7 @@ public abstract class BaseMapperTask<KOut, VOut> implements Runnable, Serializab
     protected Class<?> objectClass;
     protected List<String> objectNames = new ArrayList<String>();
     protected Class<?> objectCodecClass;
+    protected RCombiner<KOut, VOut> combiner;
     
     protected int workersAmount;
     protected String collectorMapName;
@@ -69,6 +71,10 @@ public abstract class BaseMapperTask<KOut, VOut> implements Runnable, Serializab
         this.workersAmount = workersAmount;
     }
 
+    public void setCombiner(RCombiner<KOut, VOut> combiner) {
+        this.combiner = combiner;
+    }
+
     public void setCollectorMapName(String collatorMapName) {
         this.collectorMapName = collatorMapName;
     }
@@ -22,7 +22,6 @@ import redis.clients.redisson.api.RSet;
 import redis.clients.redisson.api.RSetCache;
 import redis.clients.redisson.api.RSortedSet;
 import redis.clients.redisson.api.mapreduce.RCollectionMapper;
-import redis.clients.redisson.api.mapreduce.RCollector;
 import redis.clients.redisson.client.codec.Codec;
 import redis.clients.redisson.misc.Injector;
 
@@ -58,6 +57,9 @@ public class CollectionMapperTask<VIn, KOut, VOut> extends BaseMapperTask<KOut,
         }
         
         Injector.inject(mapper, redisson);
+        if (combiner != null) {
+            Injector.inject(combiner, redisson);
+        }
 
         for (String objectName : objectNames) {
             Iterable<VIn> collection = null;
@@ -77,7 +79,7 @@ public class CollectionMapperTask<VIn, KOut, VOut> extends BaseMapperTask<KOut,
                 throw new IllegalStateException("Unable to work with " + objectClass);
             }
             
-            RCollector<KOut, VOut> collector = new Collector<KOut, VOut>(codec, redisson, collectorMapName, workersAmount, timeout);
+            Collector<KOut, VOut> collector = new Collector<KOut, VOut>(codec, redisson, collectorMapName, workersAmount, timeout, combiner);
             
             for (VIn value : collection) {
                 if (Thread.currentThread().isInterrupted()) {
@@ -86,6 +88,7 @@ public class CollectionMapperTask<VIn, KOut, VOut> extends BaseMapperTask<KOut,
                 
                 mapper.map(value, collector);
             }
+            collector.flush();
         }
     }
 
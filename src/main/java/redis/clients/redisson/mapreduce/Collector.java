@@ -16,18 +16,32 @@
 package redis.clients.redisson.mapreduce;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
-import redis.clients.redisson.api.RListMultimap;
+import redis.clients.redisson.api.RBatch;
+import redis.clients.redisson.api.RMultimapAsync;
 import redis.clients.redisson.api.RedissonClient;
 import redis.clients.redisson.api.mapreduce.RCollector;
+import redis.clients.redisson.api.mapreduce.RCombiner;
 import redis.clients.redisson.client.codec.Codec;
 
 import io.netty.buffer.ByteBuf;
 import net.openhft.hashing.LongHashFunction;
 
 /**
+ * Buffers emitted values per partition and writes them 
+ * to partition multimaps in a single batch once 
+ * {@link #BUFFER_SIZE} values or {@link #BUFFER_BYTES} bytes 
+ * are buffered, and on {@link #flush()}.
+ * Values of the same key are combined before the write 
+ * if a combiner is defined.
  * 
  * @author Nikita Koksharov
  *
@@ -36,41 +50,103 @@ import net.openhft.hashing.LongHashFunction;
  */
 public class Collector<K, V> implements RCollector<K, V> {
 
+    public static final int BUFFER_SIZE = 1000;
+    public static final int BUFFER_BYTES = 1024 * 1024;
+    
     private RedissonClient client;
     private String name;
     private int parts;
     private Codec codec;
     private long timeout;
+    private RCombiner<K, V> combiner;
     private BitSet expirationsBitSet = new BitSet();
+    private final List<Map<K, List<V>>> buffers;
+    private int bufferedValues;
+    private long bufferedBytes;
     
     public Collector(Codec codec, RedissonClient client, String name, int parts, long timeout) {
+        this(codec, client, name, parts, timeout, null);
+    }
+    
+    public Collector(Codec codec, RedissonClient client, String name, int parts, long timeout, RCombiner<K, V> combiner) {
         super();
         this.client = client;
         this.name = name;
         this.parts = parts;
         this.codec = codec;
         this.timeout = timeout;
+        this.combiner = combiner;
         expirationsBitSet = new BitSet(parts);
+        buffers = new ArrayList<Map<K, List<V>>>(parts);
+        for (int i = 0; i < parts; i++) {
+            buffers.add(new HashMap<K, List<V>>());
+        }
     }
 
     @Override
     public void emit(K key, V value) {
+        int part;
         try {
             ByteBuf encodedKey = codec.getValueEncoder().encode(key);
             long hash = LongHashFunction.xx().hashBytes(encodedKey.internalNioBuffer(encodedKey.readerIndex(), encodedKey.readableBytes()));
+            bufferedBytes += encodedKey.readableBytes();
             encodedKey.release();
-            int part = (int) Math.abs(hash % parts);
-            String partName = name + ":" + part;
+            part = (int) Math.abs(hash % parts);
             
-            RListMultimap<K, V> multimap = client.getListMultimap(partName, codec);
-            multimap.put(key, value);
+            ByteBuf encodedValue = codec.getValueEncoder().encode(value);
+            bufferedBytes += encodedValue.readableBytes();
+            encodedValue.release();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        
+        Map<K, List<V>> buffer = buffers.get(part);
+        List<V> values = buffer.get(key);
+        if (values == null) {
+            values = new ArrayList<V>();
+            buffer.put(key, values);
+        }
+        values.add(value);
+        bufferedValues++;
+        
+        if (bufferedValues >= BUFFER_SIZE || bufferedBytes >= BUFFER_BYTES) {
+            flush();
+        }
+    }
+    
+    /**
+     * Writes all buffered values in a single batch
+     */
+    public void flush() {
+        if (bufferedValues == 0) {
+            return;
+        }
+        
+        RBatch batch = client.createBatch();
+        for (int part = 0; part < parts; part++) {
+            Map<K, List<V>> buffer = buffers.get(part);
+            if (buffer.isEmpty()) {
+                continue;
+            }
+            
+            RMultimapAsync<K, V> multimap = batch.getListMultimap(name + ":" + part, codec);
+            for (Entry<K, List<V>> entry : buffer.entrySet()) {
+                List<V> values = entry.getValue();
+                if (combiner != null && values.size() > 1) {
+                    values = Collections.singletonList(combiner.combine(entry.getKey(), values.iterator()));
+                }
+                multimap.putAllAsync(entry.getKey(), values);
+            }
             if (timeout > 0 && !expirationsBitSet.get(part)) {
-                multimap.expire(timeout, TimeUnit.MILLISECONDS);
+                multimap.expireAsync(timeout, TimeUnit.MILLISECONDS);
                 expirationsBitSet.set(part);
             }
-        } catch (IOException e) {
-            throw new IllegalArgumentException(e);
+            buffer.clear();
         }
+        bufferedValues = 0;
+        bufferedBytes = 0;
+        
+        batch.execute();
     }
 
 }
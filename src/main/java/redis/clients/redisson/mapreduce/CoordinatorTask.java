@@ -56,6 +56,7 @@ public class CoordinatorTask<KOut, VOut> implements Callable<Object>, Serializab
     private String resultMapName;
     private long timeout;
     private long startTime;
+    private int reducerConcurrency = 1;
 
     protected Codec codec;
     
@@ -77,6 +78,10 @@ public class CoordinatorTask<KOut, VOut> implements Callable<Object>, Serializab
         this.startTime = startTime;
     }
 
+    public void setReducerConcurrency(int reducerConcurrency) {
+        this.reducerConcurrency = reducerConcurrency;
+    }
+
     @Override
     public Object call() throws Exception {
         long timeSpent = System.currentTimeMillis() - startTime;
@@ -120,7 +125,7 @@ public class CoordinatorTask<KOut, VOut> implements Callable<Object>, Serializab
         SubTasksExecutor reduceExecutor = new SubTasksExecutor(executor, workersAmount, startTime, timeout);
         for (int i = 0; i < workersAmount; i++) {
             String name = collectorMapName + ":" + i;
-            Runnable runnable = new ReducerTask<KOut, VOut>(name, reducer, objectCodecClass, resultMapName, timeout - timeSpent);
+            Runnable runnable = new ReducerTask<KOut, VOut>(name, reducer, objectCodecClass, resultMapName, timeout - timeSpent, reducerConcurrency);
             reduceExecutor.submit(runnable);
         }
 
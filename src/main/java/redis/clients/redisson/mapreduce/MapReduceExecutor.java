@@ -27,6 +27,7 @@ import redis.clients.redisson.api.RMapAsync;
 import redis.clients.redisson.api.RObject;
 import redis.clients.redisson.api.RedissonClient;
 import redis.clients.redisson.api.mapreduce.RCollator;
+import redis.clients.redisson.api.mapreduce.RCombiner;
 import redis.clients.redisson.api.mapreduce.RMapReduceExecutor;
 import redis.clients.redisson.api.mapreduce.RReducer;
 import redis.clients.redisson.client.codec.Codec;
@@ -59,6 +60,8 @@ abstract class MapReduceExecutor<M, VIn, KOut, VOut> implements RMapReduceExecut
 
     private ConnectionManager connectionManager;
     RReducer<KOut, VOut> reducer;
+    RCombiner<KOut, VOut> combiner;
+    int reducerConcurrency = 1;
     M mapper;
     long timeout;
     
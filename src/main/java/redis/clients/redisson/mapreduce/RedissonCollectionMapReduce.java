@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 import redis.clients.redisson.api.RObject;
 import redis.clients.redisson.api.RedissonClient;
 import redis.clients.redisson.api.mapreduce.RCollator;
+import redis.clients.redisson.api.mapreduce.RCombiner;
 import redis.clients.redisson.api.mapreduce.RCollectionMapReduce;
 import redis.clients.redisson.api.mapreduce.RCollectionMapper;
 import redis.clients.redisson.api.mapreduce.RReducer;
@@ -61,10 +62,29 @@ public class RedissonCollectionMapReduce<VIn, KOut, VOut> extends MapReduceExecu
         return this;
     }
 
+    @Override
+    public RCollectionMapReduce<VIn, KOut, VOut> combiner(RCombiner<KOut, VOut> combiner) {
+        check(combiner);
+        this.combiner = combiner;
+        return this;
+    }
+
+    @Override
+    public RCollectionMapReduce<VIn, KOut, VOut> reducerConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency should be greater than 0");
+        }
+        this.reducerConcurrency = concurrency;
+        return this;
+    }
+
     @Override
     protected Callable<Object> createTask(String resultMapName, RCollator<KOut, VOut, Object> collator) {
         CollectionMapperTask<VIn, KOut, VOut> mapperTask = new CollectionMapperTask<VIn, KOut, VOut>(mapper, objectClass, objectCodec.getClass());
-        return new CoordinatorTask<KOut, VOut>(mapperTask, reducer, objectName, resultMapName, objectCodec.getClass(), objectClass, collator, timeout, System.currentTimeMillis());
+        mapperTask.setCombiner(combiner);
+        CoordinatorTask<KOut, VOut> coordinatorTask = new CoordinatorTask<KOut, VOut>(mapperTask, reducer, objectName, resultMapName, objectCodec.getClass(), objectClass, collator, timeout, System.currentTimeMillis());
+        coordinatorTask.setReducerConcurrency(reducerConcurrency);
+        return coordinatorTask;
     }
 
 }
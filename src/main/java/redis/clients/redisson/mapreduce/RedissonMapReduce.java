@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 import redis.clients.redisson.api.RObject;
 import redis.clients.redisson.api.RedissonClient;
 import redis.clients.redisson.api.mapreduce.RCollator;
+import redis.clients.redisson.api.mapreduce.RCombiner;
 import redis.clients.redisson.api.mapreduce.RMapReduce;
 import redis.clients.redisson.api.mapreduce.RMapper;
 import redis.clients.redisson.api.mapreduce.RReducer;
@@ -62,10 +63,29 @@ public class RedissonMapReduce<KIn, VIn, KOut, VOut> extends MapReduceExecutor<R
         return this;
     }
 
+    @Override
+    public RMapReduce<KIn, VIn, KOut, VOut> combiner(RCombiner<KOut, VOut> combiner) {
+        check(combiner);
+        this.combiner = combiner;
+        return this;
+    }
+
+    @Override
+    public RMapReduce<KIn, VIn, KOut, VOut> reducerConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency should be greater than 0");
+        }
+        this.reducerConcurrency = concurrency;
+        return this;
+    }
+
     @Override
     protected Callable<Object> createTask(String resultMapName, RCollator<KOut, VOut, Object> collator) {
         MapperTask<KIn, VIn, KOut, VOut> mapperTask = new MapperTask<KIn, VIn, KOut, VOut>(mapper, objectClass, objectCodec.getClass());
-        return new CoordinatorTask<KOut, VOut>(mapperTask, reducer, objectName, resultMapName, objectCodec.getClass(), objectClass, collator, timeout, System.currentTimeMillis());
+        mapperTask.setCombiner(combiner);
+        CoordinatorTask<KOut, VOut> coordinatorTask = new CoordinatorTask<KOut, VOut>(mapperTask, reducer, objectName, resultMapName, objectCodec.getClass(), objectClass, collator, timeout, System.currentTimeMillis());
+        coordinatorTask.setReducerConcurrency(reducerConcurrency);
+        return coordinatorTask;
     }
 
 }
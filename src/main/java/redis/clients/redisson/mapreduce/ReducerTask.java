@@ -16,17 +16,33 @@
 package redis.clients.redisson.mapreduce;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import redis.clients.redisson.api.RBatch;
+import redis.clients.redisson.api.RFuture;
 import redis.clients.redisson.api.RListMultimap;
 import redis.clients.redisson.api.RMap;
+import redis.clients.redisson.api.RMultimapAsync;
 import redis.clients.redisson.api.RedissonClient;
 import redis.clients.redisson.api.annotation.RInject;
 import redis.clients.redisson.api.mapreduce.RReducer;
 import redis.clients.redisson.client.codec.Codec;
 import redis.clients.redisson.misc.Injector;
 
+import io.netty.util.concurrent.DefaultThreadFactory;
+
 /**
  * 
  * @author Nikita Koksharov
@@ -38,6 +54,11 @@ public class ReducerTask<KOut, VOut> implements Runnable, Serializable {
 
     private static final long serialVersionUID = 3556632668150314703L;
 
+    /**
+     * Amount of keys loaded with one batch
+     */
+    private static final int CHUNK_SIZE = 100;
+
     @RInject
     private RedissonClient redisson;
     
@@ -47,16 +68,22 @@ public class ReducerTask<KOut, VOut> implements Runnable, Serializable {
     private Class<?> codecClass;
     private Codec codec;
     private long timeout;
+    private int concurrency;
 
     public ReducerTask() {
     }
     
     public ReducerTask(String name, RReducer<KOut, VOut> reducer, Class<?> codecClass, String resultMapName, long timeout) {
+        this(name, reducer, codecClass, resultMapName, timeout, 1);
+    }
+    
+    public ReducerTask(String name, RReducer<KOut, VOut> reducer, Class<?> codecClass, String resultMapName, long timeout, int concurrency) {
         this.name = name;
         this.reducer = reducer;
         this.resultMapName = resultMapName;
         this.codecClass = codecClass;
         this.timeout = timeout;
+        this.concurrency = concurrency;
     }
 
     @Override
@@ -71,13 +98,35 @@ public class ReducerTask<KOut, VOut> implements Runnable, Serializable {
         
         RMap<KOut, VOut> map = redisson.getMap(resultMapName);
         RListMultimap<KOut, VOut> multimap = redisson.getListMultimap(name, codec);
-        for (KOut key : multimap.keySet()) {
-            if (Thread.currentThread().isInterrupted()) {
-                break;
+        ExecutorService executor = null;
+        if (concurrency > 1) {
+            executor = Executors.newFixedThreadPool(concurrency, new DefaultThreadFactory("redisson-reducer"));
+        }
+        try {
+            Iterator<KOut> keys = multimap.keySet().iterator();
+            Map<KOut, RFuture<Collection<VOut>>> chunk = fetchChunk(keys);
+            RFuture<Void> writeFuture = null;
+            while (!chunk.isEmpty()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                
+                // next chunk is loaded while the current one is reduced
+                Map<KOut, RFuture<Collection<VOut>>> nextChunk = fetchChunk(keys);
+                Map<KOut, VOut> result = reduce(chunk, executor);
+                if (writeFuture != null) {
+                    writeFuture.syncUninterruptibly();
+                }
+                writeFuture = map.putAllAsync(result);
+                chunk = nextChunk;
+            }
+            if (writeFuture != null) {
+                writeFuture.syncUninterruptibly();
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
             }
-            List<VOut> values = multimap.get(key);
-            VOut out = reducer.reduce(key, values.iterator());
-            map.put(key, out);
         }
         if (timeout > 0) {
             map.expire(timeout, TimeUnit.MILLISECONDS);
@@ -85,4 +134,58 @@ public class ReducerTask<KOut, VOut> implements Runnable, Serializable {
         multimap.delete();
     }
 
+    /**
+     * Loads values of the next {@link #CHUNK_SIZE} keys in a single batch
+     */
+    private Map<KOut, RFuture<Collection<VOut>>> fetchChunk(Iterator<KOut> keys) {
+        Map<KOut, RFuture<Collection<VOut>>> chunk = new LinkedHashMap<KOut, RFuture<Collection<VOut>>>();
+        if (!keys.hasNext()) {
+            return chunk;
+        }
+        
+        RBatch batch = redisson.createBatch();
+        RMultimapAsync<KOut, VOut> multimap = batch.getListMultimap(name, codec);
+        while (keys.hasNext() && chunk.size() < CHUNK_SIZE) {
+            KOut key = keys.next();
+            chunk.put(key, multimap.getAllAsync(key));
+        }
+        batch.executeAsync();
+        return chunk;
+    }
+    
+    private Map<KOut, VOut> reduce(Map<KOut, RFuture<Collection<VOut>>> chunk, ExecutorService executor) {
+        Map<KOut, VOut> result = new LinkedHashMap<KOut, VOut>(chunk.size());
+        if (executor == null) {
+            for (Entry<KOut, RFuture<Collection<VOut>>> entry : chunk.entrySet()) {
+                Collection<VOut> values = entry.getValue().syncUninterruptibly().getNow();
+                result.put(entry.getKey(), reducer.reduce(entry.getKey(), values.iterator()));
+            }
+            return result;
+        }
+        
+        List<KOut> keys = new ArrayList<KOut>(chunk.size());
+        List<Future<VOut>> futures = new ArrayList<Future<VOut>>(chunk.size());
+        for (Entry<KOut, RFuture<Collection<VOut>>> entry : chunk.entrySet()) {
+            final KOut key = entry.getKey();
+            final Collection<VOut> values = entry.getValue().syncUninterruptibly().getNow();
+            keys.add(key);
+            futures.add(executor.submit(new Callable<VOut>() {
+                @Override
+                public VOut call() throws Exception {
+                    return reducer.reduce(key, values.iterator());
+                }
+            }));
+        }
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                result.put(keys.get(i), futures.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return result;
+    }
+
 }
@@ -35,6 +35,8 @@ public class CacheConfig {
     private long maxIdleTime;
     
     private int maxSize;
+    
+    private double refreshAheadFactor;
 
     /**
      * Creates config object with
@@ -103,6 +105,27 @@ public class CacheConfig {
         this.maxIdleTime = maxIdleTime;
     }
 
+    public double getRefreshAheadFactor() {
+        return refreshAheadFactor;
+    }
+
+    /**
+     * Set part of time to live after which an entry read through
+     * <code>Cache.get(key, valueLoader)</code> is loaded again in background
+     * ahead of its expiration using Redisson executor.
+     * Only entries loaded by the same cache instance are refreshed.
+     * For example <code>0.8</code> refreshes an entry after 80% of its time to live.
+     *
+     * @param refreshAheadFactor - value between <code>0</code> and <code>1</code>.
+     *              If <code>0</code> then entries are not refreshed ahead (default).
+     */
+    public void setRefreshAheadFactor(double refreshAheadFactor) {
+        if (refreshAheadFactor < 0 || refreshAheadFactor >= 1) {
+            throw new IllegalArgumentException("refreshAheadFactor should be in range [0, 1)");
+        }
+        this.refreshAheadFactor = refreshAheadFactor;
+    }
+
     /**
      * Read config objects stored in JSON format from <code>String</code>
      *
@@ -16,7 +16,13 @@
 package redis.clients.redisson.spring.cache;
 
 import java.lang.reflect.Constructor;
+import java.util.Iterator;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -26,6 +32,8 @@ import redis.clients.redisson.api.RMapCache;
 import org.springframework.cache.Cache;
 import org.springframework.cache.support.SimpleValueWrapper;
 
+import io.netty.util.internal.PlatformDependent;
+
 /**
  *
  * @author Nikita Koksharov
@@ -33,6 +41,16 @@ import org.springframework.cache.support.SimpleValueWrapper;
  */
 public class RedissonCache implements Cache {
 
+    /**
+     * Max amount of keys tracked for refresh-ahead
+     */
+    private static final int MAX_REFRESH_KEYS = 10000;
+
+    /**
+     * Min interval between removals of expired load times
+     */
+    private static final long LOAD_TIMES_PRUNE_INTERVAL = 1000;
+
     private RMapCache<Object, Object> mapCache;
 
     private final RMap<Object, Object> map;
@@ -45,11 +63,31 @@ public class RedissonCache implements Cache {
 
     private final AtomicLong misses = new AtomicLong();
 
+    private final ConcurrentMap<Object, FutureTask<Object>> loadingValues = PlatformDependent.newConcurrentHashMap();
+
+    private final ConcurrentMap<Object, Long> loadTimes = PlatformDependent.newConcurrentHashMap();
+
+    private final AtomicLong loadTimesPruneTime = new AtomicLong();
+
+    private Executor refreshExecutor;
+
     public RedissonCache(RMapCache<Object, Object> mapCache, CacheConfig config, boolean allowNullValues) {
+        this(mapCache, config, allowNullValues, null);
+    }
+
+    /**
+     * @param mapCache - map cache
+     * @param config - cache config
+     * @param allowNullValues - allow null values
+     * @param refreshExecutor - executor for refresh-ahead loading, 
+     *                          refresh-ahead is disabled if <code>null</code>
+     */
+    public RedissonCache(RMapCache<Object, Object> mapCache, CacheConfig config, boolean allowNullValues, Executor refreshExecutor) {
         this.mapCache = mapCache;
         this.map = mapCache;
         this.config = config;
         this.allowNullValues = allowNullValues;
+        this.refreshExecutor = refreshExecutor;
     }
 
     public RedissonCache(RMap<Object, Object> map, boolean allowNullValues) {
@@ -135,11 +173,13 @@ public class RedissonCache implements Cache {
 
     @Override
     public void evict(Object key) {
+        loadTimes.remove(key);
         map.fastRemove(key);
     }
 
     @Override
     public void clear() {
+        loadTimes.clear();
         map.clear();
     }
 
@@ -157,33 +197,165 @@ public class RedissonCache implements Cache {
         Object value = map.get(key);
         if (value == null) {
             addCacheMiss();
-            RLock lock = map.getLock(key);
-            lock.lock();
+            value = load(key, valueLoader);
+        }else{
+            addCacheHit();
+            refreshAhead(key, valueLoader);
+        }
+        
+        return (T) fromStoreValue(value);
+    }
+
+    /**
+     * Loads value once per key in this JVM. Concurrent callers missing 
+     * on the same key wait for the loading thread, 
+     * only that thread takes the key lock.
+     */
+    private <T> Object load(final Object key, final Callable<T> valueLoader) {
+        FutureTask<Object> task = new FutureTask<Object>(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return loadLocked(key, valueLoader);
+            }
+        });
+        FutureTask<Object> loading = loadingValues.putIfAbsent(key, task);
+        if (loading == null) {
+            loading = task;
             try {
-                value = map.get(key);
-                if (value == null) {
+                task.run();
+            } finally {
+                loadingValues.remove(key, task);
+            }
+        }
+        
+        try {
+            return loading.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> Object loadLocked(Object key, Callable<T> valueLoader) {
+        RLock lock = map.getLock(key);
+        lock.lock();
+        try {
+            Object value = map.get(key);
+            if (value == null) {
+                try {
+                    value = toStoreValue(valueLoader.call());
+                } catch (Exception ex) {
                     try {
-                        value = toStoreValue(valueLoader.call());
-                    } catch (Exception ex) {
-                        try {
-                            Class<?> c = Class.forName("org.springframework.cache.Cache$ValueRetrievalException");
-                            Constructor<?> constructor = c.getConstructor(Object.class, Callable.class, Throwable.class);
-                            RuntimeException exception = (RuntimeException) constructor.newInstance(key, valueLoader, ex.getCause());
-                            throw exception;                
-                        } catch (Exception e) {
-                            throw new IllegalStateException(e);
-                        }
+                        Class<?> c = Class.forName("org.springframework.cache.Cache$ValueRetrievalException");
+                        Constructor<?> constructor = c.getConstructor(Object.class, Callable.class, Throwable.class);
+                        RuntimeException exception = (RuntimeException) constructor.newInstance(key, valueLoader, ex.getCause());
+                        throw exception;                
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
                     }
-                    put(key, value);
                 }
-            } finally {
-                lock.unlock();
+                put(key, value);
+                trackLoadTime(key);
             }
-        }else{
-            addCacheHit();
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isRefreshAheadEnabled() {
+        return mapCache != null && refreshExecutor != null
+                && config.getTTL() > 0 && config.getRefreshAheadFactor() > 0;
+    }
+
+    private void trackLoadTime(Object key) {
+        if (!isRefreshAheadEnabled()) {
+            return;
+        }
+        if (loadTimes.size() >= MAX_REFRESH_KEYS) {
+            pruneLoadTimes();
+        }
+        if (loadTimes.size() < MAX_REFRESH_KEYS) {
+            loadTimes.put(key, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Removes load times of entries already expired in Redis. 
+     * Such entries are never refreshed and would occupy tracking slots forever 
+     * if they aren't requested again.
+     */
+    private void pruneLoadTimes() {
+        long currentTime = System.currentTimeMillis();
+        long pruneTime = loadTimesPruneTime.get();
+        if (currentTime - pruneTime < LOAD_TIMES_PRUNE_INTERVAL
+                || !loadTimesPruneTime.compareAndSet(pruneTime, currentTime)) {
+            return;
+        }
+
+        for (Iterator<Long> iterator = loadTimes.values().iterator(); iterator.hasNext();) {
+            Long loadTime = iterator.next();
+            if (currentTime - loadTime >= config.getTTL()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Loads entry again in background if it was loaded by this instance and 
+     * <code>refreshAheadFactor</code> part of its time to live has passed.
+     * Only one task refreshes a key, callers keep using the current value.
+     */
+    private <T> void refreshAhead(final Object key, final Callable<T> valueLoader) {
+        if (!isRefreshAheadEnabled()) {
+            return;
+        }
+        Long loadTime = loadTimes.get(key);
+        if (loadTime == null) {
+            return;
+        }
+        long age = System.currentTimeMillis() - loadTime;
+        if (age < config.getTTL() * config.getRefreshAheadFactor()) {
+            return;
+        }
+        if (!loadTimes.remove(key, loadTime) || age >= config.getTTL()) {
+            return;
         }
         
-        return (T) fromStoreValue(value);
+        try {
+            refreshExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    refresh(key, valueLoader);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // current value stays until it expires and then loaded again
+        }
+    }
+
+    private <T> void refresh(Object key, Callable<T> valueLoader) {
+        RLock lock = map.getLock(key);
+        // entry is refreshed by other Redisson instance
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            put(key, toStoreValue(valueLoader.call()));
+            trackLoadTime(key);
+        } catch (Exception e) {
+            // current value stays until it expires and then loaded again
+        } finally {
+            lock.unlock();
+        }
     }
 
     protected Object fromStoreValue(Object storeValue) {
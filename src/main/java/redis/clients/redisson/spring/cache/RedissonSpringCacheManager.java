@@ -21,7 +21,9 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
+import redis.clients.redisson.Redisson;
 import redis.clients.redisson.api.RMap;
 import redis.clients.redisson.api.RMapCache;
 import redis.clients.redisson.api.RedissonClient;
@@ -242,7 +244,7 @@ public class RedissonSpringCacheManager implements CacheManager, ResourceLoaderA
     private Cache createMapCache(String name, CacheConfig config) {
         RMapCache<Object, Object> map = getMapCache(name, config);
         
-        Cache cache = new RedissonCache(map, config, allowNullValues);
+        Cache cache = new RedissonCache(map, config, allowNullValues, getRefreshExecutor());
         Cache oldCache = instanceMap.putIfAbsent(name, cache);
         if (oldCache != null) {
             cache = oldCache;
@@ -252,6 +254,13 @@ public class RedissonSpringCacheManager implements CacheManager, ResourceLoaderA
         return cache;
     }
 
+    private Executor getRefreshExecutor() {
+        if (redisson instanceof Redisson) {
+            return ((Redisson) redisson).getConnectionManager().getExecutor();
+        }
+        return null;
+    }
+
     protected RMapCache<Object, Object> getMapCache(String name, CacheConfig config) {
         if (codec != null) {
             return redisson.getMapCache(name, codec);
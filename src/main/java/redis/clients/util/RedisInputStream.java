@@ -24,6 +24,17 @@ public class RedisInputStream extends FilterInputStream {
 
 	protected int count, limit;
 
+	/**
+	 * Scratch buffer reused for segments which don't fit into the read buffer.
+	 * Buffers larger than {@link #MAX_RETAINED_SCRATCH_SIZE} are not kept between
+	 * calls.
+	 */
+	private static final int MAX_RETAINED_SCRATCH_SIZE = 1024 * 1024;
+
+	private byte[] scratch;
+
+	private int segmentOffset;
+
 	public RedisInputStream(InputStream in, int size) {
 		super(in);
 		if (size <= 0) {
@@ -42,31 +53,12 @@ public class RedisInputStream extends FilterInputStream {
 	}
 
 	public String readLine() {
-		final StringBuilder sb = new StringBuilder();
-		while (true) {
-			ensureFill();
-
-			byte b = buf[count++];
-			if (b == '\r') {
-				ensureFill(); // Must be one more byte
-
-				byte c = buf[count++];
-				if (c == '\n') {
-					break;
-				}
-				sb.append((char) b);
-				sb.append((char) c);
-			} else {
-				sb.append((char) b);
-			}
-		}
-
-		final String reply = sb.toString();
-		if (reply.length() == 0) {
+		final byte[] line = readLineBytes();
+		if (line.length == 0) {
 			throw new JedisConnectionException("It seems like server has closed the connection.");
 		}
 
-		return reply;
+		return SafeEncoder.encode(line);
 	}
 
 	public byte[] readLineBytes() {
@@ -177,6 +169,46 @@ public class RedisInputStream extends FilterInputStream {
 		return (isNeg ? -value : value);
 	}
 
+	/**
+	 * Reads <code>len</code> bytes without allocating a new array. If the bytes are
+	 * already in the read buffer the read buffer itself is returned, otherwise the
+	 * bytes are copied into a scratch buffer owned by this stream. In both cases the
+	 * data starts at {@link #getSegmentOffset()} and stays valid only until the next
+	 * read operation on this stream.
+	 */
+	public byte[] readSegment(final int len) throws JedisConnectionException {
+		ensureFill();
+
+		if (limit - count >= len) {
+			segmentOffset = count;
+			count += len;
+			return buf;
+		}
+
+		byte[] segment = scratch;
+		if (segment == null || segment.length < len) {
+			segment = new byte[Math.max(len, buf.length)];
+			if (len <= MAX_RETAINED_SCRATCH_SIZE) {
+				scratch = segment;
+			}
+		}
+
+		int offset = 0;
+		while (offset < len) {
+			offset += read(segment, offset, len - offset);
+		}
+
+		segmentOffset = 0;
+		return segment;
+	}
+
+	/**
+	 * @return offset of the data returned by the last {@link #readSegment(int)} call
+	 */
+	public int getSegmentOffset() {
+		return segmentOffset;
+	}
+
 	@Override
 	public int read(byte[] b, int off, int len) throws JedisConnectionException {
 		ensureFill();
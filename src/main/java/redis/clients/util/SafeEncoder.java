@@ -39,4 +39,12 @@ public final class SafeEncoder {
 			throw new JedisException(e);
 		}
 	}
+
+	public static String encode(final byte[] data, final int offset, final int length) {
+		try {
+			return new String(data, offset, length, Protocol.CHARSET);
+		} catch (UnsupportedEncodingException e) {
+			throw new JedisException(e);
+		}
+	}
 }
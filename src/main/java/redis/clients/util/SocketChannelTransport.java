@@ -0,0 +1,253 @@
+package redis.clients.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection transport based on a non blocking {@link SocketChannel} and direct
+ * buffers. Socket timeouts are honored through a per-connection selector, using
+ * the current SO_TIMEOUT of the underlying socket, so
+ * {@link Socket#setSoTimeout(int)} keeps working as with the blocking socket.
+ * <p>
+ * Commands with large arguments are written with a single gathering write: the
+ * RESP framing goes through a direct buffer while the arguments themselves are
+ * passed to the channel without being copied into the output stream buffer.
+ */
+public class SocketChannelTransport implements Closeable {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Arguments of this size or larger are passed to the channel as is.
+	 */
+	public static final int LARGE_ARGUMENT_SIZE = 1024;
+
+	private static final byte ASTERISK_BYTE = '*';
+	private static final byte DOLLAR_BYTE = '$';
+	private static final byte[] CRLF = { '\r', '\n' };
+
+	private final SocketChannel channel;
+	private final Selector selector;
+	private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final ByteBuffer headerBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private ByteBuffer header;
+	private int segmentStart;
+	private SelectionKey key;
+
+	private final InputStream inputStream = new InputStream() {
+
+		@Override
+		public int read() throws IOException {
+			final byte[] b = new byte[1];
+			return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!readBuffer.hasRemaining()) {
+				readBuffer.clear();
+				int n;
+				while ((n = channel.read(readBuffer)) == 0) {
+					await(SelectionKey.OP_READ, socket().getSoTimeout(), "Read timed out");
+				}
+				readBuffer.flip();
+				if (n == -1) {
+					return -1;
+				}
+			}
+			final int length = Math.min(len, readBuffer.remaining());
+			readBuffer.get(b, off, length);
+			return length;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return readBuffer.remaining();
+		}
+
+	};
+
+	private final OutputStream outputStream = new OutputStream() {
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (len > BUFFER_SIZE) {
+				writeFully(ByteBuffer.wrap(b, off, len));
+				return;
+			}
+			writeBuffer.clear();
+			writeBuffer.put(b, off, len);
+			writeBuffer.flip();
+			writeFully(writeBuffer);
+		}
+
+	};
+
+	public SocketChannelTransport() throws IOException {
+		channel = SocketChannel.open();
+		selector = Selector.open();
+		readBuffer.flip();
+	}
+
+	public Socket socket() {
+		return channel.socket();
+	}
+
+	public InputStream getInputStream() {
+		return inputStream;
+	}
+
+	public OutputStream getOutputStream() {
+		return outputStream;
+	}
+
+	public void connect(InetSocketAddress address, int connectionTimeout) throws IOException {
+		channel.configureBlocking(false);
+		key = channel.register(selector, 0);
+		if (!channel.connect(address)) {
+			while (!channel.finishConnect()) {
+				await(SelectionKey.OP_CONNECT, connectionTimeout, "connect timed out");
+			}
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if command contains arguments which are worth to
+	 *         be written with {@link #writeCommand(byte[], byte[]...)}
+	 */
+	public static boolean hasLargeArgument(byte[]... args) {
+		for (final byte[] arg : args) {
+			if (arg.length >= LARGE_ARGUMENT_SIZE) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes command using a single gathering write. Arguments of
+	 * {@link #LARGE_ARGUMENT_SIZE} bytes or more are not copied.
+	 */
+	public void writeCommand(byte[] command, byte[]... args) throws IOException {
+		final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>(args.length + 2);
+		header = headerBuffer;
+		header.clear();
+		segmentStart = 0;
+
+		ensureHeaderCapacity(buffers, 16);
+		header.put(ASTERISK_BYTE);
+		putIntCrLf(args.length + 1);
+		putArgument(buffers, command);
+		for (final byte[] arg : args) {
+			putArgument(buffers, arg);
+		}
+		sliceHeader(buffers);
+
+		final ByteBuffer[] srcs = buffers.toArray(new ByteBuffer[buffers.size()]);
+		final ByteBuffer last = srcs[srcs.length - 1];
+		while (last.hasRemaining()) {
+			if (channel.write(srcs) == 0) {
+				await(SelectionKey.OP_WRITE, socket().getSoTimeout(), "Write timed out");
+			}
+		}
+	}
+
+	private void putArgument(List<ByteBuffer> buffers, byte[] arg) {
+		if (arg.length >= LARGE_ARGUMENT_SIZE) {
+			ensureHeaderCapacity(buffers, 16);
+			header.put(DOLLAR_BYTE);
+			putIntCrLf(arg.length);
+			sliceHeader(buffers);
+			buffers.add(ByteBuffer.wrap(arg));
+		} else {
+			ensureHeaderCapacity(buffers, 16 + arg.length);
+			header.put(DOLLAR_BYTE);
+			putIntCrLf(arg.length);
+			header.put(arg);
+		}
+		header.put(CRLF);
+	}
+
+	private void ensureHeaderCapacity(List<ByteBuffer> buffers, int size) {
+		if (header.remaining() < size) {
+			sliceHeader(buffers);
+			// written part is still referenced by the slices, so continue in a new buffer
+			header = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			segmentStart = 0;
+		}
+	}
+
+	private void sliceHeader(List<ByteBuffer> buffers) {
+		if (header.position() > segmentStart) {
+			final ByteBuffer segment = header.duplicate();
+			segment.position(segmentStart);
+			segment.limit(header.position());
+			buffers.add(segment);
+			segmentStart = header.position();
+		}
+	}
+
+	private void putIntCrLf(int value) {
+		final int start = header.position();
+		do {
+			header.put((byte) ('0' + value % 10));
+			value /= 10;
+		} while (value > 0);
+		for (int i = start, j = header.position() - 1; i < j; i++, j--) {
+			final byte b = header.get(i);
+			header.put(i, header.get(j));
+			header.put(j, b);
+		}
+		header.put(CRLF);
+	}
+
+	private void writeFully(ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.write(buffer) == 0) {
+				await(SelectionKey.OP_WRITE, socket().getSoTimeout(), "Write timed out");
+			}
+		}
+	}
+
+	private void await(int op, int timeout, String timeoutMessage) throws IOException {
+		key.interestOps(op);
+		try {
+			if (selector.select(timeout) == 0 && timeout > 0) {
+				throw new SocketTimeoutException(timeoutMessage);
+			}
+		} finally {
+			selector.selectedKeys().clear();
+			key.interestOps(0);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			selector.close();
+		} finally {
+			channel.close();
+		}
+	}
+
+}
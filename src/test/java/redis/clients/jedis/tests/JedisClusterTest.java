@@ -9,6 +9,7 @@ import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -33,11 +34,14 @@ import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisCluster.Reset;
 import redis.clients.jedis.JedisClusterInfoCache;
+import redis.clients.jedis.JedisClusterPipeline;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.exceptions.JedisAskDataException;
 import redis.clients.jedis.exceptions.JedisClusterMaxRedirectionsException;
 import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.exceptions.JedisException;
 import redis.clients.jedis.exceptions.JedisMovedDataException;
 import redis.clients.jedis.tests.utils.ClientKillerUtil;
@@ -338,6 +342,98 @@ public class JedisClusterTest {
     assertEquals("foo", jc.get("51"));
   }
 
+  @Test
+  public void testPipelineAcrossNodes() {
+    Set<HostAndPort> jedisClusterNode = new HashSet<HostAndPort>();
+    jedisClusterNode.add(new HostAndPort("127.0.0.1", 7379));
+    JedisCluster jc = new JedisCluster(jedisClusterNode, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT, DEFAULT_REDIRECTIONS, "cluster", DEFAULT_CONFIG);
+
+    JedisClusterPipeline pipeline = jc.pipelined();
+    List<Response<String>> sets = new ArrayList<Response<String>>();
+    for (int i = 0; i < 100; i++) {
+      sets.add(pipeline.set("key" + i, "value" + i));
+    }
+    Response<String> get = pipeline.get("key42");
+    Response<Long> incr = pipeline.incr("key7");
+    pipeline.sync();
+
+    for (Response<String> set : sets) {
+      assertEquals("OK", set.get());
+    }
+    assertEquals("value42", get.get());
+    try {
+      incr.get();
+      fail();
+    } catch (JedisDataException e) {
+      // value is not an integer
+    }
+    for (int i = 0; i < 100; i++) {
+      assertEquals("value" + i, jc.get("key" + i));
+    }
+  }
+
+  @Test
+  public void testPipelineFollowsRedirections() {
+    Set<HostAndPort> jedisClusterNode = new HashSet<HostAndPort>();
+    jedisClusterNode.add(new HostAndPort("127.0.0.1", 7379));
+    JedisCluster jc = new JedisCluster(jedisClusterNode, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT, DEFAULT_REDIRECTIONS, "cluster", DEFAULT_CONFIG);
+    int slot51 = JedisClusterCRC16.getSlot("51");
+    node3.clusterSetSlotImporting(slot51, JedisClusterTestUtil.getNodeId(node2.clusterNodes()));
+    node2.clusterSetSlotMigrating(slot51, JedisClusterTestUtil.getNodeId(node3.clusterNodes()));
+
+    JedisClusterPipeline pipeline = jc.pipelined();
+    pipeline.set("51", "foo");
+    pipeline.set("foo", "bar");
+    pipeline.get("51");
+    assertEquals(Arrays.<Object> asList("OK", "OK", "foo"), pipeline.syncAndReturnAll());
+  }
+
+  @Test
+  public void testPipelineAskRepliesKeepOrder() {
+    Set<HostAndPort> jedisClusterNode = new HashSet<HostAndPort>();
+    jedisClusterNode.add(new HostAndPort("127.0.0.1", 7379));
+    JedisCluster jc = new JedisCluster(jedisClusterNode, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT, DEFAULT_REDIRECTIONS, "cluster", DEFAULT_CONFIG);
+    int slot51 = JedisClusterCRC16.getSlot("51");
+    node3.clusterSetSlotImporting(slot51, JedisClusterTestUtil.getNodeId(node2.clusterNodes()));
+    node2.clusterSetSlotMigrating(slot51, JedisClusterTestUtil.getNodeId(node3.clusterNodes()));
+
+    // every command is redirected with ASK, the node batch interleaves ASKING
+    // replies with replies other than OK
+    JedisClusterPipeline pipeline = jc.pipelined();
+    pipeline.incr("51");
+    pipeline.incr("51");
+    pipeline.get("51");
+    assertEquals(Arrays.<Object> asList(1L, 2L, "2"), pipeline.syncAndReturnAll());
+  }
+
+  @Test
+  public void testMultiKeyCommandsAcrossSlots() {
+    Set<HostAndPort> jedisClusterNode = new HashSet<HostAndPort>();
+    jedisClusterNode.add(new HostAndPort("127.0.0.1", 7379));
+    JedisCluster jc = new JedisCluster(jedisClusterNode, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT, DEFAULT_REDIRECTIONS, "cluster", DEFAULT_CONFIG);
+
+    assertEquals("OK", jc.mset("a", "1", "b", "2", "c", "3", "{a}x", "4"));
+    assertEquals(Arrays.asList("1", null, "2", "3", "4"), jc.mget("a", "missing", "b", "c", "{a}x"));
+    assertEquals(Long.valueOf(3), jc.exists("a", "b", "missing", "c"));
+    assertEquals(Long.valueOf(4), jc.del("a", "b", "c", "{a}x", "missing"));
+    assertEquals(Arrays.<String> asList(null, null), jc.mget("a", "b"));
+  }
+
+  @Test
+  public void testSlotRenewalIsCoalesced() {
+    JedisClusterInfoCache cache = new JedisClusterInfoCache(DEFAULT_CONFIG, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT, "cluster", null);
+    cache.discoverClusterNodesAndSlots(node1);
+    long epoch = cache.getSlotsEpoch();
+
+    cache.renewClusterSlots(null, epoch);
+    assertEquals(epoch + 1, cache.getSlotsEpoch());
+    // a second thread which saw the same redirection does not renew again
+    cache.renewClusterSlots(null, epoch);
+    assertEquals(epoch + 1, cache.getSlotsEpoch());
+    assertNotNull(cache.getSlotPool(JedisClusterCRC16.getSlot("foo")));
+    cache.reset();
+  }
+
   @Test(expected = JedisClusterMaxRedirectionsException.class)
   public void testRedisClusterMaxRedirections() {
     Set<HostAndPort> jedisClusterNode = new HashSet<HostAndPort>();
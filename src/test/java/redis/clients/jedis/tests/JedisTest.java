@@ -1,5 +1,6 @@
 package redis.clients.jedis.tests;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
@@ -53,6 +54,22 @@ public class JedisTest extends JedisCommandTestBase {
     jedis.get("foo");
   }
 
+  @Test
+  public void connectWithSocketChannel() {
+    JedisShardInfo shardInfo = new JedisShardInfo("localhost", Protocol.DEFAULT_PORT);
+    shardInfo.setPassword("foobared");
+    shardInfo.setUseSocketChannel(true);
+    Jedis jedis = new Jedis(shardInfo);
+
+    byte[] bigdata = new byte[1024 * 1024];
+    for (int b = 0; b < bigdata.length; b++) {
+      bigdata[b] = (byte) (b % 255);
+    }
+    assertEquals("OK", jedis.set(SafeEncoder.encode("foo"), bigdata));
+    assertArrayEquals(bigdata, jedis.get(SafeEncoder.encode("foo")));
+    jedis.close();
+  }
+
   @Test(expected = JedisConnectionException.class)
   public void timeoutConnection() throws Exception {
     jedis = new Jedis("localhost", 6379, 15000);
@@ -15,9 +15,11 @@ import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
+import redis.clients.jedis.BuilderFactory;
 import redis.clients.jedis.Protocol;
 import redis.clients.jedis.exceptions.JedisBusyException;
 import redis.clients.util.RedisInputStream;
@@ -126,6 +128,28 @@ public class ProtocolTest {
     assertNull(response);
   }
 
+  @Test
+  public void multiBulkReplyWithVisitor() {
+    InputStream is = new ByteArrayInputStream(
+        "*4\r\n$3\r\nfoo\r\n$3\r\nbar\r\n$5\r\nHello\r\n$5\r\nWorld\r\n".getBytes());
+    Map<String, String> response = Protocol.read(new RedisInputStream(is),
+        BuilderFactory.stringMapVisitor());
+    assertEquals(2, response.size());
+    assertEquals("bar", response.get("foo"));
+    assertEquals("World", response.get("Hello"));
+  }
+
+  @Test
+  public void fragmentedMultiBulkReplyWithVisitor() {
+    FragmentedByteArrayInputStream fis = new FragmentedByteArrayInputStream(
+        "*2\r\n$30\r\n012345678901234567890123456789\r\n$-1\r\n".getBytes());
+    List<String> response = Protocol.read(new RedisInputStream(fis, 16),
+        BuilderFactory.stringListVisitor());
+    assertEquals(2, response.size());
+    assertEquals("012345678901234567890123456789", response.get(0));
+    assertNull(response.get(1));
+  }
+
   @Test
   public void busyReply() {
     final String busyMessage = "BUSY Redis is busy running a script.";
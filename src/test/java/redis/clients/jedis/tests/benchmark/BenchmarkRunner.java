@@ -0,0 +1,52 @@
+package redis.clients.jedis.tests.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of this package, or the ones matching the regular
+ * expression given as first argument. No Redis server is needed, end to end
+ * benchmarks start an {@link redis.clients.jedis.tests.utils.EmbeddedRedisServer}.
+ * <p>
+ * Comma separated thread counts given as second argument run the matching
+ * benchmarks once per thread count, e.g. <code>CacheMapBenchmark 1,8,64</code>.
+ * Without arguments {@link LocalCacheBenchmark} is run once per thread count
+ * of {@link #THREAD_SWEEP} after the other benchmarks.
+ */
+public class BenchmarkRunner {
+
+  static final int[] THREAD_SWEEP = { 1, 2, 4, 8, 16, 32, 64 };
+
+  public static void main(String[] args) throws Exception {
+    if (args.length == 0) {
+      String sweep = LocalCacheBenchmark.class.getName().replace(".", "\\.");
+      run(new OptionsBuilder().include(BenchmarkRunner.class.getPackage().getName() + "\\..*Benchmark")
+          .exclude(sweep));
+      run(new OptionsBuilder().include(sweep), THREAD_SWEEP);
+      return;
+    }
+
+    if (args.length == 1) {
+      run(new OptionsBuilder().include(args[0]));
+      return;
+    }
+
+    String[] counts = args[1].split(",");
+    int[] threads = new int[counts.length];
+    for (int i = 0; i < counts.length; i++) {
+      threads[i] = Integer.parseInt(counts[i].trim());
+    }
+    run(new OptionsBuilder().include(args[0]), threads);
+  }
+
+  private static void run(ChainedOptionsBuilder options) throws Exception {
+    new Runner(options.build()).run();
+  }
+
+  private static void run(ChainedOptionsBuilder options, int[] threads) throws Exception {
+    for (int count : threads) {
+      run(options.threads(count));
+    }
+  }
+}
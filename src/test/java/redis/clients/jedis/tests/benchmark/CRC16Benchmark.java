@@ -1,25 +1,51 @@
 package redis.clients.jedis.tests.benchmark;
 
-import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
 
 import redis.clients.util.JedisClusterCRC16;
-
+import redis.clients.util.SafeEncoder;
+
+/**
+ * Cluster slot lookup of String and binary keys, with and without hash tags.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
 public class CRC16Benchmark {
-  private static final int TOTAL_OPERATIONS = 100000000;
-
-  private static String[] TEST_SET = { "", "123456789", "sfger132515",
-      "hae9Napahngaikeethievubaibogiech", "AAAAAAAAAAAAAAAAAAAAAA", "Hello, World!" };
+  private static final String[] TEST_SET = { "", "123456789", "sfger132515",
+      "hae9Napahngaikeethievubaibogiech", "AAAAAAAAAAAAAAAAAAAAAA", "Hello, World!",
+      "{user1000}.following" };
 
-  public static void main(String[] args) {
-    long begin = Calendar.getInstance().getTimeInMillis();
+  private final byte[][] binaryTestSet = SafeEncoder.encodeMany(TEST_SET);
 
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      JedisClusterCRC16.getSlot(TEST_SET[n % TEST_SET.length]);
+  @Benchmark
+  @OperationsPerInvocation(7)
+  public void getSlot(Blackhole bh) {
+    for (String key : TEST_SET) {
+      bh.consume(JedisClusterCRC16.getSlot(key));
     }
-
-    long elapsed = Calendar.getInstance().getTimeInMillis() - begin;
-
-    System.out.println(((1000 * TOTAL_OPERATIONS) / elapsed) + " ops");
   }
 
-}
\ No newline at end of file
+  @Benchmark
+  @OperationsPerInvocation(7)
+  public void getSlotBinary(Blackhole bh) {
+    for (byte[] key : binaryTestSet) {
+      bh.consume(JedisClusterCRC16.getSlot(key));
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.redisson.cache.Cache;
+import redis.clients.redisson.cache.LFUCacheMap;
+import redis.clients.redisson.cache.LRUCacheMap;
+import redis.clients.redisson.cache.SampledLRUCacheMap;
+import redis.clients.redisson.cache.TinyLFUCacheMap;
+
+/**
+ * Reads and writes of the local cache eviction policies with 4 threads. Keys
+ * are either uniform over twice as many keys as the cache holds, so eviction
+ * keeps running, or Zipfian distributed over ten times as many keys.
+ * {@link #getOrPut(Keys, HitCounters)} follows misses with put, like local
+ * cached map, and reports hits and misses to compare hit ratios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CacheMapBenchmark {
+  private static final int CACHE_SIZE = 10000;
+  private static final int KEY_SEQUENCE_LENGTH = 1 << 20;
+  private static final double SKEW = 0.99;
+
+  @Param({ "LRU", "LFU", "SAMPLED_LRU", "TINY_LFU" })
+  public String policy;
+
+  @Param({ "UNIFORM", "ZIPFIAN" })
+  public String distribution;
+
+  private Cache<Integer, Integer> cache;
+  private Integer[] keys;
+
+  /**
+   * Position of a thread in the precomputed key sequence.
+   */
+  @State(Scope.Thread)
+  public static class Keys {
+    private int index = ThreadLocalRandom.current().nextInt(KEY_SEQUENCE_LENGTH);
+
+    Integer next(Integer[] keys) {
+      index = (index + 1) & (KEY_SEQUENCE_LENGTH - 1);
+      return keys[index];
+    }
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class HitCounters {
+    public long hits;
+    public long misses;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      hits = 0;
+      misses = 0;
+    }
+  }
+
+  @Setup
+  public void setup() {
+    if ("LRU".equals(policy)) {
+      cache = new LRUCacheMap<Integer, Integer>(CACHE_SIZE, 0, 0);
+    } else if ("LFU".equals(policy)) {
+      cache = new LFUCacheMap<Integer, Integer>(CACHE_SIZE, 0, 0);
+    } else if ("SAMPLED_LRU".equals(policy)) {
+      cache = new SampledLRUCacheMap<Integer, Integer>(CACHE_SIZE, 0, 0);
+    } else {
+      cache = new TinyLFUCacheMap<Integer, Integer>(CACHE_SIZE, 0, 0);
+    }
+    for (int i = 0; i < CACHE_SIZE; i++) {
+      cache.put(i, i);
+    }
+
+    Random random = new Random(1);
+    if ("ZIPFIAN".equals(distribution)) {
+      keys = zipfian(CACHE_SIZE * 10, random);
+    } else {
+      keys = new Integer[KEY_SEQUENCE_LENGTH];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = random.nextInt(CACHE_SIZE * 2);
+      }
+    }
+  }
+
+  private static Integer[] zipfian(int keyAmount, Random random) {
+    double[] cdf = new double[keyAmount];
+    double sum = 0;
+    for (int i = 0; i < keyAmount; i++) {
+      sum += 1 / Math.pow(i + 1, SKEW);
+      cdf[i] = sum;
+    }
+
+    Integer[] result = new Integer[KEY_SEQUENCE_LENGTH];
+    for (int i = 0; i < result.length; i++) {
+      int index = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+      result[i] = index >= 0 ? index : Math.min(-index - 1, keyAmount - 1);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Integer get(Keys keys) {
+    return cache.get(keys.next(this.keys));
+  }
+
+  @Benchmark
+  public Integer put(Keys keys) {
+    Integer key = keys.next(this.keys);
+    return cache.put(key, key);
+  }
+
+  @Benchmark
+  public Integer getOrPut(Keys keys, HitCounters counters) {
+    Integer key = keys.next(this.keys);
+    Integer value = cache.get(key);
+    if (value != null) {
+      counters.hits++;
+      return value;
+    }
+    counters.misses++;
+    return cache.put(key, key);
+  }
+}
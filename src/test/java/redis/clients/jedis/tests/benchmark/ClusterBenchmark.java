@@ -0,0 +1,83 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisClusterPipeline;
+import redis.clients.jedis.tests.utils.EmbeddedRedisCluster;
+
+/**
+ * {@link JedisCluster} commands and cluster pipelines against a 3 master
+ * {@link EmbeddedRedisCluster}, with an artificial network latency given in
+ * microseconds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClusterBenchmark {
+  private static final int BATCH = 100;
+
+  @Param({ "0", "200" })
+  public long latencyMicros;
+
+  private EmbeddedRedisCluster cluster;
+  private JedisCluster jedis;
+  private String[] keys;
+  private int n;
+
+  @Setup
+  public void setup() throws Exception {
+    cluster = new EmbeddedRedisCluster(3).start();
+    cluster.setLatency(latencyMicros, TimeUnit.MICROSECONDS);
+    jedis = new JedisCluster(cluster.getNodes());
+    keys = new String[BATCH];
+    for (int i = 0; i < BATCH; i++) {
+      keys[i] = "foo" + i;
+      jedis.set(keys[i], keys[i]);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    jedis.close();
+    cluster.stop();
+  }
+
+  @Benchmark
+  public String get() {
+    return jedis.get(keys[n++ % BATCH]);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public Object pipelinedGet() {
+    JedisClusterPipeline p = jedis.pipelined();
+    for (String key : keys) {
+      p.get(key);
+    }
+    return p.syncAndReturnAll();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public Object mgetAcrossSlots() {
+    return jedis.mget(keys);
+  }
+}
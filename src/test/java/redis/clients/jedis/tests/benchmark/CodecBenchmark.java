@@ -0,0 +1,135 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import redis.clients.redisson.client.codec.Codec;
+
+/**
+ * Encoding and decoding of a small object graph by the codecs of
+ * <code>redis.clients.redisson.codec</code>.
+ * <code>AvroJacksonCodec</code> needs a schema per class and isn't covered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+  public static class Order implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long id;
+    private String customer;
+    private Date created;
+    private List<String> items;
+    private Map<String, Integer> quantities;
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(long id) {
+      this.id = id;
+    }
+
+    public String getCustomer() {
+      return customer;
+    }
+
+    public void setCustomer(String customer) {
+      this.customer = customer;
+    }
+
+    public Date getCreated() {
+      return created;
+    }
+
+    public void setCreated(Date created) {
+      this.created = created;
+    }
+
+    public List<String> getItems() {
+      return items;
+    }
+
+    public void setItems(List<String> items) {
+      this.items = items;
+    }
+
+    public Map<String, Integer> getQuantities() {
+      return quantities;
+    }
+
+    public void setQuantities(Map<String, Integer> quantities) {
+      this.quantities = quantities;
+    }
+  }
+
+  @Param({ "JsonJacksonCodec", "CborJacksonCodec", "IonJacksonCodec", "MsgPackJacksonCodec", "SmileJacksonCodec",
+      "FstCodec", "KryoCodec", "SerializationCodec", "LZ4Codec", "SnappyCodec" })
+  public String codecName;
+
+  private Codec codec;
+  private Order order;
+  private ByteBuf encoded;
+
+  @Setup
+  public void setup() throws Exception {
+    codec = (Codec) Class.forName("redis.clients.redisson.codec." + codecName).newInstance();
+    order = new Order();
+    order.setId(1234567L);
+    order.setCustomer("customer-1234567");
+    order.setCreated(new Date());
+    List<String> items = new ArrayList<String>();
+    Map<String, Integer> quantities = new HashMap<String, Integer>();
+    for (int i = 0; i < 10; i++) {
+      items.add("item-" + i);
+      quantities.put("item-" + i, i);
+    }
+    order.setItems(items);
+    order.setQuantities(quantities);
+    encoded = codec.getValueEncoder().encode(order);
+  }
+
+  @TearDown
+  public void tearDown() {
+    encoded.release();
+  }
+
+  @Benchmark
+  public int encode() throws Exception {
+    ByteBuf buf = codec.getValueEncoder().encode(order);
+    try {
+      return buf.readableBytes();
+    } finally {
+      buf.release();
+    }
+  }
+
+  @Benchmark
+  public Object decode() throws Exception {
+    return codec.getValueDecoder().decode(encoded.duplicate(), null);
+  }
+}
@@ -0,0 +1,139 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.common.annotation.FieldSave;
+import redis.clients.common.annotation.FieldSave2Redis;
+import redis.clients.common.utils.EntityUtils;
+import redis.clients.common.utils.EntityUtils.EntitySaveEnum;
+import redis.clients.common.utils.ObjectUtils;
+import redis.clients.common.utils.TimeUtils;
+import redis.clients.entity.UserEntity;
+
+/**
+ * Compares per call reflective entity to hash mapping with the cached accessor plans used by EntityUtils and
+ * ObjectUtils, writing and reading back a UserEntity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityMappingBenchmark {
+  private UserEntity entity;
+
+  @Setup
+  public void setup() {
+    entity = new UserEntity(1L);
+    entity.setUid("uid-1");
+    entity.setName("name");
+    entity.setLevel(10);
+    entity.setDeleteTime(new Date());
+  }
+
+  @Benchmark
+  public UserEntity reflective() throws Exception {
+    Map<String, String> map = reflectiveWrite(entity);
+    return reflectiveRead(map, UserEntity.class.newInstance());
+  }
+
+  @Benchmark
+  public UserEntity accessor() {
+    Map<String, String> map = EntityUtils.getCacheValueMap(entity, EntitySaveEnum.Save2Redis);
+    return ObjectUtils.getObjFromMap(map, UserEntity.class);
+  }
+
+  /**
+   * Field walk, annotation checks and lookups on every call, as the mapping worked before accessor plans.
+   */
+  private static Map<String, String> reflectiveWrite(Object obj) throws Exception {
+    List<Field> fields = new ArrayList<Field>();
+    for (Class<?> clazz = obj.getClass(); clazz != Object.class; clazz = clazz.getSuperclass()) {
+      for (Field field : clazz.getDeclaredFields()) {
+        if (field.getAnnotation(FieldSave.class) != null || field.getAnnotation(FieldSave2Redis.class) != null) {
+          fields.add(field);
+        }
+      }
+    }
+    Map<String, String> map = new HashMap<String, String>();
+    for (Field field : fields) {
+      Field f = findField(obj.getClass(), field.getName());
+      f.setAccessible(true);
+      map.put(field.getName(), ObjectUtils.getObjectString(f.get(obj)));
+    }
+    return map;
+  }
+
+  private static <T> T reflectiveRead(Map<String, String> map, T obj) throws Exception {
+    for (Map.Entry<String, String> entry : map.entrySet()) {
+      String value = entry.getValue();
+      if (value == null || value.isEmpty()) {
+        continue;
+      }
+      Field field = findField(obj.getClass(), entry.getKey());
+      if (field == null) {
+        continue;
+      }
+      String name = entry.getKey();
+      Method method = findMethod(obj.getClass(), "set" + name.substring(0, 1).toUpperCase() + name.substring(1),
+        field.getType());
+      if (method == null) {
+        continue;
+      }
+      Class<?> type = field.getType();
+      if (type == int.class) {
+        method.invoke(obj, Integer.parseInt(value));
+      } else if (type == long.class) {
+        method.invoke(obj, Long.parseLong(value));
+      } else if (type == boolean.class) {
+        method.invoke(obj, Boolean.parseBoolean(value));
+      } else if (type == String.class) {
+        method.invoke(obj, value);
+      } else if (type == Date.class) {
+        method.invoke(obj, TimeUtils.stringToDate(value));
+      }
+    }
+    return obj;
+  }
+
+  private static Field findField(Class<?> clazz, String name) {
+    for (; clazz != Object.class; clazz = clazz.getSuperclass()) {
+      try {
+        return clazz.getDeclaredField(name);
+      } catch (NoSuchFieldException e) {
+        continue;
+      }
+    }
+    return null;
+  }
+
+  private static Method findMethod(Class<?> clazz, String name, Class<?> type) {
+    for (; clazz != Object.class; clazz = clazz.getSuperclass()) {
+      try {
+        return clazz.getDeclaredMethod(name, type);
+      } catch (NoSuchMethodException e) {
+        continue;
+      }
+    }
+    return null;
+  }
+}
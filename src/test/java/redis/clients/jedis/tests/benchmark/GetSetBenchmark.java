@@ -1,35 +1,59 @@
 package redis.clients.jedis.tests.benchmark;
 
-import java.io.IOException;
-import java.net.UnknownHostException;
-import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
 
-import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
-import redis.clients.jedis.tests.HostAndPortUtil;
-
+import redis.clients.jedis.tests.utils.EmbeddedRedisServer;
+
+/**
+ * SET and GET round trips of a single connection against an
+ * {@link EmbeddedRedisServer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
 public class GetSetBenchmark {
-  private static HostAndPort hnp = HostAndPortUtil.getRedisServers().get(0);
-  private static final int TOTAL_OPERATIONS = 100000;
-
-  public static void main(String[] args) throws UnknownHostException, IOException {
-    Jedis jedis = new Jedis(hnp.getHost(), hnp.getPort());
+  private EmbeddedRedisServer server;
+  private Jedis jedis;
+  private int n;
+
+  @Setup
+  public void setup() throws Exception {
+    server = new EmbeddedRedisServer().start();
+    jedis = new Jedis(server.getHost(), server.getPort());
     jedis.connect();
-    jedis.auth("foobared");
     jedis.flushAll();
+  }
 
-    long begin = Calendar.getInstance().getTimeInMillis();
-
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      String key = "foo" + n;
-      jedis.set(key, "bar" + n);
-      jedis.get(key);
-    }
-
-    long elapsed = Calendar.getInstance().getTimeInMillis() - begin;
-
+  @TearDown
+  public void tearDown() {
     jedis.disconnect();
+    server.stop();
+  }
+
+  @Benchmark
+  public String set() {
+    String key = "foo" + (n++ & 1023);
+    return jedis.set(key, key);
+  }
 
-    System.out.println(((1000 * 2 * TOTAL_OPERATIONS) / elapsed) + " ops");
+  @Benchmark
+  public String get() {
+    return jedis.get("foo" + (n++ & 1023));
   }
-}
\ No newline at end of file
+}
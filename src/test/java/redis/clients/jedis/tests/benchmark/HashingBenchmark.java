@@ -1,49 +1,62 @@
 package redis.clients.jedis.tests.benchmark;
 
-import java.io.IOException;
-import java.net.UnknownHostException;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
 
-import redis.clients.jedis.HostAndPort;
-import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisShardInfo;
 import redis.clients.jedis.ShardedJedis;
-import redis.clients.jedis.tests.HostAndPortUtil;
-
+import redis.clients.jedis.tests.utils.EmbeddedRedisServer;
+
+/**
+ * SET and GET through {@link ShardedJedis} over two {@link EmbeddedRedisServer}
+ * shards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
 public class HashingBenchmark {
-  private static HostAndPort hnp1 = HostAndPortUtil.getRedisServers().get(0);
-  private static HostAndPort hnp2 = HostAndPortUtil.getRedisServers().get(1);
-  private static final int TOTAL_OPERATIONS = 100000;
-
-  public static void main(String[] args) throws UnknownHostException, IOException {
+  private EmbeddedRedisServer server1;
+  private EmbeddedRedisServer server2;
+  private ShardedJedis jedis;
+  private int n;
+
+  @Setup
+  public void setup() throws Exception {
+    server1 = new EmbeddedRedisServer().start();
+    server2 = new EmbeddedRedisServer().start();
     List<JedisShardInfo> shards = new ArrayList<JedisShardInfo>();
-    JedisShardInfo shard = new JedisShardInfo(hnp1.getHost(), hnp1.getPort());
-    shard.setPassword("foobared");
-    shards.add(shard);
-    shard = new JedisShardInfo(hnp2.getHost(), hnp2.getPort());
-    shard.setPassword("foobared");
-    shards.add(shard);
-    ShardedJedis jedis = new ShardedJedis(shards);
-    Collection<Jedis> allShards = jedis.getAllShards();
-    for (Jedis j : allShards) {
-      j.flushAll();
-    }
-
-    long begin = Calendar.getInstance().getTimeInMillis();
-
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      String key = "foo" + n;
-      jedis.set(key, "bar" + n);
-      jedis.get(key);
-    }
-
-    long elapsed = Calendar.getInstance().getTimeInMillis() - begin;
+    shards.add(new JedisShardInfo(server1.getHost(), server1.getPort()));
+    shards.add(new JedisShardInfo(server2.getHost(), server2.getPort()));
+    jedis = new ShardedJedis(shards);
+  }
 
+  @TearDown
+  public void tearDown() {
     jedis.disconnect();
+    server1.stop();
+    server2.stop();
+  }
 
-    System.out.println(((1000 * 2 * TOTAL_OPERATIONS) / elapsed) + " ops");
+  @Benchmark
+  public String setGet() {
+    String key = "foo" + (n++ & 1023);
+    jedis.set(key, key);
+    return jedis.get(key);
   }
-}
\ No newline at end of file
+}
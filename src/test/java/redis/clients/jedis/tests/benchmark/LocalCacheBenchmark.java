@@ -0,0 +1,75 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.redisson.cache.Cache;
+import redis.clients.redisson.cache.LRUCacheMap;
+import redis.clients.redisson.cache.SampledLRUCacheMap;
+
+/**
+ * Compares read throughput of LRU and sampled LRU local caches with 1-64
+ * threads. Each thread does 1 write per 100 reads over twice as many keys as
+ * the cache holds, so eviction keeps running. JMH can't take thread count as
+ * a parameter, {@link BenchmarkRunner} runs this benchmark once per thread
+ * count of {@link BenchmarkRunner#THREAD_SWEEP}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalCacheBenchmark {
+  private static final int CACHE_SIZE = 10000;
+
+  @Param({ "LRU", "SAMPLED_LRU" })
+  public String policy;
+
+  private Cache<Integer, Integer> cache;
+
+  /**
+   * Counts reads of a thread to interleave writes.
+   */
+  @State(Scope.Thread)
+  public static class Operations {
+    private int count;
+
+    boolean isWrite() {
+      return ++count % 100 == 0;
+    }
+  }
+
+  @Setup
+  public void setup() {
+    if ("LRU".equals(policy)) {
+      cache = new LRUCacheMap<Integer, Integer>(CACHE_SIZE, 0, 0);
+    } else {
+      cache = new SampledLRUCacheMap<Integer, Integer>(CACHE_SIZE, 0, 0);
+    }
+    for (int i = 0; i < CACHE_SIZE; i++) {
+      cache.put(i, i);
+    }
+  }
+
+  @Benchmark
+  public Integer read(Operations operations) {
+    Integer key = ThreadLocalRandom.current().nextInt(CACHE_SIZE * 2);
+    if (operations.isWrite()) {
+      return cache.put(key, key);
+    }
+    return cache.get(key);
+  }
+}
@@ -1,38 +1,63 @@
 package redis.clients.jedis.tests.benchmark;
 
-import java.io.IOException;
-import java.net.UnknownHostException;
-import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
 
-import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.Pipeline;
-import redis.clients.jedis.tests.HostAndPortUtil;
-
+import redis.clients.jedis.tests.utils.EmbeddedRedisServer;
+
+/**
+ * Pipelined SET and GET against an {@link EmbeddedRedisServer}, synced every
+ * {@link #BATCH} commands.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
 public class PipelinedGetSetBenchmark {
-  private static HostAndPort hnp = HostAndPortUtil.getRedisServers().get(0);
-  private static final int TOTAL_OPERATIONS = 200000;
+  private static final int BATCH = 1000;
+
+  private EmbeddedRedisServer server;
+  private Jedis jedis;
 
-  public static void main(String[] args) throws UnknownHostException, IOException {
-    Jedis jedis = new Jedis(hnp.getHost(), hnp.getPort());
+  @Setup
+  public void setup() throws Exception {
+    server = new EmbeddedRedisServer().start();
+    jedis = new Jedis(server.getHost(), server.getPort());
     jedis.connect();
-    jedis.auth("foobared");
     jedis.flushAll();
+  }
 
-    long begin = Calendar.getInstance().getTimeInMillis();
+  @TearDown
+  public void tearDown() {
+    jedis.disconnect();
+    server.stop();
+  }
 
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void setGet() {
     Pipeline p = jedis.pipelined();
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
+    for (int n = 0; n < BATCH / 2; n++) {
       String key = "foo" + n;
       p.set(key, "bar" + n);
       p.get(key);
     }
     p.sync();
-
-    long elapsed = Calendar.getInstance().getTimeInMillis() - begin;
-
-    jedis.disconnect();
-
-    System.out.println(((1000 * 2 * TOTAL_OPERATIONS) / elapsed) + " ops");
   }
-}
\ No newline at end of file
+}
@@ -1,64 +1,63 @@
 package redis.clients.jedis.tests.benchmark;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
 
-import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
-import redis.clients.jedis.tests.HostAndPortUtil;
-
+import redis.clients.jedis.tests.utils.EmbeddedRedisServer;
+
+/**
+ * Borrowing a connection from a {@link JedisPool} shared by 16 threads for a
+ * SET and a GET against an {@link EmbeddedRedisServer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
 public class PoolBenchmark {
-  private static HostAndPort hnp = HostAndPortUtil.getRedisServers().get(0);
-  private static final int TOTAL_OPERATIONS = 100000;
-
-  public static void main(String[] args) throws Exception {
-    Jedis j = new Jedis(hnp.getHost(), hnp.getPort());
-    j.connect();
-    j.auth("foobared");
-    j.flushAll();
-    j.quit();
-    j.disconnect();
-    long t = System.currentTimeMillis();
-    // withoutPool();
-    withPool();
-    long elapsed = System.currentTimeMillis() - t;
-    System.out.println(((1000 * 2 * TOTAL_OPERATIONS) / elapsed) + " ops");
+  private EmbeddedRedisServer server;
+  private JedisPool pool;
+
+  @Setup
+  public void setup() throws Exception {
+    server = new EmbeddedRedisServer().start();
+    GenericObjectPoolConfig config = new GenericObjectPoolConfig();
+    config.setMaxTotal(16);
+    pool = new JedisPool(config, server.getHost(), server.getPort(), 2000);
   }
 
-  private static void withPool() throws Exception {
-    final JedisPool pool = new JedisPool(new GenericObjectPoolConfig(), hnp.getHost(),
-        hnp.getPort(), 2000, "foobared");
-    List<Thread> tds = new ArrayList<Thread>();
-
-    final AtomicInteger ind = new AtomicInteger();
-    for (int i = 0; i < 50; i++) {
-      Thread hj = new Thread(new Runnable() {
-        public void run() {
-          for (int i = 0; (i = ind.getAndIncrement()) < TOTAL_OPERATIONS;) {
-            try {
-              Jedis j = pool.getResource();
-              final String key = "foo" + i;
-              j.set(key, key);
-              j.get(key);
-              pool.returnResource(j);
-            } catch (Exception e) {
-              e.printStackTrace();
-            }
-          }
-        }
-      });
-      tds.add(hj);
-      hj.start();
-    }
-
-    for (Thread t : tds)
-      t.join();
-
+  @TearDown
+  public void tearDown() {
     pool.destroy();
+    server.stop();
+  }
 
+  @Benchmark
+  public String setGet() {
+    String key = "foo" + Thread.currentThread().getId();
+    Jedis j = pool.getResource();
+    try {
+      j.set(key, key);
+      return j.get(key);
+    } finally {
+      j.close();
+    }
   }
-}
\ No newline at end of file
+}
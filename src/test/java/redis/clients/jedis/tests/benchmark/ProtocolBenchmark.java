@@ -1,101 +1,145 @@
 package redis.clients.jedis.tests.benchmark;
 
-import redis.clients.jedis.Protocol;
-import redis.clients.util.RedisInputStream;
-import redis.clients.util.RedisOutputStream;
-
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.concurrent.TimeUnit;
 
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import redis.clients.jedis.Protocol;
+import redis.clients.util.RedisInputStream;
+import redis.clients.util.RedisOutputStream;
+
 /**
- * Copyright (c) 2014
+ * Encoding of commands and decoding of replies by {@link Protocol}, over
+ * {@link RedisOutputStream} and {@link RedisInputStream}. Every invocation
+ * handles {@link #BATCH} commands or replies, so the stream buffers are reused
+ * the way they are on a connection.
  */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
 public class ProtocolBenchmark {
-  private static final int TOTAL_OPERATIONS = 500000;
-
-  public static void main(String[] args) throws Exception, IOException {
-    long total = 0;
-    for (int at = 0; at != 10; ++at) {
-      long elapsed = measureInputMulti();
-      long ops = ((1000 * 2 * TOTAL_OPERATIONS) / TimeUnit.NANOSECONDS.toMillis(elapsed));
-      if (at >= 5) {
-        total += ops;
-      }
-    }
-    System.out.println((total / 5) + " avg");
-
-    total = 0;
-    for (int at = 0; at != 10; ++at) {
-      long elapsed = measureInputStatus();
-      long ops = ((1000 * 2 * TOTAL_OPERATIONS) / TimeUnit.NANOSECONDS.toMillis(elapsed));
-      if (at >= 5) {
-        total += ops;
-      }
-    }
+  private static final int BATCH = 1000;
 
-    System.out.println((total / 5) + " avg");
+  private static final byte[] KEY = "123456789".getBytes();
+  private static final byte[] VALUE = "FooBar".getBytes();
+  private static final byte[] LARGE_VALUE = new byte[16 * 1024];
 
-    total = 0;
-    for (int at = 0; at != 10; ++at) {
-      long elapsed = measureCommand();
-      long ops = ((1000 * 2 * TOTAL_OPERATIONS) / TimeUnit.NANOSECONDS.toMillis(elapsed));
-      if (at >= 5) {
-        total += ops;
-      }
+  private byte[] multiBulkReplies;
+  private byte[] bulkReplies;
+  private byte[] statusReplies;
+  private byte[] integerReplies;
+  private RedisOutputStream out;
+
+  private static final OutputStream NULL_OUTPUT = new OutputStream() {
+    @Override
+    public void write(int b) {
     }
 
-    System.out.println((total / 5) + " avg");
+    @Override
+    public void write(byte[] b, int off, int len) {
+    }
+  };
+
+  @Setup
+  public void setup() {
+    multiBulkReplies = repeat("*4\r\n$3\r\nfoo\r\n$13\r\nbarbarbarfooz\r\n$5\r\nHello\r\n$5\r\nWorld\r\n");
+    bulkReplies = repeat("$13\r\nbarbarbarfooz\r\n");
+    statusReplies = repeat("+OK\r\n");
+    integerReplies = repeat(":1234567\r\n");
+    out = new RedisOutputStream(NULL_OUTPUT);
   }
 
-  private static long measureInputMulti() throws Exception {
-    long duration = 0;
-
-    InputStream is = new ByteArrayInputStream(
-        "*4\r\n$3\r\nfoo\r\n$13\r\nbarbarbarfooz\r\n$5\r\nHello\r\n$5\r\nWorld\r\n".getBytes());
-
-    RedisInputStream in = new RedisInputStream(is);
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      long start = System.nanoTime();
-      Protocol.read(in);
-      duration += (System.nanoTime() - start);
-      in.reset();
+  private static byte[] repeat(String reply) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    byte[] encoded = reply.getBytes();
+    for (int i = 0; i < BATCH; i++) {
+      bytes.write(encoded, 0, encoded.length);
     }
+    return bytes.toByteArray();
+  }
 
-    return duration;
+  private static void readAll(byte[] replies, Blackhole bh) {
+    RedisInputStream in = new RedisInputStream(new ByteArrayInputStream(replies));
+    for (int i = 0; i < BATCH; i++) {
+      bh.consume(Protocol.read(in));
+    }
   }
 
-  private static long measureInputStatus() throws Exception {
-    long duration = 0;
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void readMultiBulk(Blackhole bh) {
+    readAll(multiBulkReplies, bh);
+  }
 
-    InputStream is = new ByteArrayInputStream("+OK\r\n".getBytes());
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void readBulk(Blackhole bh) {
+    readAll(bulkReplies, bh);
+  }
 
-    RedisInputStream in = new RedisInputStream(is);
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      long start = System.nanoTime();
-      Protocol.read(in);
-      duration += (System.nanoTime() - start);
-      in.reset();
-    }
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void readStatus(Blackhole bh) {
+    readAll(statusReplies, bh);
+  }
 
-    return duration;
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void readInteger(Blackhole bh) {
+    readAll(integerReplies, bh);
   }
 
-  private static long measureCommand() throws Exception {
-    long duration = 0;
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void sendSet() throws IOException {
+    for (int i = 0; i < BATCH; i++) {
+      Protocol.sendCommand(out, Protocol.Command.SET, KEY, VALUE);
+    }
+    out.flush();
+  }
 
-    byte[] KEY = "123456789".getBytes();
-    byte[] VAL = "FooBar".getBytes();
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void sendLargeSet() throws IOException {
+    for (int i = 0; i < BATCH; i++) {
+      Protocol.sendCommand(out, Protocol.Command.SET, KEY, LARGE_VALUE);
+    }
+    out.flush();
+  }
 
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      RedisOutputStream out = new RedisOutputStream(new ByteArrayOutputStream(8192));
-      long start = System.nanoTime();
-      Protocol.sendCommand(out, Protocol.Command.SET, KEY, VAL);
-      duration += (System.nanoTime() - start);
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void writeIntCrLf() throws IOException {
+    for (int i = 0; i < BATCH; i++) {
+      out.writeIntCrLf(i * 7919);
     }
+    out.flush();
+  }
 
-    return duration;
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void writeUtf8CrLf() throws IOException {
+    for (int i = 0; i < BATCH; i++) {
+      out.writeUtf8CrLf("héllo wörld");
+    }
+    out.flush();
   }
 }
@@ -0,0 +1,104 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import redis.clients.redisson.client.codec.StringCodec;
+import redis.clients.redisson.client.handler.CommandDecoder;
+import redis.clients.redisson.client.handler.CommandEncoder;
+import redis.clients.redisson.client.handler.CommandsQueue;
+import redis.clients.redisson.client.protocol.CommandData;
+import redis.clients.redisson.client.protocol.RedisCommand;
+import redis.clients.redisson.client.protocol.RedisCommands;
+import redis.clients.redisson.misc.RPromise;
+import redis.clients.redisson.misc.RedissonPromise;
+
+/**
+ * Redisson {@link CommandEncoder} and {@link CommandDecoder} in the pipeline
+ * order used by connections, on an embedded channel: a command is written,
+ * its encoded form dropped and the prepared reply is decoded into the promise.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedissonCommandBenchmark {
+  private EmbeddedChannel channel;
+  private ByteBuf bulkReply;
+  private ByteBuf listReply;
+  private ByteBuf mapReply;
+
+  @Setup
+  public void setup() {
+    channel = new EmbeddedChannel(CommandEncoder.INSTANCE, new CommandsQueue(), new CommandDecoder());
+    bulkReply = reply("$13\r\nbarbarbarfooz\r\n");
+    listReply = reply("*4\r\n$3\r\nfoo\r\n$13\r\nbarbarbarfooz\r\n$5\r\nHello\r\n$5\r\nWorld\r\n");
+    mapReply = reply("*4\r\n$6\r\nfield1\r\n$6\r\nvalue1\r\n$6\r\nfield2\r\n$6\r\nvalue2\r\n");
+  }
+
+  @TearDown
+  public void tearDown() {
+    channel.finishAndReleaseAll();
+    bulkReply.release();
+    listReply.release();
+    mapReply.release();
+  }
+
+  private static ByteBuf reply(String reply) {
+    return Unpooled.unreleasableBuffer(Unpooled.copiedBuffer(reply, CharsetUtil.US_ASCII));
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private Object execute(RedisCommand<?> command, ByteBuf reply, Object... params) {
+    RPromise<Object> promise = new RedissonPromise<Object>();
+    channel.writeOutbound(new CommandData(promise, StringCodec.INSTANCE, command, params));
+    ByteBuf encoded = channel.readOutbound();
+    encoded.release();
+    channel.writeInbound(reply.duplicate());
+    return promise.getNow();
+  }
+
+  @Benchmark
+  public int encode() {
+    channel.writeOutbound(new CommandData<Object, Object>(new RedissonPromise<Object>(), StringCodec.INSTANCE,
+        RedisCommands.SET, new Object[] { "123456789", "FooBar" }));
+    ByteBuf encoded = channel.readOutbound();
+    int size = encoded.readableBytes();
+    encoded.release();
+    // completes the command, so the queue sends the next one
+    channel.pipeline().get(CommandsQueue.class).sendNextCommand(channel);
+    return size;
+  }
+
+  @Benchmark
+  public Object get() {
+    return execute(RedisCommands.GET, bulkReply, "foo");
+  }
+
+  @Benchmark
+  public Object lrange() {
+    return execute(RedisCommands.LRANGE, listReply, "foo", 0, -1);
+  }
+
+  @Benchmark
+  public Object hgetall() {
+    return execute(RedisCommands.HGETALL, mapReply, "foo");
+  }
+}
@@ -0,0 +1,60 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.jedis.tests.utils.EmbeddedRedisServer;
+import redis.clients.redisson.Redisson;
+import redis.clients.redisson.api.RBucket;
+import redis.clients.redisson.api.RedissonClient;
+import redis.clients.redisson.client.codec.StringCodec;
+import redis.clients.redisson.config.Config;
+
+/**
+ * {@link RBucket} set and get from 4 threads against an
+ * {@link EmbeddedRedisServer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RedissonGetSetBenchmark {
+  private EmbeddedRedisServer server;
+  private RedissonClient redisson;
+
+  @Setup
+  public void setup() throws Exception {
+    server = new EmbeddedRedisServer().start();
+    Config config = new Config();
+    config.useSingleServer().setAddress(server.getAddress());
+    redisson = Redisson.create(config);
+  }
+
+  @TearDown
+  public void tearDown() {
+    redisson.shutdown();
+    server.stop();
+  }
+
+  @Benchmark
+  public String setGet() {
+    RBucket<String> bucket = redisson.getBucket("foo" + Thread.currentThread().getId(), StringCodec.INSTANCE);
+    bucket.set("bar");
+    return bucket.get();
+  }
+}
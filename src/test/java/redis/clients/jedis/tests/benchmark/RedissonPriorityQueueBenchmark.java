@@ -0,0 +1,87 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.redisson.Redisson;
+import redis.clients.redisson.api.PriorityScorer;
+import redis.clients.redisson.api.RPriorityQueue;
+import redis.clients.redisson.api.RedissonClient;
+import redis.clients.redisson.config.Config;
+
+/**
+ * Inserts from 4 threads into the lock based priority queue, which binary
+ * searches the list, and into the sorted set based scored priority queue.
+ * Both need Lua scripting, so they run against the redis-server given by the
+ * <code>redisAddress</code> system property, <code>redis://127.0.0.1:6379</code>
+ * by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RedissonPriorityQueueBenchmark {
+  public static class IntegerScorer implements PriorityScorer<Integer> {
+    @Override
+    public double getScore(Integer value) {
+      return value;
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Values {
+    private int value;
+
+    public int next() {
+      value = value * 1103515245 + 12345;
+      return value >>> 16;
+    }
+  }
+
+  private RedissonClient redisson;
+  private RPriorityQueue<Integer> lockQueue;
+  private RPriorityQueue<Integer> scoredQueue;
+
+  @Setup
+  public void setup() {
+    Config config = new Config();
+    config.useSingleServer().setAddress(System.getProperty("redisAddress", "redis://127.0.0.1:6379"));
+    redisson = Redisson.create(config);
+    lockQueue = redisson.getPriorityQueue("benchmark:lockQueue");
+    scoredQueue = redisson.getScoredPriorityQueue("benchmark:scoredQueue", new IntegerScorer());
+    lockQueue.clear();
+    scoredQueue.clear();
+  }
+
+  @TearDown
+  public void tearDown() {
+    lockQueue.clear();
+    scoredQueue.clear();
+    redisson.shutdown();
+  }
+
+  @Benchmark
+  public boolean lockQueueAdd(Values values) {
+    return lockQueue.add(values.next());
+  }
+
+  @Benchmark
+  public boolean scoredQueueAdd(Values values) {
+    return scoredQueue.add(values.next());
+  }
+}
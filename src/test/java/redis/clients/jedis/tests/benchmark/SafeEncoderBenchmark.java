@@ -1,35 +1,36 @@
 package redis.clients.jedis.tests.benchmark;
 
-import java.io.IOException;
-import java.net.UnknownHostException;
-import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
 
 import redis.clients.util.SafeEncoder;
 
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
 public class SafeEncoderBenchmark {
-  private static final int TOTAL_OPERATIONS = 10000000;
+  private String string = "foo bar!";
+  private byte[] bytes = "foo bar!".getBytes();
 
-  public static void main(String[] args) throws UnknownHostException, IOException {
-    long begin = Calendar.getInstance().getTimeInMillis();
-
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      SafeEncoder.encode("foo bar!");
-    }
-
-    long elapsed = Calendar.getInstance().getTimeInMillis() - begin;
-
-    System.out.println(((1000 * TOTAL_OPERATIONS) / elapsed) + " ops to build byte[]");
-
-    begin = Calendar.getInstance().getTimeInMillis();
-
-    byte[] bytes = "foo bar!".getBytes();
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      SafeEncoder.encode(bytes);
-    }
-
-    elapsed = Calendar.getInstance().getTimeInMillis() - begin;
-
-    System.out.println(((1000 * TOTAL_OPERATIONS) / elapsed) + " ops to build Strings");
+  @Benchmark
+  public byte[] encodeString() {
+    return SafeEncoder.encode(string);
+  }
 
+  @Benchmark
+  public String encodeBytes() {
+    return SafeEncoder.encode(bytes);
   }
-}
\ No newline at end of file
+}
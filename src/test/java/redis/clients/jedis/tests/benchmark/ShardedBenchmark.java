@@ -1,37 +1,72 @@
 package redis.clients.jedis.tests.benchmark;
 
-import java.io.IOException;
-import java.net.UnknownHostException;
-import java.util.Calendar;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisShardInfo;
 import redis.clients.util.Hashing;
+import redis.clients.util.Sharded;
 
+/**
+ * Key hashing and shard lookup on a ring of 8 shards. Creating the shards
+ * doesn't connect, so no server is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
 public class ShardedBenchmark {
-  private static final int TOTAL_OPERATIONS = 10000000;
+  private static final int KEYS = 1024;
 
-  public static void main(String[] args) throws UnknownHostException, IOException {
+  @Param({ "MURMUR_HASH", "MD5" })
+  public String hashing;
 
-    long begin = Calendar.getInstance().getTimeInMillis();
+  private Hashing algo;
+  private Sharded<Jedis, JedisShardInfo> sharded;
+  private String[] keys;
+  private int index;
 
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      String key = "foo" + n;
-      Hashing.MD5.hash(key);
+  @Setup
+  public void setup() throws Exception {
+    algo = (Hashing) Hashing.class.getField(hashing).get(null);
+    List<JedisShardInfo> shards = new ArrayList<JedisShardInfo>();
+    for (int i = 0; i < 8; i++) {
+      shards.add(new JedisShardInfo("localhost", 6379 + i));
     }
-
-    long elapsed = Calendar.getInstance().getTimeInMillis() - begin;
-
-    System.out.println(((1000 * TOTAL_OPERATIONS) / elapsed) + " MD5 ops");
-
-    begin = Calendar.getInstance().getTimeInMillis();
-
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      String key = "foo" + n;
-      Hashing.MURMUR_HASH.hash(key);
+    sharded = new Sharded<Jedis, JedisShardInfo>(shards, algo, Sharded.DEFAULT_KEY_TAG_PATTERN);
+    keys = new String[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      keys[i] = "foo" + i;
     }
+  }
 
-    elapsed = Calendar.getInstance().getTimeInMillis() - begin;
+  private String nextKey() {
+    return keys[index++ & (KEYS - 1)];
+  }
 
-    System.out.println(((1000 * TOTAL_OPERATIONS) / elapsed) + " Murmur ops");
+  @Benchmark
+  public long hash() {
+    return algo.hash(nextKey());
+  }
 
+  @Benchmark
+  public JedisShardInfo getShardInfo() {
+    return sharded.getShardInfo(nextKey());
   }
-}
\ No newline at end of file
+}
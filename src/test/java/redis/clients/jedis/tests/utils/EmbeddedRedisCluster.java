@@ -0,0 +1,241 @@
+package redis.clients.jedis.tests.utils;
+
+import static redis.clients.jedis.tests.utils.EmbeddedRedisDatabase.arg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.tests.utils.EmbeddedRedisDatabase.ReplyException;
+import redis.clients.util.JedisClusterCRC16;
+
+/**
+ * Cluster of {@link EmbeddedRedisServer} masters without slaves. The slots are
+ * spread evenly over the masters and answered with CLUSTER SLOTS, NODES and
+ * INFO, keys of other nodes' slots are redirected with MOVED.
+ * {@link #moveSlot(int, int)} reassigns a slot together with its keys, so
+ * clients with a stale slot cache get redirected.
+ * <p>
+ * All masters share one event loop thread, published messages are delivered
+ * to the subscribers of every master.
+ */
+public class EmbeddedRedisCluster {
+
+  public static final int SLOTS = 16384;
+
+  private final int masters;
+  private final List<EmbeddedRedisServer> servers = new ArrayList<EmbeddedRedisServer>();
+  // accessed from the event loop only
+  private final EmbeddedRedisServer[] owners = new EmbeddedRedisServer[SLOTS];
+  private EventLoopGroup bossGroup;
+  private EventLoopGroup workerGroup;
+  private long configEpoch;
+
+  public EmbeddedRedisCluster(int masters) {
+    if (masters < 1) {
+      throw new IllegalArgumentException("masters should be greater than 0");
+    }
+    this.masters = masters;
+  }
+
+  public EmbeddedRedisCluster start() throws InterruptedException {
+    bossGroup = new NioEventLoopGroup(1);
+    workerGroup = new NioEventLoopGroup(1);
+    for (int i = 0; i < masters; i++) {
+      EmbeddedRedisServer server = new EmbeddedRedisServer();
+      server.setCluster(this, String.format("%040x", i + 1));
+      server.start(bossGroup, workerGroup);
+      servers.add(server);
+    }
+    // assigned on the event loop, which publishes the servers to it as well
+    call(new Callable<Void>() {
+      @Override
+      public Void call() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+          owners[slot] = servers.get((int) ((long) slot * masters / SLOTS));
+        }
+        return null;
+      }
+    });
+    return this;
+  }
+
+  public void stop() {
+    for (EmbeddedRedisServer server : servers) {
+      server.stop();
+    }
+    servers.clear();
+    if (bossGroup != null) {
+      bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+      workerGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+      bossGroup = null;
+      workerGroup = null;
+    }
+  }
+
+  public List<EmbeddedRedisServer> getServers() {
+    return Collections.unmodifiableList(servers);
+  }
+
+  public Set<HostAndPort> getNodes() {
+    Set<HostAndPort> nodes = new HashSet<HostAndPort>();
+    for (EmbeddedRedisServer server : servers) {
+      nodes.add(server.getHostAndPort());
+    }
+    return nodes;
+  }
+
+  /**
+   * @return addresses in the form accepted by the Redisson config
+   */
+  public String[] getAddresses() {
+    String[] addresses = new String[servers.size()];
+    for (int i = 0; i < addresses.length; i++) {
+      addresses[i] = servers.get(i).getAddress();
+    }
+    return addresses;
+  }
+
+  public void setLatency(long latency, TimeUnit unit) {
+    for (EmbeddedRedisServer server : servers) {
+      server.setLatency(latency, unit);
+    }
+  }
+
+  /**
+   * @return index of the master serving <code>slot</code>
+   */
+  public int getOwner(final int slot) {
+    return call(new Callable<Integer>() {
+      @Override
+      public Integer call() {
+        return servers.indexOf(owners[slot]);
+      }
+    });
+  }
+
+  /**
+   * Assigns <code>slot</code> to the master with index <code>master</code> and
+   * moves the keys of the slot there.
+   */
+  public void moveSlot(final int slot, final int master) {
+    call(new Callable<Void>() {
+      @Override
+      public Void call() {
+        EmbeddedRedisServer target = servers.get(master);
+        if (owners[slot] != target) {
+          owners[slot].getDatabase().moveSlot(slot, target.getDatabase());
+          owners[slot] = target;
+          configEpoch++;
+        }
+        return null;
+      }
+    });
+  }
+
+  private <T> T call(Callable<T> task) {
+    return workerGroup.submit(task).syncUninterruptibly().getNow();
+  }
+
+  /**
+   * Called from the event loop.
+   */
+  EmbeddedRedisServer ownerOf(int slot) {
+    return owners[slot];
+  }
+
+  int publish(String channel, byte[] message) {
+    int receivers = 0;
+    for (EmbeddedRedisServer server : servers) {
+      receivers += server.publish(channel, message);
+    }
+    return receivers;
+  }
+
+  void execute(EmbeddedRedisServer server, String subcommand, List<byte[]> args, ByteBuf reply) {
+    switch (subcommand) {
+    case "SLOTS":
+      writeSlots(reply);
+      return;
+    case "NODES":
+      RespWriter.bulk(reply, EmbeddedRedisDatabase.bytes(nodes(server)));
+      return;
+    case "INFO":
+      RespWriter.bulk(reply, EmbeddedRedisDatabase.bytes("cluster_state:ok\r\ncluster_slots_assigned:" + SLOTS
+          + "\r\ncluster_slots_ok:" + SLOTS + "\r\ncluster_known_nodes:" + servers.size() + "\r\ncluster_size:"
+          + servers.size() + "\r\ncluster_current_epoch:" + configEpoch + "\r\n"));
+      return;
+    case "MYID":
+      RespWriter.bulk(reply, server.getNodeId());
+      return;
+    case "KEYSLOT":
+      RespWriter.integer(reply, JedisClusterCRC16.getSlot(args.get(2)));
+      return;
+    default:
+      throw new ReplyException("ERR Unknown subcommand or wrong number of arguments for '"
+          + arg(args, 1).toLowerCase(Locale.ENGLISH) + "'");
+    }
+  }
+
+  /**
+   * @return contiguous slot ranges as start, end and owner index triples
+   */
+  private List<int[]> ranges() {
+    List<int[]> ranges = new ArrayList<int[]>();
+    int start = 0;
+    for (int slot = 1; slot <= SLOTS; slot++) {
+      if (slot == SLOTS || owners[slot] != owners[start]) {
+        ranges.add(new int[] { start, slot - 1, servers.indexOf(owners[start]) });
+        start = slot;
+      }
+    }
+    return ranges;
+  }
+
+  private void writeSlots(ByteBuf reply) {
+    List<int[]> ranges = ranges();
+    RespWriter.arrayHeader(reply, ranges.size());
+    for (int[] range : ranges) {
+      EmbeddedRedisServer owner = servers.get(range[2]);
+      RespWriter.arrayHeader(reply, 3);
+      RespWriter.integer(reply, range[0]);
+      RespWriter.integer(reply, range[1]);
+      RespWriter.arrayHeader(reply, 3);
+      RespWriter.bulk(reply, owner.getHost());
+      RespWriter.integer(reply, owner.getPort());
+      RespWriter.bulk(reply, owner.getNodeId());
+    }
+  }
+
+  private String nodes(EmbeddedRedisServer self) {
+    List<int[]> ranges = ranges();
+    StringBuilder nodes = new StringBuilder();
+    for (int i = 0; i < servers.size(); i++) {
+      EmbeddedRedisServer server = servers.get(i);
+      nodes.append(server.getNodeId()).append(' ').append(server.getHost()).append(':').append(server.getPort())
+          .append('@').append(server.getPort() + 10000).append(' ')
+          .append(server == self ? "myself,master" : "master").append(" - 0 0 ").append(configEpoch)
+          .append(" connected");
+      for (int[] range : ranges) {
+        if (range[2] != i) {
+          continue;
+        }
+        nodes.append(' ').append(range[0]);
+        if (range[1] != range[0]) {
+          nodes.append('-').append(range[1]);
+        }
+      }
+      nodes.append('\n');
+    }
+    return nodes.toString();
+  }
+}
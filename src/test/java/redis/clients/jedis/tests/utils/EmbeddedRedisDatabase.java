@@ -0,0 +1,1128 @@
+package redis.clients.jedis.tests.utils;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+import redis.clients.util.JedisClusterCRC16;
+
+/**
+ * Key space of an {@link EmbeddedRedisServer} with the key, string, hash,
+ * list, set and sorted set commands. Not thread safe, the server only accesses
+ * it from its event loop.
+ * <p>
+ * Keys, hash fields and set members are kept as ISO-8859-1 strings, which map
+ * every byte to one char and back, so they stay binary safe.
+ */
+public class EmbeddedRedisDatabase {
+
+  static final Charset CHARSET = CharsetUtil.ISO_8859_1;
+
+  private static final String WRONGTYPE = "WRONGTYPE Operation against a key holding the wrong kind of value";
+
+  /**
+   * Error sent to the client as is.
+   */
+  static class ReplyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ReplyException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * Sorted set ordered by score, then by member.
+   */
+  private static class SortedSet {
+    private final Map<String, Double> scores = new HashMap<String, Double>();
+    private final TreeSet<String> members = new TreeSet<String>(new Comparator<String>() {
+      @Override
+      public int compare(String o1, String o2) {
+        int res = Double.compare(scores.get(o1), scores.get(o2));
+        return res != 0 ? res : o1.compareTo(o2);
+      }
+    });
+
+    /**
+     * @return <code>true</code> if member was added
+     */
+    boolean put(String member, double score) {
+      Double old = scores.get(member);
+      if (old != null) {
+        members.remove(member);
+      }
+      scores.put(member, score);
+      members.add(member);
+      return old == null;
+    }
+
+    boolean remove(String member) {
+      if (!scores.containsKey(member)) {
+        return false;
+      }
+      members.remove(member);
+      scores.remove(member);
+      return true;
+    }
+
+    int size() {
+      return scores.size();
+    }
+  }
+
+  private final Map<String, Object> data = new HashMap<String, Object>();
+  private final Map<String, Long> expires = new HashMap<String, Long>();
+
+  static String string(byte[] arg) {
+    return new String(arg, CHARSET);
+  }
+
+  static byte[] bytes(String value) {
+    return value.getBytes(CHARSET);
+  }
+
+  static String arg(List<byte[]> args, int index) {
+    return string(args.get(index));
+  }
+
+  static Pattern glob(String pattern) {
+    StringBuilder regex = new StringBuilder();
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == '*') {
+        regex.append(".*");
+      } else if (c == '?') {
+        regex.append('.');
+      } else if (c == '[') {
+        int end = pattern.indexOf(']', i + 1);
+        if (end < 0) {
+          regex.append("\\[");
+          continue;
+        }
+        String set = pattern.substring(i + 1, end);
+        regex.append('[');
+        if (set.startsWith("^")) {
+          regex.append('^');
+          set = set.substring(1);
+        }
+        regex.append(set.replace("\\", "\\\\").replace("[", "\\["));
+        regex.append(']');
+        i = end;
+      } else if (c == '\\' && i + 1 < pattern.length()) {
+        regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+      }
+    }
+    return Pattern.compile(regex.toString(), Pattern.DOTALL);
+  }
+
+  public int size() {
+    purgeExpired();
+    return data.size();
+  }
+
+  public void clear() {
+    data.clear();
+    expires.clear();
+  }
+
+  public boolean exists(String key) {
+    return lookup(key) != null;
+  }
+
+  /**
+   * Moves the keys of <code>slot</code> to <code>target</code>, like a finished
+   * slot migration.
+   */
+  public void moveSlot(int slot, EmbeddedRedisDatabase target) {
+    purgeExpired();
+    for (Iterator<Map.Entry<String, Object>> iterator = data.entrySet().iterator(); iterator.hasNext();) {
+      Map.Entry<String, Object> entry = iterator.next();
+      String key = entry.getKey();
+      if (JedisClusterCRC16.getSlot(bytes(key)) != slot) {
+        continue;
+      }
+      target.data.put(key, entry.getValue());
+      Long expire = expires.remove(key);
+      if (expire != null) {
+        target.expires.put(key, expire);
+      }
+      iterator.remove();
+    }
+  }
+
+  private Object lookup(String key) {
+    Long expire = expires.get(key);
+    if (expire != null && expire <= System.currentTimeMillis()) {
+      expires.remove(key);
+      data.remove(key);
+      return null;
+    }
+    return data.get(key);
+  }
+
+  private void purgeExpired() {
+    long now = System.currentTimeMillis();
+    for (Iterator<Map.Entry<String, Long>> iterator = expires.entrySet().iterator(); iterator.hasNext();) {
+      Map.Entry<String, Long> entry = iterator.next();
+      if (entry.getValue() <= now) {
+        data.remove(entry.getKey());
+        iterator.remove();
+      }
+    }
+  }
+
+  private Object remove(String key) {
+    expires.remove(key);
+    return data.remove(key);
+  }
+
+  private void put(String key, Object value) {
+    expires.remove(key);
+    data.put(key, value);
+  }
+
+  private <T> T get(String key, Class<T> type) {
+    Object value = lookup(key);
+    if (value == null) {
+      return null;
+    }
+    if (!type.isInstance(value)) {
+      throw new ReplyException(WRONGTYPE);
+    }
+    return type.cast(value);
+  }
+
+  private byte[] getString(String key) {
+    return get(key, byte[].class);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, byte[]> getHash(String key, boolean create) {
+    Map<String, byte[]> hash = get(key, LinkedHashMap.class);
+    if (hash == null && create) {
+      hash = new LinkedHashMap<String, byte[]>();
+      data.put(key, hash);
+    }
+    return hash;
+  }
+
+  @SuppressWarnings("unchecked")
+  private LinkedList<byte[]> getList(String key, boolean create) {
+    LinkedList<byte[]> list = get(key, LinkedList.class);
+    if (list == null && create) {
+      list = new LinkedList<byte[]>();
+      data.put(key, list);
+    }
+    return list;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Set<String> getSet(String key, boolean create) {
+    Set<String> set = get(key, LinkedHashSet.class);
+    if (set == null && create) {
+      set = new LinkedHashSet<String>();
+      data.put(key, set);
+    }
+    return set;
+  }
+
+  private SortedSet getSortedSet(String key, boolean create) {
+    SortedSet zset = get(key, SortedSet.class);
+    if (zset == null && create) {
+      zset = new SortedSet();
+      data.put(key, zset);
+    }
+    return zset;
+  }
+
+  /**
+   * Empty collections are removed as Redis does.
+   */
+  private void removeIfEmpty(String key, int size) {
+    if (size == 0) {
+      remove(key);
+    }
+  }
+
+  /**
+   * @return <code>false</code> if the command is not known
+   */
+  public boolean execute(String name, List<byte[]> args, ByteBuf reply) {
+    return executeKeyCommand(name, args, reply) || executeStringCommand(name, args, reply)
+        || executeHashCommand(name, args, reply) || executeListCommand(name, args, reply)
+        || executeSetCommand(name, args, reply) || executeSortedSetCommand(name, args, reply);
+  }
+
+  private boolean executeKeyCommand(String name, List<byte[]> args, ByteBuf reply) {
+    switch (name) {
+    case "FLUSHDB":
+    case "FLUSHALL":
+      clear();
+      RespWriter.ok(reply);
+      return true;
+    case "DBSIZE":
+      RespWriter.integer(reply, size());
+      return true;
+    case "DEL":
+    case "UNLINK": {
+      int removed = 0;
+      for (int i = 1; i < args.size(); i++) {
+        String key = arg(args, i);
+        if (lookup(key) != null) {
+          remove(key);
+          removed++;
+        }
+      }
+      RespWriter.integer(reply, removed);
+      return true;
+    }
+    case "EXISTS": {
+      int found = 0;
+      for (int i = 1; i < args.size(); i++) {
+        if (lookup(arg(args, i)) != null) {
+          found++;
+        }
+      }
+      RespWriter.integer(reply, found);
+      return true;
+    }
+    case "TYPE":
+      RespWriter.status(reply, type(lookup(arg(args, 1))));
+      return true;
+    case "KEYS": {
+      purgeExpired();
+      Pattern pattern = glob(arg(args, 1));
+      List<String> keys = new ArrayList<String>();
+      for (String key : data.keySet()) {
+        if (pattern.matcher(key).matches()) {
+          keys.add(key);
+        }
+      }
+      RespWriter.bulkArray(reply, keys);
+      return true;
+    }
+    case "SCAN":
+      purgeExpired();
+      scan(new ArrayList<String>(data.keySet()), args, 1, reply, null);
+      return true;
+    case "RENAME": {
+      String key = arg(args, 1);
+      Object value = lookup(key);
+      if (value == null) {
+        throw new ReplyException("ERR no such key");
+      }
+      Long expire = expires.get(key);
+      remove(key);
+      put(arg(args, 2), value);
+      if (expire != null) {
+        expires.put(arg(args, 2), expire);
+      }
+      RespWriter.ok(reply);
+      return true;
+    }
+    case "EXPIRE":
+      RespWriter.integer(reply, expire(arg(args, 1), Long.parseLong(arg(args, 2)) * 1000) ? 1 : 0);
+      return true;
+    case "PEXPIRE":
+      RespWriter.integer(reply, expire(arg(args, 1), Long.parseLong(arg(args, 2))) ? 1 : 0);
+      return true;
+    case "PERSIST":
+      RespWriter.integer(reply, lookup(arg(args, 1)) != null && expires.remove(arg(args, 1)) != null ? 1 : 0);
+      return true;
+    case "TTL":
+    case "PTTL": {
+      String key = arg(args, 1);
+      long ttl;
+      if (lookup(key) == null) {
+        ttl = -2;
+      } else if (!expires.containsKey(key)) {
+        ttl = -1;
+      } else {
+        ttl = expires.get(key) - System.currentTimeMillis();
+        if ("TTL".equals(name)) {
+          ttl = (ttl + 500) / 1000;
+        }
+      }
+      RespWriter.integer(reply, ttl);
+      return true;
+    }
+    default:
+      return false;
+    }
+  }
+
+  private static String type(Object value) {
+    if (value == null) {
+      return "none";
+    }
+    if (value instanceof byte[]) {
+      return "string";
+    }
+    if (value instanceof Map) {
+      return "hash";
+    }
+    if (value instanceof List) {
+      return "list";
+    }
+    if (value instanceof Set) {
+      return "set";
+    }
+    return "zset";
+  }
+
+  private boolean expire(String key, long millis) {
+    if (lookup(key) == null) {
+      return false;
+    }
+    if (millis <= 0) {
+      remove(key);
+    } else {
+      expires.put(key, System.currentTimeMillis() + millis);
+    }
+    return true;
+  }
+
+  /**
+   * SCAN family with the cursor as offset into the sorted elements, so the
+   * iteration is stable while the collection isn't modified. If
+   * <code>values</code> is given, the value of each element follows it, as for
+   * HSCAN and ZSCAN.
+   */
+  private static void scan(List<String> elements, List<byte[]> args, int cursorIndex, ByteBuf reply,
+      Map<String, ?> values) {
+    Collections.sort(elements);
+    int cursor = Integer.parseInt(arg(args, cursorIndex));
+    int count = 10;
+    Pattern pattern = null;
+    for (int i = cursorIndex + 1; i < args.size(); i += 2) {
+      String option = arg(args, i).toUpperCase(Locale.ENGLISH);
+      if ("MATCH".equals(option)) {
+        pattern = glob(arg(args, i + 1));
+      } else if ("COUNT".equals(option)) {
+        count = Integer.parseInt(arg(args, i + 1));
+      } else {
+        throw new ReplyException("ERR syntax error");
+      }
+    }
+    int end = Math.min(elements.size(), cursor + count);
+    List<Object> page = new ArrayList<Object>();
+    for (int i = cursor; i < end; i++) {
+      String element = elements.get(i);
+      if (pattern != null && !pattern.matcher(element).matches()) {
+        continue;
+      }
+      page.add(element);
+      if (values != null) {
+        Object value = values.get(element);
+        page.add(value instanceof Double ? formatScore((Double) value) : value);
+      }
+    }
+    RespWriter.arrayHeader(reply, 2);
+    RespWriter.bulk(reply, String.valueOf(end >= elements.size() ? 0 : end));
+    RespWriter.bulkArray(reply, page);
+  }
+
+  private boolean executeStringCommand(String name, List<byte[]> args, ByteBuf reply) {
+    switch (name) {
+    case "GET":
+      RespWriter.bulk(reply, getString(arg(args, 1)));
+      return true;
+    case "SET":
+      set(args, reply);
+      return true;
+    case "SETEX":
+    case "PSETEX": {
+      String key = arg(args, 1);
+      long ttl = Long.parseLong(arg(args, 2));
+      put(key, args.get(3));
+      expire(key, "SETEX".equals(name) ? ttl * 1000 : ttl);
+      RespWriter.ok(reply);
+      return true;
+    }
+    case "SETNX": {
+      String key = arg(args, 1);
+      boolean absent = lookup(key) == null;
+      if (absent) {
+        put(key, args.get(2));
+      }
+      RespWriter.integer(reply, absent ? 1 : 0);
+      return true;
+    }
+    case "GETSET": {
+      String key = arg(args, 1);
+      byte[] old = getString(key);
+      put(key, args.get(2));
+      RespWriter.bulk(reply, old);
+      return true;
+    }
+    case "MGET":
+      RespWriter.arrayHeader(reply, args.size() - 1);
+      for (int i = 1; i < args.size(); i++) {
+        Object value = lookup(arg(args, i));
+        RespWriter.bulk(reply, value instanceof byte[] ? (byte[]) value : null);
+      }
+      return true;
+    case "MSET":
+      if (args.size() % 2 == 0) {
+        throw new IndexOutOfBoundsException();
+      }
+      for (int i = 1; i < args.size(); i += 2) {
+        put(arg(args, i), args.get(i + 1));
+      }
+      RespWriter.ok(reply);
+      return true;
+    case "INCR":
+      RespWriter.integer(reply, incrBy(arg(args, 1), 1));
+      return true;
+    case "INCRBY":
+      RespWriter.integer(reply, incrBy(arg(args, 1), Long.parseLong(arg(args, 2))));
+      return true;
+    case "DECR":
+      RespWriter.integer(reply, incrBy(arg(args, 1), -1));
+      return true;
+    case "DECRBY":
+      RespWriter.integer(reply, incrBy(arg(args, 1), -Long.parseLong(arg(args, 2))));
+      return true;
+    case "APPEND": {
+      String key = arg(args, 1);
+      byte[] value = getString(key);
+      byte[] suffix = args.get(2);
+      byte[] appended;
+      if (value == null) {
+        appended = suffix;
+      } else {
+        appended = new byte[value.length + suffix.length];
+        System.arraycopy(value, 0, appended, 0, value.length);
+        System.arraycopy(suffix, 0, appended, value.length, suffix.length);
+      }
+      data.put(key, appended);
+      RespWriter.integer(reply, appended.length);
+      return true;
+    }
+    case "STRLEN": {
+      byte[] value = getString(arg(args, 1));
+      RespWriter.integer(reply, value == null ? 0 : value.length);
+      return true;
+    }
+    default:
+      return false;
+    }
+  }
+
+  /**
+   * SET with the NX, XX, EX and PX options.
+   */
+  private void set(List<byte[]> args, ByteBuf reply) {
+    String key = arg(args, 1);
+    boolean nx = false;
+    boolean xx = false;
+    long ttl = 0;
+    for (int i = 3; i < args.size(); i++) {
+      String option = arg(args, i).toUpperCase(Locale.ENGLISH);
+      if ("NX".equals(option)) {
+        nx = true;
+      } else if ("XX".equals(option)) {
+        xx = true;
+      } else if ("EX".equals(option)) {
+        ttl = Long.parseLong(arg(args, ++i)) * 1000;
+      } else if ("PX".equals(option)) {
+        ttl = Long.parseLong(arg(args, ++i));
+      } else {
+        throw new ReplyException("ERR syntax error");
+      }
+    }
+    boolean exists = lookup(key) != null;
+    if ((nx && exists) || (xx && !exists)) {
+      RespWriter.nullBulk(reply);
+      return;
+    }
+    put(key, args.get(2));
+    if (ttl > 0) {
+      expire(key, ttl);
+    }
+    RespWriter.ok(reply);
+  }
+
+  private long incrBy(String key, long increment) {
+    byte[] value = getString(key);
+    long result;
+    try {
+      result = (value == null ? 0 : Long.parseLong(string(value))) + increment;
+    } catch (NumberFormatException e) {
+      throw new ReplyException("ERR value is not an integer or out of range");
+    }
+    data.put(key, bytes(String.valueOf(result)));
+    return result;
+  }
+
+  private boolean executeHashCommand(String name, List<byte[]> args, ByteBuf reply) {
+    switch (name) {
+    case "HSET":
+    case "HMSET": {
+      if (args.size() < 4 || args.size() % 2 != 0) {
+        throw new IndexOutOfBoundsException();
+      }
+      Map<String, byte[]> hash = getHash(arg(args, 1), true);
+      int added = 0;
+      for (int i = 2; i < args.size(); i += 2) {
+        if (hash.put(arg(args, i), args.get(i + 1)) == null) {
+          added++;
+        }
+      }
+      if ("HMSET".equals(name)) {
+        RespWriter.ok(reply);
+      } else {
+        RespWriter.integer(reply, added);
+      }
+      return true;
+    }
+    case "HSETNX": {
+      Map<String, byte[]> hash = getHash(arg(args, 1), true);
+      String field = arg(args, 2);
+      boolean absent = !hash.containsKey(field);
+      if (absent) {
+        hash.put(field, args.get(3));
+      }
+      RespWriter.integer(reply, absent ? 1 : 0);
+      return true;
+    }
+    case "HGET": {
+      Map<String, byte[]> hash = getHash(arg(args, 1), false);
+      RespWriter.bulk(reply, hash == null ? null : hash.get(arg(args, 2)));
+      return true;
+    }
+    case "HMGET": {
+      Map<String, byte[]> hash = getHash(arg(args, 1), false);
+      RespWriter.arrayHeader(reply, args.size() - 2);
+      for (int i = 2; i < args.size(); i++) {
+        RespWriter.bulk(reply, hash == null ? null : hash.get(arg(args, i)));
+      }
+      return true;
+    }
+    case "HDEL": {
+      String key = arg(args, 1);
+      Map<String, byte[]> hash = getHash(key, false);
+      int removed = 0;
+      if (hash != null) {
+        for (int i = 2; i < args.size(); i++) {
+          if (hash.remove(arg(args, i)) != null) {
+            removed++;
+          }
+        }
+        removeIfEmpty(key, hash.size());
+      }
+      RespWriter.integer(reply, removed);
+      return true;
+    }
+    case "HEXISTS": {
+      Map<String, byte[]> hash = getHash(arg(args, 1), false);
+      RespWriter.integer(reply, hash != null && hash.containsKey(arg(args, 2)) ? 1 : 0);
+      return true;
+    }
+    case "HLEN": {
+      Map<String, byte[]> hash = getHash(arg(args, 1), false);
+      RespWriter.integer(reply, hash == null ? 0 : hash.size());
+      return true;
+    }
+    case "HKEYS": {
+      Map<String, byte[]> hash = getHash(arg(args, 1), false);
+      RespWriter.bulkArray(reply, hash == null ? Collections.<String> emptySet() : hash.keySet());
+      return true;
+    }
+    case "HVALS": {
+      Map<String, byte[]> hash = getHash(arg(args, 1), false);
+      RespWriter.bulkArray(reply, hash == null ? Collections.<byte[]> emptyList() : hash.values());
+      return true;
+    }
+    case "HGETALL": {
+      Map<String, byte[]> hash = getHash(arg(args, 1), false);
+      if (hash == null) {
+        hash = Collections.emptyMap();
+      }
+      RespWriter.arrayHeader(reply, hash.size() * 2);
+      for (Map.Entry<String, byte[]> entry : hash.entrySet()) {
+        RespWriter.bulk(reply, entry.getKey());
+        RespWriter.bulk(reply, entry.getValue());
+      }
+      return true;
+    }
+    case "HINCRBY": {
+      Map<String, byte[]> hash = getHash(arg(args, 1), true);
+      String field = arg(args, 2);
+      byte[] value = hash.get(field);
+      long result = (value == null ? 0 : Long.parseLong(string(value))) + Long.parseLong(arg(args, 3));
+      hash.put(field, bytes(String.valueOf(result)));
+      RespWriter.integer(reply, result);
+      return true;
+    }
+    case "HSCAN": {
+      Map<String, byte[]> hash = getHash(arg(args, 1), false);
+      if (hash == null) {
+        hash = Collections.emptyMap();
+      }
+      scan(new ArrayList<String>(hash.keySet()), args, 2, reply, hash);
+      return true;
+    }
+    default:
+      return false;
+    }
+  }
+
+  private boolean executeListCommand(String name, List<byte[]> args, ByteBuf reply) {
+    switch (name) {
+    case "LPUSH":
+    case "RPUSH": {
+      LinkedList<byte[]> list = getList(arg(args, 1), true);
+      for (int i = 2; i < args.size(); i++) {
+        if ("LPUSH".equals(name)) {
+          list.addFirst(args.get(i));
+        } else {
+          list.addLast(args.get(i));
+        }
+      }
+      RespWriter.integer(reply, list.size());
+      return true;
+    }
+    case "LPOP":
+    case "RPOP": {
+      String key = arg(args, 1);
+      LinkedList<byte[]> list = getList(key, false);
+      if (list == null) {
+        RespWriter.nullBulk(reply);
+        return true;
+      }
+      RespWriter.bulk(reply, "LPOP".equals(name) ? list.removeFirst() : list.removeLast());
+      removeIfEmpty(key, list.size());
+      return true;
+    }
+    case "LLEN": {
+      LinkedList<byte[]> list = getList(arg(args, 1), false);
+      RespWriter.integer(reply, list == null ? 0 : list.size());
+      return true;
+    }
+    case "LRANGE": {
+      LinkedList<byte[]> list = getList(arg(args, 1), false);
+      if (list == null) {
+        list = new LinkedList<byte[]>();
+      }
+      int[] range = range(list.size(), Long.parseLong(arg(args, 2)), Long.parseLong(arg(args, 3)));
+      RespWriter.bulkArray(reply, list.subList(range[0], range[1]));
+      return true;
+    }
+    case "LINDEX": {
+      LinkedList<byte[]> list = getList(arg(args, 1), false);
+      int index = list == null ? -1 : index(list.size(), Long.parseLong(arg(args, 2)));
+      RespWriter.bulk(reply, index < 0 ? null : list.get(index));
+      return true;
+    }
+    case "LSET": {
+      LinkedList<byte[]> list = getList(arg(args, 1), false);
+      if (list == null) {
+        throw new ReplyException("ERR no such key");
+      }
+      int index = index(list.size(), Long.parseLong(arg(args, 2)));
+      if (index < 0) {
+        throw new ReplyException("ERR index out of range");
+      }
+      list.set(index, args.get(3));
+      RespWriter.ok(reply);
+      return true;
+    }
+    case "LREM": {
+      String key = arg(args, 1);
+      LinkedList<byte[]> list = getList(key, false);
+      long count = Long.parseLong(arg(args, 2));
+      String value = arg(args, 3);
+      int removed = 0;
+      if (list != null) {
+        long limit = count == 0 ? Long.MAX_VALUE : Math.abs(count);
+        ListIterator<byte[]> iterator = count < 0 ? list.listIterator(list.size()) : list.listIterator();
+        while (removed < limit && (count < 0 ? iterator.hasPrevious() : iterator.hasNext())) {
+          byte[] element = count < 0 ? iterator.previous() : iterator.next();
+          if (value.equals(string(element))) {
+            iterator.remove();
+            removed++;
+          }
+        }
+        removeIfEmpty(key, list.size());
+      }
+      RespWriter.integer(reply, removed);
+      return true;
+    }
+    case "LTRIM": {
+      String key = arg(args, 1);
+      LinkedList<byte[]> list = getList(key, false);
+      if (list != null) {
+        int[] range = range(list.size(), Long.parseLong(arg(args, 2)), Long.parseLong(arg(args, 3)));
+        List<byte[]> kept = new ArrayList<byte[]>(list.subList(range[0], range[1]));
+        list.clear();
+        list.addAll(kept);
+        removeIfEmpty(key, list.size());
+      }
+      RespWriter.ok(reply);
+      return true;
+    }
+    default:
+      return false;
+    }
+  }
+
+  /**
+   * @return index for <code>index</code> which may count from the end, or -1
+   *         if it is out of range
+   */
+  private static int index(int size, long index) {
+    if (index < 0) {
+      index += size;
+    }
+    return index < 0 || index >= size ? -1 : (int) index;
+  }
+
+  /**
+   * @return from inclusive and to exclusive indexes of the inclusive range
+   *         <code>start</code>..<code>stop</code>, empty if out of range
+   */
+  private static int[] range(int size, long start, long stop) {
+    if (start < 0) {
+      start = Math.max(0, start + size);
+    }
+    if (stop < 0) {
+      stop += size;
+    }
+    stop = Math.min(stop, size - 1);
+    if (start > stop || start >= size) {
+      return new int[] { 0, 0 };
+    }
+    return new int[] { (int) start, (int) stop + 1 };
+  }
+
+  private boolean executeSetCommand(String name, List<byte[]> args, ByteBuf reply) {
+    switch (name) {
+    case "SADD": {
+      Set<String> set = getSet(arg(args, 1), true);
+      int added = 0;
+      for (int i = 2; i < args.size(); i++) {
+        if (set.add(arg(args, i))) {
+          added++;
+        }
+      }
+      RespWriter.integer(reply, added);
+      return true;
+    }
+    case "SREM": {
+      String key = arg(args, 1);
+      Set<String> set = getSet(key, false);
+      int removed = 0;
+      if (set != null) {
+        for (int i = 2; i < args.size(); i++) {
+          if (set.remove(arg(args, i))) {
+            removed++;
+          }
+        }
+        removeIfEmpty(key, set.size());
+      }
+      RespWriter.integer(reply, removed);
+      return true;
+    }
+    case "SMEMBERS": {
+      Set<String> set = getSet(arg(args, 1), false);
+      RespWriter.bulkArray(reply, set == null ? Collections.<String> emptySet() : set);
+      return true;
+    }
+    case "SISMEMBER": {
+      Set<String> set = getSet(arg(args, 1), false);
+      RespWriter.integer(reply, set != null && set.contains(arg(args, 2)) ? 1 : 0);
+      return true;
+    }
+    case "SCARD": {
+      Set<String> set = getSet(arg(args, 1), false);
+      RespWriter.integer(reply, set == null ? 0 : set.size());
+      return true;
+    }
+    case "SPOP": {
+      String key = arg(args, 1);
+      Set<String> set = getSet(key, false);
+      if (set == null) {
+        RespWriter.nullBulk(reply);
+        return true;
+      }
+      Iterator<String> iterator = set.iterator();
+      RespWriter.bulk(reply, iterator.next());
+      iterator.remove();
+      removeIfEmpty(key, set.size());
+      return true;
+    }
+    case "SINTER":
+    case "SUNION":
+    case "SDIFF": {
+      Set<String> result = null;
+      for (int i = 1; i < args.size(); i++) {
+        Set<String> set = getSet(arg(args, i), false);
+        Collection<String> members = set == null ? Collections.<String> emptySet() : set;
+        if (result == null) {
+          result = new LinkedHashSet<String>(members);
+        } else if ("SINTER".equals(name)) {
+          result.retainAll(members);
+        } else if ("SUNION".equals(name)) {
+          result.addAll(members);
+        } else {
+          result.removeAll(members);
+        }
+      }
+      RespWriter.bulkArray(reply, result);
+      return true;
+    }
+    case "SSCAN": {
+      Set<String> set = getSet(arg(args, 1), false);
+      scan(set == null ? new ArrayList<String>() : new ArrayList<String>(set), args, 2, reply, null);
+      return true;
+    }
+    default:
+      return false;
+    }
+  }
+
+  private boolean executeSortedSetCommand(String name, List<byte[]> args, ByteBuf reply) {
+    switch (name) {
+    case "ZADD":
+      zadd(args, reply);
+      return true;
+    case "ZINCRBY": {
+      SortedSet zset = getSortedSet(arg(args, 1), true);
+      String member = arg(args, 3);
+      Double score = zset.scores.get(member);
+      double result = (score == null ? 0 : score) + parseScore(arg(args, 2));
+      zset.put(member, result);
+      RespWriter.bulk(reply, formatScore(result));
+      return true;
+    }
+    case "ZSCORE": {
+      SortedSet zset = getSortedSet(arg(args, 1), false);
+      Double score = zset == null ? null : zset.scores.get(arg(args, 2));
+      RespWriter.bulk(reply, score == null ? null : formatScore(score));
+      return true;
+    }
+    case "ZREM": {
+      String key = arg(args, 1);
+      SortedSet zset = getSortedSet(key, false);
+      int removed = 0;
+      if (zset != null) {
+        for (int i = 2; i < args.size(); i++) {
+          if (zset.remove(arg(args, i))) {
+            removed++;
+          }
+        }
+        removeIfEmpty(key, zset.size());
+      }
+      RespWriter.integer(reply, removed);
+      return true;
+    }
+    case "ZCARD": {
+      SortedSet zset = getSortedSet(arg(args, 1), false);
+      RespWriter.integer(reply, zset == null ? 0 : zset.size());
+      return true;
+    }
+    case "ZRANK":
+    case "ZREVRANK": {
+      SortedSet zset = getSortedSet(arg(args, 1), false);
+      String member = arg(args, 2);
+      if (zset == null || !zset.scores.containsKey(member)) {
+        RespWriter.nullBulk(reply);
+        return true;
+      }
+      int rank = zset.members.headSet(member).size();
+      RespWriter.integer(reply, "ZRANK".equals(name) ? rank : zset.size() - 1 - rank);
+      return true;
+    }
+    case "ZRANGE":
+    case "ZREVRANGE": {
+      SortedSet zset = getSortedSet(arg(args, 1), false);
+      List<String> members = zset == null ? new ArrayList<String>() : new ArrayList<String>(zset.members);
+      if ("ZREVRANGE".equals(name)) {
+        Collections.reverse(members);
+      }
+      int[] range = range(members.size(), Long.parseLong(arg(args, 2)), Long.parseLong(arg(args, 3)));
+      boolean withScores = args.size() > 4 && "WITHSCORES".equalsIgnoreCase(arg(args, 4));
+      writeMembers(reply, zset, members.subList(range[0], range[1]), withScores);
+      return true;
+    }
+    case "ZRANGEBYSCORE":
+    case "ZREVRANGEBYSCORE":
+      zrangeByScore("ZREVRANGEBYSCORE".equals(name), args, reply);
+      return true;
+    case "ZCOUNT": {
+      SortedSet zset = getSortedSet(arg(args, 1), false);
+      int count = 0;
+      if (zset != null) {
+        String min = arg(args, 2);
+        String max = arg(args, 3);
+        for (String member : zset.members) {
+          if (inRange(zset.scores.get(member), min, max)) {
+            count++;
+          }
+        }
+      }
+      RespWriter.integer(reply, count);
+      return true;
+    }
+    case "ZSCAN": {
+      SortedSet zset = getSortedSet(arg(args, 1), false);
+      scan(zset == null ? new ArrayList<String>() : new ArrayList<String>(zset.scores.keySet()), args, 2, reply,
+          zset == null ? null : zset.scores);
+      return true;
+    }
+    default:
+      return false;
+    }
+  }
+
+  /**
+   * ZADD with the NX, XX, CH and INCR options.
+   */
+  private void zadd(List<byte[]> args, ByteBuf reply) {
+    boolean nx = false;
+    boolean xx = false;
+    boolean ch = false;
+    boolean incr = false;
+    int i = 2;
+    for (; i < args.size(); i++) {
+      String option = arg(args, i).toUpperCase(Locale.ENGLISH);
+      if ("NX".equals(option)) {
+        nx = true;
+      } else if ("XX".equals(option)) {
+        xx = true;
+      } else if ("CH".equals(option)) {
+        ch = true;
+      } else if ("INCR".equals(option)) {
+        incr = true;
+      } else {
+        break;
+      }
+    }
+    if (i == args.size() || (args.size() - i) % 2 != 0) {
+      throw new ReplyException("ERR syntax error");
+    }
+    SortedSet zset = getSortedSet(arg(args, 1), true);
+    int changed = 0;
+    Double result = null;
+    for (; i < args.size(); i += 2) {
+      double score = parseScore(arg(args, i));
+      String member = arg(args, i + 1);
+      Double old = zset.scores.get(member);
+      if ((nx && old != null) || (xx && old == null)) {
+        continue;
+      }
+      if (incr) {
+        score += old == null ? 0 : old;
+        result = score;
+      }
+      if (old == null || old != score) {
+        zset.put(member, score);
+        if (old == null || ch) {
+          changed++;
+        }
+      }
+    }
+    removeIfEmpty(arg(args, 1), zset.size());
+    if (incr) {
+      RespWriter.bulk(reply, result == null ? null : formatScore(result));
+    } else {
+      RespWriter.integer(reply, changed);
+    }
+  }
+
+  private void zrangeByScore(boolean reverse, List<byte[]> args, ByteBuf reply) {
+    SortedSet zset = getSortedSet(arg(args, 1), false);
+    String min = arg(args, reverse ? 3 : 2);
+    String max = arg(args, reverse ? 2 : 3);
+    boolean withScores = false;
+    int offset = 0;
+    int count = -1;
+    for (int i = 4; i < args.size(); i++) {
+      String option = arg(args, i).toUpperCase(Locale.ENGLISH);
+      if ("WITHSCORES".equals(option)) {
+        withScores = true;
+      } else if ("LIMIT".equals(option)) {
+        offset = Integer.parseInt(arg(args, ++i));
+        count = Integer.parseInt(arg(args, ++i));
+      } else {
+        throw new ReplyException("ERR syntax error");
+      }
+    }
+    List<String> members = new ArrayList<String>();
+    if (zset != null) {
+      for (String member : zset.members) {
+        if (inRange(zset.scores.get(member), min, max)) {
+          members.add(member);
+        }
+      }
+    }
+    if (reverse) {
+      Collections.reverse(members);
+    }
+    int from = Math.min(offset, members.size());
+    int to = count < 0 ? members.size() : Math.min(members.size(), from + count);
+    writeMembers(reply, zset, members.subList(from, to), withScores);
+  }
+
+  private static void writeMembers(ByteBuf reply, SortedSet zset, List<String> members, boolean withScores) {
+    RespWriter.arrayHeader(reply, withScores ? members.size() * 2 : members.size());
+    for (String member : members) {
+      RespWriter.bulk(reply, member);
+      if (withScores) {
+        RespWriter.bulk(reply, formatScore(zset.scores.get(member)));
+      }
+    }
+  }
+
+  private static boolean inRange(double score, String min, String max) {
+    boolean minExclusive = min.startsWith("(");
+    boolean maxExclusive = max.startsWith("(");
+    double from = parseScore(minExclusive ? min.substring(1) : min);
+    double to = parseScore(maxExclusive ? max.substring(1) : max);
+    return (minExclusive ? score > from : score >= from) && (maxExclusive ? score < to : score <= to);
+  }
+
+  private static double parseScore(String score) {
+    if ("+inf".equalsIgnoreCase(score) || "inf".equalsIgnoreCase(score)) {
+      return Double.POSITIVE_INFINITY;
+    }
+    if ("-inf".equalsIgnoreCase(score)) {
+      return Double.NEGATIVE_INFINITY;
+    }
+    try {
+      return Double.parseDouble(score);
+    } catch (NumberFormatException e) {
+      throw new ReplyException("ERR value is not a valid float");
+    }
+  }
+
+  private static String formatScore(double score) {
+    if (Double.isInfinite(score)) {
+      return score > 0 ? "inf" : "-inf";
+    }
+    if (score == Math.rint(score) && Math.abs(score) < 1e17) {
+      return Long.toString((long) score);
+    }
+    return Double.toString(score);
+  }
+}
@@ -0,0 +1,502 @@
+package redis.clients.jedis.tests.utils;
+
+import static redis.clients.jedis.tests.utils.EmbeddedRedisDatabase.arg;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.util.CharsetUtil;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.tests.utils.EmbeddedRedisDatabase.ReplyException;
+import redis.clients.util.JedisClusterCRC16;
+
+/**
+ * In-process RESP server for running the Jedis and Redisson clients without a
+ * redis-server, e.g. for load tests and benchmarks. Implements the connection,
+ * key, string, hash, list, set, sorted set and pub/sub commands, see
+ * {@link EmbeddedRedisDatabase}. Scripts, transactions and blocking commands
+ * are not supported.
+ * <p>
+ * All connections are served by a single event loop thread, so like Redis the
+ * data set is only ever accessed by one thread. Replies can be delayed with
+ * {@link #setLatency(long, TimeUnit)} to simulate a remote server.
+ * <p>
+ * As part of an {@link EmbeddedRedisCluster} the server answers CLUSTER
+ * commands and replies with MOVED to commands on keys of slots it doesn't own.
+ */
+public class EmbeddedRedisServer {
+
+  private static final Set<String> KEYLESS_COMMANDS = new HashSet<String>(Arrays.asList("PING", "ECHO", "AUTH",
+      "SELECT", "CLIENT", "QUIT", "FLUSHDB", "FLUSHALL", "DBSIZE", "KEYS", "SCAN", "INFO", "TIME", "CLUSTER",
+      "READONLY", "READWRITE", "ASKING", "PUBLISH", "SUBSCRIBE", "UNSUBSCRIBE", "PSUBSCRIBE", "PUNSUBSCRIBE"));
+
+  private static final Set<String> MULTI_KEY_COMMANDS = new HashSet<String>(Arrays.asList("DEL", "UNLINK",
+      "EXISTS", "MGET", "RENAME", "SINTER", "SUNION", "SDIFF"));
+
+  private final String host;
+  private final int port;
+  private EventLoopGroup bossGroup;
+  private EventLoopGroup workerGroup;
+  private boolean ownsGroups;
+  private Channel serverChannel;
+  private volatile long latencyNanos;
+
+  private final EmbeddedRedisDatabase database = new EmbeddedRedisDatabase();
+
+  private final Map<String, Set<CommandHandler>> channelSubscribers = new HashMap<String, Set<CommandHandler>>();
+  private final Map<String, Set<CommandHandler>> patternSubscribers = new HashMap<String, Set<CommandHandler>>();
+  private final Map<String, Pattern> patterns = new HashMap<String, Pattern>();
+
+  private EmbeddedRedisCluster cluster;
+  private String nodeId;
+
+  public EmbeddedRedisServer() {
+    this(0);
+  }
+
+  public EmbeddedRedisServer(int port) {
+    this("127.0.0.1", port);
+  }
+
+  public EmbeddedRedisServer(String host, int port) {
+    this.host = host;
+    this.port = port;
+  }
+
+  public EmbeddedRedisServer start() throws InterruptedException {
+    ownsGroups = true;
+    return start(new NioEventLoopGroup(1), new NioEventLoopGroup(1));
+  }
+
+  /**
+   * Starts the server on event loops shared with other servers. The worker
+   * group must have a single thread.
+   */
+  EmbeddedRedisServer start(EventLoopGroup bossGroup, EventLoopGroup workerGroup) throws InterruptedException {
+    this.bossGroup = bossGroup;
+    this.workerGroup = workerGroup;
+    ServerBootstrap bootstrap = new ServerBootstrap().group(bossGroup, workerGroup)
+        .channel(NioServerSocketChannel.class).childOption(ChannelOption.TCP_NODELAY, true)
+        .childHandler(new ChannelInitializer<SocketChannel>() {
+          @Override
+          protected void initChannel(SocketChannel ch) throws Exception {
+            ch.pipeline().addLast(new RequestDecoder(), new CommandHandler());
+          }
+        });
+    serverChannel = bootstrap.bind(host, port).sync().channel();
+    return this;
+  }
+
+  public void stop() {
+    if (serverChannel != null) {
+      serverChannel.close().syncUninterruptibly();
+      serverChannel = null;
+    }
+    if (ownsGroups && bossGroup != null) {
+      bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+      workerGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+    bossGroup = null;
+    workerGroup = null;
+  }
+
+  /**
+   * Delays every reply, including pub/sub messages, by <code>latency</code>.
+   * Replies keep their order.
+   */
+  public void setLatency(long latency, TimeUnit unit) {
+    latencyNanos = unit.toNanos(latency);
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  public int getPort() {
+    return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+  }
+
+  public HostAndPort getHostAndPort() {
+    return new HostAndPort(getHost(), getPort());
+  }
+
+  /**
+   * @return address in the form accepted by the Redisson config
+   */
+  public String getAddress() {
+    return "redis://" + getHost() + ":" + getPort();
+  }
+
+  EventLoopGroup getWorkerGroup() {
+    return workerGroup;
+  }
+
+  /**
+   * Only to be accessed from the event loop of the server.
+   */
+  EmbeddedRedisDatabase getDatabase() {
+    return database;
+  }
+
+  void setCluster(EmbeddedRedisCluster cluster, String nodeId) {
+    this.cluster = cluster;
+    this.nodeId = nodeId;
+  }
+
+  String getNodeId() {
+    return nodeId;
+  }
+
+  /**
+   * Decodes requests as multi bulk arrays or inline commands.
+   */
+  private static class RequestDecoder extends ReplayingDecoder<Void> {
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+      if (in.getByte(in.readerIndex()) != '*') {
+        String line = readLine(in).trim();
+        if (!line.isEmpty()) {
+          List<byte[]> args = new ArrayList<byte[]>();
+          for (String arg : line.split("\\s+")) {
+            args.add(EmbeddedRedisDatabase.bytes(arg));
+          }
+          out.add(args);
+        }
+        return;
+      }
+      in.skipBytes(1);
+      int size = Integer.parseInt(readLine(in));
+      List<byte[]> args = new ArrayList<byte[]>(size);
+      for (int i = 0; i < size; i++) {
+        if (in.readByte() != '$') {
+          throw new IllegalStateException("Bulk string expected");
+        }
+        byte[] arg = new byte[Integer.parseInt(readLine(in))];
+        in.readBytes(arg);
+        in.skipBytes(2);
+        args.add(arg);
+      }
+      out.add(args);
+    }
+
+    private static String readLine(ByteBuf in) {
+      // the replaying buffer waits for more data if there is no line feed yet
+      int end = in.bytesBefore((byte) '\n');
+      String line = in.toString(in.readerIndex(), end, CharsetUtil.US_ASCII);
+      in.skipBytes(end + 1);
+      return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+  }
+
+  /**
+   * Handler of one connection.
+   */
+  private class CommandHandler extends SimpleChannelInboundHandler<List<byte[]>> {
+    private ChannelHandlerContext ctx;
+    private final Set<String> channels = new LinkedHashSet<String>();
+    private final Set<String> subscribedPatterns = new LinkedHashSet<String>();
+    private long lastReplyDeadline;
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+      this.ctx = ctx;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, List<byte[]> args) throws Exception {
+      ByteBuf reply = ctx.alloc().buffer();
+      String name = arg(args, 0).toUpperCase(Locale.ENGLISH);
+      try {
+        execute(this, name, args, reply);
+      } catch (ReplyException e) {
+        reply.clear();
+        RespWriter.error(reply, e.getMessage());
+      } catch (NumberFormatException e) {
+        reply.clear();
+        RespWriter.error(reply, "ERR value is not an integer or out of range");
+      } catch (IndexOutOfBoundsException e) {
+        reply.clear();
+        RespWriter.error(reply, "ERR wrong number of arguments for '" + name.toLowerCase(Locale.ENGLISH)
+            + "' command");
+      }
+      send(reply, false, "QUIT".equals(name));
+    }
+
+    /**
+     * Writes the reply, after the configured latency if any. Replies which are
+     * not flushed are flushed once the read requests have been processed, so
+     * replies of pipelined commands are sent together.
+     */
+    void send(final ByteBuf reply, boolean flush, final boolean close) {
+      long latency = latencyNanos;
+      long now = System.nanoTime();
+      if (latency <= 0 && lastReplyDeadline - now <= 0) {
+        if (close) {
+          ctx.writeAndFlush(reply).addListener(ChannelFutureListener.CLOSE);
+        } else if (flush) {
+          ctx.writeAndFlush(reply);
+        } else {
+          ctx.write(reply);
+        }
+        return;
+      }
+      // never before an earlier reply, in case the latency has been lowered
+      long deadline = Math.max(now + latency, lastReplyDeadline);
+      lastReplyDeadline = deadline;
+      ctx.executor().schedule(new Runnable() {
+        @Override
+        public void run() {
+          ChannelFuture future = ctx.writeAndFlush(reply);
+          if (close) {
+            future.addListener(ChannelFutureListener.CLOSE);
+          }
+        }
+      }, deadline - now, TimeUnit.NANOSECONDS);
+    }
+
+    int subscriptions() {
+      return channels.size() + subscribedPatterns.size();
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+      ctx.flush();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+      for (String channel : channels) {
+        unsubscribe(channelSubscribers, channel, this);
+      }
+      for (String pattern : subscribedPatterns) {
+        unsubscribe(patternSubscribers, pattern, this);
+      }
+      super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+      ctx.close();
+    }
+  }
+
+  private void execute(CommandHandler handler, String name, List<byte[]> args, ByteBuf reply) {
+    if (cluster != null && !KEYLESS_COMMANDS.contains(name) && args.size() > 1 && redirect(name, args, reply)) {
+      return;
+    }
+    switch (name) {
+    case "PING":
+      if (args.size() > 1) {
+        RespWriter.bulk(reply, args.get(1));
+      } else {
+        RespWriter.status(reply, "PONG");
+      }
+      return;
+    case "ECHO":
+      RespWriter.bulk(reply, args.get(1));
+      return;
+    case "AUTH":
+    case "SELECT":
+    case "CLIENT":
+    case "QUIT":
+    case "READONLY":
+    case "READWRITE":
+    case "ASKING":
+      RespWriter.ok(reply);
+      return;
+    case "INFO":
+      RespWriter.bulk(reply, EmbeddedRedisDatabase.bytes("# Server\r\nredis_version:3.2.0\r\nredis_mode:"
+          + (cluster != null ? "cluster" : "standalone") + "\r\n"));
+      return;
+    case "TIME": {
+      long micros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+      RespWriter.arrayHeader(reply, 2);
+      RespWriter.bulk(reply, String.valueOf(micros / 1000000));
+      RespWriter.bulk(reply, String.valueOf(micros % 1000000));
+      return;
+    }
+    case "CLUSTER":
+      if (cluster == null) {
+        throw new ReplyException("ERR This instance has cluster support disabled");
+      }
+      cluster.execute(this, arg(args, 1).toUpperCase(Locale.ENGLISH), args, reply);
+      return;
+    case "PUBLISH": {
+      String channel = arg(args, 1);
+      byte[] message = args.get(2);
+      RespWriter.integer(reply, cluster != null ? cluster.publish(channel, message) : publish(channel, message));
+      return;
+    }
+    case "SUBSCRIBE":
+      for (int i = 1; i < args.size(); i++) {
+        String channel = arg(args, i);
+        if (handler.channels.add(channel)) {
+          subscribe(channelSubscribers, channel, handler);
+        }
+        writeSubscription(reply, "subscribe", channel, handler.subscriptions());
+      }
+      return;
+    case "PSUBSCRIBE":
+      for (int i = 1; i < args.size(); i++) {
+        String pattern = arg(args, i);
+        if (handler.subscribedPatterns.add(pattern)) {
+          subscribe(patternSubscribers, pattern, handler);
+        }
+        writeSubscription(reply, "psubscribe", pattern, handler.subscriptions());
+      }
+      return;
+    case "UNSUBSCRIBE":
+      unsubscribeAll(handler, handler.channels, channelSubscribers, "unsubscribe", args, reply);
+      return;
+    case "PUNSUBSCRIBE":
+      unsubscribeAll(handler, handler.subscribedPatterns, patternSubscribers, "punsubscribe", args, reply);
+      return;
+    default:
+      if (!database.execute(name, args, reply)) {
+        throw new ReplyException("ERR unknown command '" + name.toLowerCase(Locale.ENGLISH) + "'");
+      }
+    }
+  }
+
+  /**
+   * @return <code>true</code> if the keys are not served by this node and a
+   *         MOVED or CROSSSLOT error has been written
+   */
+  private boolean redirect(String name, List<byte[]> args, ByteBuf reply) {
+    int slot = JedisClusterCRC16.getSlot(args.get(1));
+    int last = MULTI_KEY_COMMANDS.contains(name) || "MSET".equals(name) ? args.size() - 1 : 1;
+    int step = "MSET".equals(name) ? 2 : 1;
+    for (int i = 1 + step; i <= last; i += step) {
+      if (JedisClusterCRC16.getSlot(args.get(i)) != slot) {
+        RespWriter.error(reply, "CROSSSLOT Keys in request don't hash to the same slot");
+        return true;
+      }
+    }
+    EmbeddedRedisServer owner = cluster.ownerOf(slot);
+    if (owner == this) {
+      return false;
+    }
+    RespWriter.error(reply, "MOVED " + slot + " " + owner.getHost() + ":" + owner.getPort());
+    return true;
+  }
+
+  /**
+   * Delivers a message to the subscribers of this server.
+   *
+   * @return number of subscribers which received the message
+   */
+  int publish(String channel, byte[] message) {
+    int receivers = 0;
+    Set<CommandHandler> subscribers = channelSubscribers.get(channel);
+    if (subscribers != null) {
+      for (CommandHandler subscriber : subscribers) {
+        ByteBuf buf = subscriber.ctx.alloc().buffer();
+        RespWriter.arrayHeader(buf, 3);
+        RespWriter.bulk(buf, "message");
+        RespWriter.bulk(buf, channel);
+        RespWriter.bulk(buf, message);
+        subscriber.send(buf, true, false);
+        receivers++;
+      }
+    }
+    for (Map.Entry<String, Set<CommandHandler>> entry : patternSubscribers.entrySet()) {
+      if (!patterns.get(entry.getKey()).matcher(channel).matches()) {
+        continue;
+      }
+      for (CommandHandler subscriber : entry.getValue()) {
+        ByteBuf buf = subscriber.ctx.alloc().buffer();
+        RespWriter.arrayHeader(buf, 4);
+        RespWriter.bulk(buf, "pmessage");
+        RespWriter.bulk(buf, entry.getKey());
+        RespWriter.bulk(buf, channel);
+        RespWriter.bulk(buf, message);
+        subscriber.send(buf, true, false);
+        receivers++;
+      }
+    }
+    return receivers;
+  }
+
+  private void subscribe(Map<String, Set<CommandHandler>> subscribers, String name, CommandHandler handler) {
+    Set<CommandHandler> handlers = subscribers.get(name);
+    if (handlers == null) {
+      handlers = new LinkedHashSet<CommandHandler>();
+      subscribers.put(name, handlers);
+      if (subscribers == patternSubscribers) {
+        patterns.put(name, EmbeddedRedisDatabase.glob(name));
+      }
+    }
+    handlers.add(handler);
+  }
+
+  private void unsubscribe(Map<String, Set<CommandHandler>> subscribers, String name, CommandHandler handler) {
+    Set<CommandHandler> handlers = subscribers.get(name);
+    if (handlers != null && handlers.remove(handler) && handlers.isEmpty()) {
+      subscribers.remove(name);
+      if (subscribers == patternSubscribers) {
+        patterns.remove(name);
+      }
+    }
+  }
+
+  /**
+   * UNSUBSCRIBE and PUNSUBSCRIBE, without arguments from all channels or
+   * patterns.
+   */
+  private void unsubscribeAll(CommandHandler handler, Set<String> subscribed,
+      Map<String, Set<CommandHandler>> subscribers, String kind, List<byte[]> args, ByteBuf reply) {
+    List<String> names = new ArrayList<String>();
+    for (int i = 1; i < args.size(); i++) {
+      names.add(arg(args, i));
+    }
+    if (names.isEmpty()) {
+      names.addAll(subscribed);
+    }
+    if (names.isEmpty()) {
+      RespWriter.arrayHeader(reply, 3);
+      RespWriter.bulk(reply, kind);
+      RespWriter.nullBulk(reply);
+      RespWriter.integer(reply, handler.subscriptions());
+      return;
+    }
+    for (String name : names) {
+      if (subscribed.remove(name)) {
+        unsubscribe(subscribers, name, handler);
+      }
+      writeSubscription(reply, kind, name, handler.subscriptions());
+    }
+  }
+
+  private static void writeSubscription(ByteBuf reply, String kind, String name, int count) {
+    RespWriter.arrayHeader(reply, 3);
+    RespWriter.bulk(reply, kind);
+    RespWriter.bulk(reply, name);
+    RespWriter.integer(reply, count);
+  }
+
+}
@@ -0,0 +1,213 @@
+package redis.clients.jedis.tests.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisClusterPipeline;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.redisson.Redisson;
+import redis.clients.redisson.api.RMap;
+import redis.clients.redisson.api.RedissonClient;
+import redis.clients.redisson.config.Config;
+import redis.clients.util.JedisClusterCRC16;
+
+public class EmbeddedRedisServerTest {
+  private EmbeddedRedisServer server;
+  private Jedis jedis;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new EmbeddedRedisServer().start();
+    jedis = new Jedis(server.getHost(), server.getPort());
+  }
+
+  @After
+  public void tearDown() {
+    jedis.close();
+    server.stop();
+  }
+
+  @Test
+  public void strings() {
+    assertEquals("OK", jedis.set("foo", "bar"));
+    assertEquals("bar", jedis.get("foo"));
+    assertEquals(Long.valueOf(3), jedis.incrBy("counter", 3));
+    assertEquals(Arrays.asList("bar", null, "3"), jedis.mget("foo", "missing", "counter"));
+    assertEquals(Long.valueOf(2), jedis.del("foo", "counter", "missing"));
+    assertNull(jedis.get("foo"));
+  }
+
+  @Test
+  public void expiration() throws InterruptedException {
+    jedis.psetex("foo", 50L, "bar");
+    assertTrue(jedis.pttl("foo") > 0);
+    Thread.sleep(100);
+    assertFalse(jedis.exists("foo"));
+    assertEquals(Long.valueOf(-2), jedis.ttl("foo"));
+  }
+
+  @Test
+  public void hashes() {
+    jedis.hset("hash", "f1", "v1");
+    jedis.hset("hash", "f2", "v2");
+    assertEquals("v1", jedis.hget("hash", "f1"));
+    Map<String, String> all = jedis.hgetAll("hash");
+    assertEquals(2, all.size());
+    assertEquals("v2", all.get("f2"));
+    assertEquals(Long.valueOf(1), jedis.hdel("hash", "f1", "f3"));
+    assertEquals(Long.valueOf(1), jedis.hlen("hash"));
+  }
+
+  @Test
+  public void lists() {
+    jedis.rpush("list", "b", "c");
+    jedis.lpush("list", "a");
+    assertEquals(Arrays.asList("a", "b", "c"), jedis.lrange("list", 0, -1));
+    assertEquals(Arrays.asList("b", "c"), jedis.lrange("list", -2, 10));
+    assertEquals("a", jedis.lpop("list"));
+    assertEquals("c", jedis.rpop("list"));
+    assertEquals(Long.valueOf(1), jedis.llen("list"));
+  }
+
+  @Test
+  public void sets() {
+    jedis.sadd("s1", "a", "b", "c");
+    jedis.sadd("s2", "b", "c", "d");
+    assertTrue(jedis.sismember("s1", "a"));
+    assertEquals(new HashSet<String>(Arrays.asList("b", "c")), jedis.sinter("s1", "s2"));
+    assertEquals(new HashSet<String>(Arrays.asList("a")), jedis.sdiff("s1", "s2"));
+    assertEquals(Long.valueOf(3), jedis.scard("s2"));
+  }
+
+  @Test
+  public void sortedSets() {
+    jedis.zadd("zset", 2, "b");
+    jedis.zadd("zset", 1, "a");
+    jedis.zadd("zset", 3, "c");
+    assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<String>(jedis.zrange("zset", 0, -1)));
+    assertEquals(Long.valueOf(2), jedis.zrevrank("zset", "a"));
+    assertEquals(Double.valueOf(2.5), jedis.zincrby("zset", 0.5, "b"));
+    assertEquals(Long.valueOf(2), jedis.zcount("zset", "(1", "+inf"));
+    assertEquals(Double.valueOf(3), jedis.zscore("zset", "c"));
+  }
+
+  @Test(expected = JedisDataException.class)
+  public void wrongType() {
+    jedis.set("foo", "bar");
+    jedis.lpush("foo", "a");
+  }
+
+  @Test
+  public void pubSub() throws InterruptedException {
+    final CountDownLatch subscribed = new CountDownLatch(1);
+    final CountDownLatch received = new CountDownLatch(2);
+    final JedisPubSub pubSub = new JedisPubSub() {
+      @Override
+      public void onSubscribe(String channel, int subscribedChannels) {
+        subscribed.countDown();
+      }
+
+      @Override
+      public void onMessage(String channel, String message) {
+        received.countDown();
+      }
+
+      @Override
+      public void onPMessage(String pattern, String channel, String message) {
+        received.countDown();
+        if (received.getCount() == 0) {
+          punsubscribe();
+          unsubscribe();
+        }
+      }
+    };
+    Thread subscriber = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        Jedis j = new Jedis(server.getHost(), server.getPort());
+        j.subscribe(pubSub, "news");
+        j.close();
+      }
+    });
+    subscriber.start();
+    assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+    pubSub.psubscribe("ne*");
+    Thread.sleep(100);
+
+    assertEquals(Long.valueOf(2), jedis.publish("news", "hello"));
+    assertTrue(received.await(5, TimeUnit.SECONDS));
+    subscriber.join(5000);
+    assertFalse(subscriber.isAlive());
+  }
+
+  @Test
+  public void latency() {
+    jedis.ping();
+    server.setLatency(50, TimeUnit.MILLISECONDS);
+    long start = System.nanoTime();
+    jedis.ping();
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+  }
+
+  @Test
+  public void cluster() throws Exception {
+    EmbeddedRedisCluster cluster = new EmbeddedRedisCluster(3).start();
+    JedisCluster jc = new JedisCluster(cluster.getNodes());
+    try {
+      for (int i = 0; i < 100; i++) {
+        jc.set("key" + i, "value" + i);
+      }
+
+      int slot = JedisClusterCRC16.getSlot("key1");
+      cluster.moveSlot(slot, (cluster.getOwner(slot) + 1) % 3);
+      // served by the new owner after following MOVED
+      assertEquals("value1", jc.get("key1"));
+
+      JedisClusterPipeline p = jc.pipelined();
+      Response<String> r1 = p.get("key2");
+      Response<String> r2 = p.get("key50");
+      p.sync();
+      assertEquals("value2", r1.get());
+      assertEquals("value50", r2.get());
+      List<String> values = jc.mget("key3", "key4", "key5");
+      assertEquals(Arrays.asList("value3", "value4", "value5"), values);
+    } finally {
+      jc.close();
+      cluster.stop();
+    }
+  }
+
+  @Test
+  public void redisson() {
+    Config config = new Config();
+    config.useSingleServer().setAddress(server.getAddress());
+    RedissonClient redisson = Redisson.create(config);
+    try {
+      redisson.getBucket("bucket").set("value");
+      assertEquals("value", redisson.getBucket("bucket").get());
+      RMap<String, Integer> map = redisson.getMap("map");
+      map.fastPut("a", 1);
+      assertEquals(Integer.valueOf(1), map.get("a"));
+    } finally {
+      redisson.shutdown();
+    }
+  }
+}
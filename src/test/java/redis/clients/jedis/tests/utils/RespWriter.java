@@ -0,0 +1,80 @@
+package redis.clients.jedis.tests.utils;
+
+import java.util.Collection;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+
+/**
+ * Writes RESP replies of the embedded server.
+ */
+final class RespWriter {
+
+  private static final byte[] CRLF = { '\r', '\n' };
+  private static final byte[] NULL_BULK = { '$', '-', '1', '\r', '\n' };
+
+  private RespWriter() {
+  }
+
+  static void status(ByteBuf reply, String status) {
+    reply.writeByte('+');
+    reply.writeCharSequence(status, CharsetUtil.US_ASCII);
+    reply.writeBytes(CRLF);
+  }
+
+  static void ok(ByteBuf reply) {
+    status(reply, "OK");
+  }
+
+  static void error(ByteBuf reply, String message) {
+    reply.writeByte('-');
+    reply.writeCharSequence(message, CharsetUtil.UTF_8);
+    reply.writeBytes(CRLF);
+  }
+
+  static void integer(ByteBuf reply, long value) {
+    reply.writeByte(':');
+    reply.writeCharSequence(Long.toString(value), CharsetUtil.US_ASCII);
+    reply.writeBytes(CRLF);
+  }
+
+  static void bulk(ByteBuf reply, byte[] value) {
+    if (value == null) {
+      reply.writeBytes(NULL_BULK);
+      return;
+    }
+    reply.writeByte('$');
+    reply.writeCharSequence(Integer.toString(value.length), CharsetUtil.US_ASCII);
+    reply.writeBytes(CRLF);
+    reply.writeBytes(value);
+    reply.writeBytes(CRLF);
+  }
+
+  /**
+   * Writes a key or member, which are kept as ISO-8859-1 strings.
+   */
+  static void bulk(ByteBuf reply, String value) {
+    bulk(reply, value == null ? null : EmbeddedRedisDatabase.bytes(value));
+  }
+
+  static void nullBulk(ByteBuf reply) {
+    reply.writeBytes(NULL_BULK);
+  }
+
+  static void arrayHeader(ByteBuf reply, int size) {
+    reply.writeByte('*');
+    reply.writeCharSequence(Integer.toString(size), CharsetUtil.US_ASCII);
+    reply.writeBytes(CRLF);
+  }
+
+  static void bulkArray(ByteBuf reply, Collection<?> values) {
+    arrayHeader(reply, values.size());
+    for (Object value : values) {
+      if (value instanceof byte[]) {
+        bulk(reply, (byte[]) value);
+      } else {
+        bulk(reply, (String) value);
+      }
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package redis.clients.redis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.entity.IEntity;
+import redis.clients.entity.UserEntity;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.tests.HostAndPortUtil;
+
+public class RedisServiceTest {
+  private static HostAndPort hnp = HostAndPortUtil.getRedisServers().get(0);
+
+  private JedisPool pool;
+  private Jedis jedis;
+  private RedisService redisService;
+
+  @Before
+  public void setUp() {
+    pool = new JedisPool(new JedisPoolConfig(), hnp.getHost(), hnp.getPort(), 2000, "foobared");
+    redisService = new RedisService();
+    redisService.setJedisPool(pool);
+    jedis = pool.getResource();
+    jedis.flushAll();
+  }
+
+  @After
+  public void tearDown() {
+    jedis.close();
+    pool.destroy();
+  }
+
+  private UserEntity user(long id, String name) {
+    UserEntity user = new UserEntity(id);
+    user.setUid("uid-" + id);
+    user.setName(name);
+    return user;
+  }
+
+  @Test
+  public void executeInSession() {
+    String value = redisService.executeInSession(new RedisSessionCallback<String>() {
+      @Override
+      public String doInSession(Jedis jedis) throws Exception {
+        jedis.set("foo", "bar");
+        return jedis.get("foo");
+      }
+    });
+    assertEquals("bar", value);
+  }
+
+  @Test
+  public void executePipelined() {
+    List<Object> replies = redisService.executePipelined(new RedisPipelineCallback() {
+      @Override
+      public void doInPipeline(Pipeline pipeline) throws Exception {
+        pipeline.set("foo", "bar");
+        pipeline.incr("counter");
+        pipeline.get("foo");
+      }
+    });
+    assertEquals(Arrays.<Object> asList("OK", 1L, "bar"), replies);
+  }
+
+  @Test
+  public void setObjectsToHashReportsEachKey() {
+    jedis.set("user:2", "not a hash");
+
+    Map<String, IEntity> entities = new LinkedHashMap<String, IEntity>();
+    entities.put("user:1", user(1, "first"));
+    entities.put("user:2", user(2, "second"));
+    entities.put("user:3", user(3, "third"));
+    Map<String, Boolean> result = redisService.setObjectsToHash(entities, 100);
+
+    assertEquals(Arrays.asList("user:1", "user:2", "user:3"), new ArrayList<String>(result.keySet()));
+    assertTrue(result.get("user:1"));
+    assertFalse(result.get("user:2"));
+    assertTrue(result.get("user:3"));
+
+    long ttl = jedis.ttl("user:1");
+    assertTrue(ttl > 0 && ttl <= 100);
+    // key with failed HMSET keeps its value without expiration
+    assertEquals(-1L, jedis.ttl("user:2").longValue());
+    assertEquals("not a hash", jedis.get("user:2"));
+  }
+
+  @Test
+  public void setObjectToHashDoesNotExpireOnFailure() {
+    jedis.set("user:1", "not a hash");
+    assertFalse(redisService.setObjectToHash("user:1", user(1, "first"), 100));
+    assertEquals(-1L, jedis.ttl("user:1").longValue());
+
+    assertTrue(redisService.setObjectToHash("user:2", user(2, "second"), 100));
+    long ttl = jedis.ttl("user:2");
+    assertTrue(ttl > 0 && ttl <= 100);
+  }
+
+  @Test
+  public void getObjectsFromHashKeepsKeyOrder() {
+    Map<String, IEntity> entities = new LinkedHashMap<String, IEntity>();
+    entities.put("user:1", user(1, "first"));
+    entities.put("user:2", user(2, "second"));
+    redisService.setObjectsToHash(entities, -1);
+
+    List<UserEntity> users = redisService.getObjectsFromHash(Arrays.asList("user:2", "missing", "user:1"),
+      UserEntity.class, 100);
+    assertEquals(3, users.size());
+    assertEquals("second", users.get(0).getName());
+    assertNull(users.get(1));
+    assertEquals("first", users.get(2).getName());
+
+    long ttl = jedis.ttl("user:1");
+    assertTrue(ttl > 0 && ttl <= 100);
+  }
+}
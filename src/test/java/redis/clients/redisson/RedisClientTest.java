@@ -131,6 +131,28 @@ public class RedisClientTest {
         conn.sync(RedisCommands.FLUSHDB);
     }
 
+    @Test
+    public void testPipelinedInFlight() throws InterruptedException {
+        RedisClientConfig config = new RedisClientConfig();
+        config.setAddress(RedisRunner.getDefaultRedisServerBindAddressAndPort());
+        config.setPipelineMaxInFlight(64);
+        RedisClient client = RedisClient.create(config);
+        final RedisConnection conn = client.connect();
+
+        conn.sync(StringCodec.INSTANCE, RedisCommands.SET, "test", 0);
+        List<RFuture<Long>> futures = new ArrayList<RFuture<Long>>();
+        for (int i = 0; i < 10000; i++) {
+            futures.add(conn.async(StringCodec.INSTANCE, RedisCommands.INCR, "test"));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).awaitUninterruptibly().getNow()).isEqualTo(i + 1);
+        }
+
+        conn.sync(RedisCommands.FLUSHDB);
+        client.shutdown();
+    }
+
     @Test
     public void testPipeline() throws InterruptedException, ExecutionException {
         RedisConnection conn = redisClient.connect();
@@ -2,6 +2,7 @@ package redis.clients.redisson;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,8 +21,11 @@ import redis.clients.redisson.api.RListAsync;
 import redis.clients.redisson.api.RMapCacheAsync;
 import redis.clients.redisson.api.RScript;
 import redis.clients.redisson.api.RScript.Mode;
+import redis.clients.redisson.api.RedissonClient;
 import redis.clients.redisson.client.RedisException;
 import redis.clients.redisson.client.codec.StringCodec;
+import redis.clients.redisson.command.CommandAutoBatcher;
+import redis.clients.redisson.config.Config;
 
 public class RedissonBatchTest extends BaseTest {
 
@@ -103,6 +107,28 @@ public class RedissonBatchTest extends BaseTest {
         Assert.assertEquals(539, res.size());
     }
 
+    @Test
+    public void testAutoBatching() throws InterruptedException {
+        Config config = createConfig();
+        config.setAutoBatchWindow(500).setAutoBatchSize(50);
+        RedissonClient client = Redisson.create(config);
+
+        List<RFuture<Long>> futures = new ArrayList<RFuture<Long>>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(client.getAtomicLong("counter").incrementAndGetAsync());
+        }
+        for (RFuture<Long> future : futures) {
+            future.awaitUninterruptibly();
+            assertThat(future.isSuccess()).isTrue();
+        }
+
+        assertThat(client.getAtomicLong("counter").get()).isEqualTo(1000);
+        CommandAutoBatcher autoBatcher = ((Redisson) client).getConnectionManager().getAutoBatcher();
+        assertThat(autoBatcher.getCommandsAmount()).isGreaterThanOrEqualTo(1000);
+        assertThat(autoBatcher.getAverageBatchSize()).isGreaterThan(1);
+        client.shutdown();
+    }
+
     @Test
     public void testBatchBigRequest() {
         RBatch batch = redisson.createBatch();
@@ -6,6 +6,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
@@ -203,4 +206,85 @@ public class RedissonBinaryStreamTest extends BaseTest {
     }
 
     
+    @Test
+    public void testBufferedWrite() throws IOException {
+        RBinaryStream stream = redisson.getBinaryStream("test");
+        OutputStream os = stream.getOutputStream(4);
+        os.write(1);
+        os.write(new byte[] {2, 3});
+        assertThat(stream.isExists()).isFalse();
+        
+        os.write(new byte[] {4, 5});
+        os.write(new byte[] {6, 7, 8, 9, 10});
+        os.write(11);
+        os.close();
+        
+        assertThat(stream.get()).isEqualTo(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11});
+    }
+    
+    @Test
+    public void testReadAhead() throws IOException {
+        RBinaryStream stream = redisson.getBinaryStream("test");
+        byte[] value = new byte[1000];
+        ThreadLocalRandom.current().nextBytes(value);
+        stream.set(value);
+        
+        InputStream s = stream.getInputStream(16, 3);
+        byte[] readValue = new byte[value.length];
+        int index = 0;
+        while (true) {
+            int readBytes = s.read(readValue, index, Math.min(7, readValue.length - index));
+            if (readBytes <= 0) {
+                break;
+            }
+            index += readBytes;
+        }
+        assertThat(index).isEqualTo(value.length);
+        assertThat(readValue).isEqualTo(value);
+        assertThat(s.read()).isEqualTo(-1);
+        
+        s.reset();
+        assertThat(s.read()).isEqualTo(value[0] & 0xff);
+    }
+    
+    @Test
+    public void testChannel() throws IOException {
+        RBinaryStream stream = redisson.getBinaryStream("test");
+        SeekableByteChannel c = stream.getChannel();
+        c.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6}));
+        assertThat(c.position()).isEqualTo(6);
+        assertThat(c.size()).isEqualTo(6);
+        
+        c.position(2);
+        c.write(ByteBuffer.wrap(new byte[] {9, 9}));
+        c.position(8);
+        c.write(ByteBuffer.wrap(new byte[] {7}));
+        assertThat(stream.get()).isEqualTo(new byte[] {1, 2, 9, 9, 5, 6, 0, 0, 7});
+        
+        c.position(1);
+        ByteBuffer b = ByteBuffer.allocate(4);
+        assertThat(c.read(b)).isEqualTo(4);
+        assertThat(b.array()).isEqualTo(new byte[] {2, 9, 9, 5});
+        
+        c.truncate(3);
+        assertThat(c.position()).isEqualTo(3);
+        assertThat(stream.get()).isEqualTo(new byte[] {1, 2, 9});
+        assertThat(c.read(ByteBuffer.allocate(1))).isEqualTo(-1);
+    }
+    
+    @Test
+    public void testAsynchronousChannel() throws Exception {
+        RBinaryStream stream = redisson.getBinaryStream("test");
+        AsynchronousByteChannel c = stream.getAsynchronousChannel();
+        assertThat(c.write(ByteBuffer.wrap(new byte[] {1, 2, 3})).get()).isEqualTo(3);
+        assertThat(c.write(ByteBuffer.wrap(new byte[] {4, 5})).get()).isEqualTo(2);
+        assertThat(stream.get()).isEqualTo(new byte[] {1, 2, 3, 4, 5});
+        assertThat(c.read(ByteBuffer.allocate(1)).get()).isEqualTo(-1);
+        
+        AsynchronousByteChannel r = stream.getAsynchronousChannel();
+        ByteBuffer b = ByteBuffer.allocate(10);
+        assertThat(r.read(b).get()).isEqualTo(5);
+        assertThat(Arrays.copyOf(b.array(), 5)).isEqualTo(new byte[] {1, 2, 3, 4, 5});
+    }
+
 }
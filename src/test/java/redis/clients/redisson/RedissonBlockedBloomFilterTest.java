@@ -0,0 +1,70 @@
+package redis.clients.redisson;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import redis.clients.redisson.api.RBloomFilter;
+
+public class RedissonBlockedBloomFilterTest extends BaseTest {
+
+    @Test
+    public void testConfig() {
+        RBloomFilter<String> filter = redisson.getBlockedBloomFilter("filter");
+        filter.tryInit(100, 0.03);
+        assertThat(filter.getExpectedInsertions()).isEqualTo(100);
+        assertThat(filter.getFalseProbability()).isEqualTo(0.03);
+        assertThat(filter.getSize()).isEqualTo(1024);
+        assertThat(filter.getHashIterations()).isEqualTo(7);
+    }
+
+    @Test
+    public void test() {
+        RBloomFilter<String> filter = redisson.getBlockedBloomFilter("filter");
+        filter.tryInit(550000000L, 0.03);
+
+        assertThat(filter.contains("123")).isFalse();
+        assertThat(filter.add("123")).isTrue();
+        assertThat(filter.contains("123")).isTrue();
+        assertThat(filter.add("123")).isFalse();
+        assertThat(filter.count()).isEqualTo(1);
+
+        assertThat(filter.contains("hflgs;jl;ao1-32471320o31803-24")).isFalse();
+        assertThat(filter.add("hflgs;jl;ao1-32471320o31803-24")).isTrue();
+        assertThat(filter.contains("hflgs;jl;ao1-32471320o31803-24")).isTrue();
+        assertThat(filter.count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFalseProbability() {
+        RBloomFilter<String> filter = redisson.getBlockedBloomFilter("filter");
+        filter.tryInit(10000, 0.01);
+
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 10000; i++) {
+            values.add("value" + i);
+        }
+        assertThat(filter.addAll(values)).isTrue();
+        assertThat(filter.containsAll(values)).isTrue();
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.contains("other" + i)) {
+                falsePositives++;
+            }
+        }
+        // blocking costs a slightly higher false probability
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStandardLayout() {
+        RBloomFilter<String> filter = redisson.getBloomFilter("filter");
+        filter.tryInit(100, 0.03);
+
+        redisson.<String>getBlockedBloomFilter("filter").contains("123");
+    }
+
+}
@@ -1,5 +1,10 @@
 package redis.clients.redisson;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.Test;
 import redis.clients.redisson.api.RBloomFilter;
 
@@ -84,4 +89,41 @@ public class RedissonBloomFilterTest extends BaseTest {
         assertThat(filter.count()).isEqualTo(2);
     }
 
+    @Test
+    public void testAddAll() {
+        RBloomFilter<String> filter = redisson.getBloomFilter("filter");
+        filter.tryInit(100000, 0.01);
+
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 25000; i++) {
+            values.add("value" + i);
+        }
+        assertThat(filter.containsAll(values)).isFalse();
+        assertThat(filter.addAll(values)).isTrue();
+        assertThat(filter.addAll(values)).isFalse();
+        assertThat(filter.containsAll(values)).isTrue();
+        assertThat(filter.contains("value24999")).isTrue();
+        assertThat(filter.containsAll(Arrays.asList("value1", "hflgs;jl;ao1-32471320o31803-24"))).isFalse();
+        assertThat(filter.count()).isBetween(24000, 26000);
+
+        assertThat(filter.addAll(Collections.<String>emptyList())).isFalse();
+        assertThat(filter.containsAll(Collections.<String>emptyList())).isTrue();
+    }
+
+    @Test
+    public void testConfigChanged() {
+        RBloomFilter<String> filter = redisson.getBloomFilter("filter");
+        filter.tryInit(100, 0.03);
+        filter.add("123");
+
+        RBloomFilter<String> filter2 = redisson.getBloomFilter("filter");
+        filter2.delete();
+        filter2.tryInit(1000, 0.01);
+
+        // stale config is re-read instead of setting bits of the old layout
+        assertThat(filter.add("123")).isTrue();
+        assertThat(filter2.contains("123")).isTrue();
+        assertThat(filter.getSize()).isEqualTo(filter2.getSize());
+    }
+
 }
@@ -736,6 +736,54 @@ public class RedissonLiveObjectServiceTest extends BaseTest {
         assertNotNull(service.get(TestClass.class, new ObjectId(100)));
     }
 
+    @Test
+    public void testGetSnapshot() {
+        RLiveObjectService service = redisson.getLiveObjectService();
+        assertNull(service.get(TestClass.class, new ObjectId(100), 1, TimeUnit.MINUTES));
+        TestClass ts = new TestClass(new ObjectId(100));
+        ts.setValue("VALUE");
+        ts.setCode("CODE");
+        service.persist(ts);
+
+        TestClass snapshot = service.get(TestClass.class, new ObjectId(100), 1, TimeUnit.MINUTES);
+        assertEquals("VALUE", snapshot.getValue());
+        assertEquals(new ObjectId(100), snapshot.getId());
+
+        // served from loaded fields
+        TestClass live = service.get(TestClass.class, new ObjectId(100));
+        live.setValue("VALUE2");
+        assertEquals("VALUE", snapshot.getValue());
+
+        // buffered until flush
+        snapshot.setCode("CODE2");
+        snapshot.setContent(null);
+        snapshot.setValue("VALUE3");
+        assertEquals("CODE2", snapshot.getCode());
+        assertEquals("CODE", live.getCode());
+        service.flush(snapshot);
+        assertEquals("CODE2", live.getCode());
+        assertEquals("VALUE3", live.getValue());
+        assertEquals("CODE2", snapshot.getCode());
+
+        snapshot.setCode(null);
+        ((RLiveObject) snapshot).flush();
+        assertNull(live.getCode());
+    }
+
+    @Test
+    public void testGetSnapshotTimeToLive() throws InterruptedException {
+        RLiveObjectService service = redisson.getLiveObjectService();
+        TestClass ts = new TestClass(new ObjectId(100));
+        ts.setValue("VALUE");
+        TestClass live = service.persist(ts);
+
+        TestClass snapshot = service.get(TestClass.class, new ObjectId(100), 100, TimeUnit.MILLISECONDS);
+        live.setValue("VALUE2");
+        assertEquals("VALUE", snapshot.getValue());
+        Thread.sleep(150);
+        assertEquals("VALUE2", snapshot.getValue());
+    }
+
     @Test
     public void testRemoveByInstance() {
         RLiveObjectService service = redisson.getLiveObjectService();
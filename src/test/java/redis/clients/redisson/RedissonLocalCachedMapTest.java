@@ -21,6 +21,8 @@ import redis.clients.redisson.api.LocalCachedMapOptions.InvalidationPolicy;
 import redis.clients.redisson.api.RLocalCachedMap;
 import redis.clients.redisson.api.RMap;
 import redis.clients.redisson.cache.Cache;
+import redis.clients.redisson.cache.OffHeapStore;
+import redis.clients.redisson.cache.OffHeapTieredCache;
 import redis.clients.redisson.client.codec.StringCodec;
 
 import mockit.Deencapsulation;
@@ -301,6 +303,26 @@ public class RedissonLocalCachedMapTest extends BaseMapTest {
         assertThat(map.values()).containsOnly(1, 2, 3, 4, 5, 6);
     }
 
+    @Test
+    public void testOffHeapTier() {
+        RLocalCachedMap<String, Integer> map = redisson.getLocalCachedMap("test", LocalCachedMapOptions.<String, Integer>defaults()
+                .evictionPolicy(EvictionPolicy.LRU).cacheSize(5).offHeapMaxBytes(1024 * 1024).offHeapSegments(4));
+        Cache<CacheKey, CacheValue> cache = Deencapsulation.getField(map, "cache");
+
+        for (int i = 0; i < 100; i++) {
+            map.put("" + i, i);
+        }
+        
+        assertThat(cache.size()).isEqualTo(5);
+        OffHeapStore store = ((OffHeapTieredCache<CacheKey, CacheValue>) cache).getStore();
+        assertThat(store.size()).isEqualTo(100);
+
+        redisson.getMap("test").delete();
+        for (int i = 0; i < 100; i++) {
+            assertThat(map.get("" + i)).isEqualTo(i);
+        }
+    }
+    
     @Test
     public void testSize() {
         RLocalCachedMap<String, Integer> map = redisson.getLocalCachedMap("test", LocalCachedMapOptions.defaults());
@@ -21,6 +21,7 @@ import java.util.function.Consumer;
 
 import org.junit.Assert;
 import org.junit.Test;
+import redis.clients.redisson.api.EvictionMetrics;
 import redis.clients.redisson.api.MapOptions;
 import redis.clients.redisson.api.RFuture;
 import redis.clients.redisson.api.RMap;
@@ -440,6 +441,24 @@ public class RedissonMapCacheTest extends BaseMapTest {
         Assert.assertEquals(expectedMap, filtered);
     }
 
+    @Test
+    public void testEvictionMetrics() throws InterruptedException {
+        RMapCache<String, String> cache = redisson.getMapCache("simple");
+        for (int i = 0; i < 10; i++) {
+            cache.put("" + i, "" + i, 1, TimeUnit.SECONDS);
+        }
+
+        EvictionMetrics metrics = redisson.getEvictionMetrics();
+        assertThat(metrics.getObjectsAmount()).isGreaterThanOrEqualTo(1);
+        long evicted = metrics.getEvictedEntriesAmount();
+
+        Thread.sleep(7000);
+
+        assertThat(metrics.getEvictedEntriesAmount() - evicted).isGreaterThanOrEqualTo(10);
+        assertThat(metrics.getLag()).isGreaterThanOrEqualTo(0);
+        assertThat(redisson.getKeys().countExists("simple")).isZero();
+    }
+
     @Test
     public void testExpiredIterator() throws InterruptedException {
         RMapCache<String, String> cache = redisson.getMapCache("simple");
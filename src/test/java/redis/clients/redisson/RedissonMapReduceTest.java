@@ -21,6 +21,7 @@ import redis.clients.redisson.api.RedissonClient;
 import redis.clients.redisson.api.annotation.RInject;
 import redis.clients.redisson.api.mapreduce.RCollator;
 import redis.clients.redisson.api.mapreduce.RCollector;
+import redis.clients.redisson.api.mapreduce.RCombiner;
 import redis.clients.redisson.api.mapreduce.RMapReduce;
 import redis.clients.redisson.api.mapreduce.RMapper;
 import redis.clients.redisson.api.mapreduce.RReducer;
@@ -55,6 +56,19 @@ public class RedissonMapReduceTest extends BaseTest {
         
     }
 
+    public static class WordCombiner implements RCombiner<String, Integer> {
+
+        @Override
+        public Integer combine(String key, Iterator<Integer> iter) {
+            int sum = 0;
+            while (iter.hasNext()) {
+               sum += iter.next();
+            }
+            return sum;
+        }
+        
+    }
+
     public static class WordCollator implements RCollator<String, Integer, Integer> {
 
         @Override
@@ -178,6 +192,52 @@ public class RedissonMapReduceTest extends BaseTest {
         resultMap.delete();
     }
 
+    @Test
+    public void testCombiner() {
+        RMap<String, String> map = getMap();
+        for (int i = 0; i < 5000; i++) {
+            map.put("" + i, "ab cd fjks ab");
+        }
+        
+        RMapReduce<String, String, String, Integer> mapReduce = map.<String, Integer>mapReduce()
+                .mapper(new WordMapper())
+                .combiner(new WordCombiner())
+                .reducer(new WordReducer());
+        
+        Map<String, Integer> result = new HashMap<>();
+        result.put("ab", 10000);
+        result.put("cd", 5000);
+        result.put("fjks", 5000);
+        assertThat(mapReduce.execute()).isEqualTo(result);
+    }
+
+    @Test
+    public void testReducerConcurrency() {
+        RMap<String, String> map = getMap();
+        Map<String, Integer> result = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            String word = toWord(i);
+            map.put("" + i, word + " " + word + " common");
+            result.put(word, 2);
+        }
+        result.put("common", 1000);
+        
+        RMapReduce<String, String, String, Integer> mapReduce = map.<String, Integer>mapReduce()
+                .mapper(new WordMapper())
+                .reducer(new WordReducer())
+                .reducerConcurrency(4);
+        assertThat(mapReduce.execute()).isEqualTo(result);
+    }
+
+    private String toWord(int value) {
+        StringBuilder word = new StringBuilder("w");
+        do {
+            word.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return word.toString();
+    }
+
     private RMap<String, String> getMap() {
         RMap<String, String> map = null;
         if (RMapCache.class.isAssignableFrom(mapClass)) {
@@ -0,0 +1,136 @@
+package redis.clients.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.junit.Test;
+import redis.clients.redisson.api.PriorityScorer;
+import redis.clients.redisson.api.RPriorityDeque;
+import redis.clients.redisson.api.RPriorityQueue;
+
+public class RedissonScoredPriorityQueueTest extends BaseTest {
+
+    public static class IntegerScorer implements PriorityScorer<Integer> {
+
+        @Override
+        public double getScore(Integer value) {
+            return value;
+        }
+
+    }
+
+    public static class LengthScorer implements PriorityScorer<String> {
+
+        @Override
+        public double getScore(String value) {
+            return value.length();
+        }
+
+    }
+
+    public static class DoubleScorer implements PriorityScorer<Double> {
+
+        @Override
+        public double getScore(Double value) {
+            return value;
+        }
+
+    }
+
+    @Test
+    public void testInfiniteScore() {
+        RPriorityQueue<Double> queue = redisson.getScoredPriorityQueue("queue", new DoubleScorer());
+        queue.addAll(Arrays.asList(1.5, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY));
+
+        assertThat(queue.readAll()).containsExactly(Double.NEGATIVE_INFINITY, 1.5, Double.POSITIVE_INFINITY);
+        assertThat(queue.contains(Double.POSITIVE_INFINITY)).isTrue();
+        assertThat(queue.remove(Double.NEGATIVE_INFINITY)).isTrue();
+        assertThat(queue.poll()).isEqualTo(1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNaNScore() {
+        RPriorityQueue<Double> queue = redisson.getScoredPriorityQueue("queue", new DoubleScorer());
+        queue.add(Double.NaN);
+    }
+
+    @Test
+    public void testPoll() {
+        RPriorityQueue<Integer> queue = redisson.getScoredPriorityQueue("queue", new IntegerScorer());
+        queue.add(2);
+        queue.add(0);
+        queue.add(1);
+        queue.add(5);
+        queue.add(1);
+
+        assertThat(queue.size()).isEqualTo(5);
+        assertThat(queue.readAll()).containsExactly(0, 1, 1, 2, 5);
+        assertThat(queue.peek()).isEqualTo(0);
+        assertThat(queue.poll()).isEqualTo(0);
+        assertThat(queue.poll()).isEqualTo(1);
+        assertThat(queue.poll()).isEqualTo(1);
+        assertThat(queue.poll()).isEqualTo(2);
+        assertThat(queue.poll()).isEqualTo(5);
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testEqualScoreInsertionOrder() {
+        RPriorityQueue<String> queue = redisson.getScoredPriorityQueue("queue", new LengthScorer());
+        queue.addAll(Arrays.asList("bb", "a", "cc", "b", "aa"));
+
+        assertThat(queue.readAll()).containsExactly("a", "b", "bb", "cc", "aa");
+        assertThat(queue.comparator().compare("aa", "b")).isPositive();
+    }
+
+    @Test
+    public void testRemoveContains() {
+        RPriorityQueue<String> queue = redisson.getScoredPriorityQueue("queue", new LengthScorer());
+        queue.addAll(Arrays.asList("1", "22", "3", "22"));
+
+        assertThat(queue.contains("22")).isTrue();
+        assertThat(queue.contains("33")).isFalse();
+        assertThat(queue.remove("22")).isTrue();
+        assertThat(queue.remove("33")).isFalse();
+        assertThat(queue.readAll()).containsExactly("1", "3", "22");
+        assertThat(queue.removeAll(Arrays.asList("1", "22"))).isTrue();
+        assertThat(queue.readAll()).containsExactly("3");
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        RPriorityQueue<Integer> queue = redisson.getScoredPriorityQueue("queue", new IntegerScorer());
+        queue.addAll(Arrays.asList(3, 1, 2));
+
+        for (Iterator<Integer> iterator = queue.iterator(); iterator.hasNext();) {
+            if (iterator.next() == 2) {
+                iterator.remove();
+            }
+        }
+        assertThat(queue).containsExactly(1, 3);
+
+        queue.clear();
+        assertThat(queue.isExists()).isFalse();
+        assertThat(redisson.getKeys().count()).isZero();
+    }
+
+    @Test
+    public void testDeque() {
+        RPriorityDeque<Integer> deque = redisson.getScoredPriorityDeque("deque", new IntegerScorer());
+        deque.addAll(Arrays.asList(3, 1, 2, 3));
+
+        assertThat(deque.peekLast()).isEqualTo(3);
+        assertThat(deque.getFirst()).isEqualTo(1);
+        assertThat(deque.descendingIterator().next()).isEqualTo(3);
+        assertThat(deque.pollLast()).isEqualTo(3);
+        assertThat(deque.pollFirst()).isEqualTo(1);
+        assertThat(deque.removeLastOccurrence(3)).isTrue();
+        assertThat(deque.readAll()).containsExactly(2);
+        assertThat(deque.removeLast()).isEqualTo(2);
+        assertThat(deque.pollLast()).isNull();
+    }
+
+}
@@ -4,13 +4,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
 import org.junit.Test;
 import redis.clients.redisson.api.RFuture;
+import redis.clients.redisson.api.RMapCache;
 import redis.clients.redisson.api.RScript;
 import redis.clients.redisson.api.RScript.Mode;
+import redis.clients.redisson.api.RedissonClient;
 import redis.clients.redisson.client.RedisException;
+import redis.clients.redisson.config.Config;
 
 public class RedissonScriptTest extends BaseTest {
 
@@ -45,6 +49,26 @@ public class RedissonScriptTest extends BaseTest {
         Assert.assertFalse(r2.get(0));
     }
 
+    @Test
+    public void testScriptCache() {
+        Config config = createConfig();
+        config.setUseScriptCache(true);
+        RedissonClient client = Redisson.create(config);
+        try {
+            RMapCache<String, String> map = client.getMapCache("test");
+            map.put("1", "2", 1, TimeUnit.MINUTES);
+            assertThat(map.get("1")).isEqualTo("2");
+
+            client.getScript().scriptFlush();
+
+            map.put("2", "3", 1, TimeUnit.MINUTES);
+            assertThat(map.get("1")).isEqualTo("2");
+            assertThat(map.get("2")).isEqualTo("3");
+        } finally {
+            client.shutdown();
+        }
+    }
+
     @Test
     public void testScriptFlush() {
         redisson.getBucket("foo").set("bar");
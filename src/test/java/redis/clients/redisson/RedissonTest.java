@@ -24,6 +24,7 @@ import org.junit.Assume;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import redis.clients.jedis.tests.utils.EmbeddedRedisCluster;
 import redis.clients.redisson.RedisRunner.RedisProcess;
 import redis.clients.redisson.api.ClusterNode;
 import redis.clients.redisson.api.Node;
@@ -38,6 +39,8 @@ import redis.clients.redisson.client.protocol.decoder.ScanObjectEntry;
 import redis.clients.redisson.codec.SerializationCodec;
 import redis.clients.redisson.config.Config;
 import redis.clients.redisson.connection.ConnectionListener;
+import redis.clients.redisson.connection.ConnectionManager;
+import redis.clients.util.JedisClusterCRC16;
 
 import io.netty.buffer.Unpooled;
 
@@ -505,6 +508,33 @@ public class RedissonTest {
         Thread.sleep(1500);
     }
 
+    @Test
+    public void testClusterSlotMigration() throws InterruptedException {
+        EmbeddedRedisCluster cluster = new EmbeddedRedisCluster(3).start();
+        Config config = new Config();
+        config.useClusterServers().setScanInterval(100).addNodeAddress(cluster.getAddresses());
+        Redisson r = (Redisson) Redisson.create(config);
+        try {
+            r.getBucket("key").set("value");
+            
+            final ConnectionManager connectionManager = r.getConnectionManager();
+            final int slot = JedisClusterCRC16.getSlot("key");
+            int owner = (cluster.getOwner(slot) + 1) % 3;
+            final int port = cluster.getServers().get(owner).getPort();
+            long updates = r.getRoutingMetrics().getSlotTableUpdatesAmount();
+            cluster.moveSlot(slot, owner);
+
+            await().atMost(5, TimeUnit.SECONDS).until(() -> connectionManager.getEntry(slot).getClient().getAddr().getPort() == port);
+            assertThat(r.getBucket("key").get()).isEqualTo("value");
+            assertThat(r.getRoutingMetrics().getSlotTableUpdatesAmount()).isGreaterThan(updates);
+            assertThat(r.getRoutingMetrics().getLastSlotTableUpdateTime()).isPositive();
+            assertThat(connectionManager.getEntrySet()).hasSize(3);
+        } finally {
+            r.shutdown();
+            cluster.stop();
+        }
+    }
+
     @Test(expected = RedisConnectionException.class)
     public void testElasticacheConnectionFail() throws InterruptedException {
         Config config = new Config();
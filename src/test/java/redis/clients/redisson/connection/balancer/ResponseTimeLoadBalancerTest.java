@@ -0,0 +1,73 @@
+package redis.clients.redisson.connection.balancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import redis.clients.jedis.tests.utils.EmbeddedRedisServer;
+import redis.clients.redisson.Redisson;
+import redis.clients.redisson.api.RedissonClient;
+import redis.clients.redisson.config.Config;
+import redis.clients.redisson.config.ReadMode;
+
+public class ResponseTimeLoadBalancerTest {
+
+    @Test
+    public void testTracker() throws InterruptedException {
+        ResponseTimeTracker tracker = new ResponseTimeTracker(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(tracker.getCost()).isZero();
+
+        tracker.onSend();
+        assertThat(tracker.getCommandsInFlight()).isEqualTo(1);
+        // no response observed yet
+        assertThat(tracker.getCost()).isGreaterThan(TimeUnit.SECONDS.toNanos(1));
+
+        tracker.onResponse(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(tracker.getCommandsInFlight()).isZero();
+        assertThat(tracker.getResponseTime()).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(5));
+
+        tracker.onSend();
+        tracker.onSend();
+        assertThat(tracker.getCost()).isGreaterThan(2 * tracker.getResponseTime());
+        tracker.onResponse(TimeUnit.MILLISECONDS.toNanos(10));
+        tracker.onResponse(TimeUnit.MILLISECONDS.toNanos(10));
+
+        Thread.sleep(200);
+        assertThat(tracker.getResponseTime()).isLessThan(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void testSlowSlaveAvoided() throws InterruptedException {
+        EmbeddedRedisServer master = new EmbeddedRedisServer().start();
+        EmbeddedRedisServer fastSlave = new EmbeddedRedisServer().start();
+        EmbeddedRedisServer slowSlave = new EmbeddedRedisServer().start();
+        RedissonClient client = null;
+        try {
+            Config config = new Config();
+            config.useMasterSlaveServers()
+                .setReadMode(ReadMode.SLAVE)
+                .setMasterAddress(master.getAddress())
+                .addSlaveAddress(fastSlave.getAddress(), slowSlave.getAddress())
+                .setLoadBalancer(new ResponseTimeLoadBalancer());
+
+            client = Redisson.create(config);
+            slowSlave.setLatency(50, TimeUnit.MILLISECONDS);
+
+            long startTime = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                assertThat(client.getBucket("key").get()).isNull();
+            }
+            // round robin would spend about 2.5 seconds on the slow slave
+            assertThat(System.nanoTime() - startTime).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        } finally {
+            if (client != null) {
+                client.shutdown();
+            }
+            master.stop();
+            fastSlave.stop();
+            slowSlave.stop();
+        }
+    }
+
+}
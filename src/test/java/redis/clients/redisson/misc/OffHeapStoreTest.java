@@ -0,0 +1,86 @@
+package redis.clients.redisson.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import redis.clients.redisson.cache.OffHeapStore;
+
+public class OffHeapStoreTest {
+
+    private byte[] key(int i) {
+        return new byte[] {(byte) (i >>> 24), (byte) (i >>> 16), (byte) (i >>> 8), (byte) i};
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        OffHeapStore store = new OffHeapStore(1024, 2);
+        store.put(key(1), new byte[] {1, 2, 3}, 0);
+        assertThat(store.get(key(1))).containsExactly(1, 2, 3);
+
+        store.put(key(1), new byte[] {4}, 0);
+        assertThat(store.get(key(1))).containsExactly(4);
+        assertThat(store.size()).isEqualTo(1);
+
+        assertThat(store.remove(key(1))).isTrue();
+        assertThat(store.get(key(1))).isNull();
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        OffHeapStore store = new OffHeapStore(1024, 1);
+        store.put(key(1), new byte[] {1}, System.currentTimeMillis() + 100);
+        assertThat(store.get(key(1))).containsExactly(1);
+        Thread.sleep(200);
+        assertThat(store.get(key(1))).isNull();
+    }
+
+    @Test
+    public void testOverwriteOldest() {
+        OffHeapStore store = new OffHeapStore(1000, 1);
+        byte[] data = new byte[83];
+        for (int i = 0; i < 100; i++) {
+            data[0] = (byte) i;
+            store.put(key(i), data, 0);
+        }
+
+        assertThat(store.getUsedBytes()).isLessThanOrEqualTo(1000);
+        assertThat(store.get(key(0))).isNull();
+        assertThat(store.get(key(99))[0]).isEqualTo((byte) 99);
+        assertThat(store.get(key(95))[0]).isEqualTo((byte) 95);
+    }
+
+    @Test
+    public void testIndexGrowAndRemove() {
+        OffHeapStore store = new OffHeapStore(1024 * 1024, 1);
+        for (int i = 0; i < 1000; i++) {
+            store.put(key(i), new byte[] {(byte) i}, 0);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertThat(store.remove(key(i))).isTrue();
+        }
+
+        assertThat(store.size()).isEqualTo(500);
+        for (int i = 0; i < 1000; i++) {
+            if (i % 2 == 0) {
+                assertThat(store.get(key(i))).isNull();
+            } else {
+                assertThat(store.get(key(i))).containsExactly((byte) i);
+            }
+        }
+    }
+
+    @Test
+    public void testVersion() {
+        OffHeapStore store = new OffHeapStore(1024, 1);
+        assertThat(store.getVersion(key(1))).isEqualTo(-1);
+        store.put(key(1), new byte[] {1}, 0);
+        long version = store.getVersion(key(1));
+        assertThat(version).isNotEqualTo(-1);
+
+        store.put(key(1), new byte[] {1}, 0);
+        assertThat(store.getVersion(key(1))).isNotEqualTo(version);
+        store.remove(key(1));
+        assertThat(store.getVersion(key(1))).isEqualTo(-1);
+    }
+
+}
@@ -0,0 +1,49 @@
+package redis.clients.redisson.misc;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import redis.clients.redisson.cache.Cache;
+import redis.clients.redisson.cache.SampledLRUCacheMap;
+
+public class SampledLRUCacheMapTest {
+
+    @Test
+    public void testTTLEviction() throws InterruptedException {
+        Cache<Integer, Integer> map = new SampledLRUCacheMap<Integer, Integer>(2, 0, 0);
+        map.put(1, 0, 500, TimeUnit.MILLISECONDS, 0, TimeUnit.MILLISECONDS);
+        assertThat(map.get(1)).isEqualTo(0);
+        Thread.sleep(100);
+        assertThat(map.get(1)).isEqualTo(0);
+        assertThat(map.keySet()).containsOnly(1);
+        Thread.sleep(500);
+        assertThat(map.keySet()).isEmpty();
+    }
+
+    @Test
+    public void testSizeLRUEviction() throws InterruptedException {
+        Cache<Integer, Integer> map = new SampledLRUCacheMap<Integer, Integer>(10, 0, 0, 10);
+        for (int i = 1; i <= 10; i++) {
+            map.put(i, 0);
+        }
+
+        Thread.sleep(1);
+        map.get(1);
+        map.put(13, 0);
+        
+        assertThat(map.keySet()).contains(13, 1).hasSize(10);
+    }
+    
+    @Test
+    public void testSizeEviction() throws InterruptedException {
+        Cache<Integer, Integer> map = new SampledLRUCacheMap<Integer, Integer>(100, 0, 0);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, 0);
+            assertThat(map.size()).isLessThanOrEqualTo(100);
+        }
+        assertThat(map.keySet()).contains(999);
+    }
+    
+}
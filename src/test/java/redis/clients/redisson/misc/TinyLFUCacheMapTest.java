@@ -0,0 +1,60 @@
+package redis.clients.redisson.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import redis.clients.redisson.cache.Cache;
+import redis.clients.redisson.cache.TinyLFUCacheMap;
+
+public class TinyLFUCacheMapTest {
+
+    @Test
+    public void testTTLEviction() throws InterruptedException {
+        Cache<Integer, Integer> map = new TinyLFUCacheMap<Integer, Integer>(2, 0, 0);
+        map.put(1, 0, 500, TimeUnit.MILLISECONDS, 0, TimeUnit.MILLISECONDS);
+        assertThat(map.get(1)).isEqualTo(0);
+        Thread.sleep(100);
+        assertThat(map.get(1)).isEqualTo(0);
+        assertThat(map.keySet()).containsOnly(1);
+        Thread.sleep(500);
+        assertThat(map.keySet()).isEmpty();
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+        Cache<Integer, Integer> map = new TinyLFUCacheMap<Integer, Integer>(10, 0, 0);
+        for (int i = 1; i <= 10; i++) {
+            map.put(i, 0);
+        }
+        for (int j = 0; j < 5; j++) {
+            for (int i = 1; i <= 5; i++) {
+                map.get(i);
+            }
+        }
+
+        for (int i = 100; i < 150; i++) {
+            map.put(i, 0);
+        }
+
+        assertThat(map.keySet()).contains(1, 2, 3, 4, 5).hasSize(10);
+    }
+
+    @Test
+    public void testRepeatedlyLoadedEntryAdmission() {
+        Cache<Integer, Integer> map = new TinyLFUCacheMap<Integer, Integer>(10, 0, 0, 10);
+        for (int i = 1; i <= 10; i++) {
+            map.put(i, 0);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            if (map.get(200) == null) {
+                map.put(200, 0);
+            }
+        }
+
+        assertThat(map.keySet()).contains(200).hasSize(10);
+    }
+
+}
@@ -6,6 +6,11 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.AfterClass;
 import org.junit.Test;
@@ -15,6 +20,7 @@ import redis.clients.redisson.BaseTest;
 import redis.clients.redisson.RedisRunner;
 import redis.clients.redisson.RedisRunner.RedisProcess;
 import redis.clients.redisson.api.RedissonClient;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
@@ -174,4 +180,75 @@ public class RedissonSpringCacheTest {
         bean.read("object2");
     }
 
+    @Test
+    public void testGetWithLoaderLoadsOnce() throws InterruptedException {
+        Cache cache = context.getBean(CacheManager.class).getCache("testMap");
+        AtomicInteger loads = new AtomicInteger();
+        Callable<String> loader = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                loads.incrementAndGet();
+                Thread.sleep(200);
+                return "value";
+            }
+        };
+        
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        AtomicInteger matches = new AtomicInteger();
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                if ("value".equals(cache.get("loaded", loader))) {
+                    matches.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        
+        assertThat(matches.get()).isEqualTo(20);
+        assertThat(loads.get()).isEqualTo(1);
+        cache.evict("loaded");
+    }
+
+    @Test
+    public void testRefreshAhead() throws InterruptedException {
+        CacheConfig config = new CacheConfig(2000, 0);
+        config.setRefreshAheadFactor(0.5);
+        Map<String, CacheConfig> configs = new HashMap<String, CacheConfig>();
+        configs.put("refreshMap", config);
+        CacheManager manager = new RedissonSpringCacheManager(context.getBean(RedissonClient.class), configs);
+        Cache cache = manager.getCache("refreshMap");
+
+        AtomicInteger loads = new AtomicInteger();
+        Callable<String> loader = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                int load = loads.incrementAndGet();
+                if (load > 1) {
+                    Thread.sleep(500);
+                }
+                return "value" + load;
+            }
+        };
+
+        assertThat(cache.get("key", loader)).isEqualTo("value1");
+        Thread.sleep(1100);
+
+        // refresh is triggered, callers keep getting current value without waiting for loader
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.get("key", loader)).isEqualTo("value1");
+        }
+        assertThat(System.currentTimeMillis() - startTime).isLessThan(400);
+
+        // reloaded value replaces current one before it expires
+        long deadline = startTime + 800;
+        while (!"value2".equals(cache.get("key", String.class)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(cache.get("key", String.class)).isEqualTo("value2");
+        assertThat(loads.get()).isEqualTo(2);
+        cache.evict("key");
+    }
+
 }